@@ -0,0 +1,35 @@
+package com.example.demo.cep.client;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Normalização do CEP usada na URL do ViaCEP ({@link CepClient#sanitizeCep}). A leitura da chave
+ * inteira fica em {@code CepParseBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CepSanitizeBenchmark {
+
+    @Param({"04842-010", "04842010"})
+    public String cep;
+
+    @Benchmark
+    public String sanitizeCep() {
+        return CepClient.sanitizeCep(cep);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da instrumentação por consulta: o mesmo cliente em memória com e sem as duas camadas de
+ * {@link MeteredCepClient} ({@code service} e {@code upstream}), registrando em um
+ * {@link PrometheusMeterRegistry} com histograma de percentis, como em produção.
+ *
+ * <p>A diferença entre {@code comMetricas} e {@code semMetricas} deve ficar em poucos microssegundos
+ * (na prática, centenas de nanossegundos). Roda com 4 threads para expor contenção nos contadores.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class MeteredCepClientBenchmark {
+
+    private static final String CEP = "04842-010";
+
+    private CepClientPort semMetricas;
+    private CepClientPort comMetricas;
+
+    @Setup
+    public void setUp() {
+        var resposta = new CepResponse(CEP, "Rua Exemplo", "", "Bairro", "São Paulo", "SP",
+                "3550308", "1004", "11", "7107");
+        CepClientPort upstream = cep -> resposta;
+
+        var registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) Duration.ofMicros(10).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(10).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        });
+
+        semMetricas = new CoalescingCepClient(upstream);
+        comMetricas = new MeteredCepClient(
+                new CoalescingCepClient(new MeteredCepClient(upstream, registry, "upstream")), registry, "service");
+    }
+
+    @Benchmark
+    public CepResponse semMetricas() {
+        return semMetricas.buscarCep(CEP);
+    }
+
+    @Benchmark
+    public CepResponse comMetricas() {
+        return comMetricas.buscarCep(CEP);
+    }
+}
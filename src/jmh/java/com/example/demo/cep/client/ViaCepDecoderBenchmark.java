@@ -0,0 +1,84 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura do corpo do ViaCEP: conversor de mensagens do {@code RestClient} (caminho anterior do
+ * {@link CepClient}), binding do Jackson direto do stream e {@link ViaCepResponseDecoder}. Rodar com
+ * {@code -prof gc} (padrão do profile) para comparar também a alocação por leitura.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViaCepDecoderBenchmark {
+
+    private static final String VIACEP = """
+            {
+              "cep": "04842-010",
+              "logradouro": "Rua Exemplo",
+              "complemento": "",
+              "unidade": "",
+              "bairro": "Bairro",
+              "localidade": "São Paulo",
+              "uf": "SP",
+              "estado": "São Paulo",
+              "regiao": "Sudeste",
+              "ibge": "3550308",
+              "gia": "1004",
+              "ddd": "11",
+              "siafi": "7107"
+            }""";
+
+    private JsonMapper jsonMapper;
+    private JacksonJsonHttpMessageConverter conversor;
+    private ViaCepResponseDecoder decoder;
+    private byte[] corpo;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        conversor = new JacksonJsonHttpMessageConverter(jsonMapper);
+        decoder = new ViaCepResponseDecoder(jsonMapper);
+        corpo = VIACEP.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Object conversorDeMensagens() throws IOException {
+        var resposta = new MockClientHttpResponse(corpo, HttpStatus.OK);
+        resposta.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return conversor.read(CepResponse.class, resposta);
+    }
+
+    @Benchmark
+    public CepResponse bindingDoStream() {
+        return jsonMapper.readValue(new ByteArrayInputStream(corpo), CepResponse.class);
+    }
+
+    @Benchmark
+    public CepResponse decoderDoStream() {
+        return decoder.ler(new ByteArrayInputStream(corpo));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.cep.controller;
+
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.client.CachingCepClient;
+import com.example.demo.cep.client.CepClientPort;
+import com.example.demo.cep.client.CoalescingCepClient;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.service.CepJsonService;
+import com.example.demo.cep.service.CepService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho completo de {@code GET /ceps/{cep}} sem o servlet: validação no controller, cadeia de
+ * clients (cache e agrupamento de consultas) sobre um upstream em memória, mapeamento e serialização do JSON.
+ *
+ * <p>{@code semCache} consulta o upstream e serializa a cada operação; {@code comCache} mede o acerto no
+ * cache de JSON pronto, que é o caso comum em produção. Rodam com 4 threads para expor contenção.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class CepControllerBenchmark {
+
+    private static final String CEP = "04842-010";
+
+    private CepController semCache;
+    private CepController comCache;
+
+    @Setup
+    public void setUp() {
+        var resposta = new CepResponse(CEP, "Rua Exemplo", "", "Bairro", "São Paulo", "SP",
+                "3550308", "1004", "11", "7107");
+        CepClientPort upstream = cep -> resposta;
+        var jsonMapper = JsonMapper.builder().build();
+        semCache = new CepController(new CepJsonService(
+                new CepService(new CoalescingCepClient(upstream)), null, null, null, jsonMapper),
+                Duration.ofHours(1));
+        comCache = new CepController(new CepJsonService(
+                new CepService(new CachingCepClient(new CoalescingCepClient(upstream),
+                        new CepCache<>(100_000, Duration.ofHours(1)), true, null, null, null)),
+                new CepCache<>(10_000, Duration.ofHours(1)), null, null, jsonMapper),
+                Duration.ofHours(1));
+    }
+
+    @Benchmark
+    public Object semCache() {
+        return semCache.buscarCep(CEP, null).getBody();
+    }
+
+    @Benchmark
+    public Object comCache() {
+        return comCache.buscarCep(CEP, null).getBody();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.cep.dto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (De)serialização JSON: leitura da resposta do ViaCEP ({@link CepResponse}) e escrita da resposta da
+ * aplicação ({@link CepInfo}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CepJsonBenchmark {
+
+    private static final String VIACEP = """
+            {
+              "cep": "04842-010",
+              "logradouro": "Rua Exemplo",
+              "complemento": "",
+              "unidade": "",
+              "bairro": "Bairro",
+              "localidade": "São Paulo",
+              "uf": "SP",
+              "estado": "São Paulo",
+              "regiao": "Sudeste",
+              "ibge": "3550308",
+              "gia": "1004",
+              "ddd": "11",
+              "siafi": "7107"
+            }""";
+
+    private JsonMapper jsonMapper;
+    private byte[] corpoViaCep;
+    private CepResponse resposta;
+    private CepInfo info;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        corpoViaCep = VIACEP.getBytes(StandardCharsets.UTF_8);
+        resposta = jsonMapper.readValue(corpoViaCep, CepResponse.class);
+        info = new CepInfo(resposta.cep(), resposta.logradouro(), resposta.complemento(), resposta.bairro(),
+                resposta.localidade(), resposta.uf());
+    }
+
+    @Benchmark
+    public CepResponse lerCepResponse() {
+        return jsonMapper.readValue(corpoViaCep, CepResponse.class);
+    }
+
+    @Benchmark
+    public byte[] escreverCepResponse() {
+        return jsonMapper.writeValueAsBytes(resposta);
+    }
+
+    @Benchmark
+    public byte[] escreverCepInfo() {
+        return jsonMapper.writeValueAsBytes(info);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.cep.dto;
+
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.service.CepService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho de leitura do CEP até a chave do cache. Com {@code -prof gc}, todos devem reportar
+ * {@code gc.alloc.rate.norm} igual a 0 B/op, inclusive para entradas inválidas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CepParseBenchmark {
+
+    @Param({"04842-010", "04842010", "0484-2010", "abc"})
+    public String cep;
+
+    private CepCache<CepResponse> cache;
+
+    @Setup
+    public void setUp() {
+        cache = new CepCache<>(1_000, Duration.ofHours(1));
+        cache.put(4842010, new CepResponse("04842-010", "Rua Exemplo", "", "Bairro", "São Paulo", "SP",
+                null, null, null, null));
+    }
+
+    @Benchmark
+    public int parse() {
+        return Cep.parse(cep);
+    }
+
+    @Benchmark
+    public boolean formatoValido() {
+        return CepService.formatoValido(cep);
+    }
+
+    @Benchmark
+    public CepResponse parseEBuscaNoCache() {
+        int chave = Cep.parse(cep);
+        return chave == Cep.INVALIDO ? null : cache.get(chave);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.demo.cep.index;
+
+import com.example.demo.cep.dto.CepResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca reversa sobre um índice com 1 milhão de CEPs sintéticos (ruas, bairros e cidades repetidos como em
+ * uma base real). O tempo por busca deve ficar abaixo de 1 ms em todos os casos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class CepSearchIndexBenchmark {
+
+    private static final String[] RUAS = {"Avenida Paulista", "Rua Augusta", "Rua da Consolação", "Rua São João",
+            "Avenida Brasil", "Rua das Flores", "Rua Sete de Setembro", "Avenida Rio Branco"};
+    private static final String[] CIDADES = {"São Paulo", "Rio de Janeiro", "Belo Horizonte", "Curitiba"};
+    private static final String[] UFS = {"SP", "RJ", "MG", "PR"};
+
+    @Param({"logradouro+numero+cidade", "uf", "logradouro+cidade", "bairro+cidade"})
+    public String consulta;
+
+    private CepSearchIndex index;
+    private CepSearchIndex.Consulta alvo;
+    private final int[] destino = new int[20];
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        int quantidade = 1_000_000;
+        var chaves = new int[quantidade];
+        var respostas = new CepResponse[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            int cidade = random.nextInt(CIDADES.length);
+            chaves[i] = i * 97;
+            respostas[i] = new CepResponse(String.valueOf(chaves[i]), RUAS[random.nextInt(RUAS.length)] + " " + random.nextInt(500),
+                    "", "Bairro " + random.nextInt(2_000), CIDADES[cidade], UFS[cidade], null, null, null, null);
+        }
+        index = new CepSearchIndex();
+        index.adicionarTodas(chaves, chave -> respostas[chave / 97]);
+        alvo = switch (consulta) {
+            case "logradouro+numero+cidade" -> new CepSearchIndex.Consulta("paulista 123", null, "são paulo", "SP");
+            case "uf" -> new CepSearchIndex.Consulta(null, null, null, "SP");
+            case "logradouro+cidade" -> new CepSearchIndex.Consulta("flores", null, "curitiba", null);
+            default -> new CepSearchIndex.Consulta(null, "bairro 1999", "sao paulo", null);
+        };
+    }
+
+    @Benchmark
+    public int buscar() {
+        return index.buscar(alvo, destino);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.cep.service;
+
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.client.CachingCepClient;
+import com.example.demo.cep.dto.CepInfo;
+import com.example.demo.cep.dto.CepResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de formato, mapeamento {@link CepResponse} → {@link CepInfo} e a consulta completa do
+ * {@link CepService} sobre um {@code CepClientPort} em memória (com e sem o cache na frente).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CepServiceBenchmark {
+
+    @Param({"04842-010", "04842010", "0484-2010"})
+    public String cep;
+
+    private CepResponse resposta;
+    private CepService direto;
+    private CepService comCache;
+
+    @Setup
+    public void setUp() {
+        resposta = new CepResponse("04842-010", "Rua Exemplo", "", "Bairro", "São Paulo", "SP",
+                "3550308", "1004", "11", "7107");
+        direto = new CepService(cep -> resposta);
+        comCache = new CepService(new CachingCepClient(cep -> resposta, new CepCache<>(1_000, Duration.ofHours(1)), true, null, null, null));
+    }
+
+    @Benchmark
+    public boolean formatoValido() {
+        return CepService.formatoValido(cep);
+    }
+
+    @Benchmark
+    public CepInfo mapear() {
+        return direto.mapear(resposta);
+    }
+
+    @Benchmark
+    public CepInfo obterCep() {
+        return direto.obterCep(cep);
+    }
+
+    @Benchmark
+    public CepInfo obterCepEmCache() {
+        return comCache.obterCep(cep);
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.demo.cep.bulk;
+
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.index.CepCsvParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Importa bases de CEP grandes (CSV no formato do {@link CepCsvParser} ou NDJSON no formato do ViaCEP) sem
+ * passar pelo caminho de consulta individual.
+ *
+ * <p>O arquivo é lido por um {@link FileChannel} em blocos de {@code tamanhoBloco} bytes, cortados na última
+ * quebra de linha (o resto vai para o bloco seguinte). Cada bloco é dividido ao meio, também em quebras de
+ * linha, até trechos de {@value #TRECHO_MINIMO} bytes interpretados em paralelo no {@link ForkJoinPool}; as
+ * linhas válidas do bloco inteiro seguem juntas para o {@link Gravador}. Um semáforo limita os blocos em
+ * andamento a {@code 2 × paralelismo}, o que mantém a memória usada independente do tamanho do arquivo.</p>
+ *
+ * <p>Linhas inválidas são contadas como rejeitadas e não interrompem a importação. Como os blocos são gravados
+ * em paralelo, um CEP repetido em blocos diferentes fica com qualquer uma das ocorrências.</p>
+ */
+public final class CepBulkImporter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CepBulkImporter.class);
+    static final int TRECHO_MINIMO = 64 * 1024;
+
+    private final JsonMapper jsonMapper;
+    private final ForkJoinPool pool;
+    private final int tamanhoBloco;
+    private final int blocosEmAndamento;
+
+    /**
+     * Formato do arquivo importado.
+     */
+    public enum Formato {
+        CSV, NDJSON;
+
+        /**
+         * Formato pela extensão do arquivo ({@code .ndjson}/{@code .jsonl} ou texto separado por ponto e vírgula).
+         */
+        public static Formato doArquivo(Path arquivo) {
+            var nome = arquivo.getFileName().toString().toLowerCase(Locale.ROOT);
+            return nome.endsWith(".ndjson") || nome.endsWith(".jsonl") ? NDJSON : CSV;
+        }
+    }
+
+    /**
+     * Destino das linhas importadas, chamado com as linhas válidas de cada bloco, possivelmente por várias
+     * threads ao mesmo tempo.
+     */
+    @FunctionalInterface
+    public interface Gravador {
+
+        /**
+         * @return quantas das {@code quantidade} respostas foram gravadas
+         */
+        int gravar(int[] chaves, CepResponse[] respostas, int quantidade);
+    }
+
+    /**
+     * @param jsonMapper   mapper usado nas linhas NDJSON
+     * @param paralelismo  threads que interpretam as linhas
+     * @param tamanhoBloco tamanho dos blocos lidos do arquivo, em bytes
+     */
+    public CepBulkImporter(JsonMapper jsonMapper, int paralelismo, int tamanhoBloco) {
+        this.jsonMapper = jsonMapper;
+        this.pool = new ForkJoinPool(paralelismo);
+        this.tamanhoBloco = tamanhoBloco;
+        this.blocosEmAndamento = paralelismo * 2;
+    }
+
+    /**
+     * Importa o arquivo inteiro, atualizando {@code progresso} à medida que os blocos são gravados.
+     *
+     * @throws IOException se o arquivo não puder ser lido
+     */
+    public void importar(Path arquivo, Formato formato, Gravador gravador, CepImportProgress progresso)
+            throws IOException, InterruptedException {
+        var permissoes = new Semaphore(blocosEmAndamento);
+        var erro = new AtomicReference<Throwable>();
+        try (var canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long total = canal.size();
+            progresso.iniciar(total);
+            var buffer = new byte[tamanhoBloco];
+            int ocupados = 0;
+            boolean inicio = true;
+            boolean fimDoArquivo = false;
+            int proximoLog = 1;
+            while (!fimDoArquivo && erro.get() == null) {
+                int lidos = canal.read(ByteBuffer.wrap(buffer, ocupados, buffer.length - ocupados));
+                fimDoArquivo = lidos < 0;
+                if (lidos > 0) {
+                    ocupados += lidos;
+                    if (ocupados < buffer.length) {
+                        continue;
+                    }
+                }
+                int corte = fimDoArquivo ? ocupados : ultimaQuebra(buffer, ocupados) + 1;
+                if (corte == 0) {
+                    // linha maior que o bloco
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    continue;
+                }
+                int deslocamento = inicio && temBom(buffer, ocupados) ? 3 : 0;
+                inicio = false;
+
+                var bloco = buffer;
+                var resto = new byte[Math.max(tamanhoBloco, ocupados - corte)];
+                System.arraycopy(buffer, corte, resto, 0, ocupados - corte);
+                buffer = resto;
+                ocupados -= corte;
+
+                permissoes.acquire();
+                var trecho = new Trecho(bloco, deslocamento, corte, formato);
+                pool.execute(() -> {
+                    try {
+                        var lote = trecho.invoke();
+                        int gravadas = lote.quantidade == 0 ? 0 : gravador.gravar(lote.chaves, lote.respostas, lote.quantidade);
+                        progresso.registrar(corte, lote.linhas, gravadas, lote.linhas - lote.quantidade,
+                                lote.quantidade - gravadas);
+                    } catch (Throwable e) {
+                        erro.compareAndSet(null, e);
+                    } finally {
+                        permissoes.release();
+                    }
+                });
+
+                if (total > 0 && progresso.bytesLidos() * 10 >= total * proximoLog) {
+                    log.info("Importação de {}: {}% ({} linhas)", arquivo.getFileName(),
+                            progresso.bytesLidos() * 100 / total, progresso.linhas());
+                    proximoLog = (int) (progresso.bytesLidos() * 10 / total) + 1;
+                }
+            }
+        } finally {
+            permissoes.acquireUninterruptibly(blocosEmAndamento);
+        }
+        if (erro.get() != null) {
+            throw new IllegalStateException("Falha ao gravar as linhas importadas", erro.get());
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    private static int ultimaQuebra(byte[] dados, int fim) {
+        for (int i = fim - 1; i >= 0; i--) {
+            if (dados[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean temBom(byte[] dados, int tamanho) {
+        return tamanho >= 3 && dados[0] == (byte) 0xEF && dados[1] == (byte) 0xBB && dados[2] == (byte) 0xBF;
+    }
+
+    /**
+     * Linhas válidas de um trecho do bloco.
+     */
+    private static final class Lote {
+
+        private int[] chaves;
+        private CepResponse[] respostas;
+        private int quantidade;
+        private int linhas;
+
+        Lote(int capacidade) {
+            chaves = new int[capacidade];
+            respostas = new CepResponse[capacidade];
+        }
+
+        void adicionar(int chave, CepResponse resposta) {
+            if (quantidade == chaves.length) {
+                chaves = Arrays.copyOf(chaves, quantidade * 2);
+                respostas = Arrays.copyOf(respostas, quantidade * 2);
+            }
+            chaves[quantidade] = chave;
+            respostas[quantidade++] = resposta;
+        }
+
+        Lote juntar(Lote outro) {
+            var junto = new Lote(quantidade + outro.quantidade);
+            System.arraycopy(chaves, 0, junto.chaves, 0, quantidade);
+            System.arraycopy(respostas, 0, junto.respostas, 0, quantidade);
+            System.arraycopy(outro.chaves, 0, junto.chaves, quantidade, outro.quantidade);
+            System.arraycopy(outro.respostas, 0, junto.respostas, quantidade, outro.quantidade);
+            junto.quantidade = quantidade + outro.quantidade;
+            junto.linhas = linhas + outro.linhas;
+            return junto;
+        }
+    }
+
+    /**
+     * Interpreta as linhas de {@code [inicio, fim)}, dividindo o trecho ao meio enquanto ele for maior que
+     * {@value #TRECHO_MINIMO} bytes.
+     */
+    private final class Trecho extends RecursiveTask<Lote> {
+
+        private final byte[] dados;
+        private final int inicio;
+        private final int fim;
+        private final Formato formato;
+
+        Trecho(byte[] dados, int inicio, int fim, Formato formato) {
+            this.dados = dados;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.formato = formato;
+        }
+
+        @Override
+        protected Lote compute() {
+            if (fim - inicio > TRECHO_MINIMO) {
+                int meio = inicio + (fim - inicio) / 2;
+                while (meio < fim && dados[meio - 1] != '\n') {
+                    meio++;
+                }
+                if (meio < fim) {
+                    var esquerda = new Trecho(dados, inicio, meio, formato);
+                    esquerda.fork();
+                    var direita = new Trecho(dados, meio, fim, formato).compute();
+                    return esquerda.join().juntar(direita);
+                }
+            }
+            return interpretar();
+        }
+
+        private Lote interpretar() {
+            // ~100 bytes por linha nas bases usuais
+            var lote = new Lote(Math.max(16, (fim - inicio) / 100));
+            int linha = inicio;
+            while (linha < fim) {
+                int quebra = linha;
+                while (quebra < fim && dados[quebra] != '\n') {
+                    quebra++;
+                }
+                int ate = quebra > linha && dados[quebra - 1] == '\r' ? quebra - 1 : quebra;
+                if (ate > linha && dados[linha] != '#') {
+                    lote.linhas++;
+                    var resposta = formato == Formato.CSV ? csv(linha, ate) : json(linha, ate);
+                    int chave = resposta == null ? Cep.INVALIDO : Cep.parse(resposta.cep());
+                    if (chave >= 0) {
+                        lote.adicionar(chave, normalizar(chave, resposta));
+                    }
+                }
+                linha = quebra + 1;
+            }
+            return lote;
+        }
+
+        private CepResponse csv(int de, int ate) {
+            try {
+                return CepCsvParser.parse(new String(dados, de, ate - de, StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        private CepResponse json(int de, int ate) {
+            try {
+                return jsonMapper.readValue(dados, de, ate - de, CepResponse.class);
+            } catch (JacksonException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Grava o CEP no formato {@code 99999-999}, como vem do ViaCEP.
+     */
+    private static CepResponse normalizar(int chave, CepResponse r) {
+        var formatado = Cep.formatar(chave);
+        if (formatado.equals(r.cep())) {
+            return r;
+        }
+        return new CepResponse(formatado, r.logradouro(), r.complemento(), r.bairro(), r.localidade(), r.uf(),
+                r.ibge(), r.gia(), r.ddd(), r.siafi());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demo.cep.bulk;
+
+import com.example.demo.cep.dto.CepImportStatus;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Andamento de uma importação, atualizado pelas threads do {@link CepBulkImporter} e lido pelo endpoint de
+ * status.
+ */
+public final class CepImportProgress {
+
+    /**
+     * Situação da importação.
+     */
+    public enum Estado {
+        AGUARDANDO, EM_ANDAMENTO, CONCLUIDA, FALHOU
+    }
+
+    private final String id;
+    private final Path arquivo;
+    private final LongAdder bytesLidos = new LongAdder();
+    private final LongAdder linhas = new LongAdder();
+    private final LongAdder importadas = new LongAdder();
+    private final LongAdder rejeitadas = new LongAdder();
+    private final LongAdder descartadas = new LongAdder();
+    private final AtomicLong inicio = new AtomicLong();
+    private volatile long bytesTotal;
+    private volatile long fim;
+    private volatile Estado estado = Estado.AGUARDANDO;
+    private volatile String erro;
+
+    public CepImportProgress(String id, Path arquivo) {
+        this.id = id;
+        this.arquivo = arquivo;
+    }
+
+    void iniciar(long bytesTotal) {
+        this.bytesTotal = bytesTotal;
+        inicio.compareAndSet(0, System.nanoTime());
+        estado = Estado.EM_ANDAMENTO;
+    }
+
+    /**
+     * Contabiliza um bloco gravado.
+     *
+     * @param bytes       tamanho do bloco no arquivo
+     * @param linhas      linhas de dados do bloco (sem vazias e comentários)
+     * @param importadas  linhas gravadas no destino
+     * @param rejeitadas  linhas inválidas
+     * @param descartadas linhas válidas que o destino não aceitou (cache persistente cheio ou CEPs recusados
+     *                    pelo filtro de admissão do cache em memória)
+     */
+    void registrar(long bytes, long linhas, long importadas, long rejeitadas, long descartadas) {
+        bytesLidos.add(bytes);
+        this.linhas.add(linhas);
+        this.importadas.add(importadas);
+        this.rejeitadas.add(rejeitadas);
+        this.descartadas.add(descartadas);
+    }
+
+    public void concluir() {
+        fim = System.nanoTime();
+        estado = Estado.CONCLUIDA;
+    }
+
+    public void falhar(Throwable causa) {
+        fim = System.nanoTime();
+        erro = causa.getMessage();
+        estado = Estado.FALHOU;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public Estado estado() {
+        return estado;
+    }
+
+    public long bytesLidos() {
+        return bytesLidos.sum();
+    }
+
+    public long linhas() {
+        return linhas.sum();
+    }
+
+    public long importadas() {
+        return importadas.sum();
+    }
+
+    public long rejeitadas() {
+        return rejeitadas.sum();
+    }
+
+    public long descartadas() {
+        return descartadas.sum();
+    }
+
+    /**
+     * Linhas por segundo desde o início da leitura (até o fim, se já terminou).
+     */
+    public long linhasPorSegundo() {
+        long comeco = inicio.get();
+        if (comeco == 0) {
+            return 0;
+        }
+        long nanos = (fim != 0 ? fim : System.nanoTime()) - comeco;
+        return nanos <= 0 ? 0 : linhas() * 1_000_000_000L / nanos;
+    }
+
+    public CepImportStatus status() {
+        return new CepImportStatus(id, arquivo.getFileName().toString(), estado.name(), bytesLidos(), bytesTotal,
+                linhas(), importadas(), rejeitadas(), descartadas(), linhasPorSegundo(), erro);
+    }
+}
@@ -0,0 +1,427 @@
+package com.example.demo.cep.cache;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache em memória, limitado e com expiração, indexado pelo CEP de 8 dígitos convertido em {@code int}.
+ *
+ * <p>As entradas ficam em vetores paralelos ({@code int[]} de chaves, {@code long[]} de expiração e
+ * {@code Object[]} de valores) com endereçamento aberto, evitando a caixa de {@code Integer} e os nós
+ * de um {@code HashMap} por entrada. O cache é dividido em segmentos, cada um com seu próprio
+ * {@link ReentrantLock}, para que CEPs diferentes raramente disputem o mesmo lock. Não há blocos
+ * {@code synchronized}: em JDKs anteriores ao 24 eles prenderiam (pinning) virtual threads à
+ * thread portadora.</p>
+ *
+ * <p>Política de despejo: CLOCK (aproximação de LRU) escolhe a vítima e um filtro TinyLFU só admite
+ * o novo CEP se ele for mais popular que a vítima. Entradas expiradas são sempre as primeiras a sair.</p>
+ *
+ * <p>Com um {@link ValueCodec}, os valores ficam guardados na forma codificada (ex.: {@link CompactCepCodec})
+ * e só são convertidos de volta na leitura, fora do lock do segmento.</p>
+ *
+ * @param <V> tipo do valor armazenado
+ */
+public final class CepCache<V> {
+
+    private static final int EMPTY = -1;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final ValueCodec<V> codec;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * @param maximumSize número máximo de entradas
+     * @param ttl         tempo de vida de cada entrada
+     */
+    public CepCache(int maximumSize, Duration ttl) {
+        this(maximumSize, ttl, System::nanoTime, null);
+    }
+
+    /**
+     * @param maximumSize número máximo de entradas
+     * @param ttl         tempo de vida de cada entrada
+     * @param codec       forma em que os valores ficam guardados, ou {@code null} para guardá-los como estão
+     */
+    public CepCache(int maximumSize, Duration ttl, ValueCodec<V> codec) {
+        this(maximumSize, ttl, System::nanoTime, codec);
+    }
+
+    CepCache(int maximumSize, Duration ttl, LongSupplier ticker) {
+        this(maximumSize, ttl, ticker, null);
+    }
+
+    CepCache(int maximumSize, Duration ttl, LongSupplier ticker, ValueCodec<V> codec) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize deve ser positivo");
+        }
+        int segmentCount = maximumSize >= 1024 ? 16 : 1;
+        int perSegment = (maximumSize + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+        this.segmentMask = segmentCount - 1;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+        this.codec = codec;
+    }
+
+    /**
+     * Retorna o valor associado ao CEP, ou {@code null} se ausente ou expirado.
+     *
+     * @param key CEP como inteiro (0 a 99999999)
+     */
+    public V get(int key) {
+        Object value = segmentFor(key).get(key, ticker.getAsLong());
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return decode(value);
+    }
+
+    /**
+     * Retorna o valor associado ao CEP mesmo que já tenha expirado, ou {@code null} se ausente.
+     * Entradas expiradas continuam disponíveis até serem despejadas (são as primeiras a sair quando
+     * o cache enche). Não conta como acerto nem falha.
+     *
+     * @param key CEP como inteiro (0 a 99999999)
+     */
+    public V getStale(int key) {
+        return decode(segmentFor(key).peek(key));
+    }
+
+    /**
+     * Retorna o valor associado ao CEP, ou {@code null} se ausente ou expirado, sem contar como acerto nem
+     * falha e sem registrar acesso no filtro de admissão. Para varreduras, que não devem influenciar quais
+     * CEPs ficam no cache.
+     *
+     * @param key CEP como inteiro (0 a 99999999)
+     */
+    public V peek(int key) {
+        return decode(segmentFor(key).peek(key, ticker.getAsLong()));
+    }
+
+    /**
+     * Tempo até a entrada do CEP expirar (negativo se já expirou), sem contar como acerto nem falha e sem
+     * registrar acesso no filtro de admissão.
+     *
+     * @return nanossegundos até a expiração, ou {@link Long#MIN_VALUE} se o CEP não está no cache
+     */
+    public long remainingTtlNanos(int key) {
+        return segmentFor(key).remaining(key, ticker.getAsLong());
+    }
+
+    /**
+     * Armazena o valor para o CEP. Pode ser recusado pelo filtro de admissão quando o cache está cheio.
+     *
+     * @param key   CEP como inteiro (0 a 99999999)
+     * @param value valor (não nulo)
+     * @return {@code false} se um CEP novo foi recusado pelo filtro de admissão
+     */
+    public boolean put(int key, V value) {
+        return put(key, value, ttlNanos);
+    }
+
+    /**
+     * Como {@link #put(int, Object)}, mas com tempo de vida próprio (ex.: o que restava à entrada quando ela
+     * foi salva em um snapshot).
+     */
+    public boolean put(int key, V value, long ttlNanos) {
+        if (key < 0 || value == null) {
+            throw new IllegalArgumentException("chave e valor devem ser válidos");
+        }
+        long now = ticker.getAsLong();
+        return segmentFor(key).put(key, codec == null ? value : codec.encode(value), now, now + ttlNanos, this);
+    }
+
+    /**
+     * Entrada visitada por {@link #forEach}.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        void accept(int key, V value, long remainingTtlNanos);
+    }
+
+    /**
+     * Percorre as entradas ainda não expiradas, sem contar acertos nem registrar acessos. Cada segmento é
+     * copiado sob o seu lock e visitado depois de liberá-lo; entradas gravadas durante a visita podem ou não
+     * aparecer.
+     */
+    public void forEach(EntryConsumer<? super V> action) {
+        for (Segment segment : segments) {
+            long now = ticker.getAsLong();
+            var copy = segment.live(now);
+            for (int i = 0; i < copy.size; i++) {
+                action.accept(copy.keys[i], decode(copy.values[i]), copy.remaining[i]);
+            }
+        }
+    }
+
+    /**
+     * Remove o CEP do cache, se presente.
+     */
+    public void invalidate(int key) {
+        segmentFor(key).remove(key);
+    }
+
+    /**
+     * Quantidade atual de entradas (incluindo expiradas ainda não despejadas).
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Retrato dos contadores do cache.
+     */
+    public CepCacheStats stats() {
+        return new CepCacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(),
+                rejections.sum(), size());
+    }
+
+    private Segment segmentFor(int key) {
+        return segments[(FrequencySketch.spread(key) >>> 24) & segmentMask];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V decode(Object value) {
+        if (value == null || codec == null) {
+            return (V) value;
+        }
+        return codec.decode(value);
+    }
+
+    /**
+     * Cópia das entradas vivas de um segmento.
+     */
+    private static final class Live {
+
+        final int[] keys;
+        final Object[] values;
+        final long[] remaining;
+        int size;
+
+        Live(int capacity) {
+            keys = new int[capacity];
+            values = new Object[capacity];
+            remaining = new long[capacity];
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class Segment extends ReentrantLock {
+
+        private final int capacity;
+        private final int mask;
+        private final int[] keys;
+        private final long[] expiresAt;
+        private final Object[] values;
+        private final boolean[] referenced;
+        private final FrequencySketch sketch;
+        private int size;
+        private int hand;
+
+        Segment(int capacity) {
+            int length = FrequencySketch.ceilingPowerOfTwo(Math.max(4, capacity * 2));
+            this.capacity = capacity;
+            this.mask = length - 1;
+            this.keys = new int[length];
+            this.expiresAt = new long[length];
+            this.values = new Object[length];
+            this.referenced = new boolean[length];
+            this.sketch = new FrequencySketch(capacity);
+            Arrays.fill(keys, EMPTY);
+        }
+
+        int size() {
+            lock();
+            try {
+                return size;
+            } finally {
+                unlock();
+            }
+        }
+
+        Object get(int key, long now) {
+            lock();
+            try {
+                sketch.increment(key);
+                int slot = find(key);
+                if (slot < 0 || expiresAt[slot] - now <= 0) {
+                    return null;
+                }
+                referenced[slot] = true;
+                return values[slot];
+            } finally {
+                unlock();
+            }
+        }
+
+        Object peek(int key) {
+            lock();
+            try {
+                int slot = find(key);
+                return slot < 0 ? null : values[slot];
+            } finally {
+                unlock();
+            }
+        }
+
+        Object peek(int key, long now) {
+            lock();
+            try {
+                int slot = find(key);
+                return slot < 0 || expiresAt[slot] - now <= 0 ? null : values[slot];
+            } finally {
+                unlock();
+            }
+        }
+
+        long remaining(int key, long now) {
+            lock();
+            try {
+                int slot = find(key);
+                return slot < 0 ? Long.MIN_VALUE : expiresAt[slot] - now;
+            } finally {
+                unlock();
+            }
+        }
+
+        boolean put(int key, Object value, long now, long expiry, CepCache<?> owner) {
+            lock();
+            try {
+                int slot = find(key);
+                if (slot >= 0) {
+                    values[slot] = value;
+                    expiresAt[slot] = expiry;
+                    referenced[slot] = true;
+                    return true;
+                }
+                if (size >= capacity) {
+                    int victim = selectVictim(now);
+                    boolean expired = expiresAt[victim] - now <= 0;
+                    if (!expired && sketch.frequency(key) <= sketch.frequency(keys[victim])) {
+                        owner.rejections.increment();
+                        return false;
+                    }
+                    (expired ? owner.expirations : owner.evictions).increment();
+                    removeAt(victim);
+                }
+                insert(key, value, expiry);
+                return true;
+            } finally {
+                unlock();
+            }
+        }
+
+        Live live(long now) {
+            lock();
+            try {
+                var copy = new Live(size);
+                for (int slot = 0; slot < keys.length; slot++) {
+                    if (keys[slot] != EMPTY && expiresAt[slot] - now > 0) {
+                        copy.keys[copy.size] = keys[slot];
+                        copy.values[copy.size] = values[slot];
+                        copy.remaining[copy.size++] = expiresAt[slot] - now;
+                    }
+                }
+                return copy;
+            } finally {
+                unlock();
+            }
+        }
+
+        void remove(int key) {
+            lock();
+            try {
+                int slot = find(key);
+                if (slot >= 0) {
+                    removeAt(slot);
+                }
+            } finally {
+                unlock();
+            }
+        }
+
+        private int find(int key) {
+            int slot = FrequencySketch.spread(key) & mask;
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void insert(int key, Object value, long expiry) {
+            int slot = FrequencySketch.spread(key) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            expiresAt[slot] = expiry;
+            referenced[slot] = false;
+            size++;
+        }
+
+        /**
+         * Percorre a tabela como um relógio: limpa o bit de referência das entradas acessadas e
+         * devolve a primeira não referenciada (ou já expirada).
+         */
+        private int selectVictim(long now) {
+            while (true) {
+                hand = (hand + 1) & mask;
+                if (keys[hand] == EMPTY) {
+                    continue;
+                }
+                if (expiresAt[hand] - now <= 0 || !referenced[hand]) {
+                    return hand;
+                }
+                referenced[hand] = false;
+            }
+        }
+
+        /**
+         * Remoção com deslocamento para trás, mantendo as sequências de sondagem linear sem lápides.
+         */
+        private void removeAt(int slot) {
+            int gap = slot;
+            int next = (gap + 1) & mask;
+            while (keys[next] != EMPTY) {
+                int home = FrequencySketch.spread(keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap] = keys[next];
+                    values[gap] = values[next];
+                    expiresAt[gap] = expiresAt[next];
+                    referenced[gap] = referenced[next];
+                    gap = next;
+                }
+                next = (next + 1) & mask;
+            }
+            keys[gap] = EMPTY;
+            values[gap] = null;
+            referenced[gap] = false;
+            size--;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demo.cep.cache;
+
+/**
+ * Retrato dos contadores de um {@link CepCache}.
+ *
+ * @param hits        consultas atendidas pelo cache
+ * @param misses      consultas sem entrada válida
+ * @param evictions   entradas válidas despejadas para dar lugar a outras
+ * @param expirations entradas expiradas removidas
+ * @param rejections  inserções recusadas pelo filtro de admissão
+ * @param size        entradas atualmente armazenadas
+ */
+public record CepCacheStats(
+        long hits,
+        long misses,
+        long evictions,
+        long expirations,
+        long rejections,
+        int size
+) {
+
+    /**
+     * Proporção de acertos entre 0 e 1 (0 quando ainda não houve consultas).
+     */
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
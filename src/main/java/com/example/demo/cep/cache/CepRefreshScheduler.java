@@ -0,0 +1,317 @@
+package com.example.demo.cep.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Renova em segundo plano os CEPs mais consultados antes que expirem no {@link CepCache} e, opcionalmente,
+ * pré-carrega os CEPs vizinhos (mesmo setor de 5 dígitos) quando um setor fica popular.
+ *
+ * <p>A popularidade vem de sketches Count-Min ({@link FrequencySketch}) divididos em faixas, cada uma com seu
+ * {@link ReentrantLock}, uma para os CEPs e outra para os setores. Os contadores envelhecem com o tempo, então
+ * "popular" quer dizer consultado muitas vezes recentemente.</p>
+ *
+ * <p>As renovações esperam em uma fila limitada e são disparadas a cada {@value #TICK_MILLIS} ms dentro de
+ * um orçamento de {@code maxRequestsPerSecond} consultas por segundo ao upstream (balde de fichas), com no
+ * máximo {@code parallelism} em andamento. Renovações têm prioridade sobre pré-carregamentos; pedidos que não
+ * cabem na fila são descartados.</p>
+ */
+public final class CepRefreshScheduler implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CepRefreshScheduler.class);
+    static final long TICK_MILLIS = 100;
+    private static final int STRIPES = 16;
+    private static final int SECTOR_SIZE = 1000;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final FrequencySketch[] keySketches = new FrequencySketch[STRIPES];
+    private final FrequencySketch[] sectorSketches = new FrequencySketch[STRIPES];
+    private final int minHits;
+    private final long refreshAheadNanos;
+    private final long maxStaleNanos;
+    private final double tokensPerTick;
+    private final double maxTokens;
+    private final int parallelism;
+    private final int maxPending;
+    private final int prefetchMinHits;
+    private final int prefetchPerSector;
+    private final long prefetchIntervalNanos;
+    private final IntFunction<int[]> sectorKeys;
+    private final LongSupplier ticker;
+
+    private final ReentrantLock queueLock = new ReentrantLock();
+    private final LinkedHashSet<Integer> refreshQueue = new LinkedHashSet<>();
+    private final LinkedHashSet<Integer> prefetchQueue = new LinkedHashSet<>();
+    private final ConcurrentHashMap<Integer, Long> prefetchedSectors = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private double tokens;
+
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder prefetches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private ScheduledExecutorService timer;
+    private ExecutorService workers;
+    private volatile IntConsumer loader;
+
+    /**
+     * @param expectedKeys         quantidade de CEPs que se espera acompanhar (tamanho dos sketches)
+     * @param minHits              acessos recentes para um CEP ser considerado popular (1 a 15)
+     * @param refreshAhead         antecedência, em relação à expiração, com que um CEP popular é renovado
+     * @param maxStale             por quanto tempo depois de expirado um CEP popular ainda é servido enquanto é
+     *                             renovado
+     * @param maxRequestsPerSecond orçamento de consultas de renovação e pré-carregamento por segundo
+     * @param parallelism          renovações simultâneas
+     * @param maxPending           tamanho de cada fila
+     * @param prefetchMinHits      acessos recentes para um setor disparar o pré-carregamento (1 a 15)
+     * @param prefetchPerSector    máximo de CEPs pré-carregados por setor
+     * @param sectorKeys           CEPs conhecidos de um setor ({@code setor * 1000} a {@code setor * 1000 + 999}),
+     *                             ou {@code null} para não pré-carregar
+     */
+    public CepRefreshScheduler(int expectedKeys, int minHits, Duration refreshAhead, Duration maxStale,
+                               double maxRequestsPerSecond, int parallelism, int maxPending, int prefetchMinHits,
+                               int prefetchPerSector, IntFunction<int[]> sectorKeys) {
+        this(expectedKeys, minHits, refreshAhead, maxStale, maxRequestsPerSecond, parallelism, maxPending,
+                prefetchMinHits, prefetchPerSector, sectorKeys, System::nanoTime);
+    }
+
+    CepRefreshScheduler(int expectedKeys, int minHits, Duration refreshAhead, Duration maxStale,
+                        double maxRequestsPerSecond, int parallelism, int maxPending, int prefetchMinHits,
+                        int prefetchPerSector, IntFunction<int[]> sectorKeys, LongSupplier ticker) {
+        if (minHits < 1 || minHits > 15 || prefetchMinHits < 1 || prefetchMinHits > 15) {
+            throw new IllegalArgumentException("minHits deve estar entre 1 e 15");
+        }
+        int perStripe = Math.max(1, expectedKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+            keySketches[i] = new FrequencySketch(perStripe);
+            sectorSketches[i] = new FrequencySketch(Math.max(1, perStripe / 8));
+        }
+        this.minHits = minHits;
+        this.refreshAheadNanos = refreshAhead.toNanos();
+        this.maxStaleNanos = maxStale.toNanos();
+        this.tokensPerTick = maxRequestsPerSecond * TICK_MILLIS / 1000.0;
+        this.maxTokens = Math.max(1, maxRequestsPerSecond);
+        this.parallelism = parallelism;
+        this.maxPending = maxPending;
+        this.prefetchMinHits = prefetchMinHits;
+        this.prefetchPerSector = prefetchPerSector;
+        this.prefetchIntervalNanos = refreshAhead.toNanos();
+        this.sectorKeys = sectorKeys;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Passa a disparar as renovações.
+     *
+     * @param loader consulta o CEP abaixo do cache e grava o resultado nele
+     */
+    public void start(IntConsumer loader) {
+        this.loader = loader;
+        workers = Executors.newFixedThreadPool(parallelism, Thread.ofPlatform().name("cep-refresh-", 0).daemon().factory());
+        timer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("cep-refresh-timer").daemon().factory());
+        timer.scheduleWithFixedDelay(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registra uma consulta ao CEP e ao seu setor. Quando o setor acaba de ficar popular, agenda o
+     * pré-carregamento dos vizinhos.
+     *
+     * @return {@code true} se o CEP é popular
+     */
+    public boolean recordAccess(int key) {
+        int sector = key / SECTOR_SIZE;
+        int keyStripe = stripe(key);
+        int keyFrequency;
+        locks[keyStripe].lock();
+        try {
+            keySketches[keyStripe].increment(key);
+            keyFrequency = keySketches[keyStripe].frequency(key);
+        } finally {
+            locks[keyStripe].unlock();
+        }
+        if (sectorKeys != null) {
+            int sectorStripe = stripe(sector);
+            int sectorFrequency;
+            locks[sectorStripe].lock();
+            try {
+                sectorSketches[sectorStripe].increment(sector);
+                sectorFrequency = sectorSketches[sectorStripe].frequency(sector);
+            } finally {
+                locks[sectorStripe].unlock();
+            }
+            if (sectorFrequency >= prefetchMinHits) {
+                schedulePrefetch(sector);
+            }
+        }
+        return keyFrequency >= minHits;
+    }
+
+    /**
+     * Se a entrada deve ser renovada agora: falta menos que {@code refreshAhead} para expirar.
+     *
+     * @param remainingNanos resultado de {@link CepCache#remainingTtlNanos}
+     */
+    public boolean shouldRefresh(long remainingNanos) {
+        return remainingNanos != Long.MIN_VALUE && remainingNanos < refreshAheadNanos;
+    }
+
+    /**
+     * Se uma entrada expirada ainda pode ser servida enquanto é renovada.
+     *
+     * @param remainingNanos resultado de {@link CepCache#remainingTtlNanos}
+     */
+    public boolean canServeStale(long remainingNanos) {
+        return remainingNanos != Long.MIN_VALUE && remainingNanos <= 0 && -remainingNanos <= maxStaleNanos;
+    }
+
+    /**
+     * Registra um acerto servido por um cache derivado das respostas (o de JSON pronto), que não passa pelo
+     * {@code CachingCepClient}, e agenda a renovação se o CEP for popular e estiver perto de expirar.
+     *
+     * @param remainingNanos resultado de {@link CepCache#remainingTtlNanos} para a resposta de origem
+     */
+    public void recordHit(int key, long remainingNanos) {
+        if (recordAccess(key) && shouldRefresh(remainingNanos)) {
+            scheduleRefresh(key);
+        }
+    }
+
+    /**
+     * Coloca o CEP na fila de renovação (ignorado se já estiver nela).
+     */
+    public void scheduleRefresh(int key) {
+        enqueue(refreshQueue, key);
+    }
+
+    public long refreshes() {
+        return refreshes.sum();
+    }
+
+    public long prefetches() {
+        return prefetches.sum();
+    }
+
+    public long failures() {
+        return failures.sum();
+    }
+
+    /**
+     * Pedidos descartados por fila cheia.
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * CEPs esperando renovação ou pré-carregamento.
+     */
+    public int pending() {
+        queueLock.lock();
+        try {
+            return refreshQueue.size() + prefetchQueue.size();
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (timer != null) {
+            timer.shutdownNow();
+            workers.shutdownNow();
+        }
+    }
+
+    private void schedulePrefetch(int sector) {
+        long now = ticker.getAsLong();
+        var last = prefetchedSectors.get(sector);
+        if (last != null && now - last < prefetchIntervalNanos) {
+            return;
+        }
+        // só uma thread ganha a troca e pré-carrega o setor
+        boolean won = last == null
+                ? prefetchedSectors.putIfAbsent(sector, now) == null
+                : prefetchedSectors.replace(sector, last, now);
+        if (!won) {
+            return;
+        }
+        var keys = sectorKeys.apply(sector);
+        for (int i = 0; i < keys.length && i < prefetchPerSector; i++) {
+            enqueue(prefetchQueue, keys[i]);
+        }
+    }
+
+    private void enqueue(LinkedHashSet<Integer> queue, int key) {
+        queueLock.lock();
+        try {
+            if (refreshQueue.contains(key) || prefetchQueue.contains(key)) {
+                return;
+            }
+            if (queue.size() >= maxPending) {
+                dropped.increment();
+                return;
+            }
+            queue.add(key);
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Repõe as fichas do orçamento e dispara o que couber nelas.
+     */
+    void tick() {
+        queueLock.lock();
+        try {
+            tokens = Math.min(maxTokens, tokens + tokensPerTick);
+            while (tokens >= 1 && inFlight.get() < parallelism) {
+                boolean refresh = !refreshQueue.isEmpty();
+                var queue = refresh ? refreshQueue : prefetchQueue;
+                if (queue.isEmpty()) {
+                    return;
+                }
+                Iterator<Integer> first = queue.iterator();
+                int key = first.next();
+                first.remove();
+                tokens--;
+                inFlight.incrementAndGet();
+                workers.execute(() -> load(key, refresh));
+            }
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    private void load(int key, boolean refresh) {
+        try {
+            loader.accept(key);
+            (refresh ? refreshes : prefetches).increment();
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.debug("Falha ao renovar o CEP {}", key, e);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static int stripe(int key) {
+        return (FrequencySketch.spread(key) >>> 28) & (STRIPES - 1);
+    }
+}
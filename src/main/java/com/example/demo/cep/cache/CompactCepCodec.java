@@ -0,0 +1,181 @@
+package com.example.demo.cep.cache;
+
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepResponse;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Guarda cada {@link CepResponse} do cache em memória como um {@link Compact}: o CEP como {@code int},
+ * logradouro e complemento como bytes UTF-8, UF (2 letras) e DDD (2 dígitos) em um {@code short} e um
+ * {@code byte}, e bairro, cidade, IBGE, GIA e SIAFI como ids de um {@link StringDictionary} compartilhado.
+ *
+ * <p>Respostas que não cabem nesse formato (UF ou DDD fora do padrão, dicionário cheio...) são guardadas
+ * como estão. A leitura devolve um {@link CepResponse} igual ao gravado.</p>
+ */
+public final class CompactCepCodec implements ValueCodec<CepResponse> {
+
+    private static final int DOES_NOT_FIT = StringDictionary.FULL;
+    private static final int NULL_ID = -2;
+    private static final int EMPTY_ID = -3;
+    private static final String[] UFS = new String[26 * 26];
+    private static final String[] DDDS = new String[100];
+
+    static {
+        for (int i = 0; i < UFS.length; i++) {
+            UFS[i] = new String(new char[]{(char) ('A' + i / 26), (char) ('A' + i % 26)});
+        }
+        for (int i = 10; i < DDDS.length; i++) {
+            DDDS[i] = Integer.toString(i);
+        }
+    }
+
+    private final StringDictionary dictionary;
+
+    /**
+     * @param dictionary dicionário dos campos repetidos
+     */
+    public CompactCepCodec(StringDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Forma guardada de uma resposta.
+     */
+    static final class Compact {
+
+        final int cep;
+        final byte[] logradouro;
+        final byte[] complemento;
+        final int bairro;
+        final int localidade;
+        final int ibge;
+        final int gia;
+        final int siafi;
+        final short uf;
+        final byte ddd;
+
+        Compact(int cep, byte[] logradouro, byte[] complemento, int bairro, int localidade, int ibge, int gia,
+                int siafi, short uf, byte ddd) {
+            this.cep = cep;
+            this.logradouro = logradouro;
+            this.complemento = complemento;
+            this.bairro = bairro;
+            this.localidade = localidade;
+            this.ibge = ibge;
+            this.gia = gia;
+            this.siafi = siafi;
+            this.uf = uf;
+            this.ddd = ddd;
+        }
+    }
+
+    @Override
+    public Object encode(CepResponse r) {
+        int cep = Cep.parse(r.cep());
+        if (cep < 0 || !Cep.formatar(cep).equals(r.cep())) {
+            return r;
+        }
+        int uf = uf(r.uf());
+        int ddd = ddd(r.ddd());
+        int bairro = term(r.bairro());
+        int localidade = term(r.localidade());
+        int ibge = term(r.ibge());
+        int gia = term(r.gia());
+        int siafi = term(r.siafi());
+        if (uf == DOES_NOT_FIT || ddd == DOES_NOT_FIT || bairro == DOES_NOT_FIT || localidade == DOES_NOT_FIT
+                || ibge == DOES_NOT_FIT || gia == DOES_NOT_FIT || siafi == DOES_NOT_FIT) {
+            return r;
+        }
+        return new Compact(cep, utf8(r.logradouro()), utf8(r.complemento()), bairro, localidade, ibge, gia, siafi,
+                (short) uf, (byte) ddd);
+    }
+
+    @Override
+    public CepResponse decode(Object encoded) {
+        if (!(encoded instanceof Compact c)) {
+            return (CepResponse) encoded;
+        }
+        return new CepResponse(Cep.formatar(c.cep), text(c.logradouro), text(c.complemento), term(c.bairro),
+                term(c.localidade), uf(c.uf), term(c.ibge), term(c.gia), ddd(c.ddd), term(c.siafi));
+    }
+
+    private int term(String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        return value.isEmpty() ? EMPTY_ID : dictionary.id(value);
+    }
+
+    private String term(int id) {
+        return switch (id) {
+            case NULL_ID -> null;
+            case EMPTY_ID -> "";
+            default -> dictionary.value(id);
+        };
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] bytes) {
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Duas letras maiúsculas em um {@code short} (2 + posição na tabela de UFs); 0 é {@code null} e 1 é vazio.
+     */
+    private static int uf(String value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value.isEmpty()) {
+            return 1;
+        }
+        if (value.length() != 2 || !isUpper(value.charAt(0)) || !isUpper(value.charAt(1))) {
+            return DOES_NOT_FIT;
+        }
+        return 2 + (value.charAt(0) - 'A') * 26 + value.charAt(1) - 'A';
+    }
+
+    private static String uf(short value) {
+        return switch (value) {
+            case 0 -> null;
+            case 1 -> "";
+            default -> UFS[value - 2];
+        };
+    }
+
+    /**
+     * DDD de 10 a 99 em um {@code byte}; 0 é {@code null} e 1 é vazio.
+     */
+    private static int ddd(String value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value.isEmpty()) {
+            return 1;
+        }
+        if (value.length() != 2 || !isDigit(value.charAt(0)) || !isDigit(value.charAt(1)) || value.charAt(0) == '0') {
+            return DOES_NOT_FIT;
+        }
+        return (value.charAt(0) - '0') * 10 + value.charAt(1) - '0';
+    }
+
+    private static String ddd(byte value) {
+        return switch (value) {
+            case 0 -> null;
+            case 1 -> "";
+            default -> DDDS[value];
+        };
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
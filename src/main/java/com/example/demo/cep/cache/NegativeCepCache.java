@@ -0,0 +1,192 @@
+package com.example.demo.cep.cache;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Conjunto dos CEPs que o provedor informou não existirem, guardado como um bitmap sobre todo o espaço
+ * de 10^8 chaves: cada CEP ocupa um bit, sem entrada no heap por CEP.
+ *
+ * <p>O bitmap é paginado (páginas de 64 Ki bits, 8 KiB) e cada página só é alocada quando o primeiro
+ * CEP dela é marcado, então varreduras concentradas em poucas faixas custam poucas páginas. O pior
+ * caso (todas as páginas em uso nas duas gerações) fica em 25 MB.</p>
+ *
+ * <p>A expiração é por geração: os bits são marcados na geração atual e, a cada {@code ttl / 2}, ela
+ * passa a ser a anterior e a anterior é descartada. Um CEP marcado é lembrado por entre {@code ttl / 2}
+ * e {@code ttl}. Leituras e marcações não usam lock; só a troca de geração usa um
+ * {@link ReentrantLock}.</p>
+ */
+public final class NegativeCepCache {
+
+    static final int KEYSPACE = 100_000_000;
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_MASK = (1 << PAGE_SHIFT) - 1;
+    private static final int PAGES = (KEYSPACE >>> PAGE_SHIFT) + 1;
+
+    private final long generationNanos;
+    private final LongSupplier ticker;
+    private final ReentrantLock rotationLock = new ReentrantLock();
+
+    private volatile Bitmap current = new Bitmap();
+    private volatile Bitmap previous = new Bitmap();
+    private volatile long rotateAt;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder additions = new LongAdder();
+
+    /**
+     * @param ttl por quanto tempo um CEP inexistente é lembrado (no máximo)
+     */
+    public NegativeCepCache(Duration ttl) {
+        this(ttl, System::nanoTime);
+    }
+
+    NegativeCepCache(Duration ttl, LongSupplier ticker) {
+        this.generationNanos = Math.max(1, ttl.toNanos() / 2);
+        this.ticker = ticker;
+        this.rotateAt = ticker.getAsLong() + generationNanos;
+    }
+
+    /**
+     * Indica se o CEP foi marcado como inexistente e ainda não expirou.
+     *
+     * @param key CEP como inteiro (0 a 99999999)
+     */
+    public boolean contains(int key) {
+        boolean contains = peek(key);
+        if (contains) {
+            hits.increment();
+        }
+        return contains;
+    }
+
+    /**
+     * Como {@link #contains(int)}, mas sem contar acerto (varreduras por faixa e buscas).
+     *
+     * @param key CEP como inteiro (0 a 99999999)
+     */
+    public boolean peek(int key) {
+        if (key < 0 || key >= KEYSPACE) {
+            return false;
+        }
+        rotateIfNeeded();
+        return current.get(key) || previous.get(key);
+    }
+
+    /**
+     * Marca o CEP como inexistente.
+     *
+     * @param key CEP como inteiro (0 a 99999999)
+     */
+    public void add(int key) {
+        if (key < 0 || key >= KEYSPACE) {
+            throw new IllegalArgumentException("chave fora do intervalo de CEPs");
+        }
+        rotateIfNeeded();
+        if (current.set(key)) {
+            additions.increment();
+        }
+    }
+
+    /**
+     * Desmarca o CEP (por exemplo, quando o provedor passou a encontrá-lo).
+     */
+    public void remove(int key) {
+        if (key < 0 || key >= KEYSPACE) {
+            return;
+        }
+        current.clear(key);
+        previous.clear(key);
+    }
+
+    /**
+     * Consultas respondidas pelo bitmap.
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * CEPs marcados desde a criação (um CEP remarcado após trocar de geração conta de novo).
+     */
+    public long additionCount() {
+        return additions.sum();
+    }
+
+    /**
+     * Páginas alocadas nas duas gerações, para acompanhar o uso de memória ({@code 8 KiB} cada).
+     */
+    public int allocatedPages() {
+        return current.allocatedPages() + previous.allocatedPages();
+    }
+
+    private void rotateIfNeeded() {
+        long now = ticker.getAsLong();
+        if (now - rotateAt < 0) {
+            return;
+        }
+        rotationLock.lock();
+        try {
+            if (now - rotateAt < 0) {
+                return;
+            }
+            // ocioso por mais de uma geração: a atual também já venceu
+            previous = now - rotateAt >= generationNanos ? new Bitmap() : current;
+            current = new Bitmap();
+            rotateAt = now + generationNanos;
+        } finally {
+            rotationLock.unlock();
+        }
+    }
+
+    private static final class Bitmap {
+
+        private final AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(PAGES);
+
+        boolean get(int key) {
+            var page = pages.get(key >>> PAGE_SHIFT);
+            if (page == null) {
+                return false;
+            }
+            int bit = key & PAGE_MASK;
+            return (page.get(bit >>> 6) & (1L << bit)) != 0;
+        }
+
+        /**
+         * @return {@code true} se o bit ainda não estava marcado
+         */
+        boolean set(int key) {
+            int index = key >>> PAGE_SHIFT;
+            var page = pages.get(index);
+            if (page == null) {
+                pages.compareAndSet(index, null, new AtomicLongArray(1 << (PAGE_SHIFT - 6)));
+                page = pages.get(index);
+            }
+            int bit = key & PAGE_MASK;
+            long mask = 1L << bit;
+            return (page.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m) & mask) == 0;
+        }
+
+        void clear(int key) {
+            var page = pages.get(key >>> PAGE_SHIFT);
+            if (page != null) {
+                int bit = key & PAGE_MASK;
+                page.accumulateAndGet(bit >>> 6, ~(1L << bit), (word, m) -> word & m);
+            }
+        }
+
+        int allocatedPages() {
+            int count = 0;
+            for (int i = 0; i < PAGES; i++) {
+                if (pages.get(i) != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
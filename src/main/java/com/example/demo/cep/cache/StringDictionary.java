@@ -0,0 +1,78 @@
+package com.example.demo.cep.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dicionário de textos repetidos (cidades, bairros, códigos IBGE...): cada texto distinto é guardado uma vez
+ * e representado por um id {@code int}.
+ *
+ * <p>Só cresce. A busca texto → id é um {@link ConcurrentHashMap}; a busca id → texto lê um vetor sem lock.
+ * Inclusões novas tomam um {@link ReentrantLock} e param em {@code maximumSize} textos, para que dados
+ * inesperados do upstream não façam o dicionário crescer sem limite.</p>
+ */
+public final class StringDictionary {
+
+    /**
+     * Id devolvido por {@link #id} quando o dicionário está cheio.
+     */
+    public static final int FULL = -1;
+
+    private final int maximumSize;
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile String[] values = new String[1024];
+    private volatile int size;
+
+    public StringDictionary(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Id do texto, incluindo-o no dicionário se ainda não estiver lá.
+     *
+     * @return id a partir de 0, ou {@link #FULL} se o texto é novo e não cabe mais
+     */
+    public int id(String value) {
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        lock.lock();
+        try {
+            id = ids.get(value);
+            if (id != null) {
+                return id;
+            }
+            int next = size;
+            if (next >= maximumSize) {
+                return FULL;
+            }
+            if (next == values.length) {
+                values = Arrays.copyOf(values, next * 2);
+            }
+            values[next] = value;
+            size = next + 1;
+            ids.put(value, next);
+            return next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Texto de um id devolvido por {@link #id}.
+     */
+    public String value(int id) {
+        // lê o tamanho antes do vetor: tudo que foi publicado até ele está no vetor lido
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("id desconhecido: " + id);
+        }
+        return values[id];
+    }
+
+    public int size() {
+        return size;
+    }
+}
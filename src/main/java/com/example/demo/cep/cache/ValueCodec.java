@@ -0,0 +1,19 @@
+package com.example.demo.cep.cache;
+
+/**
+ * Converte os valores de um {@link CepCache} para a forma em que ficam guardados e de volta.
+ *
+ * @param <V> tipo do valor exposto pelo cache
+ */
+public interface ValueCodec<V> {
+
+    /**
+     * Forma guardada do valor. Pode devolver o próprio valor quando ele não tem uma forma mais compacta.
+     */
+    Object encode(V value);
+
+    /**
+     * Valor a partir da forma guardada (sempre algo devolvido por {@link #encode}).
+     */
+    V decode(Object encoded);
+}
@@ -0,0 +1,104 @@
+package com.example.demo.cep.client;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite adaptativo de chamadas simultâneas à API externa (AIMD).
+ *
+ * <p>Cada chamada rápida e bem-sucedida aumenta o limite em {@code 1/limite} (cerca de +1 por
+ * "rodada" de chamadas); uma falha ou uma latência acima da alvo multiplica o limite pelo fator de
+ * redução. Quando o upstream fica lento, o limite cai e as chamadas excedentes são recusadas na hora,
+ * em vez de se acumularem até o timeout.</p>
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final LongAdder rejeicoes = new LongAdder();
+    private final int minimo;
+    private final int maximo;
+    private final double fatorDeReducao;
+    private final long latenciaAlvoNanos;
+
+    private double limite;
+    private volatile int limiteAtual;
+
+    /**
+     * @param limiteInicial  limite de partida
+     * @param minimo         menor limite permitido
+     * @param maximo         maior limite permitido
+     * @param fatorDeReducao multiplicador aplicado ao limite em caso de falha ou lentidão (ex.: 0.9)
+     * @param latenciaAlvo   latência acima da qual a chamada é tratada como sinal de sobrecarga
+     */
+    public AdaptiveConcurrencyLimiter(int limiteInicial, int minimo, int maximo,
+                                      double fatorDeReducao, Duration latenciaAlvo) {
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.fatorDeReducao = fatorDeReducao;
+        this.latenciaAlvoNanos = latenciaAlvo.toNanos();
+        this.limite = Math.max(minimo, Math.min(maximo, limiteInicial));
+        this.limiteAtual = (int) limite;
+    }
+
+    /**
+     * Reserva uma vaga, sem bloquear.
+     *
+     * @return {@code false} se o limite atual já foi atingido
+     */
+    public boolean tentarAdquirir() {
+        while (true) {
+            int atual = emAndamento.get();
+            if (atual >= limiteAtual) {
+                rejeicoes.increment();
+                return false;
+            }
+            if (emAndamento.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Devolve a vaga e ajusta o limite conforme o resultado da chamada.
+     *
+     * @param latenciaNanos duração da chamada
+     * @param falhou        se a chamada falhou por problema no upstream
+     */
+    public void liberar(long latenciaNanos, boolean falhou) {
+        int ocupadas = emAndamento.getAndDecrement();
+        lock.lock();
+        try {
+            if (falhou || latenciaNanos > latenciaAlvoNanos) {
+                limite = Math.max(minimo, limite * fatorDeReducao);
+            } else if (ocupadas * 2 >= limiteAtual) {
+                // só cresce quando o limite está de fato sendo usado
+                limite = Math.min(maximo, limite + 1.0 / limite);
+            }
+            limiteAtual = (int) limite;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devolve a vaga sem ajustar o limite (chamada que nem chegou ao upstream).
+     */
+    public void descartar() {
+        emAndamento.decrementAndGet();
+    }
+
+    public int limite() {
+        return limiteAtual;
+    }
+
+    public int emAndamento() {
+        return emAndamento.get();
+    }
+
+    public long rejeicoes() {
+        return rejeicoes.sum();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Adapta um {@link CepClientPort} síncrono ao contrato {@link AsyncCepClientPort}, executando a
+ * consulta no executor informado.
+ */
+public class AsyncCepClientAdapter implements AsyncCepClientPort {
+
+    private final CepClientPort delegate;
+    private final Executor executor;
+
+    /**
+     * @param delegate cliente síncrono
+     * @param executor executor onde a consulta bloqueante roda
+     */
+    public AsyncCepClientAdapter(CepClientPort delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    /**
+     * Adaptador que executa a consulta na própria thread chamadora (útil em testes e quando o
+     * cliente síncrono não bloqueia, como o índice local).
+     */
+    public static AsyncCepClientAdapter direto(CepClientPort delegate) {
+        return new AsyncCepClientAdapter(delegate, Runnable::run);
+    }
+
+    @Override
+    public CompletableFuture<CepResponse> buscarCepAsync(String cep) {
+        return CompletableFuture.supplyAsync(() -> delegate.buscarCep(cep), executor);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Contrato assíncrono de consulta de CEP: a chamada retorna imediatamente e o resultado (ou a falha)
+ * chega pelo {@link CompletableFuture}, sem ocupar uma thread durante a espera pela API externa.
+ */
+public interface AsyncCepClientPort {
+    CompletableFuture<CepResponse> buscarCepAsync(String cep);
+}
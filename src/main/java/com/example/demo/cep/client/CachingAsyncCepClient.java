@@ -0,0 +1,108 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.cache.NegativeCepCache;
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorator de {@link AsyncCepClientPort} que compartilha o {@link CepCache} do caminho síncrono e
+ * agrupa consultas concorrentes ao mesmo CEP em um único {@link CompletableFuture}.
+ *
+ * <p>Assim como no {@link CachingCepClient}, uma falha do upstream é substituída pela resposta
+ * expirada do CEP, se o cache ainda a tiver, e CEPs inexistentes são lembrados no mesmo
+ * {@link NegativeCepCache}.</p>
+ *
+ * <p>Cada chamador recebe uma cópia do futuro compartilhado, de forma que cancelar a própria espera
+ * não afeta os demais.</p>
+ */
+public class CachingAsyncCepClient implements AsyncCepClientPort {
+
+    private final AsyncCepClientPort delegate;
+    private final CepCache<CepResponse> cache;
+    private final NegativeCepCache naoEncontrados;
+    private final ConcurrentHashMap<Integer, CompletableFuture<CepResponse>> emAndamento = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate cliente assíncrono consultado em caso de ausência no cache
+     * @param cache    cache compartilhado com o caminho síncrono
+     */
+    public CachingAsyncCepClient(AsyncCepClientPort delegate, CepCache<CepResponse> cache) {
+        this(delegate, cache, null);
+    }
+
+    /**
+     * @param delegate       cliente assíncrono consultado em caso de ausência no cache
+     * @param cache          cache compartilhado com o caminho síncrono
+     * @param naoEncontrados CEPs sabidamente inexistentes, ou {@code null} para não lembrá-los
+     */
+    public CachingAsyncCepClient(AsyncCepClientPort delegate, CepCache<CepResponse> cache,
+                                 NegativeCepCache naoEncontrados) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.naoEncontrados = naoEncontrados;
+    }
+
+    @Override
+    public CompletableFuture<CepResponse> buscarCepAsync(String cep) {
+        int chave = Cep.parse(cep);
+        if (chave < 0) {
+            return delegate.buscarCepAsync(cep);
+        }
+        if (naoEncontrados != null && naoEncontrados.contains(chave)) {
+            return CompletableFuture.completedFuture(CepResponse.NAO_ENCONTRADO);
+        }
+        var emCache = cache.get(chave);
+        if (emCache != null) {
+            return CompletableFuture.completedFuture(emCache);
+        }
+
+        var novo = new CompletableFuture<CepResponse>();
+        var existente = emAndamento.putIfAbsent(chave, novo);
+        if (existente != null) {
+            return existente.copy();
+        }
+        CompletableFuture<CepResponse> consulta;
+        try {
+            consulta = delegate.buscarCepAsync(cep);
+        } catch (RuntimeException e) {
+            consulta = CompletableFuture.failedFuture(e);
+        }
+        consulta.whenComplete((resposta, erro) -> {
+            if (erro == null && resposta != null) {
+                if (resposta.encontrado()) {
+                    cache.put(chave, resposta);
+                    if (naoEncontrados != null) {
+                        naoEncontrados.remove(chave);
+                    }
+                } else if (naoEncontrados != null) {
+                    naoEncontrados.add(chave);
+                }
+            }
+            emAndamento.remove(chave, novo);
+            if (erro == null) {
+                novo.complete(resposta);
+                return;
+            }
+            var causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+            var vencida = ResilientCepClient.falhaDoUpstream(causa) ? cache.getStale(chave) : null;
+            if (vencida != null) {
+                novo.complete(vencida);
+            } else {
+                novo.completeExceptionally(causa);
+            }
+        });
+        return novo.copy();
+    }
+
+    /**
+     * Quantidade de CEPs com consulta assíncrona em andamento neste momento.
+     */
+    public int emAndamento() {
+        return emAndamento.size();
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.cache.CepCacheStats;
+import com.example.demo.cep.cache.CepRefreshScheduler;
+import com.example.demo.cep.cache.NegativeCepCache;
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepResponse;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * Decorator de {@link CepClientPort} que guarda as respostas em um {@link CepCache} em memória.
+ *
+ * <p>A chave do cache é o {@link Cep} convertido em inteiro. CEPs fora do formato não são cacheados e seguem direto para o
+ * cliente decorado (que é quem valida a entrada).</p>
+ *
+ * <p>Quando a consulta falha por problema no upstream (ver {@link ResilientCepClient#falhaDoUpstream})
+ * e o cache ainda guarda uma resposta expirada para o CEP, ela é devolvida no lugar do erro.</p>
+ *
+ * <p>CEPs que o provedor informou não existirem ({@link CepResponse#NAO_ENCONTRADO}) não ocupam o
+ * {@link CepCache}: vão para o {@link NegativeCepCache}, com TTL próprio, e são respondidos dali sem
+ * nova consulta. Uma resposta encontrada depois (recarga ou pré-carregamento) tira o CEP de lá.</p>
+ *
+ * <p>Com um {@link CepRefreshScheduler}, os CEPs populares são renovados em segundo plano pouco antes de
+ * expirar e, se expirarem mesmo assim, a resposta vencida é servida enquanto a renovação não chega
+ * (stale-while-revalidate).</p>
+ *
+ * <p>Caches derivados das respostas (o de JSON pronto do {@code CepJsonService}) são avisados por
+ * {@code aoAlterar} sempre que a resposta guardada de um CEP muda: gravação, remoção ou passagem para o
+ * {@link NegativeCepCache}.</p>
+ */
+public class CachingCepClient implements CepClientPort {
+
+    private final CepClientPort delegate;
+    private final CepCache<CepResponse> cache;
+    private final boolean servirVencido;
+    private final NegativeCepCache naoEncontrados;
+    private final CepRefreshScheduler renovacao;
+    private final IntConsumer aoAlterar;
+    private final LongAdder respostasVencidas = new LongAdder();
+    private final LongAdder respostasRevalidadas = new LongAdder();
+
+    /**
+     * @param delegate       cliente consultado em caso de ausência no cache
+     * @param cache          cache compartilhado de respostas
+     * @param servirVencido  se respostas expiradas devem substituir falhas do upstream
+     * @param naoEncontrados CEPs sabidamente inexistentes, ou {@code null} para não lembrá-los
+     * @param renovacao      renovação dos CEPs populares, ou {@code null}; quem monta a cadeia liga o
+     *                       agendador a {@link #recarregar}
+     * @param aoAlterar      chamado com o CEP cuja resposta guardada mudou, ou {@code null}
+     */
+    public CachingCepClient(CepClientPort delegate, CepCache<CepResponse> cache, boolean servirVencido,
+                            NegativeCepCache naoEncontrados, CepRefreshScheduler renovacao, IntConsumer aoAlterar) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.servirVencido = servirVencido;
+        this.naoEncontrados = naoEncontrados;
+        this.renovacao = renovacao;
+        this.aoAlterar = aoAlterar;
+    }
+
+    @Override
+    public CepResponse buscarCep(String cep) {
+        int chave = Cep.parse(cep);
+        if (chave < 0) {
+            return delegate.buscarCep(cep);
+        }
+        var emCache = buscarNaMemoria(chave);
+        boolean popular = renovacao != null && renovacao.recordAccess(chave);
+        if (emCache != null) {
+            if (popular && emCache.encontrado() && renovacao.shouldRefresh(cache.remainingTtlNanos(chave))) {
+                renovacao.scheduleRefresh(chave);
+            }
+            return emCache;
+        }
+        if (popular && renovacao.canServeStale(cache.remainingTtlNanos(chave))) {
+            var vencida = cache.getStale(chave);
+            if (vencida != null) {
+                renovacao.scheduleRefresh(chave);
+                respostasRevalidadas.increment();
+                return vencida;
+            }
+        }
+        CepResponse resposta;
+        try {
+            resposta = delegate.buscarCep(cep);
+        } catch (RuntimeException e) {
+            var vencida = servirVencido && ResilientCepClient.falhaDoUpstream(e) ? cache.getStale(chave) : null;
+            if (vencida == null) {
+                throw e;
+            }
+            respostasVencidas.increment();
+            return vencida;
+        }
+        guardar(chave, resposta);
+        return resposta;
+    }
+
+    @Override
+    public Optional<CepResponse> buscarCepEmCache(String cep) {
+        int chave = Cep.parse(cep);
+        if (chave < 0) {
+            return delegate.buscarCepEmCache(cep);
+        }
+        var emCache = buscarNaMemoria(chave);
+        return emCache != null ? Optional.of(emCache) : delegate.buscarCepEmCache(cep);
+    }
+
+    @Override
+    public Optional<CepResponse> espiarCepEmCache(String cep) {
+        int chave = Cep.parse(cep);
+        if (chave < 0) {
+            return delegate.espiarCepEmCache(cep);
+        }
+        if (naoEncontrados != null && naoEncontrados.peek(chave)) {
+            return Optional.of(CepResponse.NAO_ENCONTRADO);
+        }
+        var emCache = cache.peek(chave);
+        return emCache != null ? Optional.of(emCache) : delegate.espiarCepEmCache(cep);
+    }
+
+    private CepResponse buscarNaMemoria(int chave) {
+        if (naoEncontrados != null && naoEncontrados.contains(chave)) {
+            return CepResponse.NAO_ENCONTRADO;
+        }
+        return cache.get(chave);
+    }
+
+    private void guardar(int chave, CepResponse resposta) {
+        if (resposta == null) {
+            return;
+        }
+        if (resposta.encontrado()) {
+            cache.put(chave, resposta);
+            if (naoEncontrados != null) {
+                naoEncontrados.remove(chave);
+            }
+        } else if (naoEncontrados != null) {
+            naoEncontrados.add(chave);
+        }
+        if (aoAlterar != null) {
+            aoAlterar.accept(chave);
+        }
+    }
+
+    /**
+     * Como {@link #recarregar(int, CepClientPort)}, consultando o cliente decorado.
+     */
+    public void recarregar(int chave) {
+        recarregar(chave, delegate);
+    }
+
+    /**
+     * Consulta o CEP e grava o resultado no cache, a menos que a entrada ainda esteja longe de expirar.
+     * Chamado pelo {@link CepRefreshScheduler} para renovar e pré-carregar CEPs. Uma entrada presente é
+     * renovada em {@code origem}; um CEP ausente (pré-carregamento) segue pelo cliente decorado, que pode
+     * respondê-lo das camadas locais.
+     *
+     * @param origem cliente que revalida as entradas presentes; para revalidar de fato, o lado upstream da
+     *               cadeia, abaixo do índice local e do cache persistente (que devolveriam a mesma cópia local)
+     */
+    public void recarregar(int chave, CepClientPort origem) {
+        long restante = cache.remainingTtlNanos(chave);
+        if (restante != Long.MIN_VALUE && renovacao != null && !renovacao.shouldRefresh(restante)) {
+            return;
+        }
+        var cliente = restante == Long.MIN_VALUE ? delegate : origem;
+        var resposta = cliente.buscarCep(Cep.formatar(chave));
+        if (resposta != null && !resposta.encontrado()) {
+            cache.invalidate(chave);
+        }
+        guardar(chave, resposta);
+    }
+
+    /**
+     * Contadores de acerto, falha e despejo do cache.
+     */
+    public CepCacheStats estatisticas() {
+        return cache.stats();
+    }
+
+    /**
+     * Quantas respostas expiradas foram servidas no lugar de falhas do upstream.
+     */
+    public long respostasVencidas() {
+        return respostasVencidas.sum();
+    }
+
+    /**
+     * Quantas respostas expiradas de CEPs populares foram servidas enquanto eram renovadas.
+     */
+    public long respostasRevalidadas() {
+        return respostasRevalidadas.sum();
+    }
+}
@@ -1,59 +1,104 @@
 package com.example.demo.cep.client;
 
+import com.example.demo.cep.dto.Cep;
 import com.example.demo.cep.dto.CepResponse;
-import org.springframework.context.annotation.Primary;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
+import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
 
 /**
  * Implementação do cliente para consulta de CEP via API ViaCEP.
  *
  * <p>Obs.: a configuração do {@link RestClient} (baseUrl, timeout, etc.) é feita em
- * {@code com.example.demo.cep.config.CepClientConfig}.</p>
+ * {@code com.example.demo.cep.config.CepClientConfig}, que também monta os decorators (cache, etc.)
+ * sobre este cliente.</p>
+ *
+ * <p>O corpo é lido direto do stream da resposta pelo {@link ViaCepResponseDecoder}, sem passar pelos
+ * conversores de mensagem do {@link RestClient}. Status de erro viram as mesmas exceções de
+ * {@code retrieve()}.</p>
  */
 @Component
-@Primary
 public class CepClient implements CepClientPort {
 
+    private static final DefaultResponseErrorHandler ERROS = new DefaultResponseErrorHandler();
+
     private final RestClient restClient;
+    private final ViaCepResponseDecoder decoder;
+
+    /**
+     * @param restClient cliente HTTP configurado
+     */
+    public CepClient(RestClient restClient) {
+        this(restClient, JsonMapper.builder().build());
+    }
 
     /**
      * Construtor padrão. O {@link RestClient} é injetado já configurado.
      *
      * @param restClient cliente HTTP configurado
+     * @param jsonMapper usado pelo {@link ViaCepResponseDecoder}
      */
-    public CepClient(RestClient restClient) {
+    @Autowired
+    public CepClient(RestClient restClient, JsonMapper jsonMapper) {
         this.restClient = restClient;
+        this.decoder = new ViaCepResponseDecoder(jsonMapper);
     }
 
     /**
      * Busca informações de um CEP na API ViaCEP.
      *
      * @param cep CEP a ser consultado (pode conter formatação com hífen)
-     * @return dados do CEP retornados pela API
+     * @return dados do CEP retornados pela API, ou {@link CepResponse#NAO_ENCONTRADO} se o CEP não existir
      * @throws IllegalArgumentException se o CEP for vazio ou nulo
      */
     @Override
     public CepResponse buscarCep(String cep) {
         var cepSanitizado = sanitizeCep(cep);
+        // o ViaCEP responde {"erro": true} com status 200 para CEPs inexistentes, lido como NAO_ENCONTRADO
         return restClient.get()
                 .uri("/{cep}/json", cepSanitizado)
-                .retrieve()
-                .body(CepResponse.class);
+                .exchange((request, response) -> {
+                    if (ERROS.hasError(response)) {
+                        ERROS.handleError(request.getURI(), request.getMethod(), response);
+                    }
+                    try {
+                        return decoder.ler(response.getBody());
+                    } catch (JacksonException e) {
+                        throw new RestClientException("Resposta inválida do serviço de CEP", e);
+                    }
+                });
     }
 
     /**
      * Remove caracteres não numéricos do CEP e valida se não está vazio.
      *
+     * <p>CEPs já no formato {@code 99999999} são devolvidos como estão; {@code 99999-999} vira os 8
+     * dígitos a partir da chave inteira, sem regex.</p>
+     *
      * @param cep CEP a ser sanitizado
      * @return CEP contendo apenas números
      * @throws IllegalArgumentException se o CEP for vazio ou nulo
      */
-    private String sanitizeCep(String cep) {
+    static String sanitizeCep(String cep) {
         if (!StringUtils.hasText(cep)) {
             throw new IllegalArgumentException("CEP não pode ser vazio");
         }
-        return cep.replaceAll("[^0-9]", "");
+        int chave = Cep.parse(cep);
+        if (chave != Cep.INVALIDO) {
+            return cep.length() == 8 ? cep : Cep.digitos(chave);
+        }
+        var digitos = new StringBuilder(cep.length());
+        for (int i = 0; i < cep.length(); i++) {
+            char c = cep.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        return digitos.toString();
     }
 }
@@ -2,7 +2,25 @@ package com.example.demo.cep.client;
 
 import com.example.demo.cep.dto.CepResponse;
 
+import java.util.Optional;
+
 public interface CepClientPort {
     CepResponse buscarCep(String cep);
-}
 
+    /**
+     * Consulta apenas o que já está em memória, sem acionar a API externa.
+     * Implementações sem cache retornam vazio; decorators repassam ao cliente decorado.
+     */
+    default Optional<CepResponse> buscarCepEmCache(String cep) {
+        return Optional.empty();
+    }
+
+    /**
+     * Como {@link #buscarCepEmCache}, mas sem contar como acesso: não altera as estatísticas nem o filtro de
+     * admissão dos caches em memória. Usado por varreduras, que leem muitos CEPs uma única vez.
+     * Decorators sem cache próprio podem manter a implementação padrão.
+     */
+    default Optional<CepResponse> espiarCepEmCache(String cep) {
+        return buscarCepEmCache(cep);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.exception.CepIndisponivelException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Medidores de uma camada da cadeia de clients: um {@link Timer} por resultado, as consultas em
+ * andamento e um contador de erros por status.
+ *
+ * <p>Os timers são criados uma vez no construtor, de modo que registrar uma consulta não monta tags
+ * nem consulta o registro. Histogramas de percentis são ligados por configuração
+ * ({@code management.metrics.distribution.percentiles-histogram.cep.lookup}).</p>
+ */
+final class CepLookupMetrics {
+
+    static final String TIMER = "cep.lookup";
+    static final String EM_ANDAMENTO = "cep.lookup.active";
+    static final String ERROS = "cep.lookup.errors";
+
+    private final MeterRegistry registry;
+    private final Tags tags;
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final ConcurrentHashMap<String, Counter> errosPorStatus = new ConcurrentHashMap<>();
+
+    private final Timer sucesso;
+    private final Timer naoEncontrado;
+    private final Timer recusada;
+    private final Timer erroHttp;
+    private final Timer erroIo;
+    private final Timer invalida;
+    private final Timer cancelada;
+    private final Timer erro;
+
+    /**
+     * @param registry registro de métricas
+     * @param camada   ponto da cadeia medido (ex.: {@code service}, {@code upstream})
+     * @param modo     {@code sync} ou {@code async}
+     */
+    CepLookupMetrics(MeterRegistry registry, String camada, String modo) {
+        this.registry = registry;
+        this.tags = Tags.of("layer", camada, "mode", modo);
+        Gauge.builder(EM_ANDAMENTO, emAndamento, AtomicInteger::get)
+                .tags(tags)
+                .description("Consultas de CEP em andamento")
+                .register(registry);
+        this.sucesso = timer("success");
+        this.naoEncontrado = timer("not_found");
+        this.recusada = timer("rejected");
+        this.erroHttp = timer("http_error");
+        this.erroIo = timer("io_error");
+        this.invalida = timer("invalid");
+        this.cancelada = timer("cancelled");
+        this.erro = timer("error");
+    }
+
+    /**
+     * Marca o início de uma consulta.
+     *
+     * @return instante de início, a ser repassado para {@link #registrar}
+     */
+    long iniciar() {
+        emAndamento.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Registra o fim de uma consulta iniciada em {@code inicio}.
+     */
+    void registrar(long inicio, CepResponse resposta, Throwable falha) {
+        long duracao = System.nanoTime() - inicio;
+        emAndamento.decrementAndGet();
+        classificar(resposta, falha).record(duracao, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer classificar(CepResponse resposta, Throwable falha) {
+        if (falha == null) {
+            return resposta != null && resposta.encontrado() ? sucesso : naoEncontrado;
+        }
+        if (falha instanceof CancellationException) {
+            return cancelada;
+        }
+        if (falha instanceof IllegalArgumentException) {
+            return invalida;
+        }
+        if (falha instanceof CepIndisponivelException) {
+            contarErro("rejected");
+            return recusada;
+        }
+        if (falha instanceof RestClientResponseException http) {
+            contarErro(Integer.toString(http.getStatusCode().value()));
+            return erroHttp;
+        }
+        if (falha instanceof ResourceAccessException) {
+            contarErro("io");
+            return erroIo;
+        }
+        contarErro(falha.getClass().getSimpleName());
+        return erro;
+    }
+
+    private void contarErro(String status) {
+        errosPorStatus.computeIfAbsent(status, s -> Counter.builder(ERROS)
+                        .tags(tags)
+                        .tag("status", s)
+                        .description("Falhas de consulta de CEP por status HTTP ou tipo de erro")
+                        .register(registry))
+                .increment();
+    }
+
+    private Timer timer(String resultado) {
+        return Timer.builder(TIMER)
+                .tags(tags)
+                .tag("outcome", resultado)
+                .description("Duração das consultas de CEP por camada e resultado")
+                .register(registry);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.cep.client;
+
+/**
+ * Classe de prioridade de uma consulta ao upstream, usada pelo {@link UpstreamRateLimiter} para decidir
+ * quem usa as fichas primeiro.
+ *
+ * <p>Quem dispara consultas em volume liga {@link #ATUAL} enquanto consulta; sem ela, a consulta é
+ * {@link #INTERATIVA}.</p>
+ */
+public enum CepPrioridade {
+
+    /**
+     * Consultas individuais feitas por um usuário esperando a resposta ({@code GET /ceps/{cep}}).
+     */
+    INTERATIVA,
+
+    /**
+     * Lotes e fluxos de CEPs.
+     */
+    LOTE,
+
+    /**
+     * Renovações e pré-carregamentos do cache.
+     */
+    SEGUNDO_PLANO;
+
+    /**
+     * Prioridade das consultas feitas enquanto estiver ligada.
+     */
+    public static final ScopedValue<CepPrioridade> ATUAL = ScopedValue.newInstance();
+
+    /**
+     * Cabeçalho com que a prioridade segue para a réplica dona do CEP no modo cluster.
+     */
+    public static final String CABECALHO = "X-Cep-Priority";
+
+    /**
+     * Prioridade da consulta em andamento nesta thread.
+     */
+    public static CepPrioridade atual() {
+        return ATUAL.orElse(INTERATIVA);
+    }
+
+    /**
+     * Prioridade pelo nome, como veio no {@link #CABECALHO}; {@link #INTERATIVA} se ausente ou desconhecida.
+     */
+    public static CepPrioridade doNome(String nome) {
+        if (nome != null) {
+            for (var prioridade : values()) {
+                if (prioridade.name().equalsIgnoreCase(nome.strip())) {
+                    return prioridade;
+                }
+            }
+        }
+        return INTERATIVA;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.cep.client;
+
+/**
+ * Provedor de CEP usado pelo {@link HedgingCepClient}, com o histograma das latências observadas nele.
+ *
+ * @param nome      identificação do provedor (usada em logs e métricas)
+ * @param client    cliente assíncrono do provedor
+ * @param latencias latências das consultas concluídas (com sucesso ou falha)
+ */
+public record CepProvider(String nome, AsyncCepClientPort client, LatencyHistogram latencias) {
+
+    private static final long JANELA_PADRAO = 10_000;
+
+    public CepProvider(String nome, AsyncCepClientPort client) {
+        this(nome, client, new LatencyHistogram(JANELA_PADRAO));
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.cep.client;
+
+/**
+ * Retrato do estado do {@link ResilientCepClient}.
+ *
+ * @param circuito           estado atual do circuit breaker
+ * @param aberturas          quantas vezes o circuito abriu
+ * @param limite             limite atual de chamadas simultâneas
+ * @param emAndamento        chamadas ao upstream em andamento
+ * @param chamadas           chamadas que seguiram para o upstream
+ * @param falhas             chamadas ao upstream que falharam
+ * @param rejeicoesCircuito  chamadas recusadas com o circuito aberto
+ * @param rejeicoesLimite    chamadas recusadas pelo limite de concorrência
+ */
+public record CepResilienceStats(CircuitBreaker.Estado circuito, long aberturas, int limite, int emAndamento,
+                                 long chamadas, long falhas, long rejeicoesCircuito, long rejeicoesLimite) {
+}
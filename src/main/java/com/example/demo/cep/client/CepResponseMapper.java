@@ -0,0 +1,46 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Converte o corpo da resposta de um provedor de CEP para {@link CepResponse}.
+ */
+@FunctionalInterface
+public interface CepResponseMapper {
+
+    CepResponse mapear(byte[] corpo);
+
+    /**
+     * Formato da API ViaCEP, que já coincide com {@link CepResponse}, lido pelo {@link ViaCepResponseDecoder}.
+     */
+    static CepResponseMapper viaCep(JsonMapper jsonMapper) {
+        var decoder = new ViaCepResponseDecoder(jsonMapper);
+        return decoder::ler;
+    }
+
+    /**
+     * Formato da BrasilAPI ({@code /api/cep/v1/{cep}}): {@code cep}, {@code state}, {@code city},
+     * {@code neighborhood} e {@code street}.
+     */
+    static CepResponseMapper brasilApi(JsonMapper jsonMapper) {
+        return corpo -> {
+            var json = jsonMapper.readTree(corpo);
+            var cep = texto(json, "cep");
+            if (cep == null) {
+                return CepResponse.NAO_ENCONTRADO;
+            }
+            if (cep.length() == 8) {
+                cep = cep.substring(0, 5) + "-" + cep.substring(5);
+            }
+            return new CepResponse(cep, texto(json, "street"), "", texto(json, "neighborhood"),
+                    texto(json, "city"), texto(json, "state"), null, null, null, null);
+        };
+    }
+
+    private static String texto(JsonNode json, String campo) {
+        var valor = json.get(campo);
+        return valor == null || valor.isNull() ? null : valor.asString();
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.demo.cep.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker com janela deslizante das últimas chamadas.
+ *
+ * <ul>
+ *   <li>{@link Estado#FECHADO}: tudo passa; se a taxa de falhas da janela atingir o limite (com um
+ *   mínimo de chamadas registradas), o circuito abre.</li>
+ *   <li>{@link Estado#ABERTO}: tudo é recusado até passar o tempo de abertura.</li>
+ *   <li>{@link Estado#MEIO_ABERTO}: deixa passar algumas chamadas de teste; se todas tiverem sucesso o
+ *   circuito fecha, e uma única falha o abre de novo.</li>
+ * </ul>
+ *
+ * <p>Toda chamada permitida por {@link #permitir()} deve ser seguida de exatamente um
+ * {@link #registrarSucesso} ou {@link #registrarFalha} com a geração que {@code permitir()} devolveu. Cada
+ * mudança de estado inicia uma geração nova, e resultados de chamadas iniciadas em gerações anteriores são
+ * ignorados: uma chamada lenta, iniciada antes de o circuito abrir, não conta como chamada de teste.</p>
+ */
+public final class CircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum Estado { FECHADO, ABERTO, MEIO_ABERTO }
+
+    /**
+     * Devolvido por {@link #permitir()} quando a chamada é recusada.
+     */
+    public static final long RECUSADA = -1;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final boolean[] janela;
+    private final int minimoDeChamadas;
+    private final double taxaDeFalha;
+    private final long tempoAbertoNanos;
+    private final int chamadasDeTeste;
+    private final LongSupplier ticker;
+    private final LongAdder aberturas = new LongAdder();
+
+    private volatile Estado estado = Estado.FECHADO;
+    private volatile long geracao;
+    private int posicao;
+    private int registradas;
+    private int falhas;
+    private long abertoEm;
+    private int testesEmAndamento;
+    private int testesComSucesso;
+
+    /**
+     * @param tamanhoDaJanela  quantidade de chamadas consideradas no cálculo da taxa de falhas
+     * @param minimoDeChamadas chamadas registradas necessárias antes de o circuito poder abrir
+     * @param taxaDeFalha      proporção (0 a 1) de falhas que abre o circuito
+     * @param tempoAberto      tempo até o circuito aberto liberar chamadas de teste
+     * @param chamadasDeTeste  chamadas de teste no estado meio aberto
+     */
+    public CircuitBreaker(int tamanhoDaJanela, int minimoDeChamadas, double taxaDeFalha,
+                          Duration tempoAberto, int chamadasDeTeste) {
+        this(tamanhoDaJanela, minimoDeChamadas, taxaDeFalha, tempoAberto, chamadasDeTeste, System::nanoTime);
+    }
+
+    CircuitBreaker(int tamanhoDaJanela, int minimoDeChamadas, double taxaDeFalha,
+                   Duration tempoAberto, int chamadasDeTeste, LongSupplier ticker) {
+        this.janela = new boolean[tamanhoDaJanela];
+        this.minimoDeChamadas = Math.min(minimoDeChamadas, tamanhoDaJanela);
+        this.taxaDeFalha = taxaDeFalha;
+        this.tempoAbertoNanos = tempoAberto.toNanos();
+        this.chamadasDeTeste = chamadasDeTeste;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Indica se uma chamada pode seguir para a API externa.
+     *
+     * @return geração em que a chamada foi permitida, ou {@link #RECUSADA}
+     */
+    public long permitir() {
+        // lida antes do estado: se o circuito abrir entre as duas leituras, o resultado será ignorado
+        long atual = geracao;
+        if (estado == Estado.FECHADO) {
+            return atual;
+        }
+        lock.lock();
+        try {
+            switch (estado) {
+                case FECHADO:
+                    return geracao;
+                case ABERTO:
+                    if (ticker.getAsLong() - abertoEm < tempoAbertoNanos) {
+                        return RECUSADA;
+                    }
+                    transitar(Estado.MEIO_ABERTO);
+                    testesEmAndamento = 1;
+                    testesComSucesso = 0;
+                    return geracao;
+                default:
+                    if (testesEmAndamento >= chamadasDeTeste) {
+                        return RECUSADA;
+                    }
+                    testesEmAndamento++;
+                    return geracao;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param geracao valor devolvido por {@link #permitir()} ao liberar a chamada
+     */
+    public void registrarSucesso(long geracao) {
+        registrar(geracao, false);
+    }
+
+    /**
+     * @param geracao valor devolvido por {@link #permitir()} ao liberar a chamada
+     */
+    public void registrarFalha(long geracao) {
+        registrar(geracao, true);
+    }
+
+    public Estado estado() {
+        return estado;
+    }
+
+    /**
+     * Quantas vezes o circuito abriu desde a criação.
+     */
+    public long aberturas() {
+        return aberturas.sum();
+    }
+
+    private void registrar(long geracaoDaChamada, boolean falhou) {
+        lock.lock();
+        try {
+            if (geracaoDaChamada != geracao) {
+                // iniciada antes da última mudança de estado: já não diz nada sobre o estado atual
+                return;
+            }
+            switch (estado) {
+                case FECHADO -> {
+                    if (registradas == janela.length) {
+                        if (janela[posicao]) {
+                            falhas--;
+                        }
+                    } else {
+                        registradas++;
+                    }
+                    janela[posicao] = falhou;
+                    if (falhou) {
+                        falhas++;
+                    }
+                    posicao = (posicao + 1) % janela.length;
+                    if (registradas >= minimoDeChamadas && falhas >= taxaDeFalha * registradas) {
+                        abrir();
+                    }
+                }
+                case MEIO_ABERTO -> {
+                    if (falhou) {
+                        abrir();
+                    } else if (++testesComSucesso >= chamadasDeTeste) {
+                        fechar();
+                    }
+                }
+                case ABERTO -> {
+                    // nenhuma chamada é permitida com o circuito aberto
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void abrir() {
+        abertoEm = ticker.getAsLong();
+        aberturas.increment();
+        transitar(Estado.ABERTO);
+    }
+
+    private void fechar() {
+        posicao = 0;
+        registradas = 0;
+        falhas = 0;
+        transitar(Estado.FECHADO);
+    }
+
+    private void transitar(Estado novo) {
+        if (estado != novo) {
+            log.warn("Circuito da API de CEP: {} -> {}", estado, novo);
+            geracao++;
+            estado = novo;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepResponse;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator de {@link CepClientPort} que agrupa consultas concorrentes ao mesmo CEP ("single flight").
+ *
+ * <p>A primeira thread a pedir um CEP executa a consulta no cliente decorado; as demais que chegam
+ * enquanto ela está em andamento aguardam o mesmo {@link CompletableFuture} e recebem o mesmo
+ * resultado (ou a mesma exceção). O registro fica em um {@link ConcurrentHashMap}, cujo travamento
+ * é por posição da tabela, então CEPs diferentes não disputam entre si.</p>
+ *
+ * <p>O agrupamento respeita a {@link CepPrioridade}: uma consulta só aguarda outra da mesma classe ou de
+ * classe mais prioritária. Uma consulta interativa não pega carona em uma de lote ou de segundo plano, que
+ * esperaria pelas fichas do limitador no orçamento (e com o descarte) da classe mais baixa; ela faz a própria
+ * chamada, que segue na frente da fila.</p>
+ */
+public class CoalescingCepClient implements CepClientPort {
+
+    private final CepClientPort delegate;
+    private final ConcurrentHashMap<Long, CompletableFuture<CepResponse>> emAndamento = new ConcurrentHashMap<>();
+    private final LongAdder chamadasCompartilhadas = new LongAdder();
+
+    /**
+     * @param delegate cliente que efetivamente realiza a consulta
+     */
+    public CoalescingCepClient(CepClientPort delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public CepResponse buscarCep(String cep) {
+        int chave = Cep.parse(cep);
+        if (chave < 0) {
+            return delegate.buscarCep(cep);
+        }
+
+        var prioridade = CepPrioridade.atual();
+        for (int classe = 0; classe < prioridade.ordinal(); classe++) {
+            var maisPrioritaria = emAndamento.get(registro(chave, classe));
+            if (maisPrioritaria != null) {
+                chamadasCompartilhadas.increment();
+                return aguardar(maisPrioritaria);
+            }
+        }
+        long registro = registro(chave, prioridade.ordinal());
+        var nova = new CompletableFuture<CepResponse>();
+        var existente = emAndamento.putIfAbsent(registro, nova);
+        if (existente != null) {
+            chamadasCompartilhadas.increment();
+            return aguardar(existente);
+        }
+
+        try {
+            var resposta = delegate.buscarCep(cep);
+            nova.complete(resposta);
+            return resposta;
+        } catch (RuntimeException | Error e) {
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(registro, nova);
+        }
+    }
+
+    @Override
+    public Optional<CepResponse> buscarCepEmCache(String cep) {
+        return delegate.buscarCepEmCache(cep);
+    }
+
+    /**
+     * Quantidade de consultas que foram atendidas aproveitando uma chamada já em andamento.
+     */
+    public long chamadasCompartilhadas() {
+        return chamadasCompartilhadas.sum();
+    }
+
+    /**
+     * Quantidade de consultas em andamento neste momento (no máximo uma por CEP e classe de prioridade).
+     */
+    public int emAndamento() {
+        return emAndamento.size();
+    }
+
+    private static long registro(int chave, int classe) {
+        return (long) chave << 2 | classe;
+    }
+
+    private static CepResponse aguardar(CompletableFuture<CepResponse> futuro) {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta de CEP interrompida", e);
+        } catch (ExecutionException e) {
+            throw propagar(e.getCause());
+        }
+    }
+
+    private static RuntimeException propagar(Throwable causa) {
+        if (causa instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (causa instanceof Error error) {
+            throw error;
+        }
+        return new CompletionException(causa);
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cliente composto que reduz a latência de cauda disparando mais de uma consulta para o mesmo CEP e
+ * ficando com a primeira resposta válida, inclusive {@link CepResponse#NAO_ENCONTRADO}; as demais tentativas
+ * são canceladas. Só falhas (exceções) levam a uma nova tentativa antes do atraso.
+ *
+ * <ul>
+ *   <li>{@link Modo#HEDGE}: consulta o primeiro provedor e, se não houver resposta dentro do atraso de
+ *   hedge, dispara a próxima tentativa (no provedor seguinte, ou no mesmo se houver só um). Uma
+ *   tentativa que falha antes do atraso dispara a próxima na hora.</li>
+ *   <li>{@link Modo#RACE}: consulta todos os provedores ao mesmo tempo (corrida).</li>
+ * </ul>
+ *
+ * <p>O atraso de hedge se adapta ao percentil configurado das latências do provedor em andamento,
+ * limitado a {@code [atrasoMinimo, atrasoMaximo]}; enquanto o provedor tem poucas amostras, vale o
+ * atraso inicial.</p>
+ */
+public class HedgingCepClient implements CepClientPort, AsyncCepClientPort {
+
+    public enum Modo { HEDGE, RACE }
+
+    private static final long AMOSTRAS_MINIMAS = 20;
+
+    private final List<CepProvider> provedores;
+    private final Modo modo;
+    private final Duration atrasoInicial;
+    private final Duration atrasoMinimo;
+    private final Duration atrasoMaximo;
+    private final double percentil;
+    private final int tentativas;
+    private final LongAdder hedges = new LongAdder();
+
+    /**
+     * @param provedores    provedores em ordem de preferência (ao menos um)
+     * @param modo          estratégia de disparo das tentativas
+     * @param atrasoInicial atraso de hedge enquanto o provedor tem poucas amostras
+     * @param atrasoMinimo  menor atraso de hedge permitido
+     * @param atrasoMaximo  maior atraso de hedge permitido
+     * @param percentil     percentil (0 a 1) das latências do provedor usado como atraso de hedge
+     */
+    public HedgingCepClient(List<CepProvider> provedores, Modo modo, Duration atrasoInicial,
+                            Duration atrasoMinimo, Duration atrasoMaximo, double percentil) {
+        if (provedores.isEmpty()) {
+            throw new IllegalArgumentException("Ao menos um provedor de CEP é necessário");
+        }
+        this.provedores = List.copyOf(provedores);
+        this.modo = modo;
+        this.atrasoInicial = atrasoInicial;
+        this.atrasoMinimo = atrasoMinimo;
+        this.atrasoMaximo = atrasoMaximo;
+        this.percentil = percentil;
+        this.tentativas = modo == Modo.HEDGE ? Math.max(2, provedores.size()) : provedores.size();
+    }
+
+    @Override
+    public CepResponse buscarCep(String cep) {
+        try {
+            return buscarCepAsync(cep).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<CepResponse> buscarCepAsync(String cep) {
+        var corrida = new Corrida(cep);
+        if (modo == Modo.RACE) {
+            for (int i = 0; i < tentativas; i++) {
+                corrida.disparar(i);
+            }
+        } else {
+            corrida.disparar(0);
+        }
+        return corrida.resultado;
+    }
+
+    /**
+     * Atraso de hedge atual para o provedor informado.
+     */
+    public Duration atrasoDeHedge(CepProvider provedor) {
+        if (provedor.latencias().amostras() < AMOSTRAS_MINIMAS) {
+            return atrasoInicial;
+        }
+        var observado = Duration.ofNanos(provedor.latencias().percentil(percentil));
+        if (observado.compareTo(atrasoMinimo) < 0) {
+            return atrasoMinimo;
+        }
+        return observado.compareTo(atrasoMaximo) > 0 ? atrasoMaximo : observado;
+    }
+
+    /**
+     * Quantidade de tentativas extras disparadas por hedge (não conta as do modo corrida).
+     */
+    public long hedgesDisparados() {
+        return hedges.sum();
+    }
+
+    public List<CepProvider> provedores() {
+        return provedores;
+    }
+
+    /**
+     * Estado de uma consulta: tentativas disparadas, concluídas e o resultado final.
+     */
+    private final class Corrida {
+
+        private final String cep;
+        private final CompletableFuture<CepResponse> resultado = new CompletableFuture<>();
+        private final List<CompletableFuture<CepResponse>> emAndamento = new CopyOnWriteArrayList<>();
+        private final AtomicInteger disparadas = new AtomicInteger();
+        private final AtomicInteger concluidas = new AtomicInteger();
+        private volatile Throwable ultimaFalha;
+
+        Corrida(String cep) {
+            this.cep = cep;
+            resultado.whenComplete((resposta, erro) -> emAndamento.forEach(t -> t.cancel(true)));
+        }
+
+        void disparar(int indice) {
+            if (indice >= tentativas || resultado.isDone() || !disparadas.compareAndSet(indice, indice + 1)) {
+                return;
+            }
+            var provedor = provedores.get(indice % provedores.size());
+            if (modo == Modo.HEDGE && indice > 0) {
+                hedges.increment();
+            }
+            long inicio = System.nanoTime();
+            CompletableFuture<CepResponse> tentativa;
+            try {
+                tentativa = provedor.client().buscarCepAsync(cep);
+            } catch (RuntimeException e) {
+                tentativa = CompletableFuture.failedFuture(e);
+            }
+            emAndamento.add(tentativa);
+            if (resultado.isDone()) {
+                tentativa.cancel(true);
+            }
+            tentativa.whenComplete((resposta, erro) -> concluir(provedor, inicio, resposta, erro));
+
+            if (modo == Modo.HEDGE && indice + 1 < tentativas) {
+                long atraso = atrasoDeHedge(provedor).toNanos();
+                CompletableFuture.delayedExecutor(atraso, TimeUnit.NANOSECONDS)
+                        .execute(() -> disparar(indice + 1));
+            }
+        }
+
+        private void concluir(CepProvider provedor, long inicio, CepResponse resposta, Throwable erro) {
+            var causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+            if (causa instanceof CancellationException) {
+                return;
+            }
+            provedor.latencias().registrar(System.nanoTime() - inicio);
+            if (causa == null && resposta != null) {
+                resultado.complete(resposta);
+                return;
+            }
+            ultimaFalha = causa != null ? causa
+                    : new IllegalStateException("Provedor " + provedor.nome() + " não devolveu resposta");
+            disparar(disparadas.get());
+            if (concluidas.incrementAndGet() == tentativas) {
+                resultado.completeExceptionally(ultimaFalha);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Cliente assíncrono e não bloqueante da API ViaCEP (ou de outro provedor de CEP), baseado no {@link HttpClient} do JDK
+ * ({@code sendAsync}). Milhares de consultas podem ficar pendentes sem uma thread para cada uma.
+ *
+ * <p>As falhas seguem a mesma hierarquia do {@link CepClient}: status de erro viram
+ * {@link RestClientResponseException} e falhas de I/O (inclusive timeout) viram
+ * {@link ResourceAccessException}. Um 404 (resposta da BrasilAPI para CEP inexistente) e um corpo sem
+ * CEP ({@code {"erro": true}} do ViaCEP) viram {@link CepResponse#NAO_ENCONTRADO}.</p>
+ */
+public class HttpAsyncCepClient implements AsyncCepClientPort {
+
+    private static final String CAMINHO_VIACEP = "/{cep}/json";
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final String caminho;
+    private final Duration timeout;
+    private final CepResponseMapper mapper;
+
+    /**
+     * Cliente para a API ViaCEP.
+     *
+     * @param httpClient cliente HTTP do JDK
+     * @param baseUrl    URL base da API (ex.: {@code https://viacep.com.br/ws})
+     * @param timeout    tempo máximo de espera pela resposta
+     * @param jsonMapper desserializador da resposta
+     */
+    public HttpAsyncCepClient(HttpClient httpClient, String baseUrl, Duration timeout, JsonMapper jsonMapper) {
+        this(httpClient, baseUrl, CAMINHO_VIACEP, timeout, CepResponseMapper.viaCep(jsonMapper));
+    }
+
+    /**
+     * Cliente para um provedor de CEP qualquer.
+     *
+     * @param httpClient cliente HTTP do JDK
+     * @param baseUrl    URL base do provedor
+     * @param caminho    caminho da consulta, com o marcador {@code {cep}} (ex.: {@code /{cep}/json})
+     * @param timeout    tempo máximo de espera pela resposta
+     * @param mapper     conversor do corpo da resposta para {@link CepResponse}
+     */
+    public HttpAsyncCepClient(HttpClient httpClient, String baseUrl, String caminho, Duration timeout,
+                              CepResponseMapper mapper) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.caminho = caminho;
+        this.timeout = timeout;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public CompletableFuture<CepResponse> buscarCepAsync(String cep) {
+        String cepSanitizado;
+        try {
+            cepSanitizado = CepClient.sanitizeCep(cep);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + caminho.replace("{cep}", cepSanitizado)))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        var envio = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        var resultado = envio.handle((response, erro) -> {
+            if (erro != null) {
+                throw traduzir(erro);
+            }
+            return converter(response);
+        });
+        // cancelar o resultado (ex.: perdedor de uma corrida) aborta a troca HTTP em andamento
+        resultado.whenComplete((response, erro) -> {
+            if (resultado.isCancelled()) {
+                envio.cancel(true);
+            }
+        });
+        return resultado;
+    }
+
+    private CepResponse converter(HttpResponse<byte[]> response) {
+        int status = response.statusCode();
+        if (status == 404) {
+            return CepResponse.NAO_ENCONTRADO;
+        }
+        if (status >= 400) {
+            throw new RestClientResponseException("Erro ao consultar CEP: HTTP " + status,
+                    HttpStatusCode.valueOf(status), "", null, response.body(), StandardCharsets.UTF_8);
+        }
+        var resposta = mapper.mapear(response.body());
+        return resposta != null && resposta.encontrado() ? resposta : CepResponse.NAO_ENCONTRADO;
+    }
+
+    private static RuntimeException traduzir(Throwable erro) {
+        var causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+        if (causa instanceof IOException io) {
+            return new ResourceAccessException("Falha de I/O ao consultar CEP: " + io.getMessage(), io);
+        }
+        return causa instanceof RuntimeException runtime ? runtime : new CompletionException(causa);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.index.CepKeyIndex;
+import com.example.demo.cep.index.CepSearchIndex;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Versão assíncrona do {@link IndexingCepClient}: registra todo CEP existente resolvido pelo cliente
+ * decorado no {@link CepKeyIndex} e no {@link CepSearchIndex} quando a consulta completa.
+ */
+public class IndexingAsyncCepClient implements AsyncCepClientPort {
+
+    private final AsyncCepClientPort delegate;
+    private final CepKeyIndex chaves;
+    private final CepSearchIndex busca;
+
+    /**
+     * @param delegate cliente que resolve o CEP
+     * @param chaves   conjunto ordenado dos CEPs conhecidos, ou {@code null}
+     * @param busca    índice invertido de endereços, ou {@code null}
+     */
+    public IndexingAsyncCepClient(AsyncCepClientPort delegate, CepKeyIndex chaves, CepSearchIndex busca) {
+        this.delegate = delegate;
+        this.chaves = chaves;
+        this.busca = busca;
+    }
+
+    @Override
+    public CompletableFuture<CepResponse> buscarCepAsync(String cep) {
+        return delegate.buscarCepAsync(cep).thenApply(resposta -> {
+            if (resposta != null && resposta.encontrado()) {
+                int chave = Cep.parse(cep);
+                if (chaves != null) {
+                    chaves.adicionar(chave);
+                }
+                if (busca != null) {
+                    busca.adicionar(chave, resposta);
+                }
+            }
+            return resposta;
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.index.CepKeyIndex;
+import com.example.demo.cep.index.CepSearchIndex;
+
+import java.util.Optional;
+
+/**
+ * Registra todo CEP existente resolvido pelo cliente decorado no {@link CepKeyIndex} (consultas por prefixo
+ * e faixa) e no {@link CepSearchIndex} (busca por endereço).
+ */
+public class IndexingCepClient implements CepClientPort {
+
+    private final CepClientPort delegate;
+    private final CepKeyIndex chaves;
+    private final CepSearchIndex busca;
+
+    /**
+     * @param delegate cliente que resolve o CEP
+     * @param chaves   conjunto ordenado dos CEPs conhecidos, ou {@code null}
+     * @param busca    índice invertido de endereços, ou {@code null}
+     */
+    public IndexingCepClient(CepClientPort delegate, CepKeyIndex chaves, CepSearchIndex busca) {
+        this.delegate = delegate;
+        this.chaves = chaves;
+        this.busca = busca;
+    }
+
+    @Override
+    public CepResponse buscarCep(String cep) {
+        var resposta = delegate.buscarCep(cep);
+        if (resposta != null && resposta.encontrado()) {
+            int chave = Cep.parse(cep);
+            if (chaves != null) {
+                chaves.adicionar(chave);
+            }
+            if (busca != null) {
+                busca.adicionar(chave, resposta);
+            }
+        }
+        return resposta;
+    }
+
+    @Override
+    public Optional<CepResponse> buscarCepEmCache(String cep) {
+        return delegate.buscarCepEmCache(cep);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.demo.cep.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Histograma de latências com buckets logarítmicos (4 por potência de dois, erro relativo de até
+ * ~19%), de 1µs a ~67s. Não guarda amostras: registrar e consultar percentis custa O(1) em memória.
+ *
+ * <p>Quando o número de amostras passa da janela, todas as contagens são divididas por dois, de
+ * forma que o histograma acompanha mudanças de comportamento do provedor.</p>
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 4;
+    private static final int MAXIMO_EXPOENTE = 26;
+    private static final int BUCKETS = SUB_BUCKETS + (MAXIMO_EXPOENTE - 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(BUCKETS);
+    private final AtomicLong amostras = new AtomicLong();
+    private final ReentrantLock envelhecimento = new ReentrantLock();
+    private final long janela;
+
+    /**
+     * @param janela quantidade de amostras que dispara o envelhecimento das contagens
+     */
+    public LatencyHistogram(long janela) {
+        this.janela = janela;
+    }
+
+    /**
+     * Registra uma latência observada.
+     */
+    public void registrar(long nanos) {
+        contagens.incrementAndGet(indice(Math.max(1, nanos / 1_000)));
+        if (amostras.incrementAndGet() >= janela && envelhecimento.tryLock()) {
+            try {
+                envelhecer();
+            } finally {
+                envelhecimento.unlock();
+            }
+        }
+    }
+
+    /**
+     * Latência (limite superior do bucket, em nanos) abaixo da qual está a fração {@code quantil}
+     * das amostras, ou {@code -1} se nada foi registrado.
+     */
+    public long percentil(double quantil) {
+        long total = 0;
+        var snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = contagens.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return -1;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(quantil * total));
+        long acumulado = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            acumulado += snapshot[i];
+            if (acumulado >= alvo) {
+                return limiteInferior(i + 1) * 1_000;
+            }
+        }
+        return limiteInferior(BUCKETS) * 1_000;
+    }
+
+    /**
+     * Quantidade de amostras consideradas (após o envelhecimento).
+     */
+    public long amostras() {
+        return amostras.get();
+    }
+
+    private void envelhecer() {
+        long restantes = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long atual;
+            long metade;
+            do {
+                atual = contagens.get(i);
+                metade = atual >>> 1;
+            } while (!contagens.compareAndSet(i, atual, metade));
+            restantes += metade;
+        }
+        amostras.set(restantes);
+    }
+
+    static int indice(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(micros);
+        if (expoente > MAXIMO_EXPOENTE) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) ((micros >>> (expoente - 2)) & (SUB_BUCKETS - 1));
+        return SUB_BUCKETS + (expoente - 2) * SUB_BUCKETS + sub;
+    }
+
+    static long limiteInferior(int indice) {
+        if (indice < SUB_BUCKETS) {
+            return indice;
+        }
+        int expoente = (indice - SUB_BUCKETS) / SUB_BUCKETS + 2;
+        long sub = (indice - SUB_BUCKETS) % SUB_BUCKETS;
+        return (1L << expoente) | (sub << (expoente - 2));
+    }
+}
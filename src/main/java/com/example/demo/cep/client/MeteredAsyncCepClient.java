@@ -0,0 +1,43 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Versão assíncrona do {@link MeteredCepClient}: a duração vai do disparo da consulta até a conclusão
+ * do {@link CompletableFuture}. O futuro devolvido é o do cliente decorado, então cancelá-lo continua
+ * cancelando a consulta (e conta como {@code outcome=cancelled}).
+ */
+public class MeteredAsyncCepClient implements AsyncCepClientPort {
+
+    private final AsyncCepClientPort delegate;
+    private final CepLookupMetrics metricas;
+
+    /**
+     * @param delegate cliente medido
+     * @param registry registro de métricas
+     * @param camada   valor da tag {@code layer}
+     */
+    public MeteredAsyncCepClient(AsyncCepClientPort delegate, MeterRegistry registry, String camada) {
+        this.delegate = delegate;
+        this.metricas = new CepLookupMetrics(registry, camada, "async");
+    }
+
+    @Override
+    public CompletableFuture<CepResponse> buscarCepAsync(String cep) {
+        long inicio = metricas.iniciar();
+        CompletableFuture<CepResponse> consulta;
+        try {
+            consulta = delegate.buscarCepAsync(cep);
+        } catch (RuntimeException e) {
+            metricas.registrar(inicio, null, e);
+            throw e;
+        }
+        consulta.whenComplete((resposta, erro) -> metricas.registrar(inicio, resposta,
+                erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro));
+        return consulta;
+    }
+}
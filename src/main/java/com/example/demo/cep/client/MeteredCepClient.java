@@ -0,0 +1,53 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Optional;
+
+/**
+ * Decorator de {@link CepClientPort} que mede cada consulta com Micrometer ({@code cep.lookup}).
+ *
+ * <p>É colocado em dois pontos da cadeia: na ponta, em volta do cliente que acessa a API externa
+ * ({@code layer=upstream}), e no topo, como o {@code CepService} a enxerga ({@code layer=service}). A
+ * diferença entre as duas é o tempo gasto no próprio nó (caches, agrupamento, circuit breaker).</p>
+ */
+public class MeteredCepClient implements CepClientPort {
+
+    private final CepClientPort delegate;
+    private final CepLookupMetrics metricas;
+
+    /**
+     * @param delegate cliente medido
+     * @param registry registro de métricas
+     * @param camada   valor da tag {@code layer}
+     */
+    public MeteredCepClient(CepClientPort delegate, MeterRegistry registry, String camada) {
+        this.delegate = delegate;
+        this.metricas = new CepLookupMetrics(registry, camada, "sync");
+    }
+
+    @Override
+    public CepResponse buscarCep(String cep) {
+        long inicio = metricas.iniciar();
+        CepResponse resposta;
+        try {
+            resposta = delegate.buscarCep(cep);
+        } catch (RuntimeException e) {
+            metricas.registrar(inicio, null, e);
+            throw e;
+        }
+        metricas.registrar(inicio, resposta, null);
+        return resposta;
+    }
+
+    @Override
+    public Optional<CepResponse> buscarCepEmCache(String cep) {
+        return delegate.buscarCepEmCache(cep);
+    }
+
+    @Override
+    public Optional<CepResponse> espiarCepEmCache(String cep) {
+        return delegate.espiarCepEmCache(cep);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.index.CepIndex;
+
+import java.util.Optional;
+
+/**
+ * Implementação de {@link CepClientPort} que responde a partir de um {@link CepIndex} local,
+ * recorrendo ao cliente de fallback (normalmente o HTTP) apenas para CEPs fora do índice.
+ */
+public class OfflineCepClient implements CepClientPort {
+
+    private final CepIndex index;
+    private final CepClientPort fallback;
+
+    /**
+     * @param index    índice local mapeado em memória
+     * @param fallback cliente usado quando o CEP não está no índice
+     */
+    public OfflineCepClient(CepIndex index, CepClientPort fallback) {
+        this.index = index;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public CepResponse buscarCep(String cep) {
+        var local = buscarNoIndice(cep);
+        return local != null ? local : fallback.buscarCep(cep);
+    }
+
+    @Override
+    public Optional<CepResponse> buscarCepEmCache(String cep) {
+        var local = buscarNoIndice(cep);
+        return local != null ? Optional.of(local) : fallback.buscarCepEmCache(cep);
+    }
+
+    private CepResponse buscarNoIndice(String cep) {
+        int chave = Cep.parse(cep);
+        return chave < 0 ? null : index.buscar(chave);
+    }
+}
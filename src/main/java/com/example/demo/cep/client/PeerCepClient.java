@@ -0,0 +1,89 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.cluster.CepCluster;
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator de {@link CepClientPort} que pergunta cada CEP primeiro à réplica dona dele no anel de hash
+ * consistente do {@link CepCluster}, recorrendo ao cliente decorado (o upstream) se o CEP for desta
+ * réplica ou se a dona não puder ser alcançada.
+ *
+ * <p>Erros devolvidos pela dona (um {@code 503} do circuito ou do limitador dela, por exemplo) são propagados
+ * sem consultar o upstream: se a dona está segurando carga, cada réplica ir ao ViaCEP por conta própria
+ * multiplicaria justamente as consultas que o anel existe para evitar.</p>
+ *
+ * <p>Como a dona passa os pedidos pelo próprio cache e pelo {@link CoalescingCepClient}, cada CEP é
+ * buscado no upstream uma vez para o cluster inteiro, e não uma vez por réplica.</p>
+ *
+ * <p>Consultas que chegam pelo endpoint interno rodam com {@link #REPASSADA} ligado e vão direto ao
+ * upstream, para que réplicas com listas de peers divergentes não fiquem repassando o pedido entre si.</p>
+ */
+public class PeerCepClient implements CepClientPort {
+
+    private static final Logger log = LoggerFactory.getLogger(PeerCepClient.class);
+
+    /**
+     * Ligado enquanto a réplica atende uma consulta repassada por outra.
+     */
+    public static final ScopedValue<Boolean> REPASSADA = ScopedValue.newInstance();
+
+    private final CepClientPort delegate;
+    private final CepCluster cluster;
+    private final LongAdder repassadas = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+
+    /**
+     * @param delegate cliente usado para os CEPs desta réplica e quando a dona falha
+     * @param cluster  anel e acesso às demais réplicas
+     */
+    public PeerCepClient(CepClientPort delegate, CepCluster cluster) {
+        this.delegate = delegate;
+        this.cluster = cluster;
+    }
+
+    @Override
+    public CepResponse buscarCep(String cep) {
+        int chave = Cep.parse(cep);
+        if (chave < 0 || REPASSADA.isBound()) {
+            return delegate.buscarCep(cep);
+        }
+        var dono = cluster.donoRemoto(chave);
+        if (dono == null) {
+            return delegate.buscarCep(cep);
+        }
+        repassadas.increment();
+        try {
+            return cluster.buscar(dono, Cep.digitos(chave));
+        } catch (ResourceAccessException e) {
+            falhas.increment();
+            log.warn("Réplica {} não respondeu o CEP {}; consultando o upstream: {}", dono, cep, e.toString());
+            return delegate.buscarCep(cep);
+        }
+    }
+
+    @Override
+    public Optional<CepResponse> buscarCepEmCache(String cep) {
+        return delegate.buscarCepEmCache(cep);
+    }
+
+    /**
+     * Consultas enviadas à réplica dona do CEP.
+     */
+    public long repassadas() {
+        return repassadas.sum();
+    }
+
+    /**
+     * Consultas repassadas a uma dona inalcançável e resolvidas no upstream.
+     */
+    public long falhas() {
+        return falhas.sum();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.store.CepLogStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.UncheckedIOException;
+import java.util.Optional;
+
+/**
+ * Cache de segundo nível em disco: responde a partir do {@link CepLogStore} e grava nele toda resposta
+ * obtida do cliente decorado, de modo que o cache sobreviva a reinícios do processo.
+ *
+ * <p>Falhas de I/O ao gravar são apenas registradas; a consulta em si não falha por causa do disco.</p>
+ *
+ * <p>Sem leitura do disco ({@code lerDoDisco = false}), toda consulta vai ao cliente decorado e só a gravação
+ * acontece: é o modo usado pela renovação dos CEPs populares, que precisa revalidar no upstream e não reler a
+ * cópia local.</p>
+ */
+public class PersistentCepClient implements CepClientPort {
+
+    private static final Logger log = LoggerFactory.getLogger(PersistentCepClient.class);
+
+    private final CepLogStore store;
+    private final CepClientPort delegate;
+    private final boolean lerDoDisco;
+
+    /**
+     * @param store    arquivo de log com as respostas já resolvidas
+     * @param delegate cliente usado quando o CEP não está no arquivo
+     */
+    public PersistentCepClient(CepLogStore store, CepClientPort delegate) {
+        this(store, delegate, true);
+    }
+
+    /**
+     * @param store      arquivo de log com as respostas já resolvidas
+     * @param delegate   cliente usado quando o CEP não está no arquivo
+     * @param lerDoDisco se as consultas são respondidas do arquivo; com {@code false}, ele só é atualizado
+     */
+    public PersistentCepClient(CepLogStore store, CepClientPort delegate, boolean lerDoDisco) {
+        this.store = store;
+        this.delegate = delegate;
+        this.lerDoDisco = lerDoDisco;
+    }
+
+    @Override
+    public CepResponse buscarCep(String cep) {
+        int chave = Cep.parse(cep);
+        if (chave < 0) {
+            return delegate.buscarCep(cep);
+        }
+        var gravada = lerDoDisco ? buscarNoDisco(chave) : null;
+        if (gravada != null) {
+            return gravada;
+        }
+        var resposta = delegate.buscarCep(cep);
+        if (resposta != null && resposta.encontrado()) {
+            try {
+                store.gravar(chave, resposta);
+            } catch (UncheckedIOException e) {
+                log.warn("Falha ao gravar o CEP {} no cache persistente", cep, e);
+            }
+        }
+        return resposta;
+    }
+
+    @Override
+    public Optional<CepResponse> buscarCepEmCache(String cep) {
+        int chave = Cep.parse(cep);
+        var gravada = chave < 0 || !lerDoDisco ? null : buscarNoDisco(chave);
+        return gravada != null ? Optional.of(gravada) : delegate.buscarCepEmCache(cep);
+    }
+
+    private CepResponse buscarNoDisco(int chave) {
+        try {
+            return store.buscar(chave);
+        } catch (UncheckedIOException e) {
+            log.warn("Falha ao ler o cache persistente", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.exception.CepIndisponivelException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Versão assíncrona do {@link RateLimitedCepClient}: a consulta só segue para a API externa depois de obter
+ * uma ficha do {@link UpstreamRateLimiter}, na classe de {@link CepPrioridade#atual()} no momento da chamada.
+ *
+ * <p>A espera pela ficha bloqueia, então roda no executor informado, e não na thread de quem chamou.
+ * Consultas recusadas completam com {@link CepIndisponivelException}.</p>
+ */
+public class RateLimitedAsyncCepClient implements AsyncCepClientPort {
+
+    private final AsyncCepClientPort delegate;
+    private final UpstreamRateLimiter limitador;
+    private final Executor espera;
+
+    /**
+     * @param delegate  cliente que acessa a API externa
+     * @param limitador limite de consultas por segundo
+     * @param espera    executor onde a consulta espera a ficha
+     */
+    public RateLimitedAsyncCepClient(AsyncCepClientPort delegate, UpstreamRateLimiter limitador, Executor espera) {
+        this.delegate = delegate;
+        this.limitador = limitador;
+        this.espera = espera;
+    }
+
+    @Override
+    public CompletableFuture<CepResponse> buscarCepAsync(String cep) {
+        var prioridade = CepPrioridade.atual();
+        return CompletableFuture.supplyAsync(() -> limitador.adquirir(prioridade), espera)
+                .thenCompose(liberada -> {
+                    if (!liberada) {
+                        throw new CepIndisponivelException("Limite de consultas por segundo ao serviço de CEP atingido");
+                    }
+                    return delegate.buscarCepAsync(cep);
+                });
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.exception.CepIndisponivelException;
+
+import java.util.Optional;
+
+/**
+ * Decorator de {@link CepClientPort} que só deixa a consulta seguir para a API externa depois de obter uma
+ * ficha do {@link UpstreamRateLimiter}, na classe de {@link CepPrioridade#atual()}.
+ *
+ * <p>Consultas recusadas falham com {@link CepIndisponivelException}, como as recusas do
+ * {@link ResilientCepClient}; o {@link CachingCepClient} acima pode então responder com o dado vencido.</p>
+ */
+public class RateLimitedCepClient implements CepClientPort {
+
+    private final CepClientPort delegate;
+    private final UpstreamRateLimiter limitador;
+
+    /**
+     * @param delegate  cliente que acessa a API externa
+     * @param limitador limite de consultas por segundo
+     */
+    public RateLimitedCepClient(CepClientPort delegate, UpstreamRateLimiter limitador) {
+        this.delegate = delegate;
+        this.limitador = limitador;
+    }
+
+    @Override
+    public CepResponse buscarCep(String cep) {
+        if (!limitador.adquirir(CepPrioridade.atual())) {
+            throw new CepIndisponivelException("Limite de consultas por segundo ao serviço de CEP atingido");
+        }
+        return delegate.buscarCep(cep);
+    }
+
+    @Override
+    public Optional<CepResponse> buscarCepEmCache(String cep) {
+        return delegate.buscarCepEmCache(cep);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.exception.CepIndisponivelException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator de {@link CepClientPort} que protege o nó quando a API externa fica lenta ou fora do ar,
+ * combinando um {@link CircuitBreaker} e um {@link AdaptiveConcurrencyLimiter}.
+ *
+ * <p>Chamadas recusadas (circuito aberto ou limite atingido) falham na hora com
+ * {@link CepIndisponivelException}, sem esperar o timeout; o {@link CachingCepClient} acima pode então
+ * responder com o dado vencido do cache, se houver. Contam como falha do upstream erros de I/O,
+ * status 5xx/429 e chamadas mais lentas que o limite de lentidão.</p>
+ *
+ * <p>{@link #assincrono} aplica o mesmo circuito e o mesmo limite ao caminho assíncrono, de forma que as
+ * duas portas de entrada dividem a mesma proteção do upstream.</p>
+ */
+public class ResilientCepClient implements CepClientPort {
+
+    private final CepClientPort delegate;
+    private final CircuitBreaker circuito;
+    private final AdaptiveConcurrencyLimiter limitador;
+    private final long lentidaoNanos;
+
+    private final LongAdder chamadas = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder rejeicoesCircuito = new LongAdder();
+
+    /**
+     * @param delegate  cliente que acessa a API externa
+     * @param circuito  circuit breaker do upstream
+     * @param limitador limite adaptativo de chamadas simultâneas
+     * @param lentidao  duração a partir da qual uma chamada bem-sucedida conta como falha no circuito
+     */
+    public ResilientCepClient(CepClientPort delegate, CircuitBreaker circuito,
+                              AdaptiveConcurrencyLimiter limitador, Duration lentidao) {
+        this.delegate = delegate;
+        this.circuito = circuito;
+        this.limitador = limitador;
+        this.lentidaoNanos = lentidao.toNanos();
+    }
+
+    @Override
+    public CepResponse buscarCep(String cep) {
+        long geracao = permitir();
+        long inicio = System.nanoTime();
+        Throwable erro = null;
+        try {
+            return delegate.buscarCep(cep);
+        } catch (RuntimeException e) {
+            erro = e;
+            throw e;
+        } finally {
+            registrar(geracao, inicio, erro);
+        }
+    }
+
+    /**
+     * Protege um cliente assíncrono com este circuito e este limite: a vaga fica ocupada até o future
+     * completar e o resultado conta para o circuito e para as estatísticas, como no caminho síncrono.
+     * Chamadas recusadas devolvem um future já falho com {@link CepIndisponivelException}.
+     */
+    public AsyncCepClientPort assincrono(AsyncCepClientPort delegate) {
+        return cep -> {
+            long geracao;
+            try {
+                geracao = permitir();
+            } catch (CepIndisponivelException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            long inicio = System.nanoTime();
+            CompletableFuture<CepResponse> consulta;
+            try {
+                consulta = delegate.buscarCepAsync(cep);
+            } catch (RuntimeException e) {
+                consulta = CompletableFuture.failedFuture(e);
+            }
+            return consulta.whenComplete((resposta, erro) -> registrar(geracao, inicio, erro));
+        };
+    }
+
+    @Override
+    public Optional<CepResponse> buscarCepEmCache(String cep) {
+        return delegate.buscarCepEmCache(cep);
+    }
+
+    public CepResilienceStats estatisticas() {
+        return new CepResilienceStats(circuito.estado(), circuito.aberturas(), limitador.limite(),
+                limitador.emAndamento(), chamadas.sum(), falhas.sum(), rejeicoesCircuito.sum(),
+                limitador.rejeicoes());
+    }
+
+    private long permitir() {
+        if (!limitador.tentarAdquirir()) {
+            throw new CepIndisponivelException("Limite de consultas simultâneas ao serviço de CEP atingido");
+        }
+        long geracao = circuito.permitir();
+        if (geracao == CircuitBreaker.RECUSADA) {
+            limitador.descartar();
+            rejeicoesCircuito.increment();
+            throw new CepIndisponivelException("Serviço de CEP temporariamente indisponível");
+        }
+        chamadas.increment();
+        return geracao;
+    }
+
+    private void registrar(long geracao, long inicio, Throwable erro) {
+        long latencia = System.nanoTime() - inicio;
+        var causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+        boolean falhou = causa != null && falhaDoUpstream(causa);
+        if (falhou) {
+            falhas.increment();
+        }
+        limitador.liberar(latencia, falhou);
+        if (falhou || latencia > lentidaoNanos) {
+            circuito.registrarFalha(geracao);
+        } else {
+            circuito.registrarSucesso(geracao);
+        }
+    }
+
+    /**
+     * Indica se a falha aponta problema no upstream (e não na requisição): indisponibilidade já
+     * detectada, erro de I/O ou timeout, status 5xx ou 429.
+     */
+    public static boolean falhaDoUpstream(Throwable erro) {
+        if (erro instanceof CepIndisponivelException || erro instanceof ResourceAccessException) {
+            return true;
+        }
+        if (erro instanceof RestClientResponseException resposta) {
+            int status = resposta.getStatusCode().value();
+            return status >= 500 || status == 429;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.demo.cep.client;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de consultas por segundo à API externa (balde de fichas), com uma fila por {@link CepPrioridade}.
+ *
+ * <p>Uma consulta leva a ficha na hora se houver uma e ninguém de prioridade igual ou maior estiver
+ * esperando. Senão entra no fim da fila da sua classe; a cada ficha reposta, quem está na frente da fila mais
+ * prioritária não vazia é liberado, então consultas interativas passam na frente de lotes e estes na frente
+ * das renovações do cache.</p>
+ *
+ * <p>Cada classe tem uma espera máxima. Se a espera estimada na chegada (fichas necessárias para atender quem
+ * está na frente) já passar dela, a consulta é recusada na hora, sem entrar na fila; se uma consulta na fila
+ * chegar ao limite (porque outras mais prioritárias passaram na frente), ela desiste. Assim uma rajada vira
+ * recusas rápidas, e não timeouts.</p>
+ */
+public final class UpstreamRateLimiter {
+
+    private static final int CLASSES = CepPrioridade.values().length;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Espera>[] filas = new ArrayDeque[CLASSES];
+    private final long[] esperaMaximaNanos = new long[CLASSES];
+    private final LongAdder[] liberadas = new LongAdder[CLASSES];
+    private final LongAdder[] recusadas = new LongAdder[CLASSES];
+    private final LongAdder[] expiradas = new LongAdder[CLASSES];
+    private final double fichasPorNano;
+    private final double rajada;
+    private final int filaMaxima;
+
+    private double fichas;
+    private long repostoEm;
+    private int naFila;
+
+    /**
+     * @param porSegundo         consultas por segundo liberadas em média
+     * @param rajada             fichas acumuladas no máximo (consultas liberadas de uma vez após um período ocioso)
+     * @param esperaInterativa   espera máxima de {@link CepPrioridade#INTERATIVA}
+     * @param esperaLote         espera máxima de {@link CepPrioridade#LOTE}
+     * @param esperaSegundoPlano espera máxima de {@link CepPrioridade#SEGUNDO_PLANO}
+     * @param filaMaxima         consultas esperando, somadas todas as classes
+     */
+    public UpstreamRateLimiter(double porSegundo, int rajada, Duration esperaInterativa, Duration esperaLote,
+                               Duration esperaSegundoPlano, int filaMaxima) {
+        if (porSegundo <= 0 || rajada < 1) {
+            throw new IllegalArgumentException("porSegundo e rajada devem ser positivos");
+        }
+        this.fichasPorNano = porSegundo / TimeUnit.SECONDS.toNanos(1);
+        this.rajada = rajada;
+        this.filaMaxima = filaMaxima;
+        esperaMaximaNanos[CepPrioridade.INTERATIVA.ordinal()] = esperaInterativa.toNanos();
+        esperaMaximaNanos[CepPrioridade.LOTE.ordinal()] = esperaLote.toNanos();
+        esperaMaximaNanos[CepPrioridade.SEGUNDO_PLANO.ordinal()] = esperaSegundoPlano.toNanos();
+        for (int i = 0; i < CLASSES; i++) {
+            filas[i] = new ArrayDeque<>();
+            liberadas[i] = new LongAdder();
+            recusadas[i] = new LongAdder();
+            expiradas[i] = new LongAdder();
+        }
+        this.fichas = rajada;
+        this.repostoEm = System.nanoTime();
+    }
+
+    /**
+     * Espera uma ficha para a consulta, no máximo pela espera da classe.
+     *
+     * @return {@code false} se a consulta foi recusada ou desistiu (ou a thread foi interrompida)
+     */
+    public boolean adquirir(CepPrioridade prioridade) {
+        int classe = prioridade.ordinal();
+        lock.lock();
+        try {
+            long agora = System.nanoTime();
+            repor(agora);
+            int naFrente = naFrente(classe);
+            if (naFrente == 0 && fichas >= 1) {
+                fichas--;
+                liberadas[classe].increment();
+                return true;
+            }
+            if (naFila >= filaMaxima || esperaEstimada(naFrente) > esperaMaximaNanos[classe]) {
+                recusadas[classe].increment();
+                return false;
+            }
+            var espera = new Espera(classe, lock.newCondition(), agora + esperaMaximaNanos[classe]);
+            filas[classe].addLast(espera);
+            naFila++;
+            return esperar(espera);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean esperar(Espera espera) {
+        try {
+            while (true) {
+                long agora = System.nanoTime();
+                repor(agora);
+                boolean primeira = cabeca() == espera;
+                if (primeira && fichas >= 1) {
+                    fichas--;
+                    sair(espera);
+                    liberadas[espera.classe].increment();
+                    return true;
+                }
+                long restante = espera.prazo - agora;
+                if (restante <= 0) {
+                    sair(espera);
+                    expiradas[espera.classe].increment();
+                    return false;
+                }
+                // só a primeira acorda com a próxima ficha; as demais esperam ser avisadas ou o próprio prazo
+                espera.vez.awaitNanos(primeira ? Math.min(restante, nanosAteFicha()) : restante);
+            }
+        } catch (InterruptedException e) {
+            sair(espera);
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void sair(Espera espera) {
+        filas[espera.classe].remove(espera);
+        naFila--;
+        var proxima = cabeca();
+        if (proxima != null) {
+            proxima.vez.signal();
+        }
+    }
+
+    private void repor(long agora) {
+        fichas = Math.min(rajada, fichas + (agora - repostoEm) * fichasPorNano);
+        repostoEm = agora;
+    }
+
+    private Espera cabeca() {
+        for (var fila : filas) {
+            if (!fila.isEmpty()) {
+                return fila.peekFirst();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Consultas na fila da classe ou de classes mais prioritárias.
+     */
+    private int naFrente(int classe) {
+        int total = 0;
+        for (int i = 0; i <= classe; i++) {
+            total += filas[i].size();
+        }
+        return total;
+    }
+
+    private long esperaEstimada(int naFrente) {
+        double faltam = naFrente + 1 - fichas;
+        return faltam <= 0 ? 0 : (long) (faltam / fichasPorNano);
+    }
+
+    private long nanosAteFicha() {
+        return Math.max(1, (long) ((1 - fichas) / fichasPorNano));
+    }
+
+    public long liberadas(CepPrioridade prioridade) {
+        return liberadas[prioridade.ordinal()].sum();
+    }
+
+    /**
+     * Consultas recusadas na chegada, por espera estimada acima da máxima ou fila cheia.
+     */
+    public long recusadas(CepPrioridade prioridade) {
+        return recusadas[prioridade.ordinal()].sum();
+    }
+
+    /**
+     * Consultas que desistiram na fila ao atingir a espera máxima.
+     */
+    public long expiradas(CepPrioridade prioridade) {
+        return expiradas[prioridade.ordinal()].sum();
+    }
+
+    /**
+     * Consultas esperando uma ficha.
+     */
+    public int naFila() {
+        lock.lock();
+        try {
+            return naFila;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Espera {
+
+        final int classe;
+        final Condition vez;
+        final long prazo;
+
+        Espera(int classe, Condition vez, long prazo) {
+            this.classe = classe;
+            this.vez = vez;
+            this.prazo = prazo;
+        }
+    }
+}
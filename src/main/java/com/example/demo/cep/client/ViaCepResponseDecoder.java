@@ -0,0 +1,133 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.InputStream;
+
+/**
+ * Lê a resposta do ViaCEP direto para {@link CepResponse} com o parser de streaming do Jackson, sem passar
+ * pelo binding por reflexão nem montar árvore.
+ *
+ * <p>Os campos são percorridos na ordem em que chegam e os que não existem em {@link CepResponse}
+ * ({@code unidade}, {@code estado}, {@code regiao}, {@code erro}...) são pulados sem que o texto seja
+ * decodificado. Os buffers de leitura vêm do pool do próprio {@code JsonFactory}, os nomes dos campos da
+ * tabela de símbolos dele, e UF e DDD (dois caracteres) de uma tabela de strings compartilhadas.</p>
+ *
+ * <p>Corpo vazio ou sem {@code cep} resulta em {@link CepResponse#NAO_ENCONTRADO}; corpo que não é um objeto
+ * JSON falha como no binding padrão.</p>
+ */
+public final class ViaCepResponseDecoder {
+
+    private static final int BASE = 36;
+    private static final String[] PARES = new String[BASE * BASE];
+
+    static {
+        for (int i = 0; i < PARES.length; i++) {
+            PARES[i] = new String(new char[]{simbolo(i / BASE), simbolo(i % BASE)});
+        }
+    }
+
+    private final JsonMapper jsonMapper;
+
+    /**
+     * @param jsonMapper fornece o {@code JsonFactory} dos parsers e o binding padrão para corpos inesperados
+     */
+    public ViaCepResponseDecoder(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    public CepResponse ler(InputStream corpo) {
+        try (var parser = jsonMapper.createParser(corpo)) {
+            return ler(parser);
+        }
+    }
+
+    public CepResponse ler(byte[] corpo) {
+        try (var parser = jsonMapper.createParser(corpo)) {
+            return ler(parser);
+        }
+    }
+
+    private CepResponse ler(JsonParser parser) {
+        var token = parser.nextToken();
+        if (token == null) {
+            return CepResponse.NAO_ENCONTRADO;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            return jsonMapper.readValue(parser, CepResponse.class);
+        }
+        String cep = null;
+        String logradouro = null;
+        String complemento = null;
+        String bairro = null;
+        String localidade = null;
+        String uf = null;
+        String ibge = null;
+        String gia = null;
+        String ddd = null;
+        String siafi = null;
+        while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+            var campo = parser.currentName();
+            var valor = parser.nextToken();
+            switch (campo) {
+                case "cep" -> cep = texto(parser, valor);
+                case "logradouro" -> logradouro = texto(parser, valor);
+                case "complemento" -> complemento = texto(parser, valor);
+                case "bairro" -> bairro = texto(parser, valor);
+                case "localidade" -> localidade = texto(parser, valor);
+                case "uf" -> uf = par(parser, valor);
+                case "ibge" -> ibge = texto(parser, valor);
+                case "gia" -> gia = texto(parser, valor);
+                case "ddd" -> ddd = par(parser, valor);
+                case "siafi" -> siafi = texto(parser, valor);
+                default -> parser.skipChildren();
+            }
+        }
+        if (cep == null) {
+            return CepResponse.NAO_ENCONTRADO;
+        }
+        return new CepResponse(cep, logradouro, complemento, bairro, localidade, uf, ibge, gia, ddd, siafi);
+    }
+
+    /**
+     * Valor escalar como texto (números e booleanos como escritos no JSON); {@code null} para null, objetos e
+     * listas.
+     */
+    private static String texto(JsonParser parser, JsonToken valor) {
+        if (valor == JsonToken.START_OBJECT || valor == JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        return valor == JsonToken.VALUE_NULL ? null : parser.getString();
+    }
+
+    /**
+     * Como {@link #texto}, mas dois dígitos ou letras maiúsculas saem da tabela compartilhada.
+     */
+    private static String par(JsonParser parser, JsonToken valor) {
+        if (valor == JsonToken.VALUE_STRING && parser.getStringLength() == 2) {
+            var caracteres = parser.getStringCharacters();
+            int inicio = parser.getStringOffset();
+            int primeiro = indice(caracteres[inicio]);
+            int segundo = indice(caracteres[inicio + 1]);
+            if (primeiro >= 0 && segundo >= 0) {
+                return PARES[primeiro * BASE + segundo];
+            }
+        }
+        return texto(parser, valor);
+    }
+
+    private static int indice(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        return c >= 'A' && c <= 'Z' ? 10 + c - 'A' : -1;
+    }
+
+    private static char simbolo(int indice) {
+        return (char) (indice < 10 ? '0' + indice : 'A' + indice - 10);
+    }
+}
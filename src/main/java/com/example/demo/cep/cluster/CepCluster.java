@@ -0,0 +1,125 @@
+package com.example.demo.cep.cluster;
+
+import com.example.demo.cep.client.CepPrioridade;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.exception.CepIndisponivelException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Visão que uma réplica tem do cluster: o anel com as demais réplicas, qual delas é ela mesma e como
+ * consultar o endpoint interno ({@value #CAMINHO_INTERNO}) de outra réplica.
+ *
+ * <p>Uma réplica inalcançável (erro de conexão ou timeout) fica fora do roteamento por {@code pausaAposFalha};
+ * nesse meio tempo os CEPs dela são consultados direto no upstream, sem esperar pelo timeout a cada pedido.
+ * O mesmo vale para uma réplica sem o endpoint interno ({@code 404}: modo cluster desligado nela ou deploy em
+ * andamento). Uma réplica que responde com outro erro continua no roteamento: ela está de pé e o erro é o
+ * resultado da consulta.</p>
+ */
+public final class CepCluster {
+
+    /**
+     * Endpoint que cada réplica expõe às demais; responde com o {@link CepResponse} em formato ViaCEP,
+     * inclusive o {@code {"erro": true}} de CEP inexistente.
+     */
+    public static final String CAMINHO_INTERNO = "/internal/ceps/{cep}";
+
+    private final ConsistentHashRing anel;
+    private final String proprio;
+    private final RestClient restClient;
+    private final long pausaAposFalhaNanos;
+    private final LongSupplier relogio;
+    private final ConcurrentHashMap<String, Long> indisponiveisAte = new ConcurrentHashMap<>();
+
+    /**
+     * @param anel           anel com todas as réplicas, inclusive esta
+     * @param proprio        identificador desta réplica no anel
+     * @param restClient     cliente HTTP usado para falar com as outras réplicas
+     * @param pausaAposFalha tempo que uma réplica que falhou fica fora do roteamento
+     * @throws IllegalArgumentException se {@code proprio} não fizer parte do anel
+     */
+    public CepCluster(ConsistentHashRing anel, String proprio, RestClient restClient, Duration pausaAposFalha) {
+        this(anel, proprio, restClient, pausaAposFalha, System::nanoTime);
+    }
+
+    CepCluster(ConsistentHashRing anel, String proprio, RestClient restClient, Duration pausaAposFalha,
+               LongSupplier relogio) {
+        if (!anel.nos().contains(proprio)) {
+            throw new IllegalArgumentException("A réplica " + proprio + " não está na lista de peers " + anel.nos());
+        }
+        this.anel = anel;
+        this.proprio = proprio;
+        this.restClient = restClient;
+        this.pausaAposFalhaNanos = pausaAposFalha.toNanos();
+        this.relogio = relogio;
+    }
+
+    /**
+     * Réplica a quem a chave deve ser perguntada, ou {@code null} se a dona for esta réplica ou estiver
+     * em pausa após uma falha.
+     */
+    public String donoRemoto(int chave) {
+        var dono = anel.dono(chave);
+        if (dono.equals(proprio)) {
+            return null;
+        }
+        var ate = indisponiveisAte.get(dono);
+        if (ate != null) {
+            if (relogio.getAsLong() - ate < 0) {
+                return null;
+            }
+            indisponiveisAte.remove(dono, ate);
+        }
+        return dono;
+    }
+
+    /**
+     * Consulta o CEP no endpoint interno da réplica. Um erro de I/O ou um {@code 404} (réplica sem o endpoint
+     * interno) tira a réplica do roteamento por {@code pausaAposFalha} e sai como
+     * {@link ResourceAccessException}. Um {@code 503} ou {@code 429} da réplica (circuito aberto ou limite
+     * atingido nela) vira {@link CepIndisponivelException}; os demais status de erro são propagados como vieram.
+     *
+     * @return a resposta da réplica, ou {@link CepResponse#NAO_ENCONTRADO} se o CEP não existir
+     * @throws ResourceAccessException se a réplica não puder ser alcançada ou não atender o endpoint interno
+     */
+    public CepResponse buscar(String peer, String cep) {
+        try {
+            var resposta = restClient.get()
+                    .uri(peer + CAMINHO_INTERNO, cep)
+                    .header(CepPrioridade.CABECALHO, CepPrioridade.atual().name())
+                    .retrieve()
+                    .body(CepResponse.class);
+            return resposta != null && resposta.encontrado() ? resposta : CepResponse.NAO_ENCONTRADO;
+        } catch (ResourceAccessException e) {
+            pausar(peer);
+            throw e;
+        } catch (HttpStatusCodeException e) {
+            int status = e.getStatusCode().value();
+            if (status == 404) {
+                pausar(peer);
+                throw new ResourceAccessException("Réplica " + peer + " não atende " + CAMINHO_INTERNO + ": 404");
+            }
+            if (status == 503 || status == 429) {
+                throw new CepIndisponivelException("Réplica " + peer + " recusou a consulta: " + status);
+            }
+            throw e;
+        }
+    }
+
+    private void pausar(String peer) {
+        indisponiveisAte.put(peer, relogio.getAsLong() + pausaAposFalhaNanos);
+    }
+
+    public String proprio() {
+        return proprio;
+    }
+
+    public ConsistentHashRing anel() {
+        return anel;
+    }
+}
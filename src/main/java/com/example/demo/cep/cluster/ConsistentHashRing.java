@@ -0,0 +1,98 @@
+package com.example.demo.cep.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Anel de hash consistente que atribui cada CEP (chave inteira de {@link com.example.demo.cep.dto.Cep#parse})
+ * a um dos nós do cluster.
+ *
+ * <p>Cada nó ocupa {@code nosVirtuais} pontos do anel, o que espalha as chaves de forma uniforme; o dono
+ * de uma chave é o primeiro ponto no sentido horário a partir do hash dela. Incluir ou retirar um nó só
+ * move as chaves dos pontos vizinhos aos dele (cerca de {@code 1/n} do total).</p>
+ *
+ * <p>Imutável: a lista de nós é estática e todos os nós precisam usar a mesma lista, na mesma grafia,
+ * para concordar sobre o dono de cada CEP.</p>
+ */
+public final class ConsistentHashRing {
+
+    private final List<String> nos;
+    private final int[] pontos;
+    private final int[] donos;
+
+    /**
+     * @param nos         identificadores dos nós (no cluster, a URL base de cada réplica)
+     * @param nosVirtuais quantidade de pontos de cada nó no anel
+     * @throws IllegalArgumentException se a lista for vazia ou tiver nós repetidos
+     */
+    public ConsistentHashRing(List<String> nos, int nosVirtuais) {
+        if (nos.isEmpty()) {
+            throw new IllegalArgumentException("O anel precisa de pelo menos um nó");
+        }
+        if (nosVirtuais < 1) {
+            throw new IllegalArgumentException("nosVirtuais deve ser positivo");
+        }
+        if (nos.stream().distinct().count() != nos.size()) {
+            throw new IllegalArgumentException("Nós repetidos no anel: " + nos);
+        }
+        this.nos = List.copyOf(nos);
+
+        // ponto no alto e índice do nó embaixo: ordenar os longs ordena os pontos
+        var marcados = new long[nos.size() * nosVirtuais];
+        int i = 0;
+        for (int no = 0; no < nos.size(); no++) {
+            for (int v = 0; v < nosVirtuais; v++) {
+                marcados[i++] = ((long) hash(nos.get(no) + "#" + v) << 32) | no;
+            }
+        }
+        Arrays.sort(marcados);
+        this.pontos = new int[marcados.length];
+        this.donos = new int[marcados.length];
+        for (i = 0; i < marcados.length; i++) {
+            pontos[i] = (int) (marcados[i] >> 32);
+            donos[i] = (int) marcados[i];
+        }
+    }
+
+    /**
+     * Nó responsável pela chave.
+     */
+    public String dono(int chave) {
+        return nos.get(donos[indice(mix(chave))]);
+    }
+
+    public List<String> nos() {
+        return nos;
+    }
+
+    private int indice(int hash) {
+        int posicao = Arrays.binarySearch(pontos, hash);
+        if (posicao < 0) {
+            posicao = -posicao - 1;
+        }
+        return posicao == pontos.length ? 0 : posicao;
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre os bytes UTF-8, misturado para 32 bits.
+     */
+    static int hash(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix((int) (h ^ (h >>> 32)));
+    }
+
+    static int mix(int chave) {
+        int h = chave;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.demo.cep.config;
+
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.cache.NegativeCepCache;
+import com.example.demo.cep.client.AsyncCepClientPort;
+import com.example.demo.cep.client.CachingAsyncCepClient;
+import com.example.demo.cep.client.CepProvider;
+import com.example.demo.cep.client.CepResponseMapper;
+import com.example.demo.cep.client.HedgingCepClient;
+import com.example.demo.cep.client.HttpAsyncCepClient;
+import com.example.demo.cep.client.IndexingAsyncCepClient;
+import com.example.demo.cep.client.MeteredAsyncCepClient;
+import com.example.demo.cep.client.RateLimitedAsyncCepClient;
+import com.example.demo.cep.client.ResilientCepClient;
+import com.example.demo.cep.client.UpstreamRateLimiter;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.index.CepKeyIndex;
+import com.example.demo.cep.index.CepSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(CepHedgingProperties.class)
+public class CepAsyncClientConfig {
+
+    /**
+     * Cliente HTTP do JDK usado pelo caminho assíncrono: HTTP/2 quando o servidor suporta, com
+     * conexões mantidas abertas entre as consultas.
+     */
+    @Bean(destroyMethod = "close")
+    public HttpClient cepAsyncHttpClient(@Value("${cep.client.connect-timeout:${cep.client.timeout:PT5S}}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Bean
+    public HttpAsyncCepClient httpAsyncCepClient(HttpClient cepAsyncHttpClient,
+                                                 @Value("${cep.client.base-url:http://localhost}") String baseUrl,
+                                                 @Value("${cep.client.read-timeout:${cep.client.timeout:PT5S}}") Duration readTimeout,
+                                                 JsonMapper jsonMapper) {
+        return new HttpAsyncCepClient(cepAsyncHttpClient, baseUrl, readTimeout, jsonMapper);
+    }
+
+    /**
+     * Consulta com hedge/corrida: o ViaCEP é o primeiro provedor, seguido dos configurados em
+     * {@code cep.hedging.providers}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "cep.hedging.enabled", havingValue = "true")
+    public HedgingCepClient hedgingCepClient(HttpAsyncCepClient httpAsyncCepClient,
+                                             HttpClient cepAsyncHttpClient,
+                                             CepHedgingProperties properties,
+                                             @Value("${cep.client.read-timeout:${cep.client.timeout:PT5S}}") Duration readTimeout,
+                                             JsonMapper jsonMapper) {
+        var provedores = new ArrayList<CepProvider>();
+        provedores.add(new CepProvider("viacep", httpAsyncCepClient));
+        for (var provider : properties.providers()) {
+            var mapper = switch (provider.format()) {
+                case VIACEP -> CepResponseMapper.viaCep(jsonMapper);
+                case BRASILAPI -> CepResponseMapper.brasilApi(jsonMapper);
+            };
+            provedores.add(new CepProvider(provider.name(), new HttpAsyncCepClient(
+                    cepAsyncHttpClient, provider.baseUrl(), provider.path(), readTimeout, mapper)));
+        }
+        return new HedgingCepClient(provedores, properties.mode(), properties.delay(),
+                properties.minDelay(), properties.maxDelay(), properties.percentile());
+    }
+
+    /**
+     * Cadeia do caminho assíncrono. Como no síncrono, a ponta fica atrás do circuito e do limite adaptativo
+     * do {@link ResilientCepClient} (as mesmas instâncias) e, com {@code cep.rate-limit.enabled}, do mesmo
+     * {@link UpstreamRateLimiter}; a espera pela ficha roda em uma thread virtual. Os CEPs resolvidos entram
+     * nos mesmos índices de CEPs conhecidos e de endereços.
+     */
+    @Bean
+    @Primary
+    public AsyncCepClientPort asyncCepClientPort(HttpAsyncCepClient httpAsyncCepClient,
+                                                 ObjectProvider<HedgingCepClient> hedgingCepClient,
+                                                 ObjectProvider<ResilientCepClient> resilientCepClient,
+                                                 ObjectProvider<UpstreamRateLimiter> upstreamRateLimiter,
+                                                 CepCache<CepResponse> cepCache,
+                                                 ObjectProvider<NegativeCepCache> negativeCepCache,
+                                                 ObjectProvider<CepKeyIndex> cepKeyIndex,
+                                                 ObjectProvider<CepSearchIndex> cepSearchIndex,
+                                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                                 @Value("${cep.cache.enabled:true}") boolean cacheEnabled) {
+        var registry = meterRegistry.getIfAvailable();
+        AsyncCepClientPort chain = httpAsyncCepClient;
+        var hedging = hedgingCepClient.getIfAvailable();
+        if (hedging != null) {
+            chain = hedging;
+        }
+        if (registry != null) {
+            chain = new MeteredAsyncCepClient(chain, registry, CepClientConfig.CAMADA_UPSTREAM);
+        }
+        var resilient = resilientCepClient.getIfAvailable();
+        if (resilient != null) {
+            chain = resilient.assincrono(chain);
+        }
+        var rateLimiter = upstreamRateLimiter.getIfAvailable();
+        if (rateLimiter != null) {
+            chain = new RateLimitedAsyncCepClient(chain, rateLimiter,
+                    tarefa -> Thread.ofVirtual().name("cep-rate-limit").start(tarefa));
+        }
+        var keyIndex = cepKeyIndex.getIfAvailable();
+        var searchIndex = cepSearchIndex.getIfAvailable();
+        if (keyIndex != null || searchIndex != null) {
+            chain = new IndexingAsyncCepClient(chain, keyIndex, searchIndex);
+        }
+        if (cacheEnabled) {
+            chain = new CachingAsyncCepClient(chain, cepCache, negativeCepCache.getIfAvailable());
+        }
+        if (registry != null) {
+            chain = new MeteredAsyncCepClient(chain, registry, CepClientConfig.CAMADA_SERVICO);
+        }
+        return chain;
+    }
+}
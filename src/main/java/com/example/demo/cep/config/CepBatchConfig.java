@@ -0,0 +1,29 @@
+package com.example.demo.cep.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration(proxyBeanMethods = false)
+public class CepBatchConfig {
+
+    /**
+     * Executor usado para distribuir as consultas de CEP de lotes e fluxos.
+     *
+     * <p>Com {@code spring.threads.virtual.enabled=true} (o mesmo interruptor que coloca o Tomcat em
+     * virtual threads) cada consulta ganha sua própria virtual thread; caso contrário é usado um pool
+     * fixo de {@code cep.batch.parallelism} threads. Em ambos os casos o limite de consultas simultâneas
+     * é aplicado pelo {@link com.example.demo.cep.service.CepBatchService}.</p>
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService cepLookupExecutor(@Value("${cep.batch.parallelism:16}") int parallelism,
+                                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cep-lookup-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(parallelism, Thread.ofPlatform().name("cep-lookup-", 0).factory());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.cep.config;
+
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.cache.CepRefreshScheduler;
+import com.example.demo.cep.cache.CompactCepCodec;
+import com.example.demo.cep.cache.NegativeCepCache;
+import com.example.demo.cep.cache.StringDictionary;
+import com.example.demo.cep.dto.CepJson;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.service.CepJsonService;
+import com.example.demo.cep.service.CepService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+
+@Configuration(proxyBeanMethods = false)
+public class CepCacheConfig {
+
+    /**
+     * Cache de respostas. Com {@code cep.cache.compact.enabled} (padrão) as respostas ficam guardadas pelo
+     * {@link CompactCepCodec}, com os campos repetidos no {@code cepStringDictionary}.
+     */
+    @Bean
+    public CepCache<CepResponse> cepCache(@Value("${cep.cache.maximum-size:100000}") int maximumSize,
+                                          @Value("${cep.cache.ttl:PT24H}") Duration ttl,
+                                          ObjectProvider<StringDictionary> cepStringDictionary) {
+        var dictionary = cepStringDictionary.getIfAvailable();
+        return new CepCache<>(maximumSize, ttl, dictionary != null ? new CompactCepCodec(dictionary) : null);
+    }
+
+    /**
+     * Textos repetidos (bairro, cidade, IBGE, GIA, SIAFI) das respostas guardadas no {@code cepCache}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "cep.cache.compact.enabled", havingValue = "true", matchIfMissing = true)
+    public StringDictionary cepStringDictionary(@Value("${cep.cache.compact.dictionary-size:1000000}") int maximumSize) {
+        return new StringDictionary(maximumSize);
+    }
+
+    /**
+     * Respostas de {@code GET /ceps/{cep}} já serializadas. Guarda bem menos CEPs que o
+     * {@code cepCache}: o filtro TinyLFU deixa entrar só os mais consultados.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "cep.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public CepCache<CepJson> cepJsonCache(@Value("${cep.cache.json.maximum-size:10000}") int maximumSize,
+                                          @Value("${cep.cache.ttl:PT24H}") Duration ttl) {
+        return new CepCache<>(maximumSize, ttl);
+    }
+
+    /**
+     * CEPs inexistentes, lembrados por menos tempo que as respostas válidas: um CEP recém-criado pelos
+     * Correios passa a ser encontrado depois de no máximo {@code cep.cache.negative.ttl}.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "cep.cache.negative.enabled", havingValue = "true", matchIfMissing = true)
+    public NegativeCepCache negativeCepCache(@Value("${cep.cache.negative.ttl:PT1H}") Duration ttl) {
+        return new NegativeCepCache(ttl);
+    }
+
+    /**
+     * JSON pronto de {@code GET /ceps/{cep}}. O cache de respostas serializadas só existe com
+     * {@code cep.cache.enabled=true}; os acertos nele são avisados à renovação dos CEPs populares, se ligada.
+     */
+    @Bean
+    public CepJsonService cepJsonService(CepService cepService,
+                                         ObjectProvider<CepCache<CepJson>> cepJsonCache,
+                                         CepCache<CepResponse> cepCache,
+                                         ObjectProvider<CepRefreshScheduler> cepRefreshScheduler,
+                                         JsonMapper jsonMapper) {
+        return new CepJsonService(cepService, cepJsonCache.getIfAvailable(), cepCache,
+                cepRefreshScheduler.getIfAvailable(), jsonMapper);
+    }
+}
@@ -1,27 +1,284 @@
 package com.example.demo.cep.config;
 
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.cache.CepRefreshScheduler;
+import com.example.demo.cep.cache.NegativeCepCache;
+import com.example.demo.cep.client.AdaptiveConcurrencyLimiter;
+import com.example.demo.cep.client.CachingCepClient;
+import com.example.demo.cep.client.CepClient;
+import com.example.demo.cep.client.CepClientPort;
+import com.example.demo.cep.client.CepPrioridade;
+import com.example.demo.cep.client.CircuitBreaker;
+import com.example.demo.cep.client.CoalescingCepClient;
+import com.example.demo.cep.client.HedgingCepClient;
+import com.example.demo.cep.client.IndexingCepClient;
+import com.example.demo.cep.client.MeteredCepClient;
+import com.example.demo.cep.client.OfflineCepClient;
+import com.example.demo.cep.client.PeerCepClient;
+import com.example.demo.cep.client.PersistentCepClient;
+import com.example.demo.cep.client.RateLimitedCepClient;
+import com.example.demo.cep.client.ResilientCepClient;
+import com.example.demo.cep.client.UpstreamRateLimiter;
+import com.example.demo.cep.cluster.CepCluster;
+import com.example.demo.cep.dto.CepJson;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.index.CepIndex;
+import com.example.demo.cep.index.CepKeyIndex;
+import com.example.demo.cep.index.CepSearchIndex;
+import com.example.demo.cep.store.CepLogStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
 import java.time.Duration;
 
-@Configuration
+@Configuration(proxyBeanMethods = false)
 public class CepClientConfig {
 
+    /**
+     * Valores da tag {@code layer} de {@code cep.lookup}: a cadeia inteira, como o serviço a enxerga, e
+     * só a chamada à API externa.
+     */
+    public static final String CAMADA_SERVICO = "service";
+    public static final String CAMADA_UPSTREAM = "upstream";
+
+    /**
+     * Pool de conexões HTTP para a API externa. As conexões são reaproveitadas (keep-alive) entre
+     * consultas, evitando refazer o handshake TCP/TLS a cada CEP.
+     */
+    @Bean
+    public PoolingHttpClientConnectionManager cepConnectionManager(
+            @Value("${cep.client.pool.max-connections:200}") int maxConnections,
+            @Value("${cep.client.pool.max-per-route:200}") int maxPerRoute,
+            @Value("${cep.client.connect-timeout:${cep.client.timeout:PT5S}}") Duration connectTimeout,
+            @Value("${cep.client.read-timeout:${cep.client.timeout:PT5S}}") Duration readTimeout,
+            @Value("${cep.client.pool.time-to-live:PT5M}") Duration timeToLive) {
+        var connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                .setTimeToLive(TimeValue.ofMilliseconds(timeToLive.toMillis()))
+                .build();
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+    }
+
+    @Bean
+    public CloseableHttpClient cepHttpClient(PoolingHttpClientConnectionManager cepConnectionManager,
+                                             @Value("${cep.client.pool.idle-eviction:PT30S}") Duration idleEviction) {
+        return HttpClients.custom()
+                .setConnectionManager(cepConnectionManager)
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEviction.toMillis()))
+                .evictExpiredConnections()
+                .build();
+    }
+
     @Bean
     public RestClient restClient(@Value("${cep.client.base-url:http://localhost}") String baseUrl,
-                                 @Value("${cep.client.timeout:PT5S}") Duration timeout) {
-        var requestFactory = new SimpleClientHttpRequestFactory();
-        requestFactory.setReadTimeout((int) timeout.toMillis());
-        requestFactory.setConnectTimeout((int) timeout.toMillis());
+                                 CloseableHttpClient cepHttpClient,
+                                 @Value("${cep.client.read-timeout:${cep.client.timeout:PT5S}}") Duration readTimeout,
+                                 @Value("${cep.client.pool.acquire-timeout:PT1S}") Duration acquireTimeout) {
+        var requestFactory = new HttpComponentsClientHttpRequestFactory(cepHttpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        requestFactory.setConnectionRequestTimeout(acquireTimeout);
 
         return RestClient.builder()
                 .baseUrl(baseUrl)
                 .requestFactory(requestFactory)
                 .build();
     }
-}
 
+    /**
+     * Circuit breaker e limite adaptativo de concorrência em volta do cliente que acessa a API externa
+     * (o {@link HedgingCepClient}, se habilitado, ou o {@link CepClient}).
+     */
+    @Bean
+    @ConditionalOnProperty(name = "cep.resilience.enabled", havingValue = "true", matchIfMissing = true)
+    public ResilientCepClient resilientCepClient(
+            CepClient cepClient,
+            ObjectProvider<HedgingCepClient> hedgingCepClient,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${cep.resilience.circuit-breaker.window-size:50}") int windowSize,
+            @Value("${cep.resilience.circuit-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${cep.resilience.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${cep.resilience.circuit-breaker.open-duration:PT10S}") Duration openDuration,
+            @Value("${cep.resilience.circuit-breaker.half-open-calls:3}") int halfOpenCalls,
+            @Value("${cep.resilience.circuit-breaker.slow-call-threshold:PT2S}") Duration slowCallThreshold,
+            @Value("${cep.resilience.limiter.initial-limit:20}") int initialLimit,
+            @Value("${cep.resilience.limiter.min-limit:2}") int minLimit,
+            @Value("${cep.resilience.limiter.max-limit:200}") int maxLimit,
+            @Value("${cep.resilience.limiter.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${cep.resilience.limiter.latency-target:PT1S}") Duration latencyTarget) {
+        var upstream = upstream(cepClient, hedgingCepClient.getIfAvailable(), meterRegistry.getIfAvailable());
+        return new ResilientCepClient(upstream,
+                new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenCalls),
+                new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, backoffRatio, latencyTarget),
+                slowCallThreshold);
+    }
+
+    /**
+     * Limite de consultas por segundo à API externa, com filas por {@link CepPrioridade}: consultas
+     * interativas passam na frente de lotes e das renovações do cache.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "cep.rate-limit.enabled", havingValue = "true")
+    public UpstreamRateLimiter upstreamRateLimiter(
+            @Value("${cep.rate-limit.requests-per-second:20}") double requestsPerSecond,
+            @Value("${cep.rate-limit.burst:20}") int burst,
+            @Value("${cep.rate-limit.max-wait.interactive:PT0.5S}") Duration maxWaitInteractive,
+            @Value("${cep.rate-limit.max-wait.batch:PT5S}") Duration maxWaitBatch,
+            @Value("${cep.rate-limit.max-wait.background:PT30S}") Duration maxWaitBackground,
+            @Value("${cep.rate-limit.max-queue:1000}") int maxQueue) {
+        return new UpstreamRateLimiter(requestsPerSecond, burst, maxWaitInteractive, maxWaitBatch, maxWaitBackground,
+                maxQueue);
+    }
+
+    /**
+     * Cadeia de decorators usada pelo {@link com.example.demo.cep.service.CepService}, tendo na ponta o
+     * {@link ResilientCepClient} ou, se desabilitado, o {@link HedgingCepClient} ou o {@link CepClient}.
+     * Com {@code cep.rate-limit.enabled}, o {@link RateLimitedCepClient} fica logo acima da ponta, para que a
+     * espera pela ficha não conte como latência no limite adaptativo. No modo cluster, o {@link PeerCepClient}
+     * fica acima dele: caches locais respondem antes, só o que sobra é perguntado à réplica dona do CEP e
+     * só o que a réplica consulta no upstream gasta fichas dela.
+     */
+    @Bean
+    @Primary
+    public CepClientPort cepClientPort(CepClient cepClient,
+                                       CepCache<CepResponse> cepCache,
+                                       ObjectProvider<CepCache<CepJson>> cepJsonCache,
+                                       ObjectProvider<NegativeCepCache> negativeCepCache,
+                                       ObjectProvider<CepIndex> cepIndex,
+                                       ObjectProvider<CepKeyIndex> cepKeyIndex,
+                                       ObjectProvider<CepSearchIndex> cepSearchIndex,
+                                       ObjectProvider<CepLogStore> cepLogStore,
+                                       ObjectProvider<HedgingCepClient> hedgingCepClient,
+                                       ObjectProvider<ResilientCepClient> resilientCepClient,
+                                       ObjectProvider<UpstreamRateLimiter> upstreamRateLimiter,
+                                       ObjectProvider<CepCluster> cepCluster,
+                                       ObjectProvider<CepRefreshScheduler> cepRefreshScheduler,
+                                       ObjectProvider<MeterRegistry> meterRegistry,
+                                       @Value("${cep.cache.enabled:true}") boolean cacheEnabled,
+                                       @Value("${cep.cache.serve-stale-on-error:true}") boolean serveStale,
+                                       @Value("${cep.client.coalescing.enabled:true}") boolean coalescingEnabled) {
+        var registry = meterRegistry.getIfAvailable();
+        var resilient = resilientCepClient.getIfAvailable();
+        CepClientPort chain = resilient != null
+                ? resilient
+                : upstream(cepClient, hedgingCepClient.getIfAvailable(), registry);
+        var rateLimiter = upstreamRateLimiter.getIfAvailable();
+        if (rateLimiter != null) {
+            chain = new RateLimitedCepClient(chain, rateLimiter);
+        }
+        var cluster = cepCluster.getIfAvailable();
+        if (cluster != null) {
+            var peer = new PeerCepClient(chain, cluster);
+            if (registry != null) {
+                FunctionCounter.builder("cep.cluster.forwarded", peer, PeerCepClient::repassadas)
+                        .description("Consultas enviadas à réplica dona do CEP")
+                        .register(registry);
+                FunctionCounter.builder("cep.cluster.fallbacks", peer, PeerCepClient::falhas)
+                        .description("Consultas repassadas que falharam e foram feitas no upstream")
+                        .register(registry);
+            }
+            chain = peer;
+        }
+        if (coalescingEnabled) {
+            var coalescing = new CoalescingCepClient(chain);
+            if (registry != null) {
+                FunctionCounter.builder("cep.coalescing.shared", coalescing, CoalescingCepClient::chamadasCompartilhadas)
+                        .description("Consultas que aguardaram a consulta já em andamento para o mesmo CEP")
+                        .register(registry);
+                Gauge.builder("cep.coalescing.active", coalescing, CoalescingCepClient::emAndamento)
+                        .description("CEPs com consulta em andamento")
+                        .register(registry);
+            }
+            chain = coalescing;
+        }
+        // renovações revalidam no upstream: não podem ser respondidas pelo índice local nem pelo cache persistente
+        CepClientPort recarga = chain;
+        var store = cepLogStore.getIfAvailable();
+        if (store != null) {
+            recarga = new PersistentCepClient(store, chain, false);
+            chain = new PersistentCepClient(store, chain);
+        }
+        var index = cepIndex.getIfAvailable();
+        if (index != null) {
+            chain = new OfflineCepClient(index, chain);
+        }
+        var keyIndex = cepKeyIndex.getIfAvailable();
+        var searchIndex = cepSearchIndex.getIfAvailable();
+        if (keyIndex != null || searchIndex != null) {
+            recarga = new IndexingCepClient(recarga, keyIndex, searchIndex);
+            chain = new IndexingCepClient(chain, keyIndex, searchIndex);
+        }
+        if (cacheEnabled) {
+            var refresh = cepRefreshScheduler.getIfAvailable();
+            var jsonCache = cepJsonCache.getIfAvailable();
+            var caching = new CachingCepClient(chain, cepCache, serveStale, negativeCepCache.getIfAvailable(), refresh,
+                    jsonCache != null ? jsonCache::invalidate : null);
+            if (refresh != null) {
+                var origem = recarga;
+                refresh.start(chave -> ScopedValue.where(CepPrioridade.ATUAL, CepPrioridade.SEGUNDO_PLANO)
+                        .run(() -> caching.recarregar(chave, origem)));
+            }
+            if (registry != null) {
+                FunctionCounter.builder("cep.cache.stale.served", caching, CachingCepClient::respostasVencidas)
+                        .description("Respostas vencidas servidas no lugar de falhas do upstream")
+                        .register(registry);
+                if (refresh != null) {
+                    registrarRenovacao(registry, caching, refresh);
+                }
+            }
+            chain = caching;
+        }
+        if (registry != null) {
+            chain = new MeteredCepClient(chain, registry, CAMADA_SERVICO);
+        }
+        return chain;
+    }
+
+    private static void registrarRenovacao(MeterRegistry registry, CachingCepClient caching, CepRefreshScheduler refresh) {
+        FunctionCounter.builder("cep.cache.stale.revalidated", caching, CachingCepClient::respostasRevalidadas)
+                .description("Respostas vencidas de CEPs populares servidas enquanto eram renovadas")
+                .register(registry);
+        FunctionCounter.builder("cep.refresh.loads", refresh, CepRefreshScheduler::refreshes)
+                .tag("kind", "refresh")
+                .register(registry);
+        FunctionCounter.builder("cep.refresh.loads", refresh, CepRefreshScheduler::prefetches)
+                .tag("kind", "prefetch")
+                .register(registry);
+        FunctionCounter.builder("cep.refresh.failures", refresh, CepRefreshScheduler::failures)
+                .register(registry);
+        FunctionCounter.builder("cep.refresh.dropped", refresh, CepRefreshScheduler::dropped)
+                .description("Renovações descartadas por fila cheia")
+                .register(registry);
+        Gauge.builder("cep.refresh.pending", refresh, CepRefreshScheduler::pending)
+                .register(registry);
+    }
+
+    /**
+     * Cliente que acessa a API externa ({@link HedgingCepClient}, se habilitado, ou {@link CepClient}),
+     * medido como {@code layer=upstream} quando há um {@link MeterRegistry}.
+     */
+    private static CepClientPort upstream(CepClient cepClient, HedgingCepClient hedging, MeterRegistry registry) {
+        CepClientPort upstream = hedging != null ? hedging : cepClient;
+        return registry != null ? new MeteredCepClient(upstream, registry, CAMADA_UPSTREAM) : upstream;
+    }
+}
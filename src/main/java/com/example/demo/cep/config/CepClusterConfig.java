@@ -0,0 +1,50 @@
+package com.example.demo.cep.config;
+
+import com.example.demo.cep.cluster.CepCluster;
+import com.example.demo.cep.cluster.ConsistentHashRing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "cep.cluster", name = "peers")
+public class CepClusterConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CepClusterConfig.class);
+
+    /**
+     * Anel de hash consistente sobre a lista estática {@code cep.cluster.peers}, na qual
+     * {@code cep.cluster.self} identifica esta réplica. As réplicas conversam por HTTP/1.1 com um cliente
+     * próprio, separado do pool usado para a API externa.
+     */
+    @Bean
+    public CepCluster cepCluster(@Value("${cep.cluster.peers}") List<String> peers,
+                                 @Value("${cep.cluster.self}") String self,
+                                 @Value("${cep.cluster.virtual-nodes:160}") int virtualNodes,
+                                 @Value("${cep.cluster.connect-timeout:PT0.2S}") Duration connectTimeout,
+                                 @Value("${cep.cluster.read-timeout:PT6S}") Duration readTimeout,
+                                 @Value("${cep.cluster.failure-backoff:PT5S}") Duration failureBackoff) {
+        var httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+        var requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        var restClient = RestClient.builder()
+                .requestFactory(requestFactory)
+                .build();
+
+        var cluster = new CepCluster(new ConsistentHashRing(peers, virtualNodes), self, restClient, failureBackoff);
+        log.info("Modo cluster ativo: réplica {} de {}", self, peers);
+        return cluster;
+    }
+}
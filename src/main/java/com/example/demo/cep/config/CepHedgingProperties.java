@@ -0,0 +1,49 @@
+package com.example.demo.cep.config;
+
+import com.example.demo.cep.client.HedgingCepClient;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuração das consultas com hedge/corrida entre provedores ({@code cep.hedging.*}).
+ *
+ * @param enabled    liga o {@link HedgingCepClient} na ponta das cadeias síncrona e assíncrona
+ * @param mode       {@code hedge} (tentativa extra após o atraso) ou {@code race} (todos de uma vez)
+ * @param delay      atraso de hedge enquanto o provedor ainda tem poucas amostras
+ * @param minDelay   menor atraso de hedge
+ * @param maxDelay   maior atraso de hedge
+ * @param percentile percentil das latências do provedor usado como atraso de hedge
+ * @param providers  provedores adicionais, consultados depois do ViaCEP ({@code cep.client.base-url})
+ */
+@ConfigurationProperties("cep.hedging")
+public record CepHedgingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("hedge") HedgingCepClient.Modo mode,
+        @DefaultValue("200ms") Duration delay,
+        @DefaultValue("20ms") Duration minDelay,
+        @DefaultValue("1s") Duration maxDelay,
+        @DefaultValue("0.95") double percentile,
+        List<Provider> providers
+) {
+
+    public CepHedgingProperties {
+        providers = providers == null ? List.of() : List.copyOf(providers);
+    }
+
+    /**
+     * Provedor adicional de CEP.
+     *
+     * @param name    identificação do provedor
+     * @param baseUrl URL base
+     * @param path    caminho da consulta com o marcador {@code {cep}}
+     * @param format  formato do corpo da resposta
+     */
+    public record Provider(String name, String baseUrl, @DefaultValue("/{cep}") String path,
+                           @DefaultValue("viacep") Format format) {
+    }
+
+    public enum Format { VIACEP, BRASILAPI }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.cep.config;
+
+import com.example.demo.cep.bulk.CepBulkImporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "cep.import", name = "directory")
+public class CepImportConfig {
+
+    /**
+     * Leitor das importações em massa. Com {@code cep.import.parallelism=0} usa um núcleo a menos que os
+     * disponíveis, deixando um para a thread que lê o arquivo.
+     */
+    @Bean(destroyMethod = "close")
+    public CepBulkImporter cepBulkImporter(JsonMapper jsonMapper,
+                                           @Value("${cep.import.parallelism:0}") int parallelism,
+                                           @Value("${cep.import.chunk-size:4MB}") DataSize chunkSize) {
+        int threads = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        return new CepBulkImporter(jsonMapper, threads, Math.toIntExact(chunkSize.toBytes()));
+    }
+}
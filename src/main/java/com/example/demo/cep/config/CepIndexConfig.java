@@ -0,0 +1,41 @@
+package com.example.demo.cep.config;
+
+import com.example.demo.cep.index.CepIndex;
+import com.example.demo.cep.index.CepIndexWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "cep.index", name = "path")
+public class CepIndexConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CepIndexConfig.class);
+
+    /**
+     * Mapeia o índice local de CEPs. Se {@code cep.index.source} apontar para uma base em texto mais
+     * nova que o índice (ou o índice ainda não existir), o índice é gerado antes de ser mapeado.
+     */
+    @Bean
+    public CepIndex cepIndex(@Value("${cep.index.path}") Path path,
+                             @Value("${cep.index.source:}") String source) throws IOException {
+        if (!source.isBlank()) {
+            var base = Path.of(source);
+            if (Files.notExists(path)
+                    || Files.getLastModifiedTime(base).compareTo(Files.getLastModifiedTime(path)) > 0) {
+                int registros = CepIndexWriter.gerar(base, path);
+                log.info("Índice de CEP gerado em {} com {} registros", path, registros);
+            }
+        }
+        var index = CepIndex.abrir(path);
+        log.info("Índice de CEP mapeado de {} ({} registros)", path, index.tamanho());
+        return index;
+    }
+}
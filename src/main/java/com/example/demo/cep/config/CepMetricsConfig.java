@@ -0,0 +1,161 @@
+package com.example.demo.cep.config;
+
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.cache.NegativeCepCache;
+import com.example.demo.cep.cache.StringDictionary;
+import com.example.demo.cep.client.CepPrioridade;
+import com.example.demo.cep.client.CircuitBreaker;
+import com.example.demo.cep.client.HedgingCepClient;
+import com.example.demo.cep.client.ResilientCepClient;
+import com.example.demo.cep.client.UpstreamRateLimiter;
+import com.example.demo.cep.dto.CepJson;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.store.CepLogStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+
+/**
+ * Publica no Micrometer os contadores que os componentes já mantêm (caches, pool HTTP, circuit
+ * breaker, hedge e cache persistente). Os valores são lidos só na coleta (ex.: {@code /actuator/prometheus}),
+ * sem custo no caminho da requisição.
+ *
+ * <p>Os tempos por camada ({@code cep.lookup}) ficam nos decorators montados em {@link CepClientConfig}
+ * e {@link CepAsyncClientConfig}; os do controller, no {@code http.server.requests} do Spring.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class CepMetricsConfig {
+
+    @Bean
+    public MeterBinder cepCacheMetrics(CepCache<CepResponse> cepCache,
+                                       ObjectProvider<CepCache<CepJson>> cepJsonCache,
+                                       ObjectProvider<NegativeCepCache> negativeCepCache,
+                                       ObjectProvider<StringDictionary> cepStringDictionary) {
+        return registry -> {
+            registrarCache(registry, "cep", cepCache);
+            var dicionario = cepStringDictionary.getIfAvailable();
+            if (dicionario != null) {
+                Gauge.builder("cep.cache.dictionary.size", dicionario, StringDictionary::size)
+                        .description("Textos distintos no dicionário das respostas em cache")
+                        .register(registry);
+            }
+            var json = cepJsonCache.getIfAvailable();
+            if (json != null) {
+                registrarCache(registry, "cep-json", json);
+            }
+            var negativo = negativeCepCache.getIfAvailable();
+            if (negativo != null) {
+                FunctionCounter.builder("cep.cache.negative.hits", negativo, NegativeCepCache::hitCount)
+                        .description("Consultas respondidas como CEP inexistente sem acionar o upstream")
+                        .register(registry);
+                FunctionCounter.builder("cep.cache.negative.additions", negativo, NegativeCepCache::additionCount)
+                        .register(registry);
+                Gauge.builder("cep.cache.negative.pages", negativo, NegativeCepCache::allocatedPages)
+                        .description("Páginas de 8 KiB alocadas no bitmap de CEPs inexistentes")
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder cepUpstreamMetrics(PoolingHttpClientConnectionManager cepConnectionManager,
+                                          ObjectProvider<ResilientCepClient> resilientCepClient,
+                                          ObjectProvider<HedgingCepClient> hedgingCepClient,
+                                          ObjectProvider<UpstreamRateLimiter> upstreamRateLimiter) {
+        return registry -> {
+            new PoolingHttpClientConnectionManagerMetricsBinder(cepConnectionManager, "cep-upstream").bindTo(registry);
+            var resilient = resilientCepClient.getIfAvailable();
+            if (resilient != null) {
+                for (var estado : CircuitBreaker.Estado.values()) {
+                    Gauge.builder("cep.resilience.circuit.state", resilient,
+                                    r -> r.estatisticas().circuito() == estado ? 1 : 0)
+                            .tag("state", estado.name().toLowerCase(Locale.ROOT))
+                            .register(registry);
+                }
+                FunctionCounter.builder("cep.resilience.circuit.openings", resilient, r -> r.estatisticas().aberturas())
+                        .register(registry);
+                Gauge.builder("cep.resilience.limit", resilient, r -> r.estatisticas().limite())
+                        .description("Limite atual de chamadas simultâneas ao upstream")
+                        .register(registry);
+                FunctionCounter.builder("cep.resilience.rejections", resilient, r -> r.estatisticas().rejeicoesCircuito())
+                        .tag("reason", "circuit")
+                        .register(registry);
+                FunctionCounter.builder("cep.resilience.rejections", resilient, r -> r.estatisticas().rejeicoesLimite())
+                        .tag("reason", "limit")
+                        .register(registry);
+            }
+            var rateLimiter = upstreamRateLimiter.getIfAvailable();
+            if (rateLimiter != null) {
+                for (var prioridade : CepPrioridade.values()) {
+                    var tag = prioridade.name().toLowerCase(Locale.ROOT);
+                    FunctionCounter.builder("cep.rate-limit.granted", rateLimiter, l -> l.liberadas(prioridade))
+                            .tag("priority", tag)
+                            .register(registry);
+                    FunctionCounter.builder("cep.rate-limit.shed", rateLimiter, l -> l.recusadas(prioridade))
+                            .tag("priority", tag)
+                            .tag("reason", "estimate")
+                            .register(registry);
+                    FunctionCounter.builder("cep.rate-limit.shed", rateLimiter, l -> l.expiradas(prioridade))
+                            .tag("priority", tag)
+                            .tag("reason", "timeout")
+                            .register(registry);
+                }
+                Gauge.builder("cep.rate-limit.queued", rateLimiter, UpstreamRateLimiter::naFila)
+                        .description("Consultas esperando ficha para o upstream")
+                        .register(registry);
+            }
+            var hedging = hedgingCepClient.getIfAvailable();
+            if (hedging != null) {
+                FunctionCounter.builder("cep.hedging.hedges", hedging, HedgingCepClient::hedgesDisparados)
+                        .description("Consultas extras disparadas por demora do primeiro provedor")
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder cepStoreMetrics(ObjectProvider<CepLogStore> cepLogStore) {
+        return registry -> {
+            var store = cepLogStore.getIfAvailable();
+            if (store == null) {
+                return;
+            }
+            Gauge.builder("cep.store.entries", store, CepLogStore::entradas).register(registry);
+            Gauge.builder("cep.store.size", store, CepLogStore::tamanhoEmDisco).baseUnit("bytes").register(registry);
+            FunctionCounter.builder("cep.store.dropped", store, CepLogStore::descartadas)
+                    .description("Gravações descartadas por falta de espaço")
+                    .register(registry);
+            FunctionCounter.builder("cep.store.compactions", store, CepLogStore::compactacoes).register(registry);
+        };
+    }
+
+    private static void registrarCache(MeterRegistry registry, String nome, CepCache<?> cache) {
+        FunctionCounter.builder("cache.gets", cache, c -> c.stats().hits())
+                .tag("cache", nome).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, c -> c.stats().misses())
+                .tag("cache", nome).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, c -> c.stats().evictions())
+                .tag("cache", nome)
+                .register(registry);
+        FunctionCounter.builder("cache.expirations", cache, c -> c.stats().expirations())
+                .tag("cache", nome)
+                .register(registry);
+        FunctionCounter.builder("cache.rejections", cache, c -> c.stats().rejections())
+                .tag("cache", nome)
+                .description("Inserções recusadas pelo filtro de admissão TinyLFU")
+                .register(registry);
+        Gauge.builder("cache.size", cache, CepCache::size)
+                .tag("cache", nome)
+                .register(registry);
+    }
+}
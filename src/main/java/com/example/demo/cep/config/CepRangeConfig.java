@@ -0,0 +1,41 @@
+package com.example.demo.cep.config;
+
+import com.example.demo.cep.index.CepIndex;
+import com.example.demo.cep.index.CepKeyIndex;
+import com.example.demo.cep.store.CepLogStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "cep.range.enabled", havingValue = "true", matchIfMissing = true)
+public class CepRangeConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CepRangeConfig.class);
+
+    /**
+     * CEPs conhecidos para as consultas por prefixo e faixa: começa com as chaves do índice local e do cache
+     * persistente (se configurados) e recebe, pela cadeia de clients, todo CEP resolvido depois disso.
+     */
+    @Bean
+    public CepKeyIndex cepKeyIndex(ObjectProvider<CepIndex> cepIndex, ObjectProvider<CepLogStore> cepLogStore) {
+        var keyIndex = new CepKeyIndex();
+        var index = cepIndex.getIfAvailable();
+        if (index != null) {
+            var chaves = new int[index.tamanho()];
+            for (int i = 0; i < chaves.length; i++) {
+                chaves[i] = index.chave(i);
+            }
+            keyIndex.adicionarTodas(chaves);
+        }
+        var store = cepLogStore.getIfAvailable();
+        if (store != null) {
+            keyIndex.adicionarTodas(store.chaves());
+        }
+        log.info("Índice de CEPs conhecidos iniciado com {} CEPs", keyIndex.tamanho());
+        return keyIndex;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.cep.config;
+
+import com.example.demo.cep.cache.CepRefreshScheduler;
+import com.example.demo.cep.index.CepKeyIndex;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "cep.refresh.enabled", havingValue = "true")
+public class CepRefreshConfig {
+
+    /**
+     * Renovação em segundo plano dos CEPs populares do {@code cepCache}, ligada ao {@code CachingCepClient} em
+     * {@link CepClientConfig}. O pré-carregamento de vizinhos usa os CEPs conhecidos do {@link CepKeyIndex} e
+     * só acontece com {@code cep.refresh.prefetch.enabled=true}.
+     */
+    @Bean(destroyMethod = "close")
+    public CepRefreshScheduler cepRefreshScheduler(@Value("${cep.cache.maximum-size:100000}") int maximumSize,
+                                                   @Value("${cep.refresh.min-hits:4}") int minHits,
+                                                   @Value("${cep.refresh.refresh-ahead:PT2H}") Duration refreshAhead,
+                                                   @Value("${cep.refresh.max-stale:PT1H}") Duration maxStale,
+                                                   @Value("${cep.refresh.max-requests-per-second:5}") double maxRequestsPerSecond,
+                                                   @Value("${cep.refresh.parallelism:4}") int parallelism,
+                                                   @Value("${cep.refresh.max-pending:10000}") int maxPending,
+                                                   @Value("${cep.refresh.prefetch.enabled:false}") boolean prefetch,
+                                                   @Value("${cep.refresh.prefetch.min-hits:8}") int prefetchMinHits,
+                                                   @Value("${cep.refresh.prefetch.max-per-sector:50}") int prefetchPerSector,
+                                                   ObjectProvider<CepKeyIndex> cepKeyIndex) {
+        var keyIndex = prefetch ? cepKeyIndex.getIfAvailable() : null;
+        IntFunction<int[]> sectorKeys = keyIndex == null ? null : setor -> {
+            var chaves = new int[prefetchPerSector];
+            int encontradas = keyIndex.pagina(setor * 1000, setor * 1000 + 999, chaves);
+            return Arrays.copyOf(chaves, encontradas);
+        };
+        return new CepRefreshScheduler(maximumSize, minHits, refreshAhead, maxStale, maxRequestsPerSecond,
+                parallelism, maxPending, prefetchMinHits, prefetchPerSector, sectorKeys);
+    }
+}
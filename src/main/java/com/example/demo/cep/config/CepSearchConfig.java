@@ -0,0 +1,47 @@
+package com.example.demo.cep.config;
+
+import com.example.demo.cep.index.CepIndex;
+import com.example.demo.cep.index.CepSearchIndex;
+import com.example.demo.cep.store.CepLogStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Busca por endereço ({@code GET /ceps/busca}). Só é ligada com {@code cep.search.enabled=true}: a carga do índice
+ * decodifica todos os registros do índice local e do cache persistente e deixa a subida proporcional à base.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "cep.search.enabled", havingValue = "true")
+public class CepSearchConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CepSearchConfig.class);
+
+    /**
+     * Índice invertido da busca por endereço: começa com os registros do índice local e do cache persistente
+     * (se configurados) e recebe, pela cadeia de clients, todo CEP resolvido depois disso.
+     */
+    @Bean
+    public CepSearchIndex cepSearchIndex(ObjectProvider<CepIndex> cepIndex, ObjectProvider<CepLogStore> cepLogStore) {
+        long inicio = System.nanoTime();
+        var searchIndex = new CepSearchIndex();
+        var index = cepIndex.getIfAvailable();
+        if (index != null) {
+            var chaves = new int[index.tamanho()];
+            for (int i = 0; i < chaves.length; i++) {
+                chaves[i] = index.chave(i);
+            }
+            searchIndex.adicionarTodas(chaves, index::buscar);
+        }
+        var store = cepLogStore.getIfAvailable();
+        if (store != null) {
+            searchIndex.adicionarTodas(store.chaves(), store::buscar);
+        }
+        log.info("Índice de busca por endereço iniciado com {} termos ({} KB) em {} ms",
+                searchIndex.termos(), searchIndex.bytes() / 1024, (System.nanoTime() - inicio) / 1_000_000);
+        return searchIndex;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.cep.config;
+
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.index.CepKeyIndex;
+import com.example.demo.cep.index.CepSearchIndex;
+import com.example.demo.cep.store.CepCacheSnapshot;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "cep.cache.snapshot", name = "path")
+public class CepSnapshotConfig {
+
+    /**
+     * Restaura o {@code cepCache} a partir do snapshot durante a criação do contexto (antes de o servidor
+     * aceitar requisições) e passa a salvá-lo a cada {@code cep.cache.snapshot.interval} e no desligamento.
+     * Os CEPs restaurados não passam pela cadeia de clients, então entram aqui nos índices de faixa e de busca.
+     */
+    @Bean(destroyMethod = "close")
+    public CepCacheSnapshot cepCacheSnapshot(@Value("${cep.cache.snapshot.path}") Path path,
+                                             @Value("${cep.cache.snapshot.interval:PT5M}") Duration interval,
+                                             CepCache<CepResponse> cepCache,
+                                             ObjectProvider<CepKeyIndex> cepKeyIndex,
+                                             ObjectProvider<CepSearchIndex> cepSearchIndex) throws IOException {
+        var snapshot = new CepCacheSnapshot(path, cepCache);
+        if (snapshot.restaurar() > 0) {
+            indexar(cepCache, cepKeyIndex.getIfAvailable(), cepSearchIndex.getIfAvailable());
+        }
+        snapshot.iniciar(interval);
+        return snapshot;
+    }
+
+    private static void indexar(CepCache<CepResponse> cache, CepKeyIndex chaves, CepSearchIndex busca) {
+        if (chaves == null && busca == null) {
+            return;
+        }
+        // na subida o cache só tem o que veio do snapshot
+        var restauradas = new int[cache.size()];
+        var respostas = new CepResponse[restauradas.length];
+        var quantidade = new int[1];
+        cache.forEach((chave, resposta, restante) -> {
+            if (quantidade[0] < restauradas.length) {
+                restauradas[quantidade[0]] = chave;
+                respostas[quantidade[0]++] = resposta;
+            }
+        });
+        if (chaves != null) {
+            chaves.adicionarTodas(Arrays.copyOf(restauradas, quantidade[0]));
+        }
+        if (busca != null) {
+            busca.adicionarTodas(restauradas, respostas, quantidade[0]);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.cep.config;
+
+import com.example.demo.cep.store.CepLogStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "cep.store", name = "path")
+public class CepStoreConfig {
+
+    /**
+     * Abre o cache persistente de respostas, reconstruindo o índice a partir do arquivo existente.
+     */
+    @Bean(destroyMethod = "close")
+    public CepLogStore cepLogStore(@Value("${cep.store.path}") Path path,
+                                   @Value("${cep.store.max-size:256MB}") DataSize maxSize,
+                                   @Value("${cep.store.ttl:30d}") Duration ttl) throws IOException {
+        return CepLogStore.abrir(path, maxSize.toBytes(), ttl);
+    }
+}
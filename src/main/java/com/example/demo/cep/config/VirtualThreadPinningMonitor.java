@@ -0,0 +1,83 @@
+package com.example.demo.cep.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Vigia, via JFR, virtual threads que ficaram presas (pinned) à thread portadora por mais tempo que
+ * {@code cep.virtual-threads.pinning-threshold}, registrando o trecho de código responsável.
+ *
+ * <p>Só é ativado quando {@code spring.threads.virtual.enabled=true}. Um pinning longo significa que a
+ * thread portadora ficou bloqueada (por exemplo, I/O dentro de {@code synchronized} em JDKs anteriores
+ * ao 24, ou dentro de código nativo) e derruba a vazão de todo o pool de portadoras.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+
+    private final Duration limite;
+    private final LongAdder ocorrencias = new LongAdder();
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${cep.virtual-threads.pinning-threshold:PT20MS}") Duration limite) {
+        this.limite = limite;
+    }
+
+    @Override
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENTO).withThreshold(limite).withStackTrace();
+        stream.onEvent(EVENTO, this::registrar);
+        stream.startAsync();
+        log.info("Monitor de pinning de virtual threads ativo (limite {})", limite);
+    }
+
+    @Override
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    /**
+     * Quantidade de pinnings acima do limite observados desde a inicialização.
+     */
+    public long ocorrencias() {
+        return ocorrencias.sum();
+    }
+
+    private void registrar(RecordedEvent evento) {
+        ocorrencias.increment();
+        var pilha = evento.getStackTrace();
+        var origem = pilha == null ? "desconhecida" : pilha.getFrames().stream()
+                .filter(frame -> !frame.getMethod().getType().getName().startsWith("java."))
+                .filter(frame -> !frame.getMethod().getType().getName().startsWith("jdk."))
+                .findFirst()
+                .map(VirtualThreadPinningMonitor::descrever)
+                .orElse("desconhecida");
+        log.warn("Virtual thread presa à portadora por {} ms em {}", evento.getDuration().toMillis(), origem);
+    }
+
+    private static String descrever(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
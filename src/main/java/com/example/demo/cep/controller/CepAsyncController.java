@@ -0,0 +1,33 @@
+package com.example.demo.cep.controller;
+
+import com.example.demo.cep.service.CepService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante não bloqueante de {@code GET /ceps/{cep}}: a thread do servlet é liberada enquanto a API
+ * externa responde, e a resposta é escrita quando o {@link CompletableFuture} completa.
+ */
+@RestController
+@RequestMapping("/async/ceps")
+public class CepAsyncController {
+
+    private final CepService cepService;
+
+    public CepAsyncController(CepService cepService) {
+        this.cepService = cepService;
+    }
+
+    @GetMapping("/{cep}")
+    public CompletableFuture<ResponseEntity<?>> buscarCep(@PathVariable String cep) {
+        if (!CepService.formatoValido(cep)) {
+            return CompletableFuture.completedFuture(CepController.cepInvalido("/async/ceps/" + cep));
+        }
+        return cepService.obterCepAsync(cep).thenApply(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.cep.controller;
+
+import com.example.demo.cep.dto.CepBatchRequest;
+import com.example.demo.cep.dto.CepBatchResponse;
+import com.example.demo.cep.service.CepBatchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/ceps")
+public class CepBatchController {
+
+    private final CepBatchService cepBatchService;
+
+    public CepBatchController(CepBatchService cepBatchService) {
+        this.cepBatchService = cepBatchService;
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<CepBatchResponse> buscarEmLote(@RequestBody CepBatchRequest request) {
+        return ResponseEntity.ok(cepBatchService.buscarEmLote(request.ceps()));
+    }
+}
@@ -1,35 +1,70 @@
 package com.example.demo.cep.controller;
 
-import com.example.demo.cep.dto.CepInfo;
+import com.example.demo.cep.dto.ErrorResponse;
+import com.example.demo.cep.service.CepJsonService;
 import com.example.demo.cep.service.CepService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.regex.Pattern;
+import java.time.Duration;
 
 @RestController
 @RequestMapping("/ceps")
 public class CepController {
 
-    private final CepService cepService;
-    private static final Pattern CEP_PATTERN = Pattern.compile("^[0-9]{5}-?[0-9]{3}$");
+    static final String MENSAGEM_CEP_INVALIDO = "CEP deve seguir o padrão 99999-999";
 
-    public CepController(CepService cepService) {
-        this.cepService = cepService;
+    private final CepJsonService cepJsonService;
+    private final CacheControl cacheControl;
+
+    /**
+     * @param cepJsonService serviço que devolve o CEP já serializado
+     * @param maxAge         validade anunciada em {@code Cache-Control} para proxies e clientes
+     */
+    public CepController(CepJsonService cepJsonService,
+                         @Value("${cep.http.cache-max-age:PT1H}") Duration maxAge) {
+        this.cepJsonService = cepJsonService;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
     }
 
+    /**
+     * Escreve os bytes JSON já prontos, com {@code ETag} forte. Um {@code If-None-Match} que casa com
+     * o ETag recebe {@code 304} sem corpo.
+     */
     @GetMapping("/{cep}")
-    public ResponseEntity<CepInfo> buscarCep(@PathVariable String cep) {
-        validarCep(cep);
-        return ResponseEntity.ok(cepService.obterCep(cep));
+    public ResponseEntity<?> buscarCep(@PathVariable String cep,
+                                       @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (!CepService.formatoValido(cep)) {
+            return cepInvalido("/ceps/" + cep);
+        }
+        var json = cepJsonService.obter(cep);
+        if (json.corresponde(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(json.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(json.etag())
+                .cacheControl(cacheControl)
+                .body(json.corpo());
     }
 
-    private void validarCep(String cep) {
-        if (cep == null || !CEP_PATTERN.matcher(cep).matches()) {
-            throw new IllegalArgumentException("CEP deve seguir o padrão 99999-999");
-        }
+    /**
+     * Resposta 400 para CEP fora do formato, montada direto (sem lançar exceção até o
+     * {@code GlobalExceptionHandler}), com o mesmo corpo que ele produziria.
+     */
+    static ResponseEntity<ErrorResponse> cepInvalido(String path) {
+        return ResponseEntity.badRequest().body(ErrorResponse.of(HttpStatus.BAD_REQUEST, MENSAGEM_CEP_INVALIDO, path));
     }
 }
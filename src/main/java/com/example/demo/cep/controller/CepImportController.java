@@ -0,0 +1,45 @@
+package com.example.demo.cep.controller;
+
+import com.example.demo.cep.dto.CepImportRequest;
+import com.example.demo.cep.dto.CepImportStatus;
+import com.example.demo.cep.service.CepImportService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/ceps/importacoes")
+@ConditionalOnProperty(prefix = "cep.import", name = "directory")
+public class CepImportController {
+
+    private final CepImportService cepImportService;
+
+    public CepImportController(CepImportService cepImportService) {
+        this.cepImportService = cepImportService;
+    }
+
+    /**
+     * Agenda a importação de um arquivo de {@code cep.import.directory} e responde 202 com o endereço do
+     * andamento.
+     */
+    @PostMapping
+    public ResponseEntity<CepImportStatus> importar(@RequestBody CepImportRequest pedido) {
+        var progresso = cepImportService.importar(pedido);
+        return ResponseEntity.accepted()
+                .location(URI.create("/ceps/importacoes/" + progresso.id()))
+                .body(progresso.status());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<CepImportStatus> status(@PathVariable String id) {
+        var progresso = cepImportService.status(id);
+        return progresso != null ? ResponseEntity.ok(progresso.status()) : ResponseEntity.notFound().build();
+    }
+}
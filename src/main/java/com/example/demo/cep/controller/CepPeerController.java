@@ -0,0 +1,49 @@
+package com.example.demo.cep.controller;
+
+import com.example.demo.cep.client.CepClientPort;
+import com.example.demo.cep.client.CepPrioridade;
+import com.example.demo.cep.client.PeerCepClient;
+import com.example.demo.cep.cluster.CepCluster;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.service.CepService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Endpoint interno do modo cluster, chamado pelas outras réplicas para os CEPs dos quais esta réplica é
+ * dona. Responde pela cadeia completa (cache, agrupamento de consultas, upstream) no formato do ViaCEP,
+ * com a {@link CepPrioridade} da consulta original.
+ *
+ * <p>Um CEP inexistente é respondido como o ViaCEP faz, com {@code 200} e {@code {"erro": true}}: um
+ * {@code 404} aqui significaria que o endpoint não existe na réplica.</p>
+ */
+@RestController
+@ConditionalOnProperty(prefix = "cep.cluster", name = "peers")
+public class CepPeerController {
+
+    private final CepClientPort cepClientPort;
+
+    public CepPeerController(CepClientPort cepClientPort) {
+        this.cepClientPort = cepClientPort;
+    }
+
+    @GetMapping(CepCluster.CAMINHO_INTERNO)
+    public ResponseEntity<?> buscarCep(@PathVariable String cep,
+                                       @RequestHeader(name = CepPrioridade.CABECALHO, required = false) String prioridade) {
+        if (!CepService.formatoValido(cep)) {
+            return CepController.cepInvalido("/internal/ceps/" + cep);
+        }
+        CepResponse resposta = ScopedValue.where(PeerCepClient.REPASSADA, Boolean.TRUE)
+                .where(CepPrioridade.ATUAL, CepPrioridade.doNome(prioridade))
+                .call(() -> cepClientPort.buscarCep(cep));
+        return resposta != null && resposta.encontrado()
+                ? ResponseEntity.ok(resposta)
+                : ResponseEntity.ok(Map.of("erro", true));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demo.cep.controller;
+
+import com.example.demo.cep.service.CepRangeService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/ceps")
+@ConditionalOnProperty(name = "cep.range.enabled", havingValue = "true", matchIfMissing = true)
+public class CepRangeController {
+
+    private final CepRangeService cepRangeService;
+
+    public CepRangeController(CepRangeService cepRangeService) {
+        this.cepRangeService = cepRangeService;
+    }
+
+    /**
+     * Lista os CEPs conhecidos de um prefixo ({@code ?prefixo=01310}) ou de uma faixa
+     * ({@code ?de=01310000&ate=01319999}) em NDJSON, em ordem crescente. A próxima página é pedida com
+     * {@code apos} igual ao último CEP recebido; uma página com menos de {@code limite} linhas é a última.
+     */
+    @GetMapping
+    public void listar(@RequestParam(required = false) String prefixo,
+                       @RequestParam(required = false) String de,
+                       @RequestParam(required = false) String ate,
+                       @RequestParam(required = false) String apos,
+                       @RequestParam(defaultValue = "100") int limite,
+                       HttpServletResponse response) throws IOException {
+        CepRangeService.Faixa faixa;
+        if (prefixo != null && de == null && ate == null) {
+            faixa = CepRangeService.Faixa.prefixo(prefixo);
+        } else if (prefixo == null && de != null && ate != null) {
+            faixa = CepRangeService.Faixa.entre(de, ate);
+        } else {
+            throw new IllegalArgumentException("Informe prefixo ou de e ate");
+        }
+        if (apos != null) {
+            faixa = faixa.depoisDe(apos);
+        }
+        int tamanhoPagina = cepRangeService.limite(limite);
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        cepRangeService.escrever(faixa, tamanhoPagina, response.getOutputStream());
+    }
+}
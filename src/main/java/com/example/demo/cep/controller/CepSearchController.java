@@ -0,0 +1,37 @@
+package com.example.demo.cep.controller;
+
+import com.example.demo.cep.dto.CepInfo;
+import com.example.demo.cep.index.CepSearchIndex;
+import com.example.demo.cep.service.CepSearchService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/ceps")
+@ConditionalOnProperty(name = "cep.search.enabled", havingValue = "true")
+public class CepSearchController {
+
+    private final CepSearchService cepSearchService;
+
+    public CepSearchController(CepSearchService cepSearchService) {
+        this.cepSearchService = cepSearchService;
+    }
+
+    /**
+     * Busca CEPs pelo endereço ({@code ?logradouro=paulista&cidade=são paulo}). Cada campo informado é
+     * quebrado em palavras, sem diferenciar maiúsculas nem acentos, e todas precisam aparecer no campo.
+     */
+    @GetMapping("/busca")
+    public List<CepInfo> buscar(@RequestParam(required = false) String logradouro,
+                                @RequestParam(required = false) String bairro,
+                                @RequestParam(required = false) String cidade,
+                                @RequestParam(required = false) String uf,
+                                @RequestParam(defaultValue = "20") int limite) {
+        return cepSearchService.buscar(new CepSearchIndex.Consulta(logradouro, bairro, cidade, uf), limite);
+    }
+}
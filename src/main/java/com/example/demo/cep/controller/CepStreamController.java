@@ -0,0 +1,36 @@
+package com.example.demo.cep.controller;
+
+import com.example.demo.cep.service.CepStreamService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/ceps")
+public class CepStreamController {
+
+    private final CepStreamService cepStreamService;
+
+    public CepStreamController(CepStreamService cepStreamService) {
+        this.cepStreamService = cepStreamService;
+    }
+
+    /**
+     * Lê os CEPs diretamente do corpo da requisição e escreve os resultados na resposta, sem
+     * bufferizar nenhum dos dois.
+     */
+    @PostMapping(value = "/stream",
+            consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void buscarEmFluxo(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        cepStreamService.processar(request.getInputStream(), response.getOutputStream());
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demo.cep.dto;
+
+/**
+ * CEP já validado, guardado como inteiro de 0 a 99999999.
+ *
+ * <p>{@link #parse(CharSequence)} lê {@code 99999-999} ou {@code 99999999} em uma única passada, sem
+ * regex, sem alocar e sem lançar exceção: entradas inválidas resultam em {@link #INVALIDO}. Esse
+ * inteiro é a chave usada pelo cache, pelo agrupamento de consultas e pelo índice local.</p>
+ *
+ * @param valor CEP como inteiro
+ */
+public record Cep(int valor) {
+
+    /**
+     * Resultado de {@link #parse(CharSequence)} para entradas fora do formato.
+     */
+    public static final int INVALIDO = -1;
+
+    private static final int MAXIMO = 99_999_999;
+
+    public Cep {
+        if (valor < 0 || valor > MAXIMO) {
+            throw new IllegalArgumentException("CEP deve ter 8 dígitos");
+        }
+    }
+
+    /**
+     * Converte {@code 99999-999} ou {@code 99999999} em inteiro.
+     *
+     * @param texto CEP informado
+     * @return CEP como inteiro, ou {@link #INVALIDO} se o formato não for aceito
+     */
+    public static int parse(CharSequence texto) {
+        if (texto == null) {
+            return INVALIDO;
+        }
+        int tamanho = texto.length();
+        boolean comHifen = tamanho == 9;
+        if (tamanho != 8 && !comHifen || comHifen && texto.charAt(5) != '-') {
+            return INVALIDO;
+        }
+        int valor = 0;
+        for (int i = 0; i < tamanho; i++) {
+            if (comHifen && i == 5) {
+                continue;
+            }
+            int digito = texto.charAt(i) - '0';
+            if (digito < 0 || digito > 9) {
+                return INVALIDO;
+            }
+            valor = valor * 10 + digito;
+        }
+        return valor;
+    }
+
+    /**
+     * Indica se o texto está em um dos formatos aceitos.
+     */
+    public static boolean valido(CharSequence texto) {
+        return parse(texto) != INVALIDO;
+    }
+
+    /**
+     * CEP no formato {@code 99999-999}.
+     */
+    public static String formatar(int cep) {
+        var caracteres = new char[9];
+        int valor = cep;
+        for (int i = 8; i >= 0; i--) {
+            if (i == 5) {
+                caracteres[i] = '-';
+                continue;
+            }
+            caracteres[i] = (char) ('0' + valor % 10);
+            valor /= 10;
+        }
+        return new String(caracteres);
+    }
+
+    /**
+     * CEP com os 8 dígitos, sem hífen.
+     */
+    public static String digitos(int cep) {
+        var caracteres = new char[8];
+        int valor = cep;
+        for (int i = 7; i >= 0; i--) {
+            caracteres[i] = (char) ('0' + valor % 10);
+            valor /= 10;
+        }
+        return new String(caracteres);
+    }
+
+    public String formatado() {
+        return formatar(valor);
+    }
+
+    public String digitos() {
+        return digitos(valor);
+    }
+
+    @Override
+    public String toString() {
+        return formatado();
+    }
+}
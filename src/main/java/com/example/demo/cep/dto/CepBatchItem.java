@@ -0,0 +1,26 @@
+package com.example.demo.cep.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado individual de um CEP dentro de uma consulta em lote.
+ *
+ * <p>Em caso de sucesso {@code dados} é preenchido; em caso de falha, {@code erro} traz a mensagem
+ * e {@code status} o código HTTP que a consulta individual teria retornado.</p>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CepBatchItem(
+        String cep,
+        int status,
+        CepInfo dados,
+        String erro
+) {
+
+    public static CepBatchItem sucesso(String cep, CepInfo dados) {
+        return new CepBatchItem(cep, 200, dados, null);
+    }
+
+    public static CepBatchItem falha(String cep, int status, String erro) {
+        return new CepBatchItem(cep, status, null, erro);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.demo.cep.dto;
+
+import java.util.List;
+
+public record CepBatchRequest(
+        List<String> ceps
+) {
+}
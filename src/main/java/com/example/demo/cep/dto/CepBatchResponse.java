@@ -0,0 +1,16 @@
+package com.example.demo.cep.dto;
+
+import java.util.List;
+
+public record CepBatchResponse(
+        int total,
+        int sucessos,
+        int falhas,
+        List<CepBatchItem> resultados
+) {
+
+    public static CepBatchResponse de(List<CepBatchItem> resultados) {
+        int sucessos = (int) resultados.stream().filter(item -> item.dados() != null).count();
+        return new CepBatchResponse(resultados.size(), sucessos, resultados.size() - sucessos, resultados);
+    }
+}
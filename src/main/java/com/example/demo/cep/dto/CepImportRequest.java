@@ -0,0 +1,16 @@
+package com.example.demo.cep.dto;
+
+/**
+ * Pedido de importação em massa.
+ *
+ * @param arquivo caminho do arquivo, relativo a {@code cep.import.directory}
+ * @param formato {@code csv} ou {@code ndjson}; se ausente, deduzido da extensão
+ * @param destino {@code store} (cache persistente) ou {@code cache} (memória); se ausente, o cache
+ *                persistente quando configurado
+ */
+public record CepImportRequest(
+        String arquivo,
+        String formato,
+        String destino
+) {
+}
@@ -0,0 +1,16 @@
+package com.example.demo.cep.dto;
+
+public record CepImportStatus(
+        String id,
+        String arquivo,
+        String estado,
+        long bytesLidos,
+        long bytesTotal,
+        long linhas,
+        long importadas,
+        long rejeitadas,
+        long descartadas,
+        long linhasPorSegundo,
+        String erro
+) {
+}
@@ -0,0 +1,50 @@
+package com.example.demo.cep.dto;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * {@link CepInfo} já serializado em JSON (UTF-8), pronto para ser escrito na resposta, com o
+ * {@code ETag} forte calculado sobre esses mesmos bytes.
+ *
+ * <p>O vetor {@code corpo} é compartilhado entre as requisições e não deve ser alterado.</p>
+ */
+public record CepJson(byte[] corpo, String etag) {
+
+    /**
+     * @param corpo JSON serializado
+     * @return o JSON com ETag derivado do SHA-256 do conteúdo
+     */
+    public static CepJson de(byte[] corpo) {
+        try {
+            var hash = MessageDigest.getInstance("SHA-256").digest(corpo);
+            return new CepJson(corpo, "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Indica se o cabeçalho {@code If-None-Match} casa com o ETag, pela comparação fraca exigida
+     * para esse cabeçalho (RFC 9110): {@code *}, lista separada por vírgula e prefixo {@code W/}.
+     */
+    public boolean corresponde(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        if (ifNoneMatch.strip().equals("*")) {
+            return true;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            var valor = candidato.strip();
+            if (valor.startsWith("W/")) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -16,5 +16,18 @@ public record CepResponse(
         @JsonProperty("ddd") String ddd,
         @JsonProperty("siafi") String siafi
 ) {
+
+    /**
+     * Resultado de um CEP que não existe (o ViaCEP responde {@code {"erro": true}}).
+     */
+    public static final CepResponse NAO_ENCONTRADO =
+            new CepResponse(null, null, null, null, null, null, null, null, null, null);
+
+    /**
+     * {@code false} para {@link #NAO_ENCONTRADO} e para qualquer resposta sem o campo {@code cep}.
+     */
+    public boolean encontrado() {
+        return cep != null;
+    }
 }
 
@@ -1,5 +1,7 @@
 package com.example.demo.cep.dto;
 
+import org.springframework.http.HttpStatus;
+
 import java.time.Instant;
 
 public record ErrorResponse(
@@ -9,5 +11,8 @@ public record ErrorResponse(
         String message,
         String path
 ) {
-}
 
+    public static ErrorResponse of(HttpStatus status, String message, String path) {
+        return new ErrorResponse(Instant.now(), status.value(), status.getReasonPhrase(), message, path);
+    }
+}
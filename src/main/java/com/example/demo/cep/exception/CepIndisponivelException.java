@@ -0,0 +1,12 @@
+package com.example.demo.cep.exception;
+
+/**
+ * Lançada quando a consulta é recusada sem acionar a API externa, porque o circuito está aberto ou o
+ * limite de consultas simultâneas foi atingido.
+ */
+public class CepIndisponivelException extends RuntimeException {
+
+    public CepIndisponivelException(String message) {
+        super(message);
+    }
+}
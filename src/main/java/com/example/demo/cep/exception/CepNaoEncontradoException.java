@@ -0,0 +1,11 @@
+package com.example.demo.cep.exception;
+
+/**
+ * Lançada quando o CEP tem formato válido mas não existe na base do provedor.
+ */
+public class CepNaoEncontradoException extends RuntimeException {
+
+    public CepNaoEncontradoException(String message) {
+        super(message);
+    }
+}
@@ -36,6 +36,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    @ExceptionHandler(CepNaoEncontradoException.class)
+    public ResponseEntity<ErrorResponse> handleCepNaoEncontrado(CepNaoEncontradoException ex,
+                                                                WebRequest request) {
+        var path = (request instanceof ServletWebRequest sw) ? sw.getRequest().getRequestURI() : "";
+        var body = new ErrorResponse(Instant.now(), HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND.getReasonPhrase(), ex.getMessage(), path);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+    }
+
+    @ExceptionHandler(CepIndisponivelException.class)
+    public ResponseEntity<ErrorResponse> handleCepIndisponivel(CepIndisponivelException ex,
+                                                               WebRequest request) {
+        var path = (request instanceof ServletWebRequest sw) ? sw.getRequest().getRequestURI() : "";
+        var body = new ErrorResponse(Instant.now(), HttpStatus.SERVICE_UNAVAILABLE.value(), HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(), ex.getMessage(), path);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
     @ExceptionHandler(NoResourceFoundException.class)
     public ResponseEntity<Void> handleNoResourceFound(NoResourceFoundException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -0,0 +1,52 @@
+package com.example.demo.cep.index;
+
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepResponse;
+
+import java.util.ArrayList;
+
+/**
+ * Interpreta linhas de bases de CEP no formato texto separado por ponto e vírgula, na mesma ordem
+ * de campos do {@link CepResponse}:
+ *
+ * <pre>cep;logradouro;complemento;bairro;localidade;uf;ibge;gia;ddd;siafi</pre>
+ *
+ * <p>Campos ausentes no fim da linha ficam {@code null}; linhas vazias ou iniciadas por {@code #}
+ * são ignoradas.</p>
+ */
+public final class CepCsvParser {
+
+    static final int CAMPOS = 10;
+    private static final char SEPARADOR = ';';
+
+    private CepCsvParser() {
+    }
+
+    /**
+     * @param linha linha da base
+     * @return o registro, ou {@code null} se a linha deve ser ignorada
+     * @throws IllegalArgumentException se o CEP da linha não tiver 8 dígitos
+     */
+    public static CepResponse parse(String linha) {
+        if (linha == null || linha.isBlank() || linha.charAt(0) == '#') {
+            return null;
+        }
+        var campos = new ArrayList<String>(CAMPOS);
+        int inicio = 0;
+        for (int i = 0; i < linha.length() && campos.size() < CAMPOS - 1; i++) {
+            if (linha.charAt(i) == SEPARADOR) {
+                campos.add(linha.substring(inicio, i).strip());
+                inicio = i + 1;
+            }
+        }
+        campos.add(linha.substring(inicio).strip());
+        while (campos.size() < CAMPOS) {
+            campos.add(null);
+        }
+        if (Cep.parse(campos.getFirst()) < 0) {
+            throw new IllegalArgumentException("CEP inválido na linha: " + linha);
+        }
+        return new CepResponse(campos.get(0), campos.get(1), campos.get(2), campos.get(3), campos.get(4),
+                campos.get(5), campos.get(6), campos.get(7), campos.get(8), campos.get(9));
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.demo.cep.index;
+
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepResponse;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice local de CEPs lido diretamente de um arquivo binário mapeado em memória.
+ *
+ * <p>Layout do arquivo (inteiros big-endian), gerado pelo {@link CepIndexWriter}:</p>
+ * <pre>
+ * cabeçalho : magic(int) versão(int) registros(int) termos(int)
+ * chaves    : int[registros]                 CEPs ordenados
+ * registros : int[registros][CAMPOS]         id no dicionário de cada campo (-1 = nulo)
+ * offsets   : int[termos + 1]                início de cada termo nos dados do dicionário
+ * dados     : byte[]                         termos em UTF-8
+ * </pre>
+ *
+ * <p>Abrir o índice só mapeia o arquivo; nada é lido para o heap. A busca é binária sobre as
+ * chaves e os termos são decodificados do arquivo a cada leitura. Só os campos de poucos valores
+ * distintos e muita repetição (cidade, UF, códigos IBGE, GIA e SIAFI, DDD) guardam o termo
+ * decodificado, até {@value #TERMOS_EM_CACHE} termos; logradouros, complementos e bairros, que
+ * somam a maior parte do dicionário, não ficam no heap (as respostas mais consultadas já ficam no
+ * {@code CepCache} acima).</p>
+ */
+public final class CepIndex {
+
+    static final int MAGIC = 0x43455058;
+    static final int VERSAO = 1;
+    static final int CABECALHO = 16;
+    static final int CAMPOS = CepCsvParser.CAMPOS - 1;
+    static final int NULO = -1;
+    static final int TERMOS_EM_CACHE = 65_536;
+    /**
+     * Primeiro campo (localidade) cujos termos ficam em cache; os anteriores são logradouro,
+     * complemento e bairro.
+     */
+    private static final int PRIMEIRO_CAMPO_REPETIDO = 3;
+
+    private final MappedByteBuffer buffer;
+    private final int registros;
+    private final int termos;
+    private final int inicioRegistros;
+    private final int inicioOffsets;
+    private final int inicioDados;
+    private final ConcurrentHashMap<Integer, String> termosRepetidos = new ConcurrentHashMap<>();
+
+    private CepIndex(MappedByteBuffer buffer) {
+        if (buffer.capacity() < CABECALHO || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Arquivo não é um índice de CEP");
+        }
+        if (buffer.getInt(4) != VERSAO) {
+            throw new IllegalArgumentException("Versão de índice não suportada: " + buffer.getInt(4));
+        }
+        this.buffer = buffer;
+        this.registros = buffer.getInt(8);
+        this.termos = buffer.getInt(12);
+        this.inicioRegistros = CABECALHO + registros * Integer.BYTES;
+        this.inicioOffsets = inicioRegistros + registros * CAMPOS * Integer.BYTES;
+        this.inicioDados = inicioOffsets + (termos + 1) * Integer.BYTES;
+    }
+
+    /**
+     * Mapeia o arquivo de índice em memória (somente leitura).
+     *
+     * @param arquivo arquivo gerado pelo {@link CepIndexWriter}
+     */
+    public static CepIndex abrir(Path arquivo) throws IOException {
+        try (var canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            return new CepIndex(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        }
+    }
+
+    /**
+     * Busca o CEP no índice.
+     *
+     * @param cep CEP como inteiro
+     * @return os dados do CEP, ou {@code null} se não estiver no índice
+     */
+    public CepResponse buscar(int cep) {
+        int posicao = posicao(cep);
+        if (posicao < 0) {
+            return null;
+        }
+        int base = inicioRegistros + posicao * CAMPOS * Integer.BYTES;
+        var valores = new String[CAMPOS];
+        for (int campo = 0; campo < CAMPOS; campo++) {
+            int id = buffer.getInt(base + campo * Integer.BYTES);
+            valores[campo] = campo < PRIMEIRO_CAMPO_REPETIDO ? decodificar(id) : termoRepetido(id);
+        }
+        return new CepResponse(Cep.formatar(cep), valores[0], valores[1], valores[2], valores[3], valores[4],
+                valores[5], valores[6], valores[7], valores[8]);
+    }
+
+    /**
+     * Indica se o CEP está no índice, sem decodificar o registro.
+     */
+    public boolean contem(int cep) {
+        return posicao(cep) >= 0;
+    }
+
+    /**
+     * Quantidade de CEPs no índice.
+     */
+    public int tamanho() {
+        return registros;
+    }
+
+    /**
+     * CEP armazenado na posição informada (as chaves estão em ordem crescente).
+     */
+    public int chave(int posicao) {
+        return buffer.getInt(CABECALHO + posicao * Integer.BYTES);
+    }
+
+    private int posicao(int cep) {
+        int baixo = 0;
+        int alto = registros - 1;
+        while (baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            int chave = chave(meio);
+            if (chave < cep) {
+                baixo = meio + 1;
+            } else if (chave > cep) {
+                alto = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+        return -1;
+    }
+
+    private String termoRepetido(int id) {
+        if (id == NULO) {
+            return null;
+        }
+        var termo = termosRepetidos.get(id);
+        if (termo != null) {
+            return termo;
+        }
+        termo = decodificar(id);
+        if (termosRepetidos.size() < TERMOS_EM_CACHE) {
+            var existente = termosRepetidos.putIfAbsent(id, termo);
+            return existente != null ? existente : termo;
+        }
+        return termo;
+    }
+
+    private String decodificar(int id) {
+        if (id == NULO) {
+            return null;
+        }
+        int inicio = buffer.getInt(inicioOffsets + id * Integer.BYTES);
+        int fim = buffer.getInt(inicioOffsets + (id + 1) * Integer.BYTES);
+        var bytes = new byte[fim - inicio];
+        buffer.get(inicioDados + inicio, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.demo.cep.index;
+
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gera o arquivo binário lido pelo {@link CepIndex} a partir de uma base de CEPs em texto
+ * (formato do {@link CepCsvParser}).
+ *
+ * <p>Cada valor de campo distinto é gravado uma única vez no dicionário e os registros guardam
+ * apenas o id do termo. CEPs repetidos na base ficam com a última ocorrência.</p>
+ */
+public final class CepIndexWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(CepIndexWriter.class);
+
+    private final Map<String, Integer> dicionario = new HashMap<>();
+    private final ByteArrayOutputStream dadosDicionario = new ByteArrayOutputStream();
+    private int[] offsets = new int[1024];
+    private int[] chaves = new int[1024];
+    private int[] campos = new int[1024 * CepIndex.CAMPOS];
+    private int registros;
+
+    /**
+     * Gera o índice a partir de um arquivo texto. O arquivo de destino é escrito em um temporário
+     * e movido ao final, de forma que um índice existente nunca fica pela metade. Linhas com CEP
+     * inválido são puladas e contadas, como na importação em massa.
+     *
+     * @param base    base de CEPs em texto UTF-8
+     * @param destino arquivo de índice a gerar
+     * @return quantidade de CEPs distintos gravados
+     */
+    public static int gerar(Path base, Path destino) throws IOException {
+        var writer = new CepIndexWriter();
+        var rejeitadas = new LongAdder();
+        try (var linhas = Files.lines(base, StandardCharsets.UTF_8)) {
+            linhas.forEach(linha -> {
+                CepResponse registro;
+                try {
+                    registro = CepCsvParser.parse(linha);
+                } catch (IllegalArgumentException e) {
+                    rejeitadas.increment();
+                    return;
+                }
+                if (registro != null) {
+                    writer.adicionar(registro);
+                }
+            });
+        }
+        if (rejeitadas.sum() > 0) {
+            log.warn("Base {}: {} linhas com CEP inválido foram ignoradas", base, rejeitadas.sum());
+        }
+        return writer.escrever(destino);
+    }
+
+    /**
+     * Acrescenta um registro ao índice em construção.
+     */
+    public void adicionar(CepResponse registro) {
+        int chave = Cep.parse(registro.cep());
+        if (chave < 0) {
+            throw new IllegalArgumentException("CEP inválido: " + registro.cep());
+        }
+        if (registros == chaves.length) {
+            chaves = Arrays.copyOf(chaves, registros * 2);
+            campos = Arrays.copyOf(campos, registros * 2 * CepIndex.CAMPOS);
+        }
+        chaves[registros] = chave;
+        int base = registros * CepIndex.CAMPOS;
+        campos[base] = termo(registro.logradouro());
+        campos[base + 1] = termo(registro.complemento());
+        campos[base + 2] = termo(registro.bairro());
+        campos[base + 3] = termo(registro.localidade());
+        campos[base + 4] = termo(registro.uf());
+        campos[base + 5] = termo(registro.ibge());
+        campos[base + 6] = termo(registro.gia());
+        campos[base + 7] = termo(registro.ddd());
+        campos[base + 8] = termo(registro.siafi());
+        registros++;
+    }
+
+    /**
+     * Grava o índice no arquivo de destino.
+     *
+     * @return quantidade de CEPs distintos gravados
+     */
+    public int escrever(Path destino) throws IOException {
+        // ordena pares (cep, posição) empacotados em long; empates mantêm a ordem de inserção
+        var ordem = new long[registros];
+        for (int i = 0; i < registros; i++) {
+            ordem[i] = ((long) chaves[i] << 32) | i;
+        }
+        Arrays.sort(ordem);
+
+        var selecionados = new int[registros];
+        int distintos = 0;
+        for (int i = 0; i < registros; i++) {
+            boolean ultimaOcorrencia = i + 1 == registros || (ordem[i + 1] >>> 32) != (ordem[i] >>> 32);
+            if (ultimaOcorrencia) {
+                selecionados[distintos++] = (int) ordem[i];
+            }
+        }
+
+        var temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try (var saida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporario), 1 << 16))) {
+            saida.writeInt(CepIndex.MAGIC);
+            saida.writeInt(CepIndex.VERSAO);
+            saida.writeInt(distintos);
+            saida.writeInt(dicionario.size());
+            for (int i = 0; i < distintos; i++) {
+                saida.writeInt(chaves[selecionados[i]]);
+            }
+            for (int i = 0; i < distintos; i++) {
+                int base = selecionados[i] * CepIndex.CAMPOS;
+                for (int campo = 0; campo < CepIndex.CAMPOS; campo++) {
+                    saida.writeInt(campos[base + campo]);
+                }
+            }
+            for (int i = 0; i < dicionario.size(); i++) {
+                saida.writeInt(offsets[i]);
+            }
+            saida.writeInt(dadosDicionario.size());
+            dadosDicionario.writeTo(saida);
+        }
+        Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return distintos;
+    }
+
+    private int termo(String valor) {
+        if (valor == null) {
+            return CepIndex.NULO;
+        }
+        return dicionario.computeIfAbsent(valor, novo -> {
+            int id = dicionario.size();
+            if (id == offsets.length) {
+                offsets = Arrays.copyOf(offsets, id * 2);
+            }
+            offsets[id] = dadosDicionario.size();
+            dadosDicionario.writeBytes(novo.getBytes(StandardCharsets.UTF_8));
+            return id;
+        });
+    }
+}
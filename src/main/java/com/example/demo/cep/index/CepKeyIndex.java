@@ -0,0 +1,136 @@
+package com.example.demo.cep.index;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Conjunto ordenado dos CEPs conhecidos pela aplicação, guardado em um {@code int[]}, para consultas por
+ * prefixo e por faixa.
+ *
+ * <p>As leituras usam uma {@link Vista} imutável, publicada em um campo {@code volatile} e percorrida por
+ * busca binária, sem lock: o vetor ordenado com o grosso dos CEPs e um vetor ordenado pequeno com as inclusões
+ * recentes. Cada inclusão (sob lock, só entre escritores) publica uma vista nova com o vetor pequeno copiado;
+ * quando ele chega a {@value #BUFFER} CEPs, é intercalado ao vetor grande. Assim uma inclusão custa no máximo
+ * uma cópia de {@value #BUFFER} posições, a intercalação é amortizada pelo mesmo número de CEPs e uma consulta
+ * enxerga tudo o que foi incluído antes dela.</p>
+ */
+public final class CepKeyIndex {
+
+    static final int BUFFER = 1024;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Vista vista = new Vista(new int[0], new int[0]);
+
+    /**
+     * Registra um CEP (chave de {@link com.example.demo.cep.dto.Cep#parse}). CEPs já conhecidos são
+     * ignorados sem tomar o lock.
+     */
+    public void adicionar(int chave) {
+        if (chave < 0 || vista.contem(chave)) {
+            return;
+        }
+        lock.lock();
+        try {
+            var atual = vista;
+            int posicao = Arrays.binarySearch(atual.recentes, chave);
+            if (posicao >= 0 || Arrays.binarySearch(atual.chaves, chave) >= 0) {
+                return;
+            }
+            posicao = -posicao - 1;
+            var recentes = new int[atual.recentes.length + 1];
+            System.arraycopy(atual.recentes, 0, recentes, 0, posicao);
+            recentes[posicao] = chave;
+            System.arraycopy(atual.recentes, posicao, recentes, posicao + 1, atual.recentes.length - posicao);
+            vista = recentes.length == BUFFER
+                    ? new Vista(intercalar(atual.chaves, atual.chaves.length, recentes, recentes.length), new int[0])
+                    : new Vista(atual.chaves, recentes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registra vários CEPs de uma vez, com uma única intercalação (carga inicial a partir do índice local
+     * ou do cache persistente).
+     */
+    public void adicionarTodas(int[] novas) {
+        var ordenadas = novas.clone();
+        Arrays.sort(ordenadas);
+        lock.lock();
+        try {
+            var atual = vista;
+            var chaves = intercalar(atual.chaves, atual.chaves.length, atual.recentes, atual.recentes.length);
+            vista = new Vista(intercalar(chaves, chaves.length, ordenadas, ordenadas.length), new int[0]);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copia para {@code destino} os CEPs conhecidos entre {@code de} e {@code ate} (inclusive), em ordem
+     * crescente, até encher o vetor.
+     *
+     * @return quantidade de CEPs copiados; menor que {@code destino.length} quando a faixa acabou
+     */
+    public int pagina(int de, int ate, int[] destino) {
+        var atual = vista;
+        int i = inicio(atual.chaves, de);
+        int j = inicio(atual.recentes, de);
+        int copiados = 0;
+        while (copiados < destino.length) {
+            boolean temChave = i < atual.chaves.length && atual.chaves[i] <= ate;
+            boolean temRecente = j < atual.recentes.length && atual.recentes[j] <= ate;
+            if (!temChave && !temRecente) {
+                break;
+            }
+            destino[copiados++] = !temRecente || (temChave && atual.chaves[i] < atual.recentes[j])
+                    ? atual.chaves[i++] : atual.recentes[j++];
+        }
+        return copiados;
+    }
+
+    public boolean contem(int chave) {
+        return vista.contem(chave);
+    }
+
+    /**
+     * Quantidade de CEPs conhecidos.
+     */
+    public int tamanho() {
+        var atual = vista;
+        return atual.chaves.length + atual.recentes.length;
+    }
+
+    private static int inicio(int[] ordenadas, int de) {
+        int posicao = Arrays.binarySearch(ordenadas, de);
+        return posicao < 0 ? -posicao - 1 : posicao;
+    }
+
+    /**
+     * Estado publicado para as leituras. Os dois vetores são ordenados, disjuntos e nunca alterados depois de
+     * publicados.
+     */
+    private record Vista(int[] chaves, int[] recentes) {
+
+        boolean contem(int chave) {
+            return Arrays.binarySearch(recentes, chave) >= 0 || Arrays.binarySearch(chaves, chave) >= 0;
+        }
+    }
+
+    /**
+     * Intercala dois trechos ordenados, descartando repetidos.
+     */
+    static int[] intercalar(int[] a, int tamanhoA, int[] b, int tamanhoB) {
+        var resultado = new int[tamanhoA + tamanhoB];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < tamanhoA || j < tamanhoB) {
+            int proxima = j == tamanhoB || (i < tamanhoA && a[i] <= b[j]) ? a[i++] : b[j++];
+            if (n == 0 || resultado[n - 1] != proxima) {
+                resultado[n++] = proxima;
+            }
+        }
+        return n == resultado.length ? resultado : Arrays.copyOf(resultado, n);
+    }
+}
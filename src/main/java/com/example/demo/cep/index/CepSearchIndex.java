@@ -0,0 +1,305 @@
+package com.example.demo.cep.index;
+
+import com.example.demo.cep.dto.CepResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+/**
+ * Índice invertido de endereços para a busca reversa (logradouro, bairro, cidade e UF → CEPs).
+ *
+ * <p>Cada campo é quebrado em termos pelo {@link CepTokenizer} e cada termo, prefixado pelo campo
+ * ({@code l:paulista}, {@code c:sao}), aponta para uma {@link PostingList} comprimida com os CEPs em ordem.
+ * Uma busca é a interseção das listas dos termos pedidos: percorre a menor e testa cada CEP nas demais pela
+ * tabela de salto, parando assim que junta o limite de resultados.</p>
+ *
+ * <p>O índice é montado aos poucos. Cada termo tem uma lista comprimida imutável e um trecho ordenado de
+ * inclusões pendentes, recomprimidos juntos quando o trecho passa de 1/8 da lista (entre {@value #PENDENTES_MINIMO}
+ * e {@value #PENDENTES_MAXIMO} CEPs). As buscas leem uma cópia dos dois, sem bloquear as inclusões.</p>
+ */
+public final class CepSearchIndex {
+
+    private static final int PENDENTES_MINIMO = 64;
+    private static final int PENDENTES_MAXIMO = 1024;
+
+    private final ConcurrentHashMap<String, Termo> termos = new ConcurrentHashMap<>();
+
+    /**
+     * Campos pesquisáveis; {@code null} ou em branco significa "qualquer valor".
+     */
+    public record Consulta(String logradouro, String bairro, String cidade, String uf) {
+
+        /**
+         * Termos da consulta, já prefixados pelo campo.
+         */
+        List<String> termos() {
+            var termos = new LinkedHashSet<String>();
+            adicionar(termos, 'l', logradouro);
+            adicionar(termos, 'b', bairro);
+            adicionar(termos, 'c', cidade);
+            adicionar(termos, 'u', uf);
+            return List.copyOf(termos);
+        }
+    }
+
+    /**
+     * Indexa o endereço do CEP. Respostas de CEP inexistente são ignoradas.
+     */
+    public void adicionar(int chave, CepResponse resposta) {
+        if (chave < 0 || resposta == null || !resposta.encontrado()) {
+            return;
+        }
+        for (var termo : termos(resposta)) {
+            termos.computeIfAbsent(termo, t -> new Termo()).adicionar(chave);
+        }
+    }
+
+    /**
+     * Indexa vários CEPs de uma vez, recomprimindo cada lista afetada uma única vez (carga inicial e
+     * importações em massa).
+     *
+     * @param chaves CEPs a indexar
+     * @param dados  endereço de cada CEP ({@code null} para pular)
+     */
+    public void adicionarTodas(int[] chaves, IntFunction<CepResponse> dados) {
+        var lote = new HashMap<String, Acumulador>();
+        for (int chave : chaves) {
+            acumular(lote, chave, dados.apply(chave));
+        }
+        incluir(lote);
+    }
+
+    /**
+     * Indexa os {@code quantidade} primeiros CEPs de {@code chaves}, com o endereço na mesma posição de
+     * {@code respostas}.
+     */
+    public void adicionarTodas(int[] chaves, CepResponse[] respostas, int quantidade) {
+        var lote = new HashMap<String, Acumulador>();
+        for (int i = 0; i < quantidade; i++) {
+            acumular(lote, chaves[i], respostas[i]);
+        }
+        incluir(lote);
+    }
+
+    private static void acumular(HashMap<String, Acumulador> lote, int chave, CepResponse resposta) {
+        if (chave < 0 || resposta == null || !resposta.encontrado()) {
+            return;
+        }
+        for (var termo : termos(resposta)) {
+            lote.computeIfAbsent(termo, t -> new Acumulador()).adicionar(chave);
+        }
+    }
+
+    private void incluir(HashMap<String, Acumulador> lote) {
+        lote.forEach((termo, acumulador) ->
+                termos.computeIfAbsent(termo, t -> new Termo()).adicionarTodas(acumulador.valores, acumulador.quantidade));
+    }
+
+    /**
+     * CEPs que contêm todos os termos da consulta, em ordem crescente, até encher {@code destino}.
+     *
+     * @return quantidade de CEPs encontrados
+     * @throws IllegalArgumentException se a consulta não tiver nenhum termo
+     */
+    public int buscar(Consulta consulta, int[] destino) {
+        return buscar(consulta, -1, destino);
+    }
+
+    /**
+     * Como {@link #buscar(Consulta, int[])}, só com os CEPs maiores que {@code apos}: passando o último CEP
+     * de uma página, devolve a seguinte. Os blocos anteriores ao cursor não são decodificados.
+     *
+     * @return quantidade de CEPs encontrados; menor que {@code destino.length} quando a lista acabou
+     * @throws IllegalArgumentException se a consulta não tiver nenhum termo
+     */
+    public int buscar(Consulta consulta, int apos, int[] destino) {
+        var chaves = consulta.termos();
+        if (chaves.isEmpty()) {
+            throw new IllegalArgumentException("Informe logradouro, bairro, cidade ou uf");
+        }
+        var visoes = new Visao[chaves.size()];
+        for (int i = 0; i < visoes.length; i++) {
+            var termo = termos.get(chaves.get(i));
+            if (termo == null) {
+                return 0;
+            }
+            visoes[i] = termo.visao();
+        }
+        Arrays.sort(visoes, Comparator.comparingInt(Visao::tamanho));
+
+        var encontrados = new int[1];
+        visoes[0].percorrer(apos, candidato -> {
+            for (int i = 1; i < visoes.length; i++) {
+                if (!visoes[i].contem(candidato)) {
+                    return true;
+                }
+            }
+            destino[encontrados[0]++] = candidato;
+            return encontrados[0] < destino.length;
+        });
+        return encontrados[0];
+    }
+
+    /**
+     * Quantidade de termos distintos.
+     */
+    public int termos() {
+        return termos.size();
+    }
+
+    /**
+     * Memória aproximada das listas comprimidas, em bytes (sem as inclusões pendentes).
+     */
+    public long bytes() {
+        long total = 0;
+        for (var termo : termos.values()) {
+            total += termo.lista.bytes();
+        }
+        return total;
+    }
+
+    private static List<String> termos(CepResponse resposta) {
+        var termos = new ArrayList<String>();
+        adicionar(termos, 'l', resposta.logradouro());
+        adicionar(termos, 'b', resposta.bairro());
+        adicionar(termos, 'c', resposta.localidade());
+        adicionar(termos, 'u', resposta.uf());
+        return termos;
+    }
+
+    private static void adicionar(Collection<String> termos, char campo, String texto) {
+        for (var token : CepTokenizer.tokens(texto)) {
+            termos.add(campo + ":" + token);
+        }
+    }
+
+    /**
+     * Cópia estável da lista de um termo para uma busca.
+     */
+    private record Visao(PostingList lista, int[] pendentes) {
+
+        int tamanho() {
+            return lista.tamanho() + pendentes.length;
+        }
+
+        boolean contem(int chave) {
+            return lista.contem(chave) || Arrays.binarySearch(pendentes, chave) >= 0;
+        }
+
+        /**
+         * Entrega os CEPs maiores que {@code apos} em ordem crescente enquanto {@code continuar} devolver
+         * {@code true}.
+         */
+        void percorrer(int apos, IntPredicate continuar) {
+            var bloco = new int[PostingList.BLOCO];
+            int p = 0;
+            while (p < pendentes.length && pendentes[p] <= apos) {
+                p++;
+            }
+            for (int b = lista.blocoApos(apos); b < lista.blocos(); b++) {
+                int lidos = lista.decodificar(b, bloco);
+                for (int i = 0; i < lidos; i++) {
+                    if (bloco[i] <= apos) {
+                        continue;
+                    }
+                    while (p < pendentes.length && pendentes[p] < bloco[i]) {
+                        if (!continuar.test(pendentes[p++])) {
+                            return;
+                        }
+                    }
+                    if (!continuar.test(bloco[i])) {
+                        return;
+                    }
+                }
+            }
+            while (p < pendentes.length) {
+                if (!continuar.test(pendentes[p++])) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Termo {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile PostingList lista = PostingList.VAZIA;
+        private int[] pendentes = new int[8];
+        private int quantidade;
+
+        void adicionar(int chave) {
+            lock.lock();
+            try {
+                if (lista.contem(chave)) {
+                    return;
+                }
+                int posicao = Arrays.binarySearch(pendentes, 0, quantidade, chave);
+                if (posicao >= 0) {
+                    return;
+                }
+                posicao = -posicao - 1;
+                if (quantidade == pendentes.length) {
+                    pendentes = Arrays.copyOf(pendentes, quantidade * 2);
+                }
+                System.arraycopy(pendentes, posicao, pendentes, posicao + 1, quantidade - posicao);
+                pendentes[posicao] = chave;
+                quantidade++;
+                if (quantidade >= Math.clamp(lista.tamanho() / 8, PENDENTES_MINIMO, PENDENTES_MAXIMO)) {
+                    comprimir(pendentes, quantidade);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void adicionarTodas(int[] novas, int n) {
+            var ordenadas = Arrays.copyOf(novas, n);
+            Arrays.sort(ordenadas);
+            lock.lock();
+            try {
+                var juntas = CepKeyIndex.intercalar(pendentes, quantidade, ordenadas, ordenadas.length);
+                comprimir(juntas, juntas.length);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Visao visao() {
+            lock.lock();
+            try {
+                return new Visao(lista, Arrays.copyOf(pendentes, quantidade));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void comprimir(int[] ordenadas, int n) {
+            var atuais = lista.todas();
+            var juntas = CepKeyIndex.intercalar(atuais, atuais.length, ordenadas, n);
+            lista = PostingList.de(juntas, juntas.length);
+            quantidade = 0;
+        }
+    }
+
+    private static final class Acumulador {
+
+        private int[] valores = new int[8];
+        private int quantidade;
+
+        void adicionar(int valor) {
+            if (quantidade == valores.length) {
+                valores = Arrays.copyOf(valores, quantidade * 2);
+            }
+            valores[quantidade++] = valor;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo.cep.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Quebra textos de endereço em termos para o {@link CepSearchIndex}: minúsculas, sem acentos, separados por
+ * qualquer caractere que não seja letra ou dígito. Preposições e artigos comuns em nomes de rua ("de",
+ * "da", "dos"...) são descartados.
+ */
+final class CepTokenizer {
+
+    private static final Set<String> IGNORADOS = Set.of("a", "o", "e", "de", "da", "do", "das", "dos");
+
+    private CepTokenizer() {
+    }
+
+    static List<String> tokens(String texto) {
+        var tokens = new ArrayList<String>();
+        if (texto == null || texto.isEmpty()) {
+            return tokens;
+        }
+        var normalizado = dobrarAcentos(texto);
+        var atual = new StringBuilder();
+        for (int i = 0; i <= normalizado.length(); i++) {
+            char c = i < normalizado.length() ? normalizado.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                atual.append(Character.toLowerCase(c));
+            } else if (!atual.isEmpty()) {
+                var token = atual.toString();
+                if (!IGNORADOS.contains(token)) {
+                    tokens.add(token);
+                }
+                atual.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Remove acentos e cedilha ({@code São João} vira {@code Sao Joao}); textos só com ASCII são devolvidos
+     * como estão.
+     */
+    static String dobrarAcentos(String texto) {
+        int i = 0;
+        while (i < texto.length() && texto.charAt(i) < 0x80) {
+            i++;
+        }
+        if (i == texto.length()) {
+            return texto;
+        }
+        var decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        var resultado = new StringBuilder(decomposto.length());
+        for (int j = 0; j < decomposto.length(); j++) {
+            char c = decomposto.charAt(j);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                resultado.append(c);
+            }
+        }
+        return resultado.toString();
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.demo.cep.index;
+
+import java.util.Arrays;
+
+/**
+ * Lista ordenada e imutável de CEPs de um termo do {@link CepSearchIndex}, comprimida em blocos.
+ *
+ * <p>Cada bloco de até {@value #BLOCO} CEPs guarda o primeiro valor por inteiro (em {@code primeiros}) e os
+ * demais como diferenças para o anterior em varint de 7 bits, o que costuma caber em 1 ou 2 bytes por CEP.
+ * Os primeiros valores servem de tabela de salto: para testar se um CEP está na lista, uma busca binária
+ * acha o bloco e só ele é decodificado.</p>
+ */
+final class PostingList {
+
+    static final int BLOCO = 128;
+    static final PostingList VAZIA = new PostingList(new int[0], new int[0], new byte[0], 0);
+
+    private final int[] primeiros;
+    private final int[] inicios;
+    private final byte[] dados;
+    private final int tamanho;
+
+    private PostingList(int[] primeiros, int[] inicios, byte[] dados, int tamanho) {
+        this.primeiros = primeiros;
+        this.inicios = inicios;
+        this.dados = dados;
+        this.tamanho = tamanho;
+    }
+
+    /**
+     * Comprime os {@code n} primeiros valores, que devem estar em ordem crescente e sem repetidos.
+     */
+    static PostingList de(int[] ordenadas, int n) {
+        if (n == 0) {
+            return VAZIA;
+        }
+        int blocos = (n + BLOCO - 1) / BLOCO;
+        var primeiros = new int[blocos];
+        var inicios = new int[blocos];
+        var dados = new byte[n * 2];
+        int posicao = 0;
+        for (int i = 0; i < n; i++) {
+            if (i % BLOCO == 0) {
+                primeiros[i / BLOCO] = ordenadas[i];
+                inicios[i / BLOCO] = posicao;
+                continue;
+            }
+            if (dados.length - posicao < 5) {
+                dados = Arrays.copyOf(dados, dados.length * 2);
+            }
+            int delta = ordenadas[i] - ordenadas[i - 1];
+            while ((delta & ~0x7f) != 0) {
+                dados[posicao++] = (byte) ((delta & 0x7f) | 0x80);
+                delta >>>= 7;
+            }
+            dados[posicao++] = (byte) delta;
+        }
+        return new PostingList(primeiros, inicios, Arrays.copyOf(dados, posicao), n);
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    int blocos() {
+        return primeiros.length;
+    }
+
+    /**
+     * Bytes ocupados pela lista (dados e tabela de salto).
+     */
+    long bytes() {
+        return dados.length + (long) primeiros.length * 2 * Integer.BYTES;
+    }
+
+    boolean contem(int chave) {
+        int bloco = Arrays.binarySearch(primeiros, chave);
+        if (bloco >= 0) {
+            return true;
+        }
+        bloco = -bloco - 2;
+        if (bloco < 0) {
+            return false;
+        }
+        int valor = primeiros[bloco];
+        int posicao = inicios[bloco];
+        int fim = fimDoBloco(bloco);
+        while (posicao < fim) {
+            int delta = 0;
+            int deslocamento = 0;
+            byte b;
+            do {
+                b = dados[posicao++];
+                delta |= (b & 0x7f) << deslocamento;
+                deslocamento += 7;
+            } while (b < 0);
+            valor += delta;
+            if (valor >= chave) {
+                return valor == chave;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Primeiro bloco que pode ter valores maiores que {@code chave}.
+     */
+    int blocoApos(int chave) {
+        int bloco = Arrays.binarySearch(primeiros, chave);
+        return bloco >= 0 ? bloco : Math.max(0, -bloco - 2);
+    }
+
+    /**
+     * Decodifica o bloco em {@code destino} (com pelo menos {@value #BLOCO} posições).
+     *
+     * @return quantidade de valores do bloco
+     */
+    int decodificar(int bloco, int[] destino) {
+        int valor = primeiros[bloco];
+        destino[0] = valor;
+        int n = 1;
+        int posicao = inicios[bloco];
+        int fim = fimDoBloco(bloco);
+        while (posicao < fim) {
+            int delta = 0;
+            int deslocamento = 0;
+            byte b;
+            do {
+                b = dados[posicao++];
+                delta |= (b & 0x7f) << deslocamento;
+                deslocamento += 7;
+            } while (b < 0);
+            valor += delta;
+            destino[n++] = valor;
+        }
+        return n;
+    }
+
+    /**
+     * Todos os valores, descomprimidos.
+     */
+    int[] todas() {
+        var todas = new int[tamanho];
+        var bloco = new int[BLOCO];
+        int n = 0;
+        for (int i = 0; i < primeiros.length; i++) {
+            int lidos = decodificar(i, bloco);
+            System.arraycopy(bloco, 0, todas, n, lidos);
+            n += lidos;
+        }
+        return todas;
+    }
+
+    private int fimDoBloco(int bloco) {
+        return bloco + 1 < inicios.length ? inicios[bloco + 1] : dados.length;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.demo.cep.service;
+
+import com.example.demo.cep.client.CepPrioridade;
+import com.example.demo.cep.dto.CepBatchItem;
+import com.example.demo.cep.dto.CepBatchResponse;
+import com.example.demo.cep.exception.CepIndisponivelException;
+import com.example.demo.cep.exception.CepNaoEncontradoException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Serviço de consulta de CEPs em lote.
+ *
+ * <p>Os CEPs repetidos são consultados uma única vez, os que já estão em cache são respondidos
+ * imediatamente e os demais são distribuídos no executor {@code cepLookupExecutor}. Um semáforo
+ * de {@code cep.batch.parallelism} permissões limita quantas consultas rodam ao mesmo tempo, o que
+ * vale também quando o executor usa virtual threads (sem limite próprio). As consultas rodam com
+ * {@link CepPrioridade#LOTE}, atrás das interativas no limite de consultas por segundo. Cada CEP recebe seu
+ * próprio resultado ou erro, sem que uma falha individual interrompa o lote inteiro.</p>
+ */
+@Service
+public class CepBatchService {
+
+    static final String MENSAGEM_CEP_INVALIDO = "CEP deve seguir o padrão 99999-999";
+
+    private final CepService cepService;
+    private final ExecutorService executor;
+    private final int tamanhoMaximo;
+    private final Semaphore paralelismo;
+
+    /**
+     * @param cepService    serviço de consulta individual
+     * @param executor      executor das consultas
+     * @param tamanhoMaximo quantidade máxima de CEPs aceita por lote
+     * @param paralelismo   quantidade máxima de consultas simultâneas à API externa
+     */
+    public CepBatchService(CepService cepService,
+                           @Qualifier("cepLookupExecutor") ExecutorService executor,
+                           @Value("${cep.batch.max-size:1000}") int tamanhoMaximo,
+                           @Value("${cep.batch.parallelism:16}") int paralelismo) {
+        this.cepService = cepService;
+        this.executor = executor;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.paralelismo = new Semaphore(paralelismo);
+    }
+
+    /**
+     * Consulta uma lista de CEPs.
+     *
+     * @param ceps CEPs a consultar (formatados ou não)
+     * @return um resultado por CEP distinto, na ordem da primeira ocorrência
+     * @throws IllegalArgumentException se a lista for vazia ou exceder o tamanho máximo
+     */
+    public CepBatchResponse buscarEmLote(List<String> ceps) {
+        if (ceps == null || ceps.isEmpty()) {
+            throw new IllegalArgumentException("Lista de CEPs não pode ser vazia");
+        }
+        if (ceps.size() > tamanhoMaximo) {
+            throw new IllegalArgumentException("Lote deve ter no máximo " + tamanhoMaximo + " CEPs");
+        }
+
+        var distintos = new LinkedHashMap<String, String>();
+        for (String cep : ceps) {
+            distintos.putIfAbsent(normalizar(cep), cep);
+        }
+
+        var pendentes = new ArrayList<CompletableFuture<CepBatchItem>>(distintos.size());
+        for (String cep : distintos.values()) {
+            pendentes.add(resolver(cep));
+        }
+
+        var resultados = new ArrayList<CepBatchItem>(pendentes.size());
+        for (var pendente : pendentes) {
+            resultados.add(pendente.join());
+        }
+        return CepBatchResponse.de(resultados);
+    }
+
+    private CompletableFuture<CepBatchItem> resolver(String cep) {
+        var imediato = resolverSemConsulta(cep);
+        if (imediato != null) {
+            return CompletableFuture.completedFuture(imediato);
+        }
+        return CompletableFuture.supplyAsync(() -> consultar(cep), executor);
+    }
+
+    /**
+     * Resolve o CEP sem acionar a API externa: formato inválido, acerto de cache ou CEP sabidamente
+     * inexistente.
+     *
+     * @return o resultado, ou {@code null} se for necessário consultar a API externa
+     */
+    CepBatchItem resolverSemConsulta(String cep) {
+        if (!CepService.formatoValido(cep)) {
+            return CepBatchItem.falha(cep, HttpStatus.BAD_REQUEST.value(), MENSAGEM_CEP_INVALIDO);
+        }
+        try {
+            return cepService.obterCepEmCache(cep)
+                    .map(info -> CepBatchItem.sucesso(cep, info))
+                    .orElse(null);
+        } catch (CepNaoEncontradoException e) {
+            return CepBatchItem.falha(cep, HttpStatus.NOT_FOUND.value(), e.getMessage());
+        }
+    }
+
+    /**
+     * Consulta um CEP convertendo qualquer falha em um resultado individual.
+     * Segue os mesmos códigos de status do {@code GlobalExceptionHandler}.
+     */
+    CepBatchItem consultar(String cep) {
+        paralelismo.acquireUninterruptibly();
+        try {
+            return CepBatchItem.sucesso(cep, ScopedValue.where(CepPrioridade.ATUAL, CepPrioridade.LOTE)
+                    .call(() -> cepService.obterCep(cep)));
+        } catch (IllegalArgumentException e) {
+            return CepBatchItem.falha(cep, HttpStatus.BAD_REQUEST.value(), e.getMessage());
+        } catch (CepNaoEncontradoException e) {
+            return CepBatchItem.falha(cep, HttpStatus.NOT_FOUND.value(), e.getMessage());
+        } catch (CepIndisponivelException e) {
+            return CepBatchItem.falha(cep, HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage());
+        } catch (RestClientException e) {
+            return CepBatchItem.falha(cep, HttpStatus.BAD_GATEWAY.value(), "Falha ao consultar o serviço de CEP");
+        } catch (RuntimeException e) {
+            return CepBatchItem.falha(cep, HttpStatus.INTERNAL_SERVER_ERROR.value(), "Erro interno");
+        } finally {
+            paralelismo.release();
+        }
+    }
+
+    private static String normalizar(String cep) {
+        return CepService.formatoValido(cep) ? cep.replace("-", "") : String.valueOf(cep);
+    }
+}
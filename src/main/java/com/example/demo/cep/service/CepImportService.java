@@ -0,0 +1,224 @@
+package com.example.demo.cep.service;
+
+import com.example.demo.cep.bulk.CepBulkImporter;
+import com.example.demo.cep.bulk.CepImportProgress;
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.cache.NegativeCepCache;
+import com.example.demo.cep.dto.CepImportRequest;
+import com.example.demo.cep.dto.CepJson;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.index.CepKeyIndex;
+import com.example.demo.cep.index.CepSearchIndex;
+import com.example.demo.cep.store.CepLogStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Importações em massa de bases de CEP pelo {@link CepBulkImporter}.
+ *
+ * <p>Só são aceitos arquivos dentro de {@code cep.import.directory}. As importações rodam uma de cada vez,
+ * em uma thread própria; as pedidas enquanto outra está em andamento esperam na fila. As linhas vão para o
+ * cache persistente ou para o cache em memória e, nos dois casos, entram nos índices de faixa e de busca por
+ * endereço e deixam de constar como inexistentes no cache negativo.</p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "cep.import", name = "directory")
+public class CepImportService implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CepImportService.class);
+    static final int HISTORICO = 100;
+
+    /**
+     * Onde as linhas importadas são gravadas. Bases completas vão para {@code STORE}: o {@code CACHE} só aceita
+     * CEPs novos enquanto tem espaço livre, e depois disso o filtro de admissão recusa os que nunca foram
+     * consultados (contados como descartados).
+     */
+    public enum Destino {
+        STORE, CACHE
+    }
+
+    private final CepBulkImporter importer;
+    private final Path diretorio;
+    private final CepLogStore store;
+    private final CepCache<CepResponse> cache;
+    private final CepCache<CepJson> jsonCache;
+    private final NegativeCepCache naoEncontrados;
+    private final CepKeyIndex chaves;
+    private final CepSearchIndex busca;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("cep-import").daemon().factory());
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, CepImportProgress> importacoes = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CepImportProgress> maisAntiga) {
+            return size() > HISTORICO;
+        }
+    };
+
+    /**
+     * @param importer       leitura e interpretação dos arquivos
+     * @param diretorio      diretório de onde os arquivos podem ser importados
+     * @param store          cache persistente, ou {@code null} se não configurado
+     * @param cache          cache de respostas em memória
+     * @param jsonCache      cache de respostas serializadas, ou {@code null}
+     * @param naoEncontrados cache de CEPs inexistentes, ou {@code null}
+     * @param chaves         índice de faixas, ou {@code null}
+     * @param busca          índice de busca por endereço, ou {@code null}
+     */
+    public CepImportService(CepBulkImporter importer, Path diretorio, CepLogStore store, CepCache<CepResponse> cache,
+                            CepCache<CepJson> jsonCache, NegativeCepCache naoEncontrados, CepKeyIndex chaves,
+                            CepSearchIndex busca) {
+        this.importer = importer;
+        this.diretorio = diretorio.toAbsolutePath().normalize();
+        this.store = store;
+        this.cache = cache;
+        this.jsonCache = jsonCache;
+        this.naoEncontrados = naoEncontrados;
+        this.chaves = chaves;
+        this.busca = busca;
+    }
+
+    @Autowired
+    public CepImportService(CepBulkImporter importer,
+                            @Value("${cep.import.directory}") Path diretorio,
+                            ObjectProvider<CepLogStore> cepLogStore,
+                            CepCache<CepResponse> cepCache,
+                            ObjectProvider<CepCache<CepJson>> cepJsonCache,
+                            ObjectProvider<NegativeCepCache> negativeCepCache,
+                            ObjectProvider<CepKeyIndex> cepKeyIndex,
+                            ObjectProvider<CepSearchIndex> cepSearchIndex) {
+        this(importer, diretorio, cepLogStore.getIfAvailable(), cepCache, cepJsonCache.getIfAvailable(),
+                negativeCepCache.getIfAvailable(), cepKeyIndex.getIfAvailable(), cepSearchIndex.getIfAvailable());
+    }
+
+    /**
+     * Agenda a importação de um arquivo.
+     *
+     * @return andamento da importação, consultável depois por {@link #status}
+     * @throws IllegalArgumentException se o arquivo estiver fora do diretório permitido, não existir ou o
+     *                                  formato ou destino não forem reconhecidos
+     */
+    public CepImportProgress importar(CepImportRequest pedido) {
+        if (pedido == null || pedido.arquivo() == null || pedido.arquivo().isBlank()) {
+            throw new IllegalArgumentException("Informe o arquivo a importar");
+        }
+        var arquivo = diretorio.resolve(pedido.arquivo()).normalize();
+        if (!arquivo.startsWith(diretorio) || !Files.isRegularFile(arquivo)) {
+            throw new IllegalArgumentException("Arquivo não encontrado no diretório de importação: " + pedido.arquivo());
+        }
+        var formato = pedido.formato() == null || pedido.formato().isBlank()
+                ? CepBulkImporter.Formato.doArquivo(arquivo)
+                : valor(CepBulkImporter.Formato.class, "Formato", pedido.formato());
+        var destino = pedido.destino() == null || pedido.destino().isBlank()
+                ? (store != null ? Destino.STORE : Destino.CACHE)
+                : valor(Destino.class, "Destino", pedido.destino());
+        if (destino == Destino.STORE && store == null) {
+            throw new IllegalArgumentException("Cache persistente não configurado (cep.store.path)");
+        }
+
+        var progresso = new CepImportProgress(UUID.randomUUID().toString(), arquivo);
+        lock.lock();
+        try {
+            importacoes.put(progresso.id(), progresso);
+        } finally {
+            lock.unlock();
+        }
+        executor.execute(() -> executar(arquivo, formato, destino, progresso));
+        return progresso;
+    }
+
+    /**
+     * Andamento de uma das últimas {@value #HISTORICO} importações, ou {@code null} se desconhecida.
+     */
+    public CepImportProgress status(String id) {
+        lock.lock();
+        try {
+            return importacoes.get(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void executar(Path arquivo, CepBulkImporter.Formato formato, Destino destino, CepImportProgress progresso) {
+        log.info("Importando {} ({}) para {}", arquivo, formato, destino);
+        try {
+            importer.importar(arquivo, formato, (c, r, n) -> gravar(destino, c, r, n), progresso);
+            progresso.concluir();
+            log.info("Importação de {} concluída: {} linhas, {} importadas, {} rejeitadas, {} descartadas ({} linhas/s)",
+                    arquivo.getFileName(), progresso.linhas(), progresso.importadas(), progresso.rejeitadas(),
+                    progresso.descartadas(), progresso.linhasPorSegundo());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progresso.falhar(e);
+        } catch (Exception e) {
+            log.warn("Falha na importação de {}", arquivo, e);
+            progresso.falhar(e);
+        }
+    }
+
+    int gravar(Destino destino, int[] chavesLote, CepResponse[] respostas, int quantidade) {
+        // só o que o destino aceitou segue para os índices, compactado no início do lote: o cache persistente
+        // descarta o que passa do limite de tamanho e, com o cache cheio, o filtro de admissão recusa CEPs que
+        // ninguém consultou
+        int gravadas;
+        if (destino == Destino.STORE) {
+            gravadas = store.gravarTodas(chavesLote, respostas, quantidade);
+            for (int i = 0; i < gravadas; i++) {
+                cache.invalidate(chavesLote[i]);
+            }
+        } else {
+            gravadas = 0;
+            for (int i = 0; i < quantidade; i++) {
+                if (cache.put(chavesLote[i], respostas[i])) {
+                    chavesLote[gravadas] = chavesLote[i];
+                    respostas[gravadas++] = respostas[i];
+                }
+            }
+        }
+        quantidade = gravadas;
+        for (int i = 0; i < quantidade; i++) {
+            if (jsonCache != null) {
+                jsonCache.invalidate(chavesLote[i]);
+            }
+            if (naoEncontrados != null) {
+                naoEncontrados.remove(chavesLote[i]);
+            }
+        }
+        if (chaves != null) {
+            chaves.adicionarTodas(Arrays.copyOf(chavesLote, quantidade));
+        }
+        if (busca != null) {
+            busca.adicionarTodas(chavesLote, respostas, quantidade);
+        }
+        return gravadas;
+    }
+
+    private static <E extends Enum<E>> E valor(Class<E> tipo, String nome, String texto) {
+        try {
+            return Enum.valueOf(tipo, texto.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(nome + " não reconhecido: " + texto);
+        }
+    }
+}
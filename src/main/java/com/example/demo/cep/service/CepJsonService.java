@@ -0,0 +1,85 @@
+package com.example.demo.cep.service;
+
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.cache.CepRefreshScheduler;
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepJson;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.exception.CepNaoEncontradoException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Devolve o JSON de {@code GET /ceps/{cep}} já serializado. CEPs populares ficam em um
+ * {@link CepCache} próprio com os bytes prontos e o ETag, de modo que um acerto não passa pelo
+ * mapeamento {@code CepResponse} → {@code CepInfo} nem pelo Jackson.
+ *
+ * <p>O JSON pronto é derivado da entrada do CEP no cache de respostas e não vive mais que ela: é guardado com o
+ * tempo de vida que resta à resposta, e não é guardado se a resposta veio de fora desse cache (uma resposta
+ * vencida servida no lugar de uma falha, por exemplo). Quando a resposta guardada muda (renovação, passagem
+ * para o cache de inexistentes), o {@code CachingCepClient} remove o JSON correspondente.</p>
+ *
+ * <p>Como um acerto aqui não chega ao {@code CachingCepClient}, ele é registrado no {@link CepRefreshScheduler}
+ * (se houver): os CEPs mais consultados continuam sendo renovados antes de expirar.</p>
+ */
+public class CepJsonService {
+
+    private final CepService cepService;
+    private final CepCache<CepJson> cache;
+    private final CepCache<CepResponse> respostas;
+    private final CepRefreshScheduler renovacao;
+    private final JsonMapper jsonMapper;
+
+    /**
+     * @param cepService serviço de consulta
+     * @param cache      cache de respostas serializadas, ou {@code null} para serializar sempre
+     * @param respostas  cache de respostas de onde o JSON é derivado, ou {@code null} para guardar o JSON pelo
+     *                   tempo de vida do próprio {@code cache}
+     * @param renovacao  renovação dos CEPs populares, avisada a cada acerto; ignorada sem {@code respostas}
+     * @param jsonMapper serializador das respostas
+     */
+    public CepJsonService(CepService cepService, CepCache<CepJson> cache, CepCache<CepResponse> respostas,
+                          CepRefreshScheduler renovacao, JsonMapper jsonMapper) {
+        this.cepService = cepService;
+        this.cache = cache;
+        this.respostas = respostas;
+        this.renovacao = respostas != null ? renovacao : null;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Obtém o CEP como JSON pronto para envio.
+     *
+     * @param cep CEP a ser consultado
+     * @return bytes UTF-8 e ETag da resposta
+     * @throws CepNaoEncontradoException se o CEP não existir
+     */
+    public CepJson obter(String cep) {
+        int chave = Cep.parse(cep);
+        if (cache != null && chave >= 0) {
+            var pronto = cache.get(chave);
+            if (pronto != null) {
+                if (renovacao != null) {
+                    renovacao.recordHit(chave, respostas.remainingTtlNanos(chave));
+                }
+                return pronto;
+            }
+        }
+        var json = CepJson.de(jsonMapper.writeValueAsBytes(cepService.obterCep(cep)));
+        if (cache != null && chave >= 0) {
+            guardar(chave, json);
+        }
+        return json;
+    }
+
+    private void guardar(int chave, CepJson json) {
+        if (respostas == null) {
+            cache.put(chave, json);
+            return;
+        }
+        long restante = respostas.remainingTtlNanos(chave);
+        // Long.MIN_VALUE (ausente) ou negativo (vencida servida no lugar de uma falha): não guarda
+        if (restante > 0) {
+            cache.put(chave, json, restante);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.demo.cep.service;
+
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepInfo;
+import com.example.demo.cep.exception.CepNaoEncontradoException;
+import com.example.demo.cep.index.CepKeyIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Consultas por prefixo e por faixa sobre os CEPs conhecidos ({@link CepKeyIndex}).
+ *
+ * <p>O índice é percorrido em blocos de {@value #BLOCO} chaves e cada {@link CepInfo} é escrito como uma
+ * linha JSON assim que é resolvido, de modo que o uso de memória não depende do tamanho da faixa. Os dados
+ * vêm só das camadas locais (cache, índice offline, cache persistente); CEPs cujos dados já saíram delas
+ * são pulados, sem acionar a API externa.</p>
+ */
+@Service
+@ConditionalOnProperty(name = "cep.range.enabled", havingValue = "true", matchIfMissing = true)
+public class CepRangeService {
+
+    static final int BLOCO = 256;
+    private static final int MAXIMO = 99_999_999;
+    private static final byte NOVA_LINHA = '\n';
+
+    private final CepKeyIndex index;
+    private final CepService cepService;
+    private final JsonMapper jsonMapper;
+    private final int limiteMaximo;
+
+    /**
+     * @param index        CEPs conhecidos, em ordem
+     * @param cepService   serviço usado para obter os dados de cada CEP das camadas locais
+     * @param jsonMapper   serializador das linhas de saída
+     * @param limiteMaximo maior quantidade de resultados por página
+     */
+    public CepRangeService(CepKeyIndex index,
+                           CepService cepService,
+                           JsonMapper jsonMapper,
+                           @Value("${cep.range.max-page-size:1000}") int limiteMaximo) {
+        this.index = index;
+        this.cepService = cepService;
+        this.jsonMapper = jsonMapper;
+        this.limiteMaximo = limiteMaximo;
+    }
+
+    /**
+     * Faixa de CEPs, com os dois extremos inclusivos.
+     */
+    public record Faixa(int de, int ate) {
+
+        /**
+         * Faixa dos CEPs que começam com o prefixo ({@code 01310}, {@code 01310-1}, ...).
+         *
+         * @throws IllegalArgumentException se o prefixo não tiver de 1 a 8 dígitos
+         */
+        public static Faixa prefixo(String prefixo) {
+            var digitos = prefixo.length() > 5 && prefixo.charAt(5) == '-'
+                    ? prefixo.substring(0, 5) + prefixo.substring(6)
+                    : prefixo;
+            if (digitos.isEmpty() || digitos.length() > 8 || !digitos.chars().allMatch(c -> c >= '0' && c <= '9')) {
+                throw new IllegalArgumentException("Prefixo deve ter de 1 a 8 dígitos");
+            }
+            int escala = 1;
+            for (int i = digitos.length(); i < 8; i++) {
+                escala *= 10;
+            }
+            int de = Integer.parseInt(digitos) * escala;
+            return new Faixa(de, de + escala - 1);
+        }
+
+        /**
+         * @throws IllegalArgumentException se algum extremo não for um CEP válido ou se {@code de > ate}
+         */
+        public static Faixa entre(String de, String ate) {
+            int inicio = Cep.parse(de);
+            int fim = Cep.parse(ate);
+            if (inicio == Cep.INVALIDO || fim == Cep.INVALIDO) {
+                throw new IllegalArgumentException("Extremos da faixa devem seguir o padrão 99999-999");
+            }
+            if (inicio > fim) {
+                throw new IllegalArgumentException("Início da faixa deve ser menor ou igual ao fim");
+            }
+            return new Faixa(inicio, fim);
+        }
+
+        /**
+         * O restante da faixa depois do CEP informado (cursor da página anterior).
+         *
+         * @throws IllegalArgumentException se o cursor não for um CEP válido
+         */
+        public Faixa depoisDe(String cursor) {
+            int ultimo = Cep.parse(cursor);
+            if (ultimo == Cep.INVALIDO) {
+                throw new IllegalArgumentException("Cursor deve seguir o padrão 99999-999");
+            }
+            return ultimo >= ate ? new Faixa(ate, ate - 1) : new Faixa(Math.max(de, ultimo + 1), ate);
+        }
+    }
+
+    /**
+     * Valida o tamanho de página pedido.
+     *
+     * @throws IllegalArgumentException se estiver fora de {@code 1..cep.range.max-page-size}
+     */
+    public int limite(int pedido) {
+        if (pedido < 1 || pedido > limiteMaximo) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + limiteMaximo);
+        }
+        return pedido;
+    }
+
+    /**
+     * Escreve na saída, um por linha e em ordem crescente, até {@code limite} CEPs conhecidos da faixa.
+     *
+     * @return quantidade de CEPs escritos; menor que {@code limite} quando a faixa acabou
+     */
+    public int escrever(Faixa faixa, int limite, OutputStream saida) throws IOException {
+        var bloco = new int[Math.min(BLOCO, limite)];
+        int escritos = 0;
+        int proxima = faixa.de();
+        while (escritos < limite && proxima <= faixa.ate()) {
+            int lidos = index.pagina(proxima, faixa.ate(), bloco);
+            for (int i = 0; i < lidos && escritos < limite; i++) {
+                var info = resolver(bloco[i]);
+                if (info != null) {
+                    saida.write(jsonMapper.writeValueAsBytes(info));
+                    saida.write(NOVA_LINHA);
+                    escritos++;
+                }
+            }
+            if (lidos < bloco.length || bloco[lidos - 1] == MAXIMO) {
+                break;
+            }
+            proxima = bloco[lidos - 1] + 1;
+            saida.flush();
+        }
+        saida.flush();
+        return escritos;
+    }
+
+    private CepInfo resolver(int chave) {
+        try {
+            return cepService.espiarCepEmCache(Cep.formatar(chave)).orElse(null);
+        } catch (CepNaoEncontradoException e) {
+            return null;
+        }
+    }
+}
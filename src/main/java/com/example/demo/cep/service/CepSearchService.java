@@ -0,0 +1,73 @@
+package com.example.demo.cep.service;
+
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepInfo;
+import com.example.demo.cep.exception.CepNaoEncontradoException;
+import com.example.demo.cep.index.CepSearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Busca reversa: CEPs a partir de logradouro, bairro, cidade e UF, pelo {@link CepSearchIndex}.
+ *
+ * <p>Como nas consultas por faixa, os dados de cada CEP encontrado vêm só das camadas locais; CEPs cujos
+ * dados já saíram delas são pulados. O índice é lido em blocos de {@value #BLOCO} CEPs, retomando do último
+ * lido, até completar o limite ou a lista acabar.</p>
+ */
+@Service
+@ConditionalOnProperty(name = "cep.search.enabled", havingValue = "true")
+public class CepSearchService {
+
+    static final int BLOCO = 128;
+
+    private final CepSearchIndex index;
+    private final CepService cepService;
+    private final int limiteMaximo;
+
+    /**
+     * @param index        índice invertido de endereços
+     * @param cepService   serviço usado para obter os dados de cada CEP das camadas locais
+     * @param limiteMaximo maior quantidade de resultados por busca
+     */
+    public CepSearchService(CepSearchIndex index,
+                            CepService cepService,
+                            @Value("${cep.search.max-results:100}") int limiteMaximo) {
+        this.index = index;
+        this.cepService = cepService;
+        this.limiteMaximo = limiteMaximo;
+    }
+
+    /**
+     * CEPs cujo endereço contém todos os termos informados, em ordem crescente de CEP.
+     *
+     * @throws IllegalArgumentException se nenhum campo for informado ou o limite estiver fora de
+     *                                  {@code 1..cep.search.max-results}
+     */
+    public List<CepInfo> buscar(CepSearchIndex.Consulta consulta, int limite) {
+        if (limite < 1 || limite > limiteMaximo) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + limiteMaximo);
+        }
+        var chaves = new int[Math.min(BLOCO, limite)];
+        var resultados = new ArrayList<CepInfo>(chaves.length);
+        int apos = -1;
+        while (resultados.size() < limite) {
+            int lidos = index.buscar(consulta, apos, chaves);
+            for (int i = 0; i < lidos && resultados.size() < limite; i++) {
+                try {
+                    cepService.espiarCepEmCache(Cep.formatar(chaves[i])).ifPresent(resultados::add);
+                } catch (CepNaoEncontradoException e) {
+                    // registrado como inexistente depois de indexado
+                }
+            }
+            if (lidos < chaves.length) {
+                break;
+            }
+            apos = chaves[lidos - 1];
+        }
+        return resultados;
+    }
+}
@@ -1,10 +1,18 @@
 package com.example.demo.cep.service;
 
+import com.example.demo.cep.client.AsyncCepClientAdapter;
+import com.example.demo.cep.client.AsyncCepClientPort;
 import com.example.demo.cep.client.CepClientPort;
+import com.example.demo.cep.dto.Cep;
 import com.example.demo.cep.dto.CepInfo;
 import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.exception.CepNaoEncontradoException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Serviço responsável pela lógica de negócio relacionada à consulta de CEPs.
  * Atua como intermediário entre o controller e o cliente da API externa.
@@ -12,15 +20,31 @@ import org.springframework.stereotype.Service;
 @Service
 public class CepService {
 
+    static final String MENSAGEM_CEP_NAO_ENCONTRADO = "CEP não encontrado";
+
     private final CepClientPort cepClient;
+    private final AsyncCepClientPort asyncCepClient;
 
     /**
-     * Construtor com injeção de dependência do cliente de CEP.
+     * Construtor com injeção de dependência do cliente de CEP. As consultas assíncronas são
+     * adaptadas a partir do cliente síncrono.
      *
      * @param cepClient Cliente para comunicação com a API de CEP
      */
     public CepService(CepClientPort cepClient) {
+        this(cepClient, AsyncCepClientAdapter.direto(cepClient));
+    }
+
+    /**
+     * Construtor com injeção de dependência dos clientes síncrono e assíncrono de CEP.
+     *
+     * @param cepClient      Cliente para comunicação com a API de CEP
+     * @param asyncCepClient Cliente não bloqueante para comunicação com a API de CEP
+     */
+    @Autowired
+    public CepService(CepClientPort cepClient, AsyncCepClientPort asyncCepClient) {
         this.cepClient = cepClient;
+        this.asyncCepClient = asyncCepClient;
     }
 
     /**
@@ -28,19 +52,74 @@ public class CepService {
      *
      * @param cep CEP a ser consultado
      * @return Informações do CEP no formato da aplicação
+     * @throws CepNaoEncontradoException se o CEP não existir
      */
     public CepInfo obterCep(String cep) {
         var resposta = cepClient.buscarCep(cep);
         return mapear(resposta);
     }
 
+    /**
+     * Obtém informações de um CEP sem bloquear a thread chamadora. Respostas já em cache são
+     * devolvidas imediatamente; as demais seguem pelo cliente assíncrono.
+     *
+     * @param cep CEP a ser consultado
+     * @return Futuro com as informações do CEP no formato da aplicação
+     */
+    public CompletableFuture<CepInfo> obterCepAsync(String cep) {
+        var emCache = cepClient.buscarCepEmCache(cep);
+        if (emCache.isPresent()) {
+            try {
+                return CompletableFuture.completedFuture(mapear(emCache.get()));
+            } catch (CepNaoEncontradoException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return asyncCepClient.buscarCepAsync(cep).thenApply(this::mapear);
+    }
+
+    /**
+     * Obtém informações de um CEP somente se já estiverem em cache, sem acionar a API externa.
+     *
+     * @param cep CEP a ser consultado
+     * @return Informações do CEP, ou vazio se não estiver em cache
+     * @throws CepNaoEncontradoException se o CEP estiver em cache como inexistente
+     */
+    public Optional<CepInfo> obterCepEmCache(String cep) {
+        return cepClient.buscarCepEmCache(cep).map(this::mapear);
+    }
+
+    /**
+     * Como {@link #obterCepEmCache}, mas sem contar como acesso aos caches em memória (varreduras por faixa e
+     * buscas, que não devem influenciar quais CEPs ficam no cache).
+     *
+     * @throws CepNaoEncontradoException se o CEP estiver em cache como inexistente
+     */
+    public Optional<CepInfo> espiarCepEmCache(String cep) {
+        return cepClient.espiarCepEmCache(cep).map(this::mapear);
+    }
+
+    /**
+     * Verifica se o CEP segue o padrão {@code 99999-999} ou {@code 99999999}, sem alocar.
+     *
+     * @param cep CEP a ser verificado
+     * @return {@code true} se o formato for válido
+     */
+    public static boolean formatoValido(String cep) {
+        return Cep.valido(cep);
+    }
+
     /**
      * Converte a resposta da API externa para o formato de dados interno da aplicação.
      *
      * @param response Resposta da API externa
      * @return Objeto CepInfo com os dados mapeados
+     * @throws CepNaoEncontradoException se a resposta indicar CEP inexistente
      */
-    private CepInfo mapear(CepResponse response) {
+    CepInfo mapear(CepResponse response) {
+        if (response == null || !response.encontrado()) {
+            throw new CepNaoEncontradoException(MENSAGEM_CEP_NAO_ENCONTRADO);
+        }
         return new CepInfo(
                 response.cep(),
                 response.logradouro(),
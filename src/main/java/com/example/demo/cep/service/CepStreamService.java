@@ -0,0 +1,170 @@
+package com.example.demo.cep.service;
+
+import com.example.demo.cep.dto.CepBatchItem;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Consulta em fluxo (NDJSON) para listas de CEPs grandes demais para um lote.
+ *
+ * <p>A entrada é lida linha a linha e cada resultado é escrito como uma linha JSON assim que fica
+ * pronto, fora da ordem de entrada. A quantidade de consultas em andamento é limitada por
+ * {@code cep.stream.max-in-flight}: ao atingir o limite, a leitura da entrada para até que algum
+ * resultado seja escrito. Linhas com mais de {@value #TAMANHO_MAXIMO_LINHA} caracteres são descartadas sem
+ * serem guardadas e viram um erro 400 na saída. Assim o uso de memória não depende do tamanho da entrada.</p>
+ *
+ * <p>Somente a thread da requisição escreve na saída; as consultas rodam no {@code cepLookupExecutor}
+ * e entregam seus resultados por uma fila.</p>
+ */
+@Service
+public class CepStreamService {
+
+    private static final byte NOVA_LINHA = '\n';
+    static final int TAMANHO_MAXIMO_LINHA = 64;
+    static final String MENSAGEM_LINHA_LONGA = "Linha deve ter no máximo " + TAMANHO_MAXIMO_LINHA + " caracteres";
+
+    private final CepBatchService cepBatchService;
+    private final ExecutorService executor;
+    private final JsonMapper jsonMapper;
+    private final int maximoEmAndamento;
+
+    /**
+     * @param cepBatchService   serviço de lote, reaproveitado para resolver cada CEP
+     * @param executor          executor das consultas à API externa
+     * @param jsonMapper        serializador das linhas de saída
+     * @param maximoEmAndamento limite de consultas em andamento por fluxo
+     */
+    public CepStreamService(CepBatchService cepBatchService,
+                            @Qualifier("cepLookupExecutor") ExecutorService executor,
+                            JsonMapper jsonMapper,
+                            @Value("${cep.stream.max-in-flight:64}") int maximoEmAndamento) {
+        this.cepBatchService = cepBatchService;
+        this.executor = executor;
+        this.jsonMapper = jsonMapper;
+        this.maximoEmAndamento = maximoEmAndamento;
+    }
+
+    /**
+     * Lê CEPs (um por linha) da entrada e escreve um {@link CepBatchItem} por linha na saída.
+     *
+     * @param entrada CEPs separados por quebra de linha, opcionalmente entre aspas
+     * @param saida   destino do NDJSON
+     * @return quantidade de CEPs processados
+     */
+    public long processar(InputStream entrada, OutputStream saida) throws IOException {
+        var prontos = new LinkedBlockingQueue<CepBatchItem>();
+        var leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        long processados = 0;
+        int emAndamento = 0;
+
+        var linha = new StringBuilder(TAMANHO_MAXIMO_LINHA);
+        int tamanho;
+        while ((tamanho = lerLinha(leitor, linha)) >= 0) {
+            if (tamanho > TAMANHO_MAXIMO_LINHA) {
+                processados++;
+                escrever(CepBatchItem.falha(linha.toString(), HttpStatus.BAD_REQUEST.value(), MENSAGEM_LINHA_LONGA), saida);
+                continue;
+            }
+            var cep = limpar(linha.toString());
+            if (cep.isEmpty()) {
+                continue;
+            }
+            processados++;
+
+            var imediato = cepBatchService.resolverSemConsulta(cep);
+            if (imediato != null) {
+                escrever(imediato, saida);
+                continue;
+            }
+
+            if (emAndamento == maximoEmAndamento) {
+                saida.flush();
+                escrever(aguardar(prontos), saida);
+                emAndamento--;
+            }
+            executor.execute(() -> consultar(cep, prontos));
+            emAndamento++;
+
+            CepBatchItem pronto;
+            while ((pronto = prontos.poll()) != null) {
+                escrever(pronto, saida);
+                emAndamento--;
+            }
+        }
+
+        while (emAndamento > 0) {
+            saida.flush();
+            escrever(aguardar(prontos), saida);
+            emAndamento--;
+        }
+        saida.flush();
+        return processados;
+    }
+
+    /**
+     * Consulta o CEP e entrega o resultado na fila. Mesmo que a consulta termine com um {@link Error}, algum
+     * resultado é entregue, para que a thread da requisição não fique esperando por ele.
+     */
+    private void consultar(String cep, LinkedBlockingQueue<CepBatchItem> prontos) {
+        CepBatchItem item = null;
+        try {
+            item = cepBatchService.consultar(cep);
+        } finally {
+            prontos.add(item != null ? item
+                    : CepBatchItem.falha(cep, HttpStatus.INTERNAL_SERVER_ERROR.value(), "Erro interno"));
+        }
+    }
+
+    /**
+     * Lê a próxima linha (terminada em {@code \n} ou no fim da entrada) para {@code linha}, guardando no máximo
+     * {@value #TAMANHO_MAXIMO_LINHA} caracteres; o restante de uma linha longa é lido e descartado.
+     *
+     * @return caracteres da linha, que podem passar do máximo guardado, ou {@code -1} no fim da entrada
+     */
+    private static int lerLinha(Reader leitor, StringBuilder linha) throws IOException {
+        linha.setLength(0);
+        int tamanho = 0;
+        int c;
+        while ((c = leitor.read()) >= 0 && c != '\n') {
+            if (tamanho++ < TAMANHO_MAXIMO_LINHA) {
+                linha.append((char) c);
+            }
+        }
+        return c < 0 && tamanho == 0 ? -1 : tamanho;
+    }
+
+    private void escrever(CepBatchItem item, OutputStream saida) throws IOException {
+        saida.write(jsonMapper.writeValueAsBytes(item));
+        saida.write(NOVA_LINHA);
+    }
+
+    private static CepBatchItem aguardar(LinkedBlockingQueue<CepBatchItem> prontos) {
+        try {
+            return prontos.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta em fluxo interrompida", e);
+        }
+    }
+
+    private static String limpar(String linha) {
+        var cep = linha.strip();
+        if (cep.length() >= 2 && cep.startsWith("\"") && cep.endsWith("\"")) {
+            cep = cep.substring(1, cep.length() - 1);
+        }
+        return cep;
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.demo.cep.store;
+
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.dto.CepResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Cópia em disco do conteúdo do {@code cepCache}, para que uma instância recém-iniciada já responda os CEPs
+ * mais consultados sem ir ao upstream.
+ *
+ * <p>Os registros usam o mesmo formato do {@link CepLogStore} ({@link CepRecordCodec}), mas o campo de
+ * momento da gravação guarda o momento em que a entrada expira no cache (epoch millis). Assim a restauração
+ * descarta o que venceu enquanto a aplicação estava parada e devolve ao cache o restante com o tempo de vida
+ * que lhe sobrava.</p>
+ *
+ * <p>O arquivo é reescrito por inteiro a cada {@link #salvar()}: as entradas vão para um arquivo temporário,
+ * que depois substitui o anterior com um move atômico; uma queda no meio da gravação deixa o snapshot
+ * anterior intacto. Registros inválidos no fim (arquivo truncado por outro motivo) são ignorados.</p>
+ */
+public final class CepCacheSnapshot implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CepCacheSnapshot.class);
+    private static final int BUFFER = 64 * 1024;
+
+    private final Path arquivo;
+    private final CepCache<CepResponse> cache;
+    private final LongSupplier relogio;
+    private final ReentrantLock gravacao = new ReentrantLock();
+
+    private ScheduledExecutorService timer;
+
+    /**
+     * @param arquivo arquivo do snapshot
+     * @param cache   cache salvo e restaurado
+     */
+    public CepCacheSnapshot(Path arquivo, CepCache<CepResponse> cache) {
+        this(arquivo, cache, System::currentTimeMillis);
+    }
+
+    CepCacheSnapshot(Path arquivo, CepCache<CepResponse> cache, LongSupplier relogio) {
+        this.arquivo = arquivo;
+        this.cache = cache;
+        this.relogio = relogio;
+    }
+
+    /**
+     * Coloca no cache as entradas do snapshot que ainda não expiraram. Sem arquivo, não faz nada.
+     *
+     * @return quantidade de CEPs restaurados; não inclui os recusados pelo filtro de admissão quando o
+     * snapshot tem mais entradas do que cabem no cache
+     */
+    public int restaurar() throws IOException {
+        if (!Files.exists(arquivo)) {
+            return 0;
+        }
+        long inicio = System.nanoTime();
+        var dados = ByteBuffer.wrap(Files.readAllBytes(arquivo));
+        int limite = dados.limit();
+        long agora = relogio.getAsLong();
+        int restaurados = 0;
+        int expirados = 0;
+        int recusados = 0;
+        int posicao = 0;
+        int registro;
+        while ((registro = CepRecordCodec.validar(dados, posicao, limite)) > 0) {
+            long restante = dados.getLong(posicao + CepRecordCodec.OFFSET_GRAVACAO) - agora;
+            if (restante <= 0) {
+                expirados++;
+            } else if (cache.put(dados.getInt(posicao + CepRecordCodec.OFFSET_CHAVE),
+                    CepRecordCodec.decodificar(dados, posicao), TimeUnit.MILLISECONDS.toNanos(restante))) {
+                restaurados++;
+            } else {
+                recusados++;
+            }
+            posicao += registro;
+        }
+        if (posicao < limite) {
+            log.warn("Snapshot do cache {}: ignorados {} bytes inválidos no fim do arquivo", arquivo, limite - posicao);
+        }
+        log.info("Cache restaurado de {}: {} CEPs ({} expirados, {} recusados por falta de espaço) em {} ms", arquivo,
+                restaurados, expirados, recusados, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        return restaurados;
+    }
+
+    /**
+     * Reescreve o snapshot com as entradas do cache que ainda não expiraram.
+     *
+     * @return quantidade de CEPs salvos
+     */
+    public int salvar() throws IOException {
+        gravacao.lock();
+        try {
+            var diretorio = arquivo.toAbsolutePath().getParent();
+            if (diretorio != null) {
+                Files.createDirectories(diretorio);
+            }
+            var temporario = arquivo.resolveSibling(arquivo.getFileName() + ".salvando");
+            long agora = relogio.getAsLong();
+            var salvos = new int[1];
+            try (var canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                var buffer = ByteBuffer.allocate(BUFFER);
+                cache.forEach((chave, resposta, restanteNanos) -> {
+                    var registro = CepRecordCodec.codificar(chave,
+                            agora + TimeUnit.NANOSECONDS.toMillis(restanteNanos), resposta);
+                    if (registro == null) {
+                        return;
+                    }
+                    try {
+                        if (registro.remaining() > buffer.remaining()) {
+                            escrever(canal, buffer.flip());
+                            buffer.clear();
+                        }
+                        if (registro.remaining() > buffer.remaining()) {
+                            escrever(canal, registro);
+                        } else {
+                            buffer.put(registro);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    salvos[0]++;
+                });
+                escrever(canal, buffer.flip());
+                canal.force(true);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            Files.move(temporario, arquivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            log.debug("Snapshot do cache salvo em {}: {} CEPs", arquivo, salvos[0]);
+            return salvos[0];
+        } finally {
+            gravacao.unlock();
+        }
+    }
+
+    /**
+     * Passa a salvar o snapshot periodicamente, além de no {@link #close()}.
+     */
+    public void iniciar(Duration intervalo) {
+        timer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("cep-cache-snapshot").daemon().factory());
+        long millis = intervalo.toMillis();
+        timer.scheduleWithFixedDelay(this::salvarEmSegundoPlano, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Para o salvamento periódico e salva o snapshot uma última vez.
+     */
+    @Override
+    public void close() throws IOException {
+        if (timer != null) {
+            timer.shutdown();
+            try {
+                timer.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int salvos = salvar();
+        log.info("Snapshot do cache salvo em {}: {} CEPs", arquivo, salvos);
+    }
+
+    private void salvarEmSegundoPlano() {
+        try {
+            salvar();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Falha ao salvar o snapshot do cache em {}", arquivo, e);
+        }
+    }
+
+    private static void escrever(FileChannel canal, ByteBuffer dados) throws IOException {
+        while (dados.hasRemaining()) {
+            canal.write(dados);
+        }
+    }
+}
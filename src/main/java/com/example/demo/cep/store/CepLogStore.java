@@ -0,0 +1,566 @@
+package com.example.demo.cep.store;
+
+import com.example.demo.cep.dto.CepResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache persistente de respostas de CEP em um arquivo de log binário (ver {@link CepRecordCodec}).
+ *
+ * <p>Cada resposta nova é anexada ao fim do arquivo; só o índice (CEP → posição) fica no heap. Na
+ * abertura, o arquivo é mapeado em memória e percorrido uma vez para reconstruir o índice: registros
+ * incompletos ou com CRC inválido no fim (queda no meio de uma gravação) são descartados e o arquivo
+ * é truncado no último registro válido.</p>
+ *
+ * <p>Uma thread de fundo compacta o arquivo quando metade dele é lixo (registros sobrescritos ou
+ * vencidos) ou quando ele se aproxima de {@code tamanhoMaximo}. A compactação copia os registros vivos
+ * para um arquivo novo sem bloquear leituras nem gravações e, se ainda assim o conteúdo passar da
+ * metade do limite, mantém apenas os mais recentes. Gravações que estourariam o limite enquanto a
+ * compactação não termina são descartadas.</p>
+ */
+public final class CepLogStore implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CepLogStore.class);
+    private static final long LIXO_MINIMO_PARA_COMPACTAR = 1024 * 1024;
+
+    private final Path arquivo;
+    private final long tamanhoMaximo;
+    private final long ttlMillis;
+    private final LongSupplier relogio;
+
+    private final ReentrantLock escrita = new ReentrantLock();
+    private final ReentrantReadWriteLock indiceLock = new ReentrantReadWriteLock();
+    private final ReentrantLock compactacao = new ReentrantLock();
+    private final AtomicBoolean compactacaoAgendada = new AtomicBoolean();
+    private final ExecutorService compactador = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("cep-store-compactacao").daemon().factory());
+    private final LongAdder descartadas = new LongAdder();
+    private final LongAdder compactacoes = new LongAdder();
+
+    private volatile FileChannel canal;
+    private volatile boolean fechado;
+    private OffsetIndex indice;
+    private long fim;
+    private long bytesVivos;
+
+    private CepLogStore(Path arquivo, long tamanhoMaximo, Duration ttl, LongSupplier relogio) {
+        this.arquivo = arquivo;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttlMillis = ttl.toMillis();
+        this.relogio = relogio;
+    }
+
+    /**
+     * Abre (ou cria) o arquivo e reconstrói o índice a partir dele.
+     *
+     * @param arquivo       arquivo de log
+     * @param tamanhoMaximo limite de uso de disco, em bytes (até 2 GiB)
+     * @param ttl           idade máxima de um registro
+     */
+    public static CepLogStore abrir(Path arquivo, long tamanhoMaximo, Duration ttl) throws IOException {
+        return abrir(arquivo, tamanhoMaximo, ttl, System::currentTimeMillis);
+    }
+
+    static CepLogStore abrir(Path arquivo, long tamanhoMaximo, Duration ttl, LongSupplier relogio) throws IOException {
+        if (tamanhoMaximo > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tamanho máximo do cache persistente deve ser de até 2 GiB");
+        }
+        var store = new CepLogStore(arquivo, tamanhoMaximo, ttl, relogio);
+        store.carregar();
+        return store;
+    }
+
+    /**
+     * Resposta gravada para o CEP, ou {@code null} se ausente ou vencida.
+     */
+    public CepResponse buscar(int chave) {
+        FileChannel origem;
+        long offset;
+        int tamanho;
+        indiceLock.readLock().lock();
+        try {
+            offset = indice.offset(chave);
+            if (offset < 0) {
+                return null;
+            }
+            tamanho = indice.tamanho(chave);
+            origem = canal;
+        } finally {
+            indiceLock.readLock().unlock();
+        }
+
+        var registro = ByteBuffer.allocate(tamanho);
+        try {
+            ler(origem, registro, offset);
+        } catch (ClosedChannelException e) {
+            // trocado pela compactação (ou fechado por interrupção da thread): conta como ausente
+            reabrirSeNecessario(origem);
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (vencido(registro.getLong(CepRecordCodec.OFFSET_GRAVACAO), relogio.getAsLong())) {
+            return null;
+        }
+        return CepRecordCodec.decodificar(registro, 0);
+    }
+
+    /**
+     * Anexa a resposta do CEP ao arquivo.
+     */
+    public void gravar(int chave, CepResponse resposta) {
+        var registro = CepRecordCodec.codificar(chave, relogio.getAsLong(), resposta);
+        if (registro == null) {
+            return;
+        }
+        int tamanho = registro.remaining();
+        escrita.lock();
+        try {
+            if (fechado) {
+                return;
+            }
+            if (fim + tamanho > tamanhoMaximo) {
+                descartadas.increment();
+                agendarCompactacao();
+                return;
+            }
+            escrever(registro, fim);
+            int anterior;
+            indiceLock.writeLock().lock();
+            try {
+                anterior = indice.colocar(chave, fim, tamanho);
+            } finally {
+                indiceLock.writeLock().unlock();
+            }
+            fim += tamanho;
+            bytesVivos += tamanho - anterior;
+            if (precisaCompactar()) {
+                agendarCompactacao();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * Anexa várias respostas com uma única escrita no arquivo (importação em massa). Os registros que não
+     * cabem no limite de tamanho são descartados, como em {@link #gravar}. As respostas gravadas são
+     * compactadas no início de {@code chaves} e {@code respostas}, na ordem original.
+     *
+     * @return quantidade de respostas gravadas
+     */
+    public int gravarTodas(int[] chaves, CepResponse[] respostas, int quantidade) {
+        long agora = relogio.getAsLong();
+        var registros = new ByteBuffer[quantidade];
+        int total = 0;
+        for (int i = 0; i < quantidade; i++) {
+            registros[i] = CepRecordCodec.codificar(chaves[i], agora, respostas[i]);
+            if (registros[i] != null) {
+                total += registros[i].remaining();
+            }
+        }
+        escrita.lock();
+        try {
+            if (fechado) {
+                return 0;
+            }
+            // só o prefixo que cabe no limite
+            var lote = ByteBuffer.allocate((int) Math.min(total, Math.max(0, tamanhoMaximo - fim)));
+            int gravadas = 0;
+            int ultima = 0;
+            for (; ultima < quantidade; ultima++) {
+                var registro = registros[ultima];
+                if (registro == null) {
+                    continue;
+                }
+                if (registro.remaining() > lote.remaining()) {
+                    break;
+                }
+                lote.put(registro.duplicate());
+                gravadas++;
+            }
+            escrever(lote.flip(), fim);
+
+            long posicao = fim;
+            long liberados = 0;
+            indiceLock.writeLock().lock();
+            try {
+                int j = 0;
+                for (int i = 0; i < ultima; i++) {
+                    if (registros[i] != null) {
+                        int tamanho = registros[i].remaining();
+                        liberados += indice.colocar(chaves[i], posicao, tamanho);
+                        posicao += tamanho;
+                        chaves[j] = chaves[i];
+                        respostas[j++] = respostas[i];
+                    }
+                }
+            } finally {
+                indiceLock.writeLock().unlock();
+            }
+            bytesVivos += (posicao - fim) - liberados;
+            fim = posicao;
+            for (int i = ultima; i < quantidade; i++) {
+                if (registros[i] != null) {
+                    descartadas.increment();
+                }
+            }
+            if (ultima < quantidade || precisaCompactar()) {
+                agendarCompactacao();
+            }
+            return gravadas;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * Reescreve o arquivo só com os registros vivos. Leituras e gravações continuam durante a cópia;
+     * apenas a troca final do arquivo segura o lock de escrita.
+     */
+    public void compactar() throws IOException {
+        compactacao.lock();
+        try {
+            compactarAgora();
+        } finally {
+            compactacao.unlock();
+        }
+    }
+
+    /**
+     * Quantidade de CEPs no índice (incluindo os que já venceram e ainda não foram compactados).
+     */
+    public int entradas() {
+        indiceLock.readLock().lock();
+        try {
+            return indice.size();
+        } finally {
+            indiceLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * CEPs no índice, em ordem arbitrária (incluindo os vencidos ainda não compactados).
+     */
+    public int[] chaves() {
+        indiceLock.readLock().lock();
+        try {
+            var chaves = new int[indice.size()];
+            var n = new int[1];
+            indice.forEach((chave, offset, tamanho) -> chaves[n[0]++] = chave);
+            return chaves;
+        } finally {
+            indiceLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tamanho atual do arquivo, em bytes.
+     */
+    public long tamanhoEmDisco() {
+        escrita.lock();
+        try {
+            return fim;
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * Gravações descartadas por falta de espaço.
+     */
+    public long descartadas() {
+        return descartadas.sum();
+    }
+
+    public long compactacoes() {
+        return compactacoes.sum();
+    }
+
+    @Override
+    public void close() throws IOException {
+        fechado = true;
+        compactador.shutdown();
+        try {
+            compactador.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        escrita.lock();
+        try {
+            if (canal.isOpen()) {
+                canal.force(true);
+                canal.close();
+            }
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    private void carregar() throws IOException {
+        long inicio = System.nanoTime();
+        var diretorio = arquivo.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+        canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long tamanho = canal.size();
+        indice = new OffsetIndex(1024);
+        if (tamanho > Integer.MAX_VALUE) {
+            throw new IOException("Arquivo do cache persistente maior que 2 GiB: " + arquivo);
+        }
+        long agora = relogio.getAsLong();
+        int valido = 0;
+        if (tamanho > 0) {
+            var dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+            int limite = (int) tamanho;
+            int registro;
+            while ((registro = CepRecordCodec.validar(dados, valido, limite)) > 0) {
+                int chave = dados.getInt(valido + CepRecordCodec.OFFSET_CHAVE);
+                if (vencido(dados.getLong(valido + CepRecordCodec.OFFSET_GRAVACAO), agora)) {
+                    bytesVivos -= indice.remover(chave);
+                } else {
+                    bytesVivos += registro - indice.colocar(chave, valido, registro);
+                }
+                valido += registro;
+            }
+        }
+        if (valido < tamanho) {
+            log.warn("Cache persistente {}: descartados {} bytes inválidos no fim do arquivo", arquivo, tamanho - valido);
+            canal.truncate(valido);
+        }
+        fim = valido;
+        log.info("Cache persistente carregado de {}: {} CEPs em {} ms", arquivo, indice.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        if (precisaCompactar()) {
+            agendarCompactacao();
+        }
+    }
+
+    private void compactarAgora() throws IOException {
+        record Entrada(int chave, long offset, int tamanho) {
+        }
+
+        FileChannel origem;
+        long corte;
+        var entradas = new ArrayList<Entrada>();
+        escrita.lock();
+        try {
+            if (fechado) {
+                return;
+            }
+            origem = canal;
+            corte = fim;
+            indiceLock.readLock().lock();
+            try {
+                indice.forEach((chave, offset, tamanho) -> entradas.add(new Entrada(chave, offset, tamanho)));
+            } finally {
+                indiceLock.readLock().unlock();
+            }
+        } finally {
+            escrita.unlock();
+        }
+
+        // mais recentes primeiro, para que o limite de espaço descarte os mais antigos
+        entradas.sort(Comparator.comparingLong(Entrada::offset).reversed());
+        long orcamento = tamanhoMaximo / 2;
+        long agora = relogio.getAsLong();
+        var temporario = arquivo.resolveSibling(arquivo.getFileName() + ".compactando");
+        var destino = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            var mantidas = new ArrayList<ByteBuffer>();
+            long acumulado = 0;
+            for (var entrada : entradas) {
+                if (acumulado + entrada.tamanho() > orcamento) {
+                    break;
+                }
+                var registro = ByteBuffer.allocate(entrada.tamanho());
+                ler(origem, registro, entrada.offset());
+                if (!vencido(registro.getLong(CepRecordCodec.OFFSET_GRAVACAO), agora)) {
+                    mantidas.add(registro.flip());
+                    acumulado += entrada.tamanho();
+                }
+            }
+
+            var novoIndice = new OffsetIndex(Math.max(1024, mantidas.size()));
+            long novoFim = 0;
+            for (int i = mantidas.size() - 1; i >= 0; i--) {
+                novoFim += anexar(destino, novoIndice, mantidas.get(i), novoFim);
+            }
+
+            escrita.lock();
+            try {
+                if (fechado) {
+                    return;
+                }
+                // registros gravados durante a cópia
+                var cauda = ByteBuffer.allocate((int) (fim - corte));
+                ler(origem, cauda, corte);
+                int posicao = 0;
+                while (posicao < cauda.limit()) {
+                    int registro = CepRecordCodec.validar(cauda, posicao, cauda.limit());
+                    novoFim += anexar(destino, novoIndice, cauda.slice(posicao, registro), novoFim);
+                    posicao += registro;
+                }
+                destino.force(true);
+                Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+                long[] vivos = {0};
+                novoIndice.forEach((chave, offset, tamanho) -> vivos[0] += tamanho);
+                indiceLock.writeLock().lock();
+                try {
+                    canal = destino;
+                    indice = novoIndice;
+                } finally {
+                    indiceLock.writeLock().unlock();
+                }
+                long anterior = fim;
+                fim = novoFim;
+                bytesVivos = vivos[0];
+                destino = null;
+                compactacoes.increment();
+                log.info("Cache persistente compactado: {} -> {} bytes, {} CEPs", anterior, novoFim, novoIndice.size());
+            } finally {
+                escrita.unlock();
+            }
+            origem.close();
+        } finally {
+            if (destino != null) {
+                destino.close();
+                Files.deleteIfExists(temporario);
+            }
+        }
+    }
+
+    private static int anexar(FileChannel destino, OffsetIndex novoIndice, ByteBuffer registro, long posicao) throws IOException {
+        int tamanho = registro.remaining();
+        int chave = registro.getInt(registro.position() + CepRecordCodec.OFFSET_CHAVE);
+        while (registro.hasRemaining()) {
+            destino.write(registro, posicao + (tamanho - registro.remaining()));
+        }
+        novoIndice.colocar(chave, posicao, tamanho);
+        return tamanho;
+    }
+
+    private boolean precisaCompactar() {
+        return fim > tamanhoMaximo * 9 / 10
+                || fim - bytesVivos > LIXO_MINIMO_PARA_COMPACTAR && bytesVivos < fim / 2;
+    }
+
+    private void agendarCompactacao() {
+        if (fechado || !compactacaoAgendada.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            compactador.execute(() -> {
+                try {
+                    compactar();
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Falha ao compactar o cache persistente {}", arquivo, e);
+                } finally {
+                    compactacaoAgendada.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // fechado enquanto a gravação terminava
+            compactacaoAgendada.set(false);
+        }
+    }
+
+    private boolean vencido(long gravadoEm, long agora) {
+        return agora - gravadoEm > ttlMillis;
+    }
+
+    private void escrever(ByteBuffer registro, long posicao) throws IOException {
+        int tamanho = registro.remaining();
+        try {
+            while (registro.hasRemaining()) {
+                canal.write(registro, posicao + (tamanho - registro.remaining()));
+            }
+        } catch (ClosedChannelException e) {
+            reabrirSeNecessario(canal);
+            registro.rewind();
+            while (registro.hasRemaining()) {
+                canal.write(registro, posicao + (tamanho - registro.remaining()));
+            }
+        }
+    }
+
+    private static void ler(FileChannel origem, ByteBuffer destino, long posicao) throws IOException {
+        int tamanho = destino.remaining();
+        while (destino.hasRemaining()) {
+            if (origem.read(destino, posicao + (tamanho - destino.remaining())) < 0) {
+                throw new IOException("Fim inesperado do arquivo do cache persistente");
+            }
+        }
+    }
+
+    /**
+     * Um {@link FileChannel} é fechado se a thread que o usa for interrompida durante o I/O; nesse
+     * caso o arquivo é reaberto para as próximas operações.
+     */
+    private void reabrirSeNecessario(FileChannel usado) {
+        if (fechado || usado != canal || usado.isOpen()) {
+            return;
+        }
+        indiceLock.writeLock().lock();
+        try {
+            if (canal == usado && !fechado) {
+                canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            indiceLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registros no arquivo, do mais antigo ao mais recente (usado em testes).
+     */
+    List<Integer> chavesNoArquivo() throws IOException {
+        var chaves = new ArrayList<Integer>();
+        escrita.lock();
+        try {
+            var dados = ByteBuffer.allocate((int) fim);
+            ler(canal, dados, 0);
+            int posicao = 0;
+            int registro;
+            while ((registro = CepRecordCodec.validar(dados, posicao, (int) fim)) > 0) {
+                chaves.add(dados.getInt(posicao + CepRecordCodec.OFFSET_CHAVE));
+                posicao += registro;
+            }
+        } finally {
+            escrita.unlock();
+        }
+        return chaves;
+    }
+}
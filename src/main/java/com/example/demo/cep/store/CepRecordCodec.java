@@ -0,0 +1,115 @@
+package com.example.demo.cep.store;
+
+import com.example.demo.cep.dto.CepResponse;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Formato binário de um registro do {@link CepLogStore}:
+ *
+ * <pre>
+ * int  tamanho do payload
+ * payload:
+ *   int  CEP (chave)
+ *   long momento da gravação (epoch millis)
+ *   10 x (short tamanho em bytes, ou -1 para null; bytes UTF-8)
+ * int  CRC32 do payload
+ * </pre>
+ */
+final class CepRecordCodec {
+
+    static final int CABECALHO = Integer.BYTES;
+    static final int RODAPE = Integer.BYTES;
+    static final int PAYLOAD_MINIMO = Integer.BYTES + Long.BYTES + 10 * Short.BYTES;
+    static final int PAYLOAD_MAXIMO = 64 * 1024;
+    static final int OFFSET_CHAVE = CABECALHO;
+    static final int OFFSET_GRAVACAO = CABECALHO + Integer.BYTES;
+    static final int OFFSET_CAMPOS = OFFSET_GRAVACAO + Long.BYTES;
+
+    private CepRecordCodec() {
+    }
+
+    /**
+     * Monta o registro completo (cabeçalho, payload e CRC), pronto para ser anexado ao arquivo.
+     *
+     * @return registro, ou {@code null} se o payload passar do tamanho máximo
+     */
+    static ByteBuffer codificar(int chave, long gravadoEm, CepResponse resposta) {
+        var campos = new byte[][]{
+                bytes(resposta.cep()), bytes(resposta.logradouro()), bytes(resposta.complemento()),
+                bytes(resposta.bairro()), bytes(resposta.localidade()), bytes(resposta.uf()),
+                bytes(resposta.ibge()), bytes(resposta.gia()), bytes(resposta.ddd()), bytes(resposta.siafi())
+        };
+        int payload = Integer.BYTES + Long.BYTES;
+        for (var campo : campos) {
+            if (campo != null && campo.length > Short.MAX_VALUE) {
+                return null;
+            }
+            payload += Short.BYTES + (campo == null ? 0 : campo.length);
+        }
+        if (payload > PAYLOAD_MAXIMO) {
+            return null;
+        }
+        var registro = ByteBuffer.allocate(CABECALHO + payload + RODAPE);
+        registro.putInt(payload).putInt(chave).putLong(gravadoEm);
+        for (var campo : campos) {
+            if (campo == null) {
+                registro.putShort((short) -1);
+            } else {
+                registro.putShort((short) campo.length).put(campo);
+            }
+        }
+        registro.putInt(crc(registro, CABECALHO, payload));
+        return registro.flip();
+    }
+
+    /**
+     * Lê os campos de um registro completo (a partir do início do cabeçalho em {@code registro}).
+     */
+    static CepResponse decodificar(ByteBuffer registro, int inicio) {
+        int posicao = inicio + OFFSET_CAMPOS;
+        var campos = new String[10];
+        for (int i = 0; i < campos.length; i++) {
+            short tamanho = registro.getShort(posicao);
+            posicao += Short.BYTES;
+            if (tamanho >= 0) {
+                var bytes = new byte[tamanho];
+                registro.get(posicao, bytes);
+                campos[i] = new String(bytes, StandardCharsets.UTF_8);
+                posicao += tamanho;
+            }
+        }
+        return new CepResponse(campos[0], campos[1], campos[2], campos[3], campos[4],
+                campos[5], campos[6], campos[7], campos[8], campos[9]);
+    }
+
+    /**
+     * Tamanho total do registro que começa em {@code inicio}, ou {@code -1} se ele estiver
+     * incompleto ou corrompido (cauda truncada após uma queda, por exemplo).
+     */
+    static int validar(ByteBuffer dados, int inicio, int limite) {
+        if (inicio + CABECALHO > limite) {
+            return -1;
+        }
+        int payload = dados.getInt(inicio);
+        if (payload < PAYLOAD_MINIMO || payload > PAYLOAD_MAXIMO || inicio + CABECALHO + payload + RODAPE > limite) {
+            return -1;
+        }
+        if (crc(dados, inicio + CABECALHO, payload) != dados.getInt(inicio + CABECALHO + payload)) {
+            return -1;
+        }
+        return CABECALHO + payload + RODAPE;
+    }
+
+    private static int crc(ByteBuffer dados, int inicio, int tamanho) {
+        var crc = new CRC32();
+        crc.update(dados.slice(inicio, tamanho));
+        return (int) crc.getValue();
+    }
+
+    private static byte[] bytes(String valor) {
+        return valor == null ? null : valor.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.demo.cep.store;
+
+import java.util.Arrays;
+
+/**
+ * Mapa CEP → posição do registro mais recente no arquivo, em vetores primitivos com endereçamento
+ * aberto. Não é thread-safe: o {@link CepLogStore} o protege com um lock.
+ */
+final class OffsetIndex {
+
+    private static final int EMPTY = -1;
+
+    private int[] chaves;
+    private long[] offsets;
+    private int[] tamanhos;
+    private int mask;
+    private int size;
+
+    OffsetIndex(int capacidadeInicial) {
+        alocar(Integer.highestOneBit(Math.max(16, capacidadeInicial * 2 - 1)) << 1);
+    }
+
+    /**
+     * Posição do registro do CEP, ou {@code -1} se ausente.
+     */
+    long offset(int chave) {
+        int slot = find(chave);
+        return slot < 0 ? -1 : offsets[slot];
+    }
+
+    /**
+     * Tamanho do registro do CEP, ou {@code 0} se ausente.
+     */
+    int tamanho(int chave) {
+        int slot = find(chave);
+        return slot < 0 ? 0 : tamanhos[slot];
+    }
+
+    /**
+     * Aponta o CEP para um novo registro.
+     *
+     * @return tamanho do registro anterior (que passa a ser lixo no arquivo), ou {@code 0}
+     */
+    int colocar(int chave, long offset, int tamanho) {
+        int slot = find(chave);
+        if (slot >= 0) {
+            int anterior = tamanhos[slot];
+            offsets[slot] = offset;
+            tamanhos[slot] = tamanho;
+            return anterior;
+        }
+        if ((size + 1) * 2 > chaves.length) {
+            crescer();
+        }
+        inserir(chave, offset, tamanho);
+        size++;
+        return 0;
+    }
+
+    /**
+     * Remove o CEP.
+     *
+     * @return tamanho do registro removido, ou {@code 0}
+     */
+    int remover(int chave) {
+        int slot = find(chave);
+        if (slot < 0) {
+            return 0;
+        }
+        int anterior = tamanhos[slot];
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (chaves[next] != EMPTY) {
+            int home = hash(chaves[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                chaves[gap] = chaves[next];
+                offsets[gap] = offsets[next];
+                tamanhos[gap] = tamanhos[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        chaves[gap] = EMPTY;
+        size--;
+        return anterior;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Visita todas as entradas.
+     */
+    void forEach(Visitante visitante) {
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != EMPTY) {
+                visitante.visitar(chaves[i], offsets[i], tamanhos[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Visitante {
+        void visitar(int chave, long offset, int tamanho);
+    }
+
+    private int find(int chave) {
+        int slot = hash(chave) & mask;
+        while (chaves[slot] != EMPTY) {
+            if (chaves[slot] == chave) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void inserir(int chave, long offset, int tamanho) {
+        int slot = hash(chave) & mask;
+        while (chaves[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        chaves[slot] = chave;
+        offsets[slot] = offset;
+        tamanhos[slot] = tamanho;
+    }
+
+    private void crescer() {
+        var antigasChaves = chaves;
+        var antigosOffsets = offsets;
+        var antigosTamanhos = tamanhos;
+        alocar(chaves.length * 2);
+        for (int i = 0; i < antigasChaves.length; i++) {
+            if (antigasChaves[i] != EMPTY) {
+                inserir(antigasChaves[i], antigosOffsets[i], antigosTamanhos[i]);
+            }
+        }
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new int[capacidade];
+        offsets = new long[capacidade];
+        tamanhos = new int[capacidade];
+        mask = capacidade - 1;
+        Arrays.fill(chaves, EMPTY);
+    }
+
+    private static int hash(int chave) {
+        int h = chave * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+}
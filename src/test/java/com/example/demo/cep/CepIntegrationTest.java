@@ -1,6 +1,6 @@
 package com.example.demo.cep;
 
-import com.example.demo.cep.client.CepClientPort;
+import com.example.demo.cep.client.CepClient;
 import com.example.demo.cep.dto.CepResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,9 +8,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.RestClient;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.util.concurrent.atomic.AtomicReference;
@@ -29,11 +31,18 @@ class CepIntegrationTest {
     // holder para fornecer respostas dinâmicas no bean de teste
     private static final AtomicReference<CepResponse> cepResponseHolder = new AtomicReference<>();
 
+    // substitui o cliente HTTP na ponta da cadeia de decorators (cache, etc.)
     @TestConfiguration
     static class TestConfig {
         @Bean
-        public CepClientPort cepClientPort() {
-            return cep -> cepResponseHolder.get();
+        @Primary
+        public CepClient cepClientStub() {
+            return new CepClient(RestClient.create()) {
+                @Override
+                public CepResponse buscarCep(String cep) {
+                    return cepResponseHolder.get();
+                }
+            };
         }
     }
 
@@ -0,0 +1,82 @@
+package com.example.demo.cep;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.cep.support.StubViaCepServer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mede o tempo de subida da aplicação no perfil {@code fast-startup} e o tempo até a primeira resposta de um
+ * CEP popular, com o cache frio e com o cache restaurado do snapshot salvo pela subida anterior.
+ *
+ * <p>O upstream é um {@link StubViaCepServer} com 200 ms de latência: com o snapshot, o CEP sai do cache sem
+ * chegar a ele. Para o ganho do contexto AOT e do cache de classes da JVM, ver README ("Subida rápida").</p>
+ *
+ * <p>Rodar com {@code ./mvnw test -Pbenchmark -Dtest=CepStartupBenchmarkTest}.</p>
+ */
+@Tag("benchmark")
+class CepStartupBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CepStartupBenchmarkTest.class);
+    private static final String CEP = "04842010";
+
+    @TempDir
+    Path dir;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void deveResponderPrimeiraConsultaDoSnapshotSemIrAoUpstream() throws Exception {
+        var snapshot = dir.resolve("cep-cache.snapshot");
+        try (var stub = StubViaCepServer.iniciar().comLatencia(Duration.ofMillis(200))) {
+            var fria = subir(stub, snapshot, "fria");
+            assertThat(stub.requisicoes()).isEqualTo(1);
+            assertThat(Files.exists(snapshot)).isTrue();
+
+            var restaurada = subir(stub, snapshot, "restaurada");
+            assertThat(stub.requisicoes()).isEqualTo(1);
+            assertThat(restaurada.primeiraRespostaMillis()).isLessThan(fria.primeiraRespostaMillis());
+        }
+    }
+
+    private Medicao subir(StubViaCepServer stub, Path snapshot, String rodada) throws Exception {
+        long inicio = System.nanoTime();
+        try (ConfigurableApplicationContext contexto = new SpringApplication(DemoApplication.class).run(
+                "--spring.profiles.active=fast-startup",
+                "--server.port=0",
+                "--cep.client.base-url=" + stub.baseUrl(),
+                "--cep.cache.snapshot.path=" + snapshot)) {
+            long subida = System.nanoTime() - inicio;
+            var porta = contexto.getEnvironment().getProperty("local.server.port");
+            long consulta = System.nanoTime();
+            var resposta = http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/ceps/" + CEP)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            long primeiraResposta = System.nanoTime() - consulta;
+            assertThat(resposta.statusCode()).isEqualTo(200);
+
+            var medicao = new Medicao(TimeUnit.NANOSECONDS.toMillis(subida), TimeUnit.NANOSECONDS.toMillis(primeiraResposta));
+            log.info("{}: subida em {} ms, primeira resposta em {} ms", rodada, medicao.subidaMillis(),
+                    medicao.primeiraRespostaMillis());
+            return medicao;
+        }
+    }
+
+    private record Medicao(long subidaMillis, long primeiraRespostaMillis) {
+    }
+}
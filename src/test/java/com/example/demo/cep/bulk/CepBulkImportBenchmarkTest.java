@@ -0,0 +1,60 @@
+package com.example.demo.cep.bulk;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mede a vazão da importação em massa de uma base CSV de 2 milhões de linhas, sem destino (só leitura e
+ * interpretação).
+ *
+ * <p>Rodar com {@code ./mvnw test -Pbenchmark -Dtest=CepBulkImportBenchmarkTest}.</p>
+ */
+@Tag("benchmark")
+class CepBulkImportBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CepBulkImportBenchmarkTest.class);
+    private static final int LINHAS = 2_000_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void deveImportarCentenasDeMilharesDeLinhasPorSegundo() throws Exception {
+        var arquivo = dir.resolve("ceps.txt");
+        try (BufferedWriter saida = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < LINHAS; i++) {
+                saida.write(String.format("%08d;Rua Projetada %d;lado par;Jardim América;São José dos Campos;SP;3549904;;12;6895%n",
+                        10_000_000 + i, i % 5_000));
+            }
+        }
+        int nucleos = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        var importadas = new LongAdder();
+        try (var importer = new CepBulkImporter(JsonMapper.builder().build(), nucleos, 4 * 1024 * 1024)) {
+            for (int rodada = 0; rodada < 3; rodada++) {
+                var progresso = new CepImportProgress(String.valueOf(rodada), arquivo);
+                importer.importar(arquivo, CepBulkImporter.Formato.CSV, (chaves, respostas, quantidade) -> {
+                    importadas.add(quantidade);
+                    return quantidade;
+                }, progresso);
+                progresso.concluir();
+                log.info("rodada {}: {} linhas em {} MB, {} linhas/s ({} threads)", rodada,
+                        progresso.linhas(), Files.size(arquivo) >> 20, progresso.linhasPorSegundo(), nucleos);
+                assertThat(progresso.importadas()).isEqualTo(LINHAS);
+                assertThat(progresso.linhasPorSegundo()).isGreaterThan(300_000);
+            }
+        }
+        assertThat(importadas.sum()).isEqualTo(3L * LINHAS);
+    }
+}
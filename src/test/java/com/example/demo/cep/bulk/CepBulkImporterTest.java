@@ -0,0 +1,98 @@
+package com.example.demo.cep.bulk;
+
+import com.example.demo.cep.dto.CepResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CepBulkImporterTest {
+
+    @TempDir
+    Path dir;
+
+    // blocos pequenos para cortar linhas na fronteira entre blocos
+    private final CepBulkImporter importer = new CepBulkImporter(JsonMapper.builder().build(), 4, 256);
+    private final ConcurrentHashMap<Integer, CepResponse> gravadas = new ConcurrentHashMap<>();
+
+    @AfterEach
+    void tearDown() {
+        importer.close();
+    }
+
+    @Test
+    void deveImportarCsvContandoLinhasRejeitadas() throws Exception {
+        var texto = new StringBuilder("﻿cep;logradouro;complemento;bairro;localidade;uf\r\n# comentário\n\n");
+        for (int i = 0; i < 1_000; i++) {
+            texto.append(String.format("%08d;Rua %d;;Centro;São Paulo;SP;3550308;;11;7107%n", 1_000_000 + i, i));
+        }
+        texto.append("123;Rua Curta;;Centro;São Paulo;SP\n01002-000;Rua São Bento;;Centro;São Paulo;SP");
+        var arquivo = Files.writeString(dir.resolve("ceps.txt"), texto, StandardCharsets.UTF_8);
+        var progresso = new CepImportProgress("1", arquivo);
+
+        importer.importar(arquivo, CepBulkImporter.Formato.CSV, this::gravar, progresso);
+
+        assertThat(gravadas).hasSize(1_001);
+        assertThat(gravadas.get(1_000_042)).isEqualTo(new CepResponse("01000-042", "Rua 42", "", "Centro",
+                "São Paulo", "SP", "3550308", "", "11", "7107"));
+        assertThat(gravadas.get(1_002_000).logradouro()).isEqualTo("Rua São Bento");
+        assertThat(progresso.linhas()).isEqualTo(1_003);
+        assertThat(progresso.importadas()).isEqualTo(1_001);
+        assertThat(progresso.rejeitadas()).isEqualTo(2);
+        assertThat(progresso.bytesLidos()).isEqualTo(Files.size(arquivo));
+    }
+
+    @Test
+    void deveImportarNdjson() throws Exception {
+        var arquivo = Files.writeString(dir.resolve("ceps.ndjson"), """
+                {"cep":"01001-000","logradouro":"Praça da Sé","bairro":"Sé","localidade":"São Paulo","uf":"SP"}
+                {"erro": true}
+                {"cep":"20040002","logradouro":"Avenida Rio Branco","localidade":"Rio de Janeiro","uf":"RJ","regiao":"Sudeste"}
+                {nao e json
+                """);
+        var progresso = new CepImportProgress("1", arquivo);
+
+        importer.importar(arquivo, CepBulkImporter.Formato.doArquivo(arquivo), this::gravar, progresso);
+
+        assertThat(gravadas.keySet()).containsExactlyInAnyOrder(1_001_000, 20_040_002);
+        assertThat(gravadas.get(20_040_002).cep()).isEqualTo("20040-002");
+        assertThat(progresso.rejeitadas()).isEqualTo(2);
+    }
+
+    @Test
+    void deveContarLinhasQueODestinoNaoAceitou() throws Exception {
+        var arquivo = Files.writeString(dir.resolve("ceps.txt"), "01001000;Praça da Sé\n01002000;Rua São Bento\n");
+        var progresso = new CepImportProgress("1", arquivo);
+
+        importer.importar(arquivo, CepBulkImporter.Formato.CSV, (chaves, respostas, quantidade) -> 0, progresso);
+
+        assertThat(progresso.importadas()).isZero();
+        assertThat(progresso.descartadas()).isEqualTo(2);
+    }
+
+    @Test
+    void devePropagarFalhaDoDestino() throws Exception {
+        var arquivo = Files.writeString(dir.resolve("ceps.txt"), "01001000;Praça da Sé\n");
+
+        assertThatThrownBy(() -> importer.importar(arquivo, CepBulkImporter.Formato.CSV, (chaves, respostas, quantidade) -> {
+            throw new IllegalStateException("disco cheio");
+        }, new CepImportProgress("1", arquivo)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("disco cheio");
+    }
+
+    private int gravar(int[] chaves, CepResponse[] respostas, int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            gravadas.put(chaves[i], respostas[i]);
+        }
+        return quantidade;
+    }
+}
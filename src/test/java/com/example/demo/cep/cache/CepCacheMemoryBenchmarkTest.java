@@ -0,0 +1,77 @@
+package com.example.demo.cep.cache;
+
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mede os bytes de heap por entrada do cache de respostas com e sem o {@link CompactCepCodec}, com 500 mil
+ * respostas em que cidade, bairro, UF, DDD e códigos se repetem como em uma base real (cada resposta com suas
+ * próprias cópias dos textos, como chegam do JSON do upstream).
+ *
+ * <p>Rodar com {@code ./mvnw test -Pbenchmark -Dtest=CepCacheMemoryBenchmarkTest}.</p>
+ */
+@Tag("benchmark")
+class CepCacheMemoryBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CepCacheMemoryBenchmarkTest.class);
+    private static final int ENTRADAS = 500_000;
+    private static final int CIDADES = 5_570;
+    private static final String[] UFS = {"AC", "AL", "AM", "AP", "BA", "CE", "DF", "ES", "GO", "MA", "MG", "MS", "MT",
+            "PA", "PB", "PE", "PI", "PR", "RJ", "RN", "RO", "RR", "RS", "SC", "SE", "SP", "TO"};
+
+    @Test
+    void deveOcuparMenosMemoriaPorEntradaComRespostasCompactas() {
+        long simples = bytesPorEntrada(new CepCache<>(ENTRADAS * 2, Duration.ofHours(1)));
+        long compacto = bytesPorEntrada(new CepCache<>(ENTRADAS * 2, Duration.ofHours(1),
+                new CompactCepCodec(new StringDictionary(1_000_000))));
+
+        log.info("CepResponse: {} bytes/entrada, compacto: {} bytes/entrada ({}%)",
+                simples, compacto, Math.round(100.0 * compacto / simples));
+        assertThat(compacto).isLessThan(simples / 2);
+    }
+
+    private static long bytesPorEntrada(CepCache<CepResponse> cache) {
+        long antes = heapUsado();
+        for (int i = 0; i < ENTRADAS; i++) {
+            int chave = 1_000_000 + i * 97;
+            cache.put(chave, resposta(chave, i));
+        }
+        long depois = heapUsado();
+        assertThat(cache.size()).isEqualTo(ENTRADAS);
+        return (depois - antes) / ENTRADAS;
+    }
+
+    private static CepResponse resposta(int chave, int i) {
+        int cidade = i % CIDADES;
+        return new CepResponse(Cep.formatar(chave), "Rua Projetada " + i, i % 3 == 0 ? "lado par" : copia(""),
+                copia("Bairro " + cidade + "-" + i % 20), copia("Cidade " + cidade), copia(UFS[cidade % UFS.length]),
+                copia(String.valueOf(1_100_000 + cidade)), copia(""), copia(String.valueOf(11 + cidade % 89)),
+                copia(String.valueOf(1_000 + cidade)));
+    }
+
+    /**
+     * Cópia própria do texto, como a que o Jackson cria para cada resposta.
+     */
+    private static String copia(String texto) {
+        return new String(texto.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+
+    private static long heapUsado() {
+        var runtime = Runtime.getRuntime();
+        long usado = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            usado = Math.min(usado, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return usado;
+    }
+}
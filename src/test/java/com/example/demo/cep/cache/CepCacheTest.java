@@ -0,0 +1,187 @@
+package com.example.demo.cep.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CepCacheTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+
+    @Test
+    void deveRetornarValorArmazenadoEContarAcerto() {
+        var cache = new CepCache<String>(10, Duration.ofMinutes(1), relogio::get);
+
+        cache.put(4842010, "Rua Exemplo");
+
+        assertThat(cache.get(4842010)).isEqualTo("Rua Exemplo");
+        assertThat(cache.get(1310100)).isNull();
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+        assertThat(cache.stats().hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void deveExpirarEntradaAposTtl() {
+        var cache = new CepCache<String>(10, Duration.ofSeconds(30), relogio::get);
+        cache.put(4842010, "Rua Exemplo");
+
+        relogio.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertThat(cache.get(4842010)).isNull();
+    }
+
+    @Test
+    void deveManterTamanhoLimitadoEContarDespejos() {
+        var cache = new CepCache<Integer>(100, Duration.ofMinutes(1), relogio::get);
+
+        for (int cep = 0; cep < 1_000; cep++) {
+            cache.get(cep);
+            cache.get(cep);
+            cache.put(cep, cep);
+        }
+
+        var stats = cache.stats();
+        assertThat(stats.size()).isLessThanOrEqualTo(100);
+        assertThat(stats.evictions() + stats.rejections()).isEqualTo(900);
+    }
+
+    @Test
+    void devePreferirCepsPopularesAoDespejar() {
+        var cache = new CepCache<Integer>(10, Duration.ofMinutes(1), relogio::get);
+        for (int cep = 0; cep < 10; cep++) {
+            cache.put(cep, cep);
+            for (int i = 0; i < 5; i++) {
+                cache.get(cep);
+            }
+        }
+
+        // CEPs vistos uma única vez não devem tirar do cache os acessados com frequência
+        for (int cep = 100; cep < 200; cep++) {
+            cache.get(cep);
+            cache.put(cep, cep);
+        }
+
+        int mantidos = 0;
+        for (int cep = 0; cep < 10; cep++) {
+            if (Integer.valueOf(cep).equals(cache.get(cep))) {
+                mantidos++;
+            }
+        }
+        // o sketch é probabilístico: colisões podem admitir um ou outro recém-chegado
+        assertThat(mantidos).isGreaterThanOrEqualTo(8);
+        assertThat(cache.stats().rejections()).isGreaterThanOrEqualTo(90);
+    }
+
+    @Test
+    void deveAdmitirNovoCepQuandoVitimaExpirou() {
+        var cache = new CepCache<Integer>(1, Duration.ofSeconds(10), relogio::get);
+        cache.put(1, 1);
+        relogio.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        cache.put(2, 2);
+
+        assertThat(cache.get(2)).isEqualTo(2);
+        assertThat(cache.stats().expirations()).isEqualTo(1);
+    }
+
+    @Test
+    void deveEspiarSemContarNemRegistrarAcesso() {
+        var cache = new CepCache<Integer>(1, Duration.ofSeconds(10), relogio::get);
+        cache.put(1, 1);
+
+        assertThat(cache.peek(1)).isEqualTo(1);
+        for (int i = 0; i < 5; i++) {
+            assertThat(cache.peek(2)).isNull();
+        }
+        // sem acessos registrados, o 2 não tem frequência para tirar o 1 do cache
+        assertThat(cache.put(2, 2)).isFalse();
+        assertThat(cache.put(1, 10)).isTrue();
+
+        assertThat(cache.stats().hits() + cache.stats().misses()).isZero();
+        assertThat(cache.getStale(1)).isEqualTo(10);
+        relogio.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertThat(cache.peek(1)).isNull();
+    }
+
+    @Test
+    void deveSobrescreverEInvalidarEntrada() {
+        var cache = new CepCache<String>(10, Duration.ofMinutes(1), relogio::get);
+        cache.put(4842010, "antigo");
+        cache.put(4842010, "novo");
+
+        assertThat(cache.get(4842010)).isEqualTo("novo");
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.invalidate(4842010);
+
+        assertThat(cache.get(4842010)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void deveManterConsistenciaAposRemocoesComColisao() {
+        var cache = new CepCache<Integer>(5_000, Duration.ofMinutes(1), relogio::get);
+        for (int cep = 0; cep < 4_000; cep++) {
+            cache.put(cep, cep);
+        }
+        for (int cep = 0; cep < 4_000; cep += 2) {
+            cache.invalidate(cep);
+        }
+
+        for (int cep = 1; cep < 4_000; cep += 2) {
+            assertThat(cache.get(cep)).isEqualTo(cep);
+        }
+        assertThat(cache.size()).isEqualTo(2_000);
+    }
+
+    @Test
+    void deveGuardarValoresCodificados() {
+        var codec = new ValueCodec<String>() {
+            @Override
+            public Object encode(String value) {
+                return value.toCharArray();
+            }
+
+            @Override
+            public String decode(Object encoded) {
+                return new String((char[]) encoded);
+            }
+        };
+        var cache = new CepCache<>(10, Duration.ofSeconds(30), relogio::get, codec);
+        cache.put(4842010, "Rua Exemplo");
+
+        assertThat(cache.get(4842010)).isEqualTo("Rua Exemplo");
+        relogio.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertThat(cache.get(4842010)).isNull();
+        assertThat(cache.getStale(4842010)).isEqualTo("Rua Exemplo");
+    }
+
+    @Test
+    void devePercorrerEntradasVivasComTtlRestante() {
+        var cache = new CepCache<String>(10, Duration.ofMinutes(1), relogio::get);
+        cache.put(4842010, "Rua Exemplo");
+        cache.put(1310100, "Avenida Paulista", Duration.ofSeconds(10).toNanos());
+        cache.put(20040020, "Praça Pio X", Duration.ofMinutes(5).toNanos());
+
+        relogio.addAndGet(Duration.ofSeconds(20).toNanos());
+        var restantes = new HashMap<Integer, Long>();
+        cache.forEach((chave, valor, restante) -> restantes.put(chave, restante));
+
+        assertThat(restantes).containsOnlyKeys(4842010, 20040020);
+        assertThat(restantes.get(4842010)).isEqualTo(Duration.ofSeconds(40).toNanos());
+        assertThat(restantes.get(20040020)).isEqualTo(Duration.ofSeconds(280).toNanos());
+        assertThat(cache.stats().hits() + cache.stats().misses()).isZero();
+    }
+
+    @Test
+    void deveRejeitarTamanhoInvalido() {
+        assertThatThrownBy(() -> new CepCache<String>(0, Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.cep.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class CepRefreshSchedulerTest {
+
+    private CepRefreshScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        scheduler.close();
+    }
+
+    @Test
+    void deveConsiderarPopularSoDepoisDeVariosAcessos() {
+        scheduler = novo(10, 8, null);
+
+        assertThat(scheduler.recordAccess(1310100)).isFalse();
+        assertThat(scheduler.recordAccess(1310100)).isFalse();
+        assertThat(scheduler.recordAccess(1310100)).isTrue();
+        assertThat(scheduler.recordAccess(4842010)).isFalse();
+    }
+
+    @Test
+    void deveRenovarPertoDaExpiracaoEServirVencidoPorTempoLimitado() {
+        scheduler = novo(10, 8, null);
+        long minuto = Duration.ofMinutes(1).toNanos();
+
+        assertThat(scheduler.shouldRefresh(3 * minuto)).isFalse();
+        assertThat(scheduler.shouldRefresh(minuto)).isTrue();
+        assertThat(scheduler.shouldRefresh(Long.MIN_VALUE)).isFalse();
+        assertThat(scheduler.canServeStale(minuto)).isFalse();
+        assertThat(scheduler.canServeStale(-minuto)).isTrue();
+        assertThat(scheduler.canServeStale(-20 * minuto)).isFalse();
+        assertThat(scheduler.canServeStale(Long.MIN_VALUE)).isFalse();
+    }
+
+    @Test
+    void deveRespeitarOrcamentoDeConsultasPorSegundo() throws InterruptedException {
+        scheduler = novo(10, 8, null);
+        var carregados = new AtomicInteger();
+        scheduler.start(chave -> carregados.incrementAndGet());
+
+        IntStream.range(0, 100).forEach(i -> scheduler.scheduleRefresh(1310000 + i));
+        scheduler.scheduleRefresh(1310000);
+        Thread.sleep(1_000);
+
+        // 10/s mais a rajada inicial de até 1 s de fichas
+        assertThat(carregados.get()).isBetween(5, 25);
+        assertThat(scheduler.pending()).isBetween(70, 95);
+    }
+
+    @Test
+    void deveDescartarPedidosQuandoAFilaEstaCheia() {
+        scheduler = new CepRefreshScheduler(1_000, 3, Duration.ofMinutes(2), Duration.ofMinutes(10), 10, 4, 2, 8, 50,
+                null);
+
+        scheduler.scheduleRefresh(1310100);
+        scheduler.scheduleRefresh(1310200);
+        scheduler.scheduleRefresh(1310300);
+
+        assertThat(scheduler.pending()).isEqualTo(2);
+        assertThat(scheduler.dropped()).isEqualTo(1);
+    }
+
+    @Test
+    void devePreCarregarVizinhosQuandoOSetorFicaPopular() {
+        var carregados = ConcurrentHashMap.<Integer>newKeySet();
+        scheduler = novo(1_000, 3, setor -> setor == 1310 ? new int[]{1310100, 1310200, 1310300} : new int[0]);
+        scheduler.start(carregados::add);
+
+        scheduler.recordAccess(1310100);
+        scheduler.recordAccess(1310200);
+        scheduler.recordAccess(1310100);
+        scheduler.recordAccess(1310900);
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> scheduler.prefetches() == 3);
+        assertThat(carregados).containsExactlyInAnyOrder(1310100, 1310200, 1310300);
+    }
+
+    private static CepRefreshScheduler novo(double porSegundo, int acessosSetor, IntFunction<int[]> vizinhos) {
+        return new CepRefreshScheduler(1_000, 3, Duration.ofMinutes(2), Duration.ofMinutes(10), porSegundo, 4, 1_000,
+                acessosSetor, 50, vizinhos);
+    }
+}
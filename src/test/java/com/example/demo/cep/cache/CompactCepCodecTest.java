@@ -0,0 +1,59 @@
+package com.example.demo.cep.cache;
+
+import com.example.demo.cep.dto.CepResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactCepCodecTest {
+
+    private final StringDictionary dicionario = new StringDictionary(1_000);
+    private final CompactCepCodec codec = new CompactCepCodec(dicionario);
+
+    @Test
+    void deveGuardarRespostaCompactaEDevolverIgual() {
+        var paulista = new CepResponse("01310-100", "Avenida Paulista", "de 612 a 1510 - lado par", "Bela Vista",
+                "São Paulo", "SP", "3550308", "1004", "11", "7107");
+        var se = new CepResponse("01001-000", "Praça da Sé", "lado ímpar", "Sé", "São Paulo", "SP", "3550308",
+                "", "11", "7107");
+
+        var guardada = codec.encode(paulista);
+        codec.encode(se);
+
+        assertThat(guardada).isInstanceOf(CompactCepCodec.Compact.class);
+        assertThat(codec.decode(guardada)).isEqualTo(paulista);
+        assertThat(codec.decode(codec.encode(se))).isEqualTo(se);
+        // São Paulo, 3550308, 1004, 7107, Bela Vista e Sé
+        assertThat(dicionario.size()).isEqualTo(6);
+    }
+
+    @Test
+    void deveManterCamposNulos() {
+        var resposta = new CepResponse("69900-000", null, null, null, "Rio Branco", "AC", null, null, null, null);
+
+        assertThat(codec.decode(codec.encode(resposta))).isEqualTo(resposta);
+    }
+
+    @Test
+    void deveGuardarComoEstaoRespostasForaDoPadrao() {
+        var semHifen = new CepResponse("01310100", "Avenida Paulista", "", "Bela Vista", "São Paulo", "SP", "", "", "11", "");
+        var ufMinuscula = new CepResponse("01310-100", "Avenida Paulista", "", "Bela Vista", "São Paulo", "sp", "", "", "11", "");
+        var dddEstranho = new CepResponse("01310-100", "Avenida Paulista", "", "Bela Vista", "São Paulo", "SP", "", "", "011", "");
+
+        assertThat(codec.encode(semHifen)).isSameAs(semHifen);
+        assertThat(codec.encode(ufMinuscula)).isSameAs(ufMinuscula);
+        assertThat(codec.encode(dddEstranho)).isSameAs(dddEstranho);
+        assertThat(codec.decode(semHifen)).isSameAs(semHifen);
+    }
+
+    @Test
+    void deveGuardarComoEstaQuandoODicionarioEnche() {
+        var codec = new CompactCepCodec(new StringDictionary(2));
+        var primeira = new CepResponse("01310-100", "Avenida Paulista", "", "Bela Vista", "São Paulo", "SP", "", "", "11", "");
+        var segunda = new CepResponse("20040-020", "Praça Pio X", "", "Centro", "Rio de Janeiro", "RJ", "", "", "21", "");
+
+        assertThat(codec.encode(primeira)).isInstanceOf(CompactCepCodec.Compact.class);
+        assertThat(codec.encode(segunda)).isSameAs(segunda);
+        assertThat(codec.decode(codec.encode(primeira))).isEqualTo(primeira);
+    }
+}
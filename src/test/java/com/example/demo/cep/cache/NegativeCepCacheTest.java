@@ -0,0 +1,63 @@
+package com.example.demo.cep.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NegativeCepCacheTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+
+    @Test
+    void deveLembrarCepsMarcadosNosExtremosDoIntervalo() {
+        var cache = new NegativeCepCache(Duration.ofMinutes(10), relogio::get);
+
+        cache.add(0);
+        cache.add(99_999_999);
+
+        assertThat(cache.contains(0)).isTrue();
+        assertThat(cache.contains(99_999_999)).isTrue();
+        assertThat(cache.contains(1)).isFalse();
+        assertThat(cache.contains(-1)).isFalse();
+        assertThat(cache.hitCount()).isEqualTo(2);
+        assertThatThrownBy(() -> cache.add(100_000_000)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void deveAlocarPaginasSomenteParaFaixasUsadas() {
+        var cache = new NegativeCepCache(Duration.ofMinutes(10), relogio::get);
+
+        for (int cep = 4_842_000; cep < 4_842_100; cep++) {
+            cache.add(cep);
+        }
+
+        assertThat(cache.allocatedPages()).isEqualTo(1);
+        assertThat(cache.additionCount()).isEqualTo(100);
+    }
+
+    @Test
+    void deveExpirarPorGeracao() {
+        var cache = new NegativeCepCache(Duration.ofMinutes(10), relogio::get);
+        cache.add(4842010);
+
+        relogio.addAndGet(Duration.ofMinutes(6).toNanos());
+        assertThat(cache.contains(4842010)).isTrue();
+
+        relogio.addAndGet(Duration.ofMinutes(5).toNanos());
+        assertThat(cache.contains(4842010)).isFalse();
+    }
+
+    @Test
+    void deveEsquecerCepRemovido() {
+        var cache = new NegativeCepCache(Duration.ofMinutes(10), relogio::get);
+        cache.add(4842010);
+
+        cache.remove(4842010);
+
+        assertThat(cache.contains(4842010)).isFalse();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.cache.NegativeCepCache;
+import com.example.demo.cep.dto.CepResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingAsyncCepClientTest {
+
+    private final CepResponse response = new CepResponse("04842-010", "Rua Exemplo", "", "Bairro", "São Paulo", "SP", null, null, null, null);
+
+    @Test
+    void deveCompartilharConsultaEmAndamentoEGuardarNoCache() {
+        var chamadas = new AtomicInteger();
+        var upstream = new CompletableFuture<CepResponse>();
+        var cache = new CepCache<CepResponse>(100, Duration.ofMinutes(1));
+        var client = new CachingAsyncCepClient(cep -> {
+            chamadas.incrementAndGet();
+            return upstream;
+        }, cache);
+
+        var primeiro = client.buscarCepAsync("04842-010");
+        var segundo = client.buscarCepAsync("04842010");
+        assertThat(client.emAndamento()).isEqualTo(1);
+
+        upstream.complete(response);
+
+        assertThat(primeiro.join()).isSameAs(response);
+        assertThat(segundo.join()).isSameAs(response);
+        assertThat(client.buscarCepAsync("04842-010")).isCompletedWithValue(response);
+        assertThat(chamadas).hasValue(1);
+        assertThat(client.emAndamento()).isZero();
+    }
+
+    @Test
+    void deveEsquecerCepInexistenteQuandoConsultaOEncontra() {
+        var upstream = new CompletableFuture<CepResponse>();
+        var naoEncontrados = new NegativeCepCache(Duration.ofMinutes(1));
+        var client = new CachingAsyncCepClient(cep -> upstream, new CepCache<>(100, Duration.ofMinutes(1)),
+                naoEncontrados);
+
+        var consulta = client.buscarCepAsync("04842-010");
+        naoEncontrados.add(4842010);
+        upstream.complete(response);
+
+        assertThat(consulta.join()).isSameAs(response);
+        assertThat(naoEncontrados.peek(4842010)).isFalse();
+        assertThat(client.buscarCepAsync("04842-010")).isCompletedWithValue(response);
+    }
+
+    @Test
+    void naoDeveGuardarFalhaNoCache() {
+        var chamadas = new AtomicInteger();
+        var cache = new CepCache<CepResponse>(100, Duration.ofMinutes(1));
+        var client = new CachingAsyncCepClient(cep -> {
+            chamadas.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("falha"));
+        }, cache);
+
+        assertThat(client.buscarCepAsync("04842-010")).isCompletedExceptionally();
+        assertThat(client.buscarCepAsync("04842-010")).isCompletedExceptionally();
+        assertThat(chamadas).hasValue(2);
+    }
+}
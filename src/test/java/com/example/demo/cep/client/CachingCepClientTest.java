@@ -0,0 +1,156 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.cache.CepRefreshScheduler;
+import com.example.demo.cep.cache.NegativeCepCache;
+import com.example.demo.cep.dto.CepResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingCepClientTest {
+
+    private CepClientPort delegate;
+    private CachingCepClient cachingClient;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(CepClientPort.class);
+        cachingClient = new CachingCepClient(delegate, new CepCache<>(100, Duration.ofMinutes(5)), true, null, null, null);
+    }
+
+    @Test
+    void deveConsultarDelegateApenasUmaVezParaMesmoCep() {
+        var response = new CepResponse("04842-010", "Rua Exemplo", "", "Bairro", "São Paulo", "SP", null, null, null, null);
+        when(delegate.buscarCep("04842-010")).thenReturn(response);
+
+        var primeira = cachingClient.buscarCep("04842-010");
+        var segunda = cachingClient.buscarCep("04842-010");
+
+        assertThat(primeira).isSameAs(response);
+        assertThat(segunda).isSameAs(response);
+        verify(delegate, times(1)).buscarCep("04842-010");
+        assertThat(cachingClient.estatisticas().hits()).isEqualTo(1);
+        assertThat(cachingClient.estatisticas().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void deveCompartilharEntradaEntreFormatosDoMesmoCep() {
+        var response = new CepResponse("04842-010", "Rua Exemplo", "", "Bairro", "São Paulo", "SP", null, null, null, null);
+        when(delegate.buscarCep("04842-010")).thenReturn(response);
+
+        cachingClient.buscarCep("04842-010");
+        var resposta = cachingClient.buscarCep("04842010");
+
+        assertThat(resposta).isSameAs(response);
+        verify(delegate, times(1)).buscarCep("04842-010");
+    }
+
+    @Test
+    void naoDeveCachearCepComQuantidadeInvalidaDeDigitos() {
+        cachingClient.buscarCep("123");
+        cachingClient.buscarCep("123");
+
+        verify(delegate, times(2)).buscarCep("123");
+    }
+
+    @Test
+    void deveLembrarCepInexistenteForaDoCachePrincipal() {
+        var cache = new CepCache<CepResponse>(100, Duration.ofMinutes(5));
+        var naoEncontrados = new NegativeCepCache(Duration.ofMinutes(1));
+        var client = new CachingCepClient(delegate, cache, true, naoEncontrados, null, null);
+        when(delegate.buscarCep("99999-999")).thenReturn(CepResponse.NAO_ENCONTRADO);
+
+        client.buscarCep("99999-999");
+        var segunda = client.buscarCep("99999999");
+
+        assertThat(segunda.encontrado()).isFalse();
+        assertThat(client.buscarCepEmCache("99999-999")).contains(CepResponse.NAO_ENCONTRADO);
+        assertThat(cache.size()).isZero();
+        verify(delegate, times(1)).buscarCep("99999-999");
+    }
+
+    @Test
+    void deveEsquecerCepInexistenteQuandoRecargaOEncontra() {
+        var response = new CepResponse("04842-010", "Rua Exemplo", "", "Bairro", "São Paulo", "SP", null, null, null, null);
+        var naoEncontrados = new NegativeCepCache(Duration.ofMinutes(1));
+        var client = new CachingCepClient(delegate, new CepCache<>(100, Duration.ofMinutes(5)), true, naoEncontrados,
+                null, null);
+        when(delegate.buscarCep("04842-010")).thenReturn(CepResponse.NAO_ENCONTRADO, response);
+
+        assertThat(client.buscarCep("04842-010").encontrado()).isFalse();
+        client.recarregar(4842010);
+
+        assertThat(client.buscarCep("04842-010")).isSameAs(response);
+        assertThat(naoEncontrados.peek(4842010)).isFalse();
+        verify(delegate, times(2)).buscarCep("04842-010");
+    }
+
+    @Test
+    void naoDeveCachearRespostaNula() {
+        cachingClient.buscarCep("04842-010");
+        cachingClient.buscarCep("04842-010");
+
+        verify(delegate, times(2)).buscarCep("04842-010");
+    }
+
+    @Test
+    void deveServirCepPopularVencidoEnquantoRenova() throws InterruptedException {
+        var antiga = new CepResponse("04842-010", "Rua Antiga", "", "Bairro", "São Paulo", "SP", null, null, null, null);
+        var nova = new CepResponse("04842-010", "Rua Nova", "", "Bairro", "São Paulo", "SP", null, null, null, null);
+        when(delegate.buscarCep("04842-010")).thenReturn(antiga, nova);
+        try (var renovacao = new CepRefreshScheduler(100, 1, Duration.ofMillis(50), Duration.ofMinutes(10), 100, 1,
+                100, 8, 50, null)) {
+            var client = new CachingCepClient(delegate, new CepCache<>(100, Duration.ofMillis(200)), false, null,
+                    renovacao, null);
+            renovacao.start(client::recarregar);
+
+            assertThat(client.buscarCep("04842-010")).isSameAs(antiga);
+            Thread.sleep(300);
+
+            assertThat(client.buscarCep("04842-010")).isSameAs(antiga);
+            assertThat(client.respostasRevalidadas()).isEqualTo(1);
+            await().atMost(Duration.ofSeconds(2)).until(() -> renovacao.refreshes() == 1);
+            assertThat(client.buscarCep("04842-010")).isSameAs(nova);
+            verify(delegate, times(2)).buscarCep("04842-010");
+        }
+    }
+
+    @Test
+    void deveRecarregarCepNoCache() {
+        var antiga = new CepResponse("04842-010", "Rua Antiga", "", "Bairro", "São Paulo", "SP", null, null, null, null);
+        var nova = new CepResponse("04842-010", "Rua Nova", "", "Bairro", "São Paulo", "SP", null, null, null, null);
+        when(delegate.buscarCep("04842-010")).thenReturn(antiga, nova);
+
+        cachingClient.buscarCep("04842-010");
+        cachingClient.recarregar(4842010);
+
+        assertThat(cachingClient.buscarCep("04842-010")).isSameAs(nova);
+        verify(delegate, times(2)).buscarCep("04842-010");
+    }
+
+    @Test
+    void deveRenovarCepPresentePelaOrigemEPreCarregarAusentePeloDelegate() {
+        var upstream = mock(CepClientPort.class);
+        var local = new CepResponse("04842-010", "Rua Antiga", "", "Bairro", "São Paulo", "SP", null, null, null, null);
+        var nova = new CepResponse("04842-010", "Rua Nova", "", "Bairro", "São Paulo", "SP", null, null, null, null);
+        when(delegate.buscarCep("04842-010")).thenReturn(local);
+        when(upstream.buscarCep("04842-010")).thenReturn(nova);
+
+        cachingClient.recarregar(4842010, upstream);
+        assertThat(cachingClient.buscarCep("04842-010")).isSameAs(local);
+
+        cachingClient.recarregar(4842010, upstream);
+        assertThat(cachingClient.buscarCep("04842-010")).isSameAs(nova);
+        verify(delegate, times(1)).buscarCep("04842-010");
+        verify(upstream, times(1)).buscarCep("04842-010");
+    }
+}
@@ -92,6 +92,17 @@ class CepClientTest {
         mockServer.verify();
     }
 
+    @Test
+    void deveRetornarNaoEncontradoQuandoApiRetornaErro() {
+        mockServer.expect(requestTo("http://localhost/99999999/json"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"erro\": true}", MediaType.APPLICATION_JSON));
+
+        assertThat(cepClient.buscarCep("99999-999")).isSameAs(CepResponse.NAO_ENCONTRADO);
+
+        mockServer.verify();
+    }
+
     @Test
     void deveLancarErroQuandoCepNulo() {
         assertThatThrownBy(() -> cepClient.buscarCep(null))
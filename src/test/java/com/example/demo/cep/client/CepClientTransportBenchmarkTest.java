@@ -0,0 +1,70 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.config.CepClientConfig;
+import com.example.demo.cep.support.MedidorDeCarga;
+import com.example.demo.cep.support.StubViaCepServer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara o transporte antigo ({@link SimpleClientHttpRequestFactory}) com o pool do
+ * {@link CepClientConfig} contra um stub local do ViaCEP.
+ *
+ * <p>Rodar com {@code ./mvnw test -Pbenchmark -Dtest=CepClientTransportBenchmarkTest}.</p>
+ */
+@Tag("benchmark")
+class CepClientTransportBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CepClientTransportBenchmarkTest.class);
+    private static final int CONCORRENCIA = 64;
+    private static final int OPERACOES = 20_000;
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Test
+    void devePoolSuperarTransportePadrao() throws Exception {
+        try (var stub = StubViaCepServer.iniciar().comLatencia(Duration.ofMillis(2));
+             var executor = Executors.newFixedThreadPool(CONCORRENCIA)) {
+
+            var simpleFactory = new SimpleClientHttpRequestFactory();
+            simpleFactory.setConnectTimeout((int) TIMEOUT.toMillis());
+            simpleFactory.setReadTimeout((int) TIMEOUT.toMillis());
+            var simples = new CepClient(RestClient.builder()
+                    .baseUrl(stub.baseUrl())
+                    .requestFactory(simpleFactory)
+                    .build());
+
+            var config = new CepClientConfig();
+            var connectionManager = config.cepConnectionManager(CONCORRENCIA, CONCORRENCIA, TIMEOUT, TIMEOUT, Duration.ofMinutes(5));
+            var httpClient = config.cepHttpClient(connectionManager, Duration.ofSeconds(30));
+            var pool = new CepClient(config.restClient(stub.baseUrl(), httpClient, TIMEOUT, Duration.ofSeconds(1)));
+
+            // aquecimento
+            MedidorDeCarga.medir(executor, CONCORRENCIA, 2_000, i -> simples.buscarCep(cep(i)));
+            MedidorDeCarga.medir(executor, CONCORRENCIA, 2_000, i -> pool.buscarCep(cep(i)));
+
+            var resultadoSimples = MedidorDeCarga.medir(executor, CONCORRENCIA, OPERACOES, i -> simples.buscarCep(cep(i)));
+            var resultadoPool = MedidorDeCarga.medir(executor, CONCORRENCIA, OPERACOES, i -> pool.buscarCep(cep(i)));
+
+            log.info("SimpleClientHttpRequestFactory: {}", resultadoSimples);
+            log.info("Pool HttpComponents         : {}", resultadoPool);
+            log.info("Conexões no pool            : {}", connectionManager.getTotalStats());
+
+            assertThat(resultadoPool.falhas()).isZero();
+            assertThat(resultadoPool.vazaoPorSegundo()).isGreaterThan(resultadoSimples.vazaoPorSegundo());
+            httpClient.close();
+        }
+    }
+
+    private static String cep(int i) {
+        return String.format("%08d", i % 10_000);
+    }
+}
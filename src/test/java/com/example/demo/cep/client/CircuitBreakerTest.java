@@ -0,0 +1,47 @@
+package com.example.demo.cep.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+    private final CircuitBreaker circuito = new CircuitBreaker(10, 2, 0.5, Duration.ofSeconds(10), 1, relogio::get);
+
+    @Test
+    void deveAbrirERecusarAteOTempoDeAbertura() {
+        circuito.registrarFalha(circuito.permitir());
+        circuito.registrarFalha(circuito.permitir());
+
+        assertThat(circuito.estado()).isEqualTo(CircuitBreaker.Estado.ABERTO);
+        assertThat(circuito.permitir()).isEqualTo(CircuitBreaker.RECUSADA);
+
+        relogio.addAndGet(Duration.ofSeconds(11).toNanos());
+        long teste = circuito.permitir();
+        assertThat(teste).isNotEqualTo(CircuitBreaker.RECUSADA);
+        assertThat(circuito.permitir()).isEqualTo(CircuitBreaker.RECUSADA);
+
+        circuito.registrarSucesso(teste);
+        assertThat(circuito.estado()).isEqualTo(CircuitBreaker.Estado.FECHADO);
+    }
+
+    @Test
+    void deveIgnorarResultadoDeChamadaIniciadaAntesDaAbertura() {
+        long lenta = circuito.permitir();
+        circuito.registrarFalha(circuito.permitir());
+        circuito.registrarFalha(circuito.permitir());
+        relogio.addAndGet(Duration.ofSeconds(11).toNanos());
+        long teste = circuito.permitir();
+
+        circuito.registrarSucesso(lenta);
+        assertThat(circuito.estado()).isEqualTo(CircuitBreaker.Estado.MEIO_ABERTO);
+
+        circuito.registrarFalha(teste);
+        assertThat(circuito.estado()).isEqualTo(CircuitBreaker.Estado.ABERTO);
+        assertThat(circuito.aberturas()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class CoalescingCepClientTest {
+
+    private static final int CHAMADORES = 64;
+
+    private final CepResponse response = new CepResponse("04842-010", "Rua Exemplo", "", "Bairro", "São Paulo", "SP", null, null, null, null);
+
+    @Test
+    void deveFazerUmaUnicaChamadaParaChamadoresConcorrentes() throws Exception {
+        var chamadas = new AtomicInteger();
+        var liberar = new CountDownLatch(1);
+        var client = new CoalescingCepClient(cep -> {
+            chamadas.incrementAndGet();
+            aguardar(liberar);
+            return response;
+        });
+
+        try (var executor = Executors.newFixedThreadPool(CHAMADORES)) {
+            var futuros = new ArrayList<Future<CepResponse>>();
+            for (int i = 0; i < CHAMADORES; i++) {
+                futuros.add(executor.submit(() -> client.buscarCep("04842-010")));
+            }
+
+            // só libera o upstream quando todos os demais já estão aguardando a chamada em andamento
+            await().atMost(5, TimeUnit.SECONDS)
+                    .until(() -> client.chamadasCompartilhadas() == CHAMADORES - 1);
+            liberar.countDown();
+
+            for (var futuro : futuros) {
+                assertThat(futuro.get(5, TimeUnit.SECONDS)).isSameAs(response);
+            }
+        }
+
+        assertThat(chamadas).hasValue(1);
+        assertThat(client.emAndamento()).isZero();
+    }
+
+    @Test
+    void deveCompartilharFalhaComTodosOsChamadores() throws Exception {
+        var chamadas = new AtomicInteger();
+        var liberar = new CountDownLatch(1);
+        var client = new CoalescingCepClient(cep -> {
+            chamadas.incrementAndGet();
+            aguardar(liberar);
+            throw new IllegalStateException("ViaCEP indisponível");
+        });
+
+        try (var executor = Executors.newFixedThreadPool(CHAMADORES)) {
+            var futuros = new ArrayList<Future<CepResponse>>();
+            for (int i = 0; i < CHAMADORES; i++) {
+                futuros.add(executor.submit(() -> client.buscarCep("04842010")));
+            }
+            await().atMost(5, TimeUnit.SECONDS)
+                    .until(() -> client.chamadasCompartilhadas() == CHAMADORES - 1);
+            liberar.countDown();
+
+            for (var futuro : futuros) {
+                assertThatThrownBy(() -> futuro.get(5, TimeUnit.SECONDS))
+                        .isInstanceOf(ExecutionException.class)
+                        .hasCauseInstanceOf(IllegalStateException.class)
+                        .hasRootCauseMessage("ViaCEP indisponível");
+            }
+        }
+
+        assertThat(chamadas).hasValue(1);
+        assertThat(client.emAndamento()).isZero();
+    }
+
+    @Test
+    void naoDeveAgruparCepsDiferentes() {
+        var chamadas = new AtomicInteger();
+        var client = new CoalescingCepClient(cep -> {
+            chamadas.incrementAndGet();
+            return response;
+        });
+
+        client.buscarCep("04842-010");
+        client.buscarCep("01310-100");
+        client.buscarCep("04842-010");
+
+        assertThat(chamadas).hasValue(3);
+        assertThat(client.chamadasCompartilhadas()).isZero();
+    }
+
+    @Test
+    void naoDeveAgruparConsultaInterativaComUmaDeMenorPrioridade() throws Exception {
+        var chamadas = new AtomicInteger();
+        var liberar = new CountDownLatch(1);
+        var client = new CoalescingCepClient(cep -> {
+            if (chamadas.incrementAndGet() == 1) {
+                aguardar(liberar);
+            }
+            return response;
+        });
+
+        try (var executor = Executors.newFixedThreadPool(2)) {
+            var lote = executor.submit(() -> ScopedValue.where(CepPrioridade.ATUAL, CepPrioridade.LOTE)
+                    .call(() -> client.buscarCep("04842-010")));
+            await().atMost(5, TimeUnit.SECONDS).until(() -> client.emAndamento() == 1);
+
+            assertThat(client.buscarCep("04842-010")).isSameAs(response);
+            assertThat(chamadas).hasValue(2);
+            assertThat(client.chamadasCompartilhadas()).isZero();
+
+            liberar.countDown();
+            assertThat(lote.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        }
+    }
+
+    @Test
+    void deveAgruparConsultaDeLoteComUmaInterativaEmAndamento() throws Exception {
+        var chamadas = new AtomicInteger();
+        var liberar = new CountDownLatch(1);
+        var client = new CoalescingCepClient(cep -> {
+            chamadas.incrementAndGet();
+            aguardar(liberar);
+            return response;
+        });
+
+        try (var executor = Executors.newFixedThreadPool(2)) {
+            var interativa = executor.submit(() -> client.buscarCep("04842-010"));
+            await().atMost(5, TimeUnit.SECONDS).until(() -> client.emAndamento() == 1);
+            var lote = executor.submit(() -> ScopedValue.where(CepPrioridade.ATUAL, CepPrioridade.LOTE)
+                    .call(() -> client.buscarCep("04842-010")));
+            await().atMost(5, TimeUnit.SECONDS).until(() -> client.chamadasCompartilhadas() == 1);
+            liberar.countDown();
+
+            assertThat(interativa.get(5, TimeUnit.SECONDS)).isSameAs(response);
+            assertThat(lote.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        }
+        assertThat(chamadas).hasValue(1);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class HedgingCepClientTest {
+
+    private final CepResponse response = new CepResponse("04842-010", "Rua Exemplo", "", "Bairro", "São Paulo", "SP", null, null, null, null);
+
+    @Test
+    void deveDispararHedgeAposAtrasoECancelarPerdedor() {
+        var lento = new CompletableFuture<CepResponse>();
+        var hedging = hedge(List.of(
+                new CepProvider("lento", cep -> lento),
+                new CepProvider("rapido", cep -> CompletableFuture.completedFuture(response))));
+
+        assertThat(hedging.buscarCep("04842-010")).isSameAs(response);
+        assertThat(hedging.hedgesDisparados()).isEqualTo(1);
+        await().atMost(1, TimeUnit.SECONDS).until(lento::isCancelled);
+    }
+
+    @Test
+    void naoDeveDispararHedgeQuandoPrimeiroRespondeAntesDoAtraso() throws Exception {
+        var chamadasHedge = new AtomicInteger();
+        var hedging = hedge(List.of(
+                new CepProvider("rapido", cep -> CompletableFuture.completedFuture(response)),
+                new CepProvider("reserva", cep -> {
+                    chamadasHedge.incrementAndGet();
+                    return CompletableFuture.completedFuture(response);
+                })));
+
+        assertThat(hedging.buscarCep("04842-010")).isSameAs(response);
+        Thread.sleep(100);
+        assertThat(chamadasHedge).hasValue(0);
+    }
+
+    @Test
+    void deveTentarProximoProvedorNaHoraQuandoPrimeiroFalha() {
+        var hedging = new HedgingCepClient(List.of(
+                new CepProvider("falha", cep -> CompletableFuture.failedFuture(new IllegalStateException("fora do ar"))),
+                new CepProvider("reserva", cep -> CompletableFuture.completedFuture(response))),
+                HedgingCepClient.Modo.HEDGE, Duration.ofSeconds(10), Duration.ofMillis(1), Duration.ofSeconds(10), 0.95);
+
+        assertThat(hedging.buscarCepAsync("04842-010")).succeedsWithin(Duration.ofSeconds(1)).isSameAs(response);
+    }
+
+    @Test
+    void deveConcluirComCepInexistenteSemDispararHedge() throws Exception {
+        var chamadasHedge = new AtomicInteger();
+        var hedging = hedge(List.of(
+                new CepProvider("viacep", cep -> CompletableFuture.completedFuture(CepResponse.NAO_ENCONTRADO)),
+                new CepProvider("reserva", cep -> {
+                    chamadasHedge.incrementAndGet();
+                    return CompletableFuture.completedFuture(response);
+                })));
+
+        assertThat(hedging.buscarCep("99999-999")).isSameAs(CepResponse.NAO_ENCONTRADO);
+        Thread.sleep(100);
+        assertThat(chamadasHedge).hasValue(0);
+        assertThat(hedging.hedgesDisparados()).isZero();
+    }
+
+    @Test
+    void deveFicarComPrimeiraRespostaValidaNaCorrida() {
+        var lento = new CompletableFuture<CepResponse>();
+        var hedging = new HedgingCepClient(List.of(
+                new CepProvider("inexistente", cep -> CompletableFuture.completedFuture(CepResponse.NAO_ENCONTRADO)),
+                new CepProvider("lento", cep -> lento)),
+                HedgingCepClient.Modo.RACE, Duration.ofSeconds(1), Duration.ofMillis(1), Duration.ofSeconds(1), 0.95);
+
+        assertThat(hedging.buscarCep("99999-999")).isSameAs(CepResponse.NAO_ENCONTRADO);
+        assertThat(hedging.hedgesDisparados()).isZero();
+        await().atMost(1, TimeUnit.SECONDS).until(lento::isCancelled);
+    }
+
+    @Test
+    void deveFalharQuandoTodasAsTentativasFalham() {
+        var hedging = hedge(List.of(
+                new CepProvider("falha", cep -> CompletableFuture.failedFuture(new IllegalStateException("fora do ar")))));
+
+        assertThatThrownBy(() -> hedging.buscarCep("04842-010"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("fora do ar");
+    }
+
+    @Test
+    void deveAdaptarAtrasoAoPercentilDoProvedor() {
+        var provedor = new CepProvider("viacep", cep -> CompletableFuture.completedFuture(response));
+        var hedging = new HedgingCepClient(List.of(provedor), HedgingCepClient.Modo.HEDGE,
+                Duration.ofMillis(200), Duration.ofMillis(5), Duration.ofSeconds(1), 0.95);
+        assertThat(hedging.atrasoDeHedge(provedor)).isEqualTo(Duration.ofMillis(200));
+
+        for (int i = 0; i < 100; i++) {
+            provedor.latencias().registrar(Duration.ofMillis(i < 90 ? 10 : 500).toNanos());
+        }
+
+        assertThat(hedging.atrasoDeHedge(provedor)).isBetween(Duration.ofMillis(400), Duration.ofMillis(650));
+        assertThat(provedor.latencias().percentil(0.5)).isBetween(Duration.ofMillis(10).toNanos(), Duration.ofMillis(13).toNanos());
+    }
+
+    private HedgingCepClient hedge(List<CepProvider> provedores) {
+        return new HedgingCepClient(provedores, HedgingCepClient.Modo.HEDGE,
+                Duration.ofMillis(30), Duration.ofMillis(1), Duration.ofSeconds(1), 0.95);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.support.StubViaCepServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClientResponseException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpAsyncCepClientTest {
+
+    private StubViaCepServer stub;
+    private HttpClient httpClient;
+    private HttpAsyncCepClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = StubViaCepServer.iniciar();
+        httpClient = HttpClient.newHttpClient();
+        client = new HttpAsyncCepClient(httpClient, stub.baseUrl(), Duration.ofSeconds(5), JsonMapper.builder().build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClient.close();
+        stub.close();
+    }
+
+    @Test
+    void deveConsultarCepSemBloquear() throws Exception {
+        var resposta = client.buscarCepAsync("04842-010").get(5, TimeUnit.SECONDS);
+
+        assertThat(resposta.cep()).isEqualTo("04842-010");
+        assertThat(resposta.localidade()).isEqualTo("São Paulo");
+    }
+
+    @Test
+    void deveRetornarNaoEncontradoQuandoApiRetornaErro() throws Exception {
+        var resposta = client.buscarCepAsync("123").get(5, TimeUnit.SECONDS);
+
+        assertThat(resposta).isSameAs(CepResponse.NAO_ENCONTRADO);
+    }
+
+    @Test
+    void deveManterMuitasConsultasEmAndamentoAoMesmoTempo() throws Exception {
+        stub.comLatencia(Duration.ofMillis(200));
+
+        var futuros = IntStream.range(0, 500)
+                .mapToObj(i -> client.buscarCepAsync(String.format("%08d", i)))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futuros).get(30, TimeUnit.SECONDS);
+
+        assertThat(stub.requisicoes()).isEqualTo(500);
+        assertThat(stub.maximoEmAndamento()).isGreaterThan(100);
+    }
+
+    @Test
+    void deveFalharComStatusDeErroDoUpstream() {
+        stub.comErros(1.0, 503);
+
+        assertThatThrownBy(() -> client.buscarCepAsync("04842-010").get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOfSatisfying(RestClientResponseException.class,
+                        e -> assertThat(e.getStatusCode().value()).isEqualTo(503));
+    }
+
+    @Test
+    void deveFalharSemConsultarQuandoCepInvalido() {
+        assertThat(client.buscarCepAsync("abc")).isCompletedExceptionally();
+        assertThat(stub.requisicoes()).isZero();
+    }
+}
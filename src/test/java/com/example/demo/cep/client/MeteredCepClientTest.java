@@ -0,0 +1,80 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.exception.CepIndisponivelException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MeteredCepClientTest {
+
+    private final CepResponse response = new CepResponse("04842-010", "Rua Exemplo", "", "Bairro", "São Paulo", "SP", null, null, null, null);
+
+    private SimpleMeterRegistry registry;
+    private CepClientPort delegate;
+    private MeteredCepClient client;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        delegate = mock(CepClientPort.class);
+        client = new MeteredCepClient(delegate, registry, "upstream");
+    }
+
+    @Test
+    void deveMedirConsultasPorResultado() {
+        when(delegate.buscarCep("04842-010")).thenReturn(response);
+        when(delegate.buscarCep("99999-999")).thenReturn(CepResponse.NAO_ENCONTRADO);
+
+        client.buscarCep("04842-010");
+        client.buscarCep("04842-010");
+        client.buscarCep("99999-999");
+
+        assertThat(contagem("success")).isEqualTo(2);
+        assertThat(contagem("not_found")).isEqualTo(1);
+        assertThat(registry.get("cep.lookup.active").tag("layer", "upstream").gauge().value()).isZero();
+    }
+
+    @Test
+    void deveContarErrosPorStatus() {
+        when(delegate.buscarCep("04842-010")).thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        when(delegate.buscarCep("01310-100")).thenThrow(new CepIndisponivelException("circuito aberto"));
+
+        assertThatThrownBy(() -> client.buscarCep("04842-010")).isInstanceOf(RestClientResponseException.class);
+        assertThatThrownBy(() -> client.buscarCep("01310-100")).isInstanceOf(CepIndisponivelException.class);
+
+        assertThat(contagem("http_error")).isEqualTo(1);
+        assertThat(contagem("rejected")).isEqualTo(1);
+        assertThat(registry.get("cep.lookup.errors").tag("status", "503").counter().count()).isEqualTo(1);
+        assertThat(registry.get("cep.lookup.errors").tag("status", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void deveMedirConsultaAssincronaAteConclusao() {
+        var pendente = new CompletableFuture<CepResponse>();
+        var async = new MeteredAsyncCepClient(cep -> pendente, registry, "upstream");
+
+        var resultado = async.buscarCepAsync("04842-010");
+        assertThat(registry.get("cep.lookup.active").tag("mode", "async").gauge().value()).isEqualTo(1);
+
+        pendente.complete(response);
+
+        assertThat(resultado.join()).isSameAs(response);
+        assertThat(registry.get("cep.lookup").tag("mode", "async").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get("cep.lookup.active").tag("mode", "async").gauge().value()).isZero();
+    }
+
+    private long contagem(String resultado) {
+        return registry.get("cep.lookup").tag("mode", "sync").tag("outcome", resultado).timer().count();
+    }
+}
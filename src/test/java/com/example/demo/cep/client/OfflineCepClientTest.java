@@ -0,0 +1,55 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.index.CepIndex;
+import com.example.demo.cep.index.CepIndexWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class OfflineCepClientTest {
+
+    @TempDir
+    Path dir;
+
+    private CepClientPort fallback;
+    private OfflineCepClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        var writer = new CepIndexWriter();
+        writer.adicionar(new CepResponse("04842-010", "Rua Exemplo", "", "Bairro", "São Paulo", "SP", null, null, null, null));
+        var arquivo = dir.resolve("ceps.idx");
+        writer.escrever(arquivo);
+
+        fallback = mock(CepClientPort.class);
+        client = new OfflineCepClient(CepIndex.abrir(arquivo), fallback);
+    }
+
+    @Test
+    void deveResponderDoIndiceSemChamarFallback() {
+        var resposta = client.buscarCep("04842010");
+
+        assertThat(resposta.localidade()).isEqualTo("São Paulo");
+        assertThat(client.buscarCepEmCache("04842-010")).isPresent();
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    void deveUsarFallbackParaCepForaDoIndice() {
+        var remoto = new CepResponse("01310-100", "Avenida Paulista", "", "Bela Vista", "São Paulo", "SP", null, null, null, null);
+        when(fallback.buscarCep("01310-100")).thenReturn(remoto);
+
+        assertThat(client.buscarCep("01310-100")).isSameAs(remoto);
+        verify(fallback).buscarCep("01310-100");
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.cluster.CepCluster;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.exception.CepIndisponivelException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PeerCepClientTest {
+
+    private static final String PEER = "http://localhost:8082";
+    private static final CepResponse RESPOSTA =
+            new CepResponse("04842-010", "Rua Exemplo", "", "Bairro", "São Paulo", "SP", null, null, null, null);
+
+    private CepClientPort upstream;
+    private CepCluster cluster;
+    private PeerCepClient client;
+
+    @BeforeEach
+    void setUp() {
+        upstream = mock(CepClientPort.class);
+        cluster = mock(CepCluster.class);
+        client = new PeerCepClient(upstream, cluster);
+    }
+
+    @Test
+    void devePerguntarAReplicaDonaDoCep() {
+        when(cluster.donoRemoto(4842010)).thenReturn(PEER);
+        when(cluster.buscar(PEER, "04842010")).thenReturn(RESPOSTA);
+
+        assertThat(client.buscarCep("04842-010")).isEqualTo(RESPOSTA);
+        assertThat(client.repassadas()).isEqualTo(1);
+        verifyNoInteractions(upstream);
+    }
+
+    @Test
+    void deveConsultarUpstreamQuandoOCepEDestaReplica() {
+        when(cluster.donoRemoto(anyInt())).thenReturn(null);
+        when(upstream.buscarCep("04842-010")).thenReturn(RESPOSTA);
+
+        assertThat(client.buscarCep("04842-010")).isEqualTo(RESPOSTA);
+        verify(cluster, never()).buscar(anyString(), anyString());
+    }
+
+    @Test
+    void deveConsultarUpstreamQuandoADonaFalha() {
+        when(cluster.donoRemoto(anyInt())).thenReturn(PEER);
+        when(cluster.buscar(PEER, "04842010")).thenThrow(new ResourceAccessException("Connection refused"));
+        when(upstream.buscarCep("04842-010")).thenReturn(RESPOSTA);
+
+        assertThat(client.buscarCep("04842-010")).isEqualTo(RESPOSTA);
+        assertThat(client.falhas()).isEqualTo(1);
+    }
+
+    @Test
+    void devePropagarRecusaDaDonaSemConsultarUpstream() {
+        when(cluster.donoRemoto(anyInt())).thenReturn(PEER);
+        when(cluster.buscar(PEER, "04842010")).thenThrow(new CepIndisponivelException("Réplica recusou a consulta: 503"));
+
+        assertThatThrownBy(() -> client.buscarCep("04842-010")).isInstanceOf(CepIndisponivelException.class);
+        assertThat(client.falhas()).isZero();
+        verifyNoInteractions(upstream);
+    }
+
+    @Test
+    void naoDeveRepassarConsultaQueVeioDeOutraReplica() {
+        when(cluster.donoRemoto(anyInt())).thenReturn(PEER);
+        when(upstream.buscarCep("04842-010")).thenReturn(RESPOSTA);
+
+        var resposta = ScopedValue.where(PeerCepClient.REPASSADA, Boolean.TRUE)
+                .call(() -> client.buscarCep("04842-010"));
+
+        assertThat(resposta).isEqualTo(RESPOSTA);
+        verifyNoInteractions(cluster);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.exception.CepIndisponivelException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RateLimitedCepClientTest {
+
+    private static final CepResponse RESPOSTA =
+            new CepResponse("04842-010", "Rua Exemplo", "", "Bairro", "São Paulo", "SP", null, null, null, null);
+
+    @Test
+    void deveRecusarSemConsultarUpstreamQuandoNaoHaFicha() {
+        var upstream = mock(CepClientPort.class);
+        when(upstream.buscarCep("04842-010")).thenReturn(RESPOSTA);
+        var client = new RateLimitedCepClient(upstream,
+                new UpstreamRateLimiter(1, 1, Duration.ZERO, Duration.ZERO, Duration.ZERO, 10));
+
+        assertThat(client.buscarCep("04842-010")).isEqualTo(RESPOSTA);
+        assertThatThrownBy(() -> client.buscarCep("04842-010")).isInstanceOf(CepIndisponivelException.class);
+        verify(upstream, times(1)).buscarCep("04842-010");
+    }
+
+    @Test
+    void deveLimitarCaminhoAssincronoComoInterativo() {
+        var upstream = mock(AsyncCepClientPort.class);
+        when(upstream.buscarCepAsync("04842-010")).thenReturn(CompletableFuture.completedFuture(RESPOSTA));
+        var limitador = new UpstreamRateLimiter(1, 1, Duration.ZERO, Duration.ZERO, Duration.ZERO, 10);
+        var client = new RateLimitedAsyncCepClient(upstream, limitador, Runnable::run);
+
+        assertThat(client.buscarCepAsync("04842-010")).isCompletedWithValue(RESPOSTA);
+        assertThat(client.buscarCepAsync("04842-010")).failsWithin(Duration.ZERO)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(CepIndisponivelException.class);
+        verify(upstream, times(1)).buscarCepAsync("04842-010");
+        assertThat(limitador.liberadas(CepPrioridade.INTERATIVA)).isEqualTo(1);
+        assertThat(limitador.recusadas(CepPrioridade.INTERATIVA)).isEqualTo(1);
+    }
+
+    @Test
+    void deveUsarAPrioridadeDaConsultaEmAndamento() {
+        var upstream = mock(CepClientPort.class);
+        when(upstream.buscarCep("04842-010")).thenReturn(RESPOSTA);
+        var limitador = new UpstreamRateLimiter(1, 2, Duration.ZERO, Duration.ZERO, Duration.ZERO, 10);
+        var client = new RateLimitedCepClient(upstream, limitador);
+
+        client.buscarCep("04842-010");
+        ScopedValue.where(CepPrioridade.ATUAL, CepPrioridade.LOTE).run(() -> client.buscarCep("04842-010"));
+
+        assertThat(limitador.liberadas(CepPrioridade.INTERATIVA)).isEqualTo(1);
+        assertThat(limitador.liberadas(CepPrioridade.LOTE)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.config.CepClientConfig;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.exception.CepIndisponivelException;
+import com.example.demo.cep.support.StubViaCepServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClientResponseException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilientCepClientTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private StubViaCepServer stub;
+    private CloseableHttpClient httpClient;
+    private CepClient upstream;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = StubViaCepServer.iniciar();
+        var config = new CepClientConfig();
+        var connectionManager = config.cepConnectionManager(100, 100, TIMEOUT, TIMEOUT, Duration.ofMinutes(5));
+        httpClient = config.cepHttpClient(connectionManager, Duration.ofSeconds(30));
+        upstream = new CepClient(config.restClient(stub.baseUrl(), httpClient, TIMEOUT, TIMEOUT));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        httpClient.close();
+        stub.close();
+    }
+
+    @Test
+    void deveAbrirCircuitoEFalharRapidoQuandoUpstreamFalha() {
+        stub.comErros(1.0, 503);
+        var client = resiliente(Duration.ofMinutes(1), limitador(Duration.ofSeconds(1)));
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> client.buscarCep("04842-010")).isInstanceOf(RestClientResponseException.class);
+        }
+        assertThatThrownBy(() -> client.buscarCep("04842-010")).isInstanceOf(CepIndisponivelException.class);
+
+        var estatisticas = client.estatisticas();
+        assertThat(stub.requisicoes()).isEqualTo(5);
+        assertThat(estatisticas.circuito()).isEqualTo(CircuitBreaker.Estado.ABERTO);
+        assertThat(estatisticas.falhas()).isEqualTo(5);
+        assertThat(estatisticas.rejeicoesCircuito()).isEqualTo(1);
+    }
+
+    @Test
+    void deveFecharCircuitoQuandoChamadasDeTesteTemSucesso() throws Exception {
+        stub.comErros(1.0, 503);
+        var client = resiliente(Duration.ofMillis(100), limitador(Duration.ofSeconds(1)));
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> client.buscarCep("04842-010")).isInstanceOf(RestClientResponseException.class);
+        }
+
+        stub.comErros(0, 503);
+        Thread.sleep(150);
+        for (int i = 0; i < 2; i++) {
+            assertThat(client.buscarCep("04842-010").localidade()).isEqualTo("São Paulo");
+        }
+
+        assertThat(client.estatisticas().circuito()).isEqualTo(CircuitBreaker.Estado.FECHADO);
+    }
+
+    @Test
+    void deveProtegerCaminhoAssincronoComOMesmoCircuito() {
+        stub.comErros(1.0, 503);
+        var client = resiliente(Duration.ofMinutes(1), limitador(Duration.ofSeconds(1)));
+
+        try (var http = HttpClient.newHttpClient()) {
+            var assincrono = client.assincrono(
+                    new HttpAsyncCepClient(http, stub.baseUrl(), TIMEOUT, JsonMapper.builder().build()));
+            for (int i = 0; i < 5; i++) {
+                assertThat(assincrono.buscarCepAsync("04842-010")).failsWithin(TIMEOUT)
+                        .withThrowableOfType(ExecutionException.class)
+                        .withCauseInstanceOf(RestClientResponseException.class);
+            }
+            assertThat(assincrono.buscarCepAsync("04842-010")).isCompletedExceptionally();
+            assertThatThrownBy(() -> client.buscarCep("04842-010")).isInstanceOf(CepIndisponivelException.class);
+        }
+
+        var estatisticas = client.estatisticas();
+        assertThat(stub.requisicoes()).isEqualTo(5);
+        assertThat(estatisticas.circuito()).isEqualTo(CircuitBreaker.Estado.ABERTO);
+        assertThat(estatisticas.falhas()).isEqualTo(5);
+        assertThat(estatisticas.rejeicoesCircuito()).isEqualTo(2);
+        assertThat(estatisticas.emAndamento()).isZero();
+    }
+
+    @Test
+    void deveServirCacheVencidoEnquantoUpstreamEstaIndisponivel() throws Exception {
+        var cache = new CepCache<CepResponse>(100, Duration.ofMillis(50));
+        var resiliente = resiliente(Duration.ofMinutes(1), limitador(Duration.ofSeconds(1)));
+        var client = new CachingCepClient(resiliente, cache, true, null, null, null);
+        var original = client.buscarCep("04842-010");
+
+        Thread.sleep(100);
+        stub.comErros(1.0, 503);
+        for (int i = 0; i < 10; i++) {
+            assertThat(client.buscarCep("04842-010")).isSameAs(original);
+        }
+
+        assertThat(resiliente.estatisticas().circuito()).isEqualTo(CircuitBreaker.Estado.ABERTO);
+        assertThat(client.respostasVencidas()).isEqualTo(10);
+        assertThatThrownBy(() -> client.buscarCep("01310-100")).isInstanceOf(CepIndisponivelException.class);
+    }
+
+    @Test
+    void deveReduzirLimiteERecusarExcessoQuandoUpstreamFicaLento() throws Exception {
+        stub.comLatencia(Duration.ofMillis(100));
+        var limitador = limitador(Duration.ofMillis(20));
+        var client = resiliente(Duration.ofMinutes(1), limitador);
+
+        var rejeitadas = 0;
+        try (var executor = Executors.newFixedThreadPool(16)) {
+            var futuros = new ArrayList<Future<?>>();
+            for (int i = 0; i < 64; i++) {
+                var cep = String.format("%08d", i);
+                futuros.add(executor.submit(() -> client.buscarCep(cep)));
+            }
+            for (var futuro : futuros) {
+                try {
+                    futuro.get();
+                } catch (Exception e) {
+                    assertThat(e).hasCauseInstanceOf(CepIndisponivelException.class);
+                    rejeitadas++;
+                }
+            }
+        }
+
+        assertThat(limitador.limite()).isEqualTo(2);
+        assertThat(rejeitadas).isPositive();
+        assertThat(stub.maximoEmAndamento()).isLessThanOrEqualTo(10);
+    }
+
+    private ResilientCepClient resiliente(Duration tempoAberto, AdaptiveConcurrencyLimiter limitador) {
+        return new ResilientCepClient(upstream, new CircuitBreaker(10, 5, 0.5, tempoAberto, 2),
+                limitador, Duration.ofSeconds(2));
+    }
+
+    private static AdaptiveConcurrencyLimiter limitador(Duration latenciaAlvo) {
+        return new AdaptiveConcurrencyLimiter(10, 2, 50, 0.5, latenciaAlvo);
+    }
+}
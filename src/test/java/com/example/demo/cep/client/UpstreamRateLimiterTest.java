@@ -0,0 +1,80 @@
+package com.example.demo.cep.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class UpstreamRateLimiterTest {
+
+    @Test
+    void deveLiberarRajadaERecusarNaHoraQuandoEsperaPassaDoLimite() {
+        var limitador = new UpstreamRateLimiter(1, 2, Duration.ofMillis(100), Duration.ofSeconds(5),
+                Duration.ofSeconds(5), 100);
+
+        assertThat(limitador.adquirir(CepPrioridade.INTERATIVA)).isTrue();
+        assertThat(limitador.adquirir(CepPrioridade.INTERATIVA)).isTrue();
+
+        long inicio = System.nanoTime();
+        assertThat(limitador.adquirir(CepPrioridade.INTERATIVA)).isFalse();
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofMillis(50));
+        assertThat(limitador.liberadas(CepPrioridade.INTERATIVA)).isEqualTo(2);
+        assertThat(limitador.recusadas(CepPrioridade.INTERATIVA)).isEqualTo(1);
+    }
+
+    @Test
+    void deveAtenderInterativasAntesDeLotes() {
+        var limitador = new UpstreamRateLimiter(2, 1, Duration.ofSeconds(2), Duration.ofSeconds(2),
+                Duration.ofSeconds(2), 100);
+        assertThat(limitador.adquirir(CepPrioridade.INTERATIVA)).isTrue();
+        List<CepPrioridade> ordem = new CopyOnWriteArrayList<>();
+
+        var lote = CompletableFuture.runAsync(() -> {
+            if (limitador.adquirir(CepPrioridade.LOTE)) {
+                ordem.add(CepPrioridade.LOTE);
+            }
+        });
+        await().until(() -> limitador.naFila() == 1);
+        var interativa = CompletableFuture.runAsync(() -> {
+            if (limitador.adquirir(CepPrioridade.INTERATIVA)) {
+                ordem.add(CepPrioridade.INTERATIVA);
+            }
+        });
+
+        CompletableFuture.allOf(lote, interativa).join();
+        assertThat(ordem).containsExactly(CepPrioridade.INTERATIVA, CepPrioridade.LOTE);
+    }
+
+    @Test
+    void deveDesistirQuandoPrioritariasPassamNaFrenteAlemDaEsperaMaxima() {
+        var limitador = new UpstreamRateLimiter(2, 1, Duration.ofSeconds(2), Duration.ofMillis(700),
+                Duration.ofSeconds(2), 100);
+        assertThat(limitador.adquirir(CepPrioridade.INTERATIVA)).isTrue();
+
+        var lote = CompletableFuture.supplyAsync(() -> limitador.adquirir(CepPrioridade.LOTE));
+        await().until(() -> limitador.naFila() == 1);
+        var interativa = CompletableFuture.supplyAsync(() -> limitador.adquirir(CepPrioridade.INTERATIVA));
+
+        assertThat(interativa.join()).isTrue();
+        assertThat(lote.join()).isFalse();
+        assertThat(limitador.expiradas(CepPrioridade.LOTE)).isEqualTo(1);
+        assertThat(limitador.naFila()).isZero();
+    }
+
+    @Test
+    void deveRecusarQuandoAFilaEstaCheia() {
+        var limitador = new UpstreamRateLimiter(1, 1, Duration.ofSeconds(5), Duration.ofSeconds(5),
+                Duration.ofSeconds(5), 1);
+        assertThat(limitador.adquirir(CepPrioridade.INTERATIVA)).isTrue();
+        var primeira = CompletableFuture.supplyAsync(() -> limitador.adquirir(CepPrioridade.INTERATIVA));
+        await().until(() -> limitador.naFila() == 1);
+
+        assertThat(limitador.adquirir(CepPrioridade.INTERATIVA)).isFalse();
+        assertThat(primeira.join()).isTrue();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.dto.CepResponse;
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ViaCepResponseDecoderTest {
+
+    private static final String VIACEP = """
+            {
+              "cep": "04842-010",
+              "logradouro": "Rua Exemplo",
+              "complemento": "",
+              "unidade": "",
+              "bairro": "Bairro",
+              "localidade": "São Paulo",
+              "uf": "SP",
+              "estado": "São Paulo",
+              "regiao": "Sudeste",
+              "ibge": "3550308",
+              "gia": "1004",
+              "ddd": "11",
+              "siafi": "7107"
+            }""";
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final ViaCepResponseDecoder decoder = new ViaCepResponseDecoder(jsonMapper);
+
+    @Test
+    void deveLerComoOBindingPadrao() {
+        var corpo = VIACEP.getBytes(StandardCharsets.UTF_8);
+
+        var resposta = decoder.ler(new ByteArrayInputStream(corpo));
+
+        assertThat(resposta).isEqualTo(jsonMapper.readValue(corpo, CepResponse.class));
+        assertThat(decoder.ler(corpo)).isEqualTo(resposta);
+    }
+
+    @Test
+    void devePularCamposDesconhecidosDeQualquerTipo() {
+        var resposta = decoder.ler(bytes("""
+                {"extra": {"a": [1, {"cep": "99999-999"}]}, "lista": [1, 2], "cep": "01310-100",
+                 "ddd": 11, "uf": "sp", "gia": null, "ibge": ["x"]}"""));
+
+        assertThat(resposta).isEqualTo(
+                new CepResponse("01310-100", null, null, null, null, "sp", null, null, "11", null));
+    }
+
+    @Test
+    void deveCompartilharUfEDdd() {
+        var primeira = decoder.ler(bytes(VIACEP));
+        var segunda = decoder.ler(bytes(VIACEP));
+
+        assertThat(segunda.uf()).isSameAs(primeira.uf());
+        assertThat(segunda.ddd()).isSameAs(primeira.ddd());
+        assertThat(segunda.bairro()).isNotSameAs(primeira.bairro());
+    }
+
+    @Test
+    void deveTratarErroECorpoVazioComoNaoEncontrado() {
+        assertThat(decoder.ler(bytes("{\"erro\": true}"))).isSameAs(CepResponse.NAO_ENCONTRADO);
+        assertThat(decoder.ler(bytes("{\"erro\": \"true\"}"))).isSameAs(CepResponse.NAO_ENCONTRADO);
+        assertThat(decoder.ler(new byte[0])).isSameAs(CepResponse.NAO_ENCONTRADO);
+    }
+
+    @Test
+    void deveFalharComJsonInvalido() {
+        assertThatThrownBy(() -> decoder.ler(bytes("{\"cep\": "))).isInstanceOf(JacksonException.class);
+        assertThatThrownBy(() -> decoder.ler(bytes("[1, 2]"))).isInstanceOf(JacksonException.class);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.demo.cep.client;
+
+import com.example.demo.cep.config.CepClientConfig;
+import com.example.demo.cep.support.MedidorDeCarga;
+import com.example.demo.cep.support.StubViaCepServer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mede como a vazão escala com o número de consultas em andamento contra um upstream lento (100 ms),
+ * comparando 200 threads de plataforma (o pool padrão do Tomcat) com uma virtual thread por consulta.
+ *
+ * <p>Rodar com {@code ./mvnw test -Pbenchmark -Dtest=VirtualThreadScalingBenchmarkTest}.</p>
+ */
+@Tag("benchmark")
+class VirtualThreadScalingBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadScalingBenchmarkTest.class);
+    private static final int THREADS_PLATAFORMA = 200;
+    private static final int[] EM_ANDAMENTO = {200, 1_000, 5_000, 10_000};
+    private static final Duration LATENCIA_UPSTREAM = Duration.ofMillis(100);
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Test
+    void deveEscalarComVirtualThreads() throws Exception {
+        try (var stub = StubViaCepServer.iniciar().comLatencia(LATENCIA_UPSTREAM)) {
+            var config = new CepClientConfig();
+            var connectionManager = config.cepConnectionManager(10_000, 10_000, TIMEOUT, TIMEOUT, Duration.ofMinutes(5));
+            try (var httpClient = config.cepHttpClient(connectionManager, Duration.ofSeconds(30))) {
+                var client = new CepClient(config.restClient(stub.baseUrl(), httpClient, TIMEOUT, TIMEOUT));
+
+                for (int emAndamento : EM_ANDAMENTO) {
+                    int operacoes = emAndamento * 3;
+
+                    MedidorDeCarga.Resultado plataforma;
+                    try (var executor = Executors.newFixedThreadPool(THREADS_PLATAFORMA)) {
+                        plataforma = medir(executor, Math.min(emAndamento, THREADS_PLATAFORMA), operacoes, client);
+                    }
+                    MedidorDeCarga.Resultado virtuais;
+                    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                        virtuais = medir(executor, emAndamento, operacoes, client);
+                    }
+
+                    log.info("{} em andamento, threads de plataforma: {}", emAndamento, plataforma);
+                    log.info("{} em andamento, virtual threads      : {}", emAndamento, virtuais);
+
+                    assertThat(virtuais.falhas()).isZero();
+                    if (emAndamento > THREADS_PLATAFORMA) {
+                        assertThat(virtuais.vazaoPorSegundo()).isGreaterThan(plataforma.vazaoPorSegundo());
+                    }
+                }
+            }
+        }
+    }
+
+    private static MedidorDeCarga.Resultado medir(ExecutorService executor, int concorrencia, int operacoes,
+                                                  CepClient client) throws Exception {
+        return MedidorDeCarga.medir(executor, concorrencia, operacoes,
+                i -> client.buscarCep(String.format("%08d", i % 100_000)));
+    }
+}
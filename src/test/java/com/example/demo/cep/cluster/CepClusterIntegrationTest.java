@@ -0,0 +1,127 @@
+package com.example.demo.cep.cluster;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.cep.support.StubViaCepServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sobe três réplicas da aplicação em portas de {@code localhost}, todas apontando para o mesmo
+ * {@link StubViaCepServer}, e confere que cada CEP é buscado no upstream uma única vez para o cluster.
+ */
+class CepClusterIntegrationTest {
+
+    private static final int REPLICAS = 3;
+    private static final List<String> CEPS = IntStream.range(0, 30)
+            .mapToObj(i -> String.format("0484%04d", i))
+            .toList();
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final List<ConfigurableApplicationContext> replicas = new ArrayList<>();
+    private final List<String> urls = new ArrayList<>();
+    private StubViaCepServer stub;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = StubViaCepServer.iniciar();
+        var portas = new ArrayList<Integer>();
+        for (int i = 0; i < REPLICAS; i++) {
+            portas.add(portaLivre());
+            urls.add("http://localhost:" + portas.get(i));
+        }
+        for (int i = 0; i < REPLICAS; i++) {
+            replicas.add(new SpringApplicationBuilder(DemoApplication.class)
+                    .properties(
+                            "server.port=" + portas.get(i),
+                            "cep.client.base-url=" + stub.baseUrl(),
+                            "cep.cluster.peers=" + String.join(",", urls),
+                            "cep.cluster.self=" + urls.get(i),
+                            "spring.main.banner-mode=off")
+                    .run());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicas.forEach(ConfigurableApplicationContext::close);
+        stub.close();
+    }
+
+    @Test
+    void deveBuscarCadaCepNoUpstreamUmaVezParaOCluster() throws Exception {
+        for (var url : urls) {
+            for (var cep : CEPS) {
+                var resposta = get(url + "/ceps/" + cep);
+                assertThat(resposta.statusCode()).isEqualTo(200);
+                assertThat(resposta.body()).contains("\"logradouro\":\"Rua " + cep + "\"");
+            }
+        }
+
+        assertThat(stub.requisicoes()).isEqualTo(CEPS.size());
+    }
+
+    @Test
+    void deveConsultarUpstreamQuandoAReplicaDonaNaoEstaEmModoCluster() throws Exception {
+        var anel = new ConsistentHashRing(urls, 160);
+        var semCluster = urls.get(2);
+        replicas.remove(2).close();
+        replicas.add(new SpringApplicationBuilder(DemoApplication.class)
+                .properties(
+                        "server.port=" + URI.create(semCluster).getPort(),
+                        "cep.client.base-url=" + stub.baseUrl(),
+                        "spring.main.banner-mode=off")
+                .run());
+
+        var cepsDaReplica = CEPS.stream()
+                .filter(cep -> anel.dono(Integer.parseInt(cep)).equals(semCluster))
+                .toList();
+        assertThat(cepsDaReplica).isNotEmpty();
+        for (var cep : cepsDaReplica) {
+            var resposta = get(urls.get(0) + "/ceps/" + cep);
+            assertThat(resposta.statusCode()).isEqualTo(200);
+            assertThat(resposta.body()).contains("\"logradouro\":\"Rua " + cep + "\"");
+        }
+        assertThat(stub.requisicoes()).isEqualTo(cepsDaReplica.size());
+    }
+
+    @Test
+    void deveConsultarUpstreamQuandoAReplicaDonaCai() throws Exception {
+        var anel = new ConsistentHashRing(urls, 160);
+        var caida = urls.get(2);
+        replicas.remove(2).close();
+
+        var cepsDaCaida = CEPS.stream()
+                .filter(cep -> anel.dono(Integer.parseInt(cep)).equals(caida))
+                .toList();
+        assertThat(cepsDaCaida).isNotEmpty();
+        for (var cep : cepsDaCaida) {
+            assertThat(get(urls.get(0) + "/ceps/" + cep).statusCode()).isEqualTo(200);
+        }
+        assertThat(stub.requisicoes()).isEqualTo(cepsDaCaida.size());
+    }
+
+    private HttpResponse<String> get(String url) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static int portaLivre() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.cep.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final List<String> NOS = List.of("http://localhost:8081", "http://localhost:8082", "http://localhost:8083");
+
+    @Test
+    void deveDistribuirChavesDeFormaEquilibrada() {
+        var anel = new ConsistentHashRing(NOS, 160);
+
+        var contagem = new HashMap<String, Integer>();
+        for (int chave = 0; chave < 300_000; chave++) {
+            contagem.merge(anel.dono(chave), 1, Integer::sum);
+        }
+
+        assertThat(contagem).containsOnlyKeys(NOS);
+        assertThat(contagem.values()).allSatisfy(n -> assertThat(n).isBetween(70_000, 130_000));
+    }
+
+    @Test
+    void deveConcordarEntreInstanciasComAMesmaLista() {
+        var a = new ConsistentHashRing(NOS, 160);
+        var b = new ConsistentHashRing(List.copyOf(NOS), 160);
+
+        for (int chave = 0; chave < 10_000; chave++) {
+            assertThat(a.dono(chave)).isEqualTo(b.dono(chave));
+        }
+    }
+
+    @Test
+    void deveMoverApenasAsChavesDoNoIncluido() {
+        var antes = new ConsistentHashRing(NOS, 160);
+        var novo = "http://localhost:8084";
+        var depois = new ConsistentHashRing(List.of(NOS.get(0), NOS.get(1), NOS.get(2), novo), 160);
+
+        int movidas = 0;
+        for (int chave = 0; chave < 100_000; chave++) {
+            var dono = depois.dono(chave);
+            if (!dono.equals(antes.dono(chave))) {
+                movidas++;
+                assertThat(dono).isEqualTo(novo);
+            }
+        }
+        assertThat(movidas).isBetween(15_000, 35_000);
+    }
+
+    @Test
+    void deveRejeitarNosRepetidos() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of("a", "a"), 16))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.demo.cep.config;
+
+import com.example.demo.cep.client.CepClient;
+import com.example.demo.cep.support.StubViaCepServer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CepClientConfigTest {
+
+    private final CepClientConfig config = new CepClientConfig();
+
+    @Test
+    void deveReaproveitarConexoesDoPool() throws Exception {
+        try (var stub = StubViaCepServer.iniciar()) {
+            var connectionManager = config.cepConnectionManager(10, 10, Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofMinutes(5));
+            try (var httpClient = config.cepHttpClient(connectionManager, Duration.ofSeconds(30))) {
+                var client = new CepClient(config.restClient(stub.baseUrl(), httpClient, Duration.ofSeconds(1), Duration.ofSeconds(1)));
+
+                for (int i = 0; i < 5; i++) {
+                    assertThat(client.buscarCep("04842-010").localidade()).isEqualTo("São Paulo");
+                }
+
+                var stats = connectionManager.getTotalStats();
+                assertThat(stub.requisicoes()).isEqualTo(5);
+                assertThat(stats.getLeased()).isZero();
+                assertThat(stats.getAvailable()).isEqualTo(1);
+            }
+        }
+    }
+}
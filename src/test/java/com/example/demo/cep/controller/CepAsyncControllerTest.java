@@ -0,0 +1,57 @@
+package com.example.demo.cep.controller;
+
+import com.example.demo.cep.dto.CepInfo;
+import com.example.demo.cep.exception.GlobalExceptionHandler;
+import com.example.demo.cep.service.CepService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class CepAsyncControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private CepService cepService;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new CepAsyncController(cepService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void deveRetornarCepQuandoFuturoCompletar() throws Exception {
+        var info = new CepInfo("04842-010", "Rua Exemplo", "", "Bairro", "São Paulo", "SP");
+        when(cepService.obterCepAsync("04842-010")).thenReturn(CompletableFuture.completedFuture(info));
+
+        var resultado = mockMvc.perform(get("/async/ceps/04842-010"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cidade").value("São Paulo"));
+    }
+
+    @Test
+    void deveRetornarBadRequestQuandoCepInvalido() throws Exception {
+        mockMvc.perform(get("/async/ceps/abc"))
+                .andExpect(status().isBadRequest());
+    }
+}
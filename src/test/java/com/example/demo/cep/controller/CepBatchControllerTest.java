@@ -0,0 +1,66 @@
+package com.example.demo.cep.controller;
+
+import com.example.demo.cep.dto.CepBatchItem;
+import com.example.demo.cep.dto.CepBatchResponse;
+import com.example.demo.cep.dto.CepInfo;
+import com.example.demo.cep.exception.GlobalExceptionHandler;
+import com.example.demo.cep.service.CepBatchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class CepBatchControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private CepBatchService cepBatchService;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new CepBatchController(cepBatchService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void deveRetornarResultadosPorCep() throws Exception {
+        var info = new CepInfo("04842-010", "Rua Exemplo", "", "Bairro", "São Paulo", "SP");
+        when(cepBatchService.buscarEmLote(List.of("04842-010", "abc"))).thenReturn(CepBatchResponse.de(List.of(
+                CepBatchItem.sucesso("04842-010", info),
+                CepBatchItem.falha("abc", 400, "CEP deve seguir o padrão 99999-999"))));
+
+        mockMvc.perform(post("/ceps/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ceps\":[\"04842-010\",\"abc\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.falhas").value(1))
+                .andExpect(jsonPath("$.resultados[0].dados.cidade").value("São Paulo"))
+                .andExpect(jsonPath("$.resultados[1].status").value(400))
+                .andExpect(jsonPath("$.resultados[1].dados").doesNotExist());
+    }
+
+    @Test
+    void deveRetornarBadRequestQuandoLoteInvalido() throws Exception {
+        when(cepBatchService.buscarEmLote(List.of())).thenThrow(new IllegalArgumentException("Lista de CEPs não pode ser vazia"));
+
+        mockMvc.perform(post("/ceps/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ceps\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.demo.cep.controller;
 
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.exception.CepNaoEncontradoException;
 import com.example.demo.cep.exception.GlobalExceptionHandler;
 import com.example.demo.cep.dto.CepInfo;
+import com.example.demo.cep.service.CepJsonService;
 import com.example.demo.cep.service.CepService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,9 +13,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.time.Duration;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -26,7 +36,9 @@ class CepControllerTest {
 
     @BeforeEach
     void setUp() {
-        var controller = new CepController(cepService);
+        var cepJsonService = new CepJsonService(cepService, new CepCache<>(100, Duration.ofMinutes(5)), null, null,
+                JsonMapper.builder().build());
+        var controller = new CepController(cepJsonService, Duration.ofHours(1));
         mockMvc = MockMvcBuilders.standaloneSetup(controller)
                 .setControllerAdvice(new GlobalExceptionHandler())
                 .build();
@@ -43,9 +55,50 @@ class CepControllerTest {
                 .andExpect(jsonPath("$.cidade").value("São Paulo"));
     }
 
+    @Test
+    void deveResponderComETagEReaproveitarJsonSerializado() throws Exception {
+        var info = new CepInfo("04842-010", "Rua Exemplo", "", "Bairro", "São Paulo", "SP");
+        when(cepService.obterCep("04842-010")).thenReturn(info);
+
+        var etag = mockMvc.perform(get("/ceps/04842-010"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=3600, public"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/ceps/04842-010"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag));
+        verify(cepService, times(1)).obterCep("04842-010");
+    }
+
+    @Test
+    void deveRetornarNotModifiedQuandoETagCorresponde() throws Exception {
+        var info = new CepInfo("04842-010", "Rua Exemplo", "", "Bairro", "São Paulo", "SP");
+        when(cepService.obterCep("04842-010")).thenReturn(info);
+        var etag = mockMvc.perform(get("/ceps/04842-010")).andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/ceps/04842-010").header("If-None-Match", "\"outro\", W/" + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get("/ceps/04842-010").header("If-None-Match", "\"outro\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deveRetornarNotFoundQuandoCepNaoExiste() throws Exception {
+        when(cepService.obterCep("99999-999")).thenThrow(new CepNaoEncontradoException("CEP não encontrado"));
+
+        mockMvc.perform(get("/ceps/99999-999"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("CEP não encontrado"));
+    }
+
     @Test
     void deveRetornarBadRequestQuandoCepInvalido() throws Exception {
         mockMvc.perform(get("/ceps/abc"))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("CEP deve seguir o padrão 99999-999"))
+                .andExpect(jsonPath("$.path").value("/ceps/abc"));
     }
 }
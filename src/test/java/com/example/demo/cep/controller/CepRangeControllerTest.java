@@ -0,0 +1,89 @@
+package com.example.demo.cep.controller;
+
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepInfo;
+import com.example.demo.cep.exception.GlobalExceptionHandler;
+import com.example.demo.cep.index.CepKeyIndex;
+import com.example.demo.cep.service.CepRangeService;
+import com.example.demo.cep.service.CepService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CepRangeControllerTest {
+
+    private MockMvc mockMvc;
+    private CepService cepService;
+
+    @BeforeEach
+    void setUp() {
+        var index = new CepKeyIndex();
+        index.adicionarTodas(new int[]{1310100, 1310200, 1310300, 1311000, 4842010});
+        cepService = mock(CepService.class);
+        when(cepService.espiarCepEmCache(anyString())).thenAnswer(inv -> {
+            String cep = inv.getArgument(0);
+            return Optional.of(new CepInfo(cep, "Rua " + cep, "", "Bela Vista", "São Paulo", "SP"));
+        });
+        var service = new CepRangeService(index, cepService, JsonMapper.builder().build(), 1000);
+        mockMvc = MockMvcBuilders.standaloneSetup(new CepRangeController(service))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void deveListarCepsDoPrefixoEmOrdem() throws Exception {
+        assertThat(linhas("/ceps?prefixo=01310")).satisfiesExactly(
+                l -> assertThat(l).contains("\"cep\":\"01310-100\""),
+                l -> assertThat(l).contains("\"cep\":\"01310-200\""),
+                l -> assertThat(l).contains("\"cep\":\"01310-300\""));
+    }
+
+    @Test
+    void devePaginarPeloUltimoCepRecebido() throws Exception {
+        assertThat(linhas("/ceps?de=01310000&ate=01319999&limite=2")).hasSize(2);
+        assertThat(linhas("/ceps?de=01310000&ate=01319999&limite=2&apos=01310-200")).satisfiesExactly(
+                l -> assertThat(l).contains("\"cep\":\"01310-300\""),
+                l -> assertThat(l).contains("\"cep\":\"01311-000\""));
+    }
+
+    @Test
+    void devePularCepsSemDadosLocais() throws Exception {
+        when(cepService.espiarCepEmCache(Cep.formatar(1310200))).thenReturn(Optional.empty());
+
+        assertThat(linhas("/ceps?prefixo=01310-")).hasSize(2);
+    }
+
+    @Test
+    void deveRetornarBadRequestParaConsultaInvalida() throws Exception {
+        mockMvc.perform(get("/ceps?prefixo=01a"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Prefixo deve ter de 1 a 8 dígitos"));
+        mockMvc.perform(get("/ceps?prefixo=01310&de=01310000&ate=01319999"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/ceps?de=01319999&ate=01310000"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/ceps?prefixo=01310&limite=5000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<String> linhas(String url) throws Exception {
+        var resultado = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn();
+        return resultado.getResponse().getContentAsString(StandardCharsets.UTF_8).lines().toList();
+    }
+}
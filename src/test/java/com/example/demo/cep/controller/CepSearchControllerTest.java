@@ -0,0 +1,93 @@
+package com.example.demo.cep.controller;
+
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepInfo;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.exception.GlobalExceptionHandler;
+import com.example.demo.cep.index.CepSearchIndex;
+import com.example.demo.cep.service.CepSearchService;
+import com.example.demo.cep.service.CepService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CepSearchControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        var index = new CepSearchIndex();
+        index.adicionar(1310100, new CepResponse("01310-100", "Avenida Paulista", "", "Bela Vista", "São Paulo", "SP", null, null, null, null));
+        index.adicionar(1311000, new CepResponse("01311-000", "Avenida Paulista", "", "Bela Vista", "São Paulo", "SP", null, null, null, null));
+        index.adicionar(1305000, new CepResponse("01305-000", "Rua Augusta", "", "Consolação", "São Paulo", "SP", null, null, null, null));
+        var cepService = mock(CepService.class);
+        when(cepService.espiarCepEmCache(anyString())).thenAnswer(inv -> {
+            String cep = inv.getArgument(0);
+            return Optional.of(new CepInfo(cep, "Avenida Paulista", "", "Bela Vista", "São Paulo", "SP"));
+        });
+        mockMvc = MockMvcBuilders.standaloneSetup(new CepSearchController(new CepSearchService(index, cepService, 100)))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void deveBuscarCepsPeloEndereco() throws Exception {
+        mockMvc.perform(get("/ceps/busca").param("logradouro", "paulista").param("cidade", "SAO PAULO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].cep").value("01310-100"))
+                .andExpect(jsonPath("$[1].cep").value("01311-000"));
+    }
+
+    @Test
+    void deveRespeitarLimite() throws Exception {
+        mockMvc.perform(get("/ceps/busca").param("uf", "sp").param("limite", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].cep").value("01305-000"));
+    }
+
+    @Test
+    void deveContinuarLendoOIndiceQuandoPrimeirosCepsSairamDoCache() throws Exception {
+        var index = new CepSearchIndex();
+        for (int chave = 1_000_000; chave < 1_000_300; chave++) {
+            index.adicionar(chave, new CepResponse(Cep.formatar(chave), "Rua Augusta", "", "Consolação", "São Paulo",
+                    "SP", null, null, null, null));
+        }
+        var cepService = mock(CepService.class);
+        // só os 20 últimos CEPs ainda têm dados locais
+        when(cepService.espiarCepEmCache(anyString())).thenAnswer(inv -> {
+            String cep = inv.getArgument(0);
+            return Cep.parse(cep) >= 1_000_280
+                    ? Optional.of(new CepInfo(cep, "Rua Augusta", "", "Consolação", "São Paulo", "SP"))
+                    : Optional.empty();
+        });
+        var mvc = MockMvcBuilders.standaloneSetup(new CepSearchController(new CepSearchService(index, cepService, 100)))
+                .build();
+
+        mvc.perform(get("/ceps/busca").param("logradouro", "augusta").param("limite", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(10))
+                .andExpect(jsonPath("$[0].cep").value("01000-280"))
+                .andExpect(jsonPath("$[9].cep").value("01000-289"));
+    }
+
+    @Test
+    void deveRetornarBadRequestSemCampos() throws Exception {
+        mockMvc.perform(get("/ceps/busca"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/ceps/busca").param("uf", "sp").param("limite", "500"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.cep.dto;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CepTest {
+
+    @Test
+    void deveConverterFormatosAceitosEmInteiro() {
+        assertThat(Cep.parse("04842-010")).isEqualTo(4842010);
+        assertThat(Cep.parse("04842010")).isEqualTo(4842010);
+        assertThat(Cep.parse("99999999")).isEqualTo(99999999);
+        assertThat(Cep.parse("00000-000")).isZero();
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"abc", "0484201", "048420100", "04842_010", "0484-2010", "04842-01a", "04.842-010", " 04842010"})
+    void deveRecusarFormatosInvalidosSemLancarExcecao(String entrada) {
+        assertThat(Cep.parse(entrada)).isEqualTo(Cep.INVALIDO);
+        assertThat(Cep.valido(entrada)).isFalse();
+    }
+
+    @Test
+    void deveFormatarComESemHifen() {
+        var cep = new Cep(Cep.parse("01310100"));
+
+        assertThat(cep.formatado()).isEqualTo("01310-100");
+        assertThat(cep.digitos()).isEqualTo("01310100");
+        assertThat(Cep.formatar(0)).isEqualTo("00000-000");
+    }
+
+    @Test
+    void naoDeveCriarCepForaDaFaixa() {
+        assertThatThrownBy(() -> new Cep(Cep.INVALIDO)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Cep(100_000_000)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -53,6 +53,22 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().path()).isEmpty();
     }
 
+    @Test
+    void handleCepIndisponivel_deveRetornar503ComMensagem() {
+        // Arrange
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/ceps/04842-010");
+        WebRequest webRequest = new ServletWebRequest(servletRequest);
+
+        // Act
+        var response = handler.handleCepIndisponivel(new CepIndisponivelException("Serviço de CEP temporariamente indisponível"), webRequest);
+
+        // Assert
+        assertThat(response.getStatusCode().value()).isEqualTo(503);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().message()).isEqualTo("Serviço de CEP temporariamente indisponível");
+        assertThat(response.getBody().path()).isEqualTo("/ceps/04842-010");
+    }
+
     @Test
     void handleConstraintViolation_deveConsolidarMensagensEretornar400() {
         // Arrange
@@ -0,0 +1,90 @@
+package com.example.demo.cep.index;
+
+import com.example.demo.cep.dto.CepResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CepIndexTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void deveGerarEMapearIndiceAPartirDaBase() throws IOException {
+        var base = dir.resolve("ceps.txt");
+        Files.writeString(base, """
+                # cep;logradouro;complemento;bairro;localidade;uf;ibge;gia;ddd;siafi
+                04842-010;Rua Exemplo;;Bairro;São Paulo;SP;3550308;1004;11;7107
+                01310100;Avenida Paulista;de 612 a 1510 - lado par;Bela Vista;São Paulo;SP;3550308;1004;11;7107
+                20040020;Rua da Assembleia;;Centro;Rio de Janeiro;RJ
+                """, StandardCharsets.UTF_8);
+        var arquivo = dir.resolve("ceps.idx");
+
+        int registros = CepIndexWriter.gerar(base, arquivo);
+        var index = CepIndex.abrir(arquivo);
+
+        assertThat(registros).isEqualTo(3);
+        assertThat(index.tamanho()).isEqualTo(3);
+        assertThat(index.chave(0)).isEqualTo(1310100);
+        assertThat(index.buscar(4842010)).isEqualTo(new CepResponse("04842-010", "Rua Exemplo", "", "Bairro",
+                "São Paulo", "SP", "3550308", "1004", "11", "7107"));
+        assertThat(index.buscar(20040020)).isEqualTo(new CepResponse("20040-020", "Rua da Assembleia", "", "Centro",
+                "Rio de Janeiro", "RJ", null, null, null, null));
+        assertThat(index.buscar(99999999)).isNull();
+        assertThat(index.contem(1310100)).isTrue();
+    }
+
+    @Test
+    void deveReaproveitarTermosRepetidosEManterUltimaOcorrencia() throws IOException {
+        var writer = new CepIndexWriter();
+        writer.adicionar(new CepResponse("04842-010", "Rua Antiga", "", "Bairro", "São Paulo", "SP", null, null, "11", null));
+        writer.adicionar(new CepResponse("01310-100", "Avenida Paulista", "", "Bela Vista", "São Paulo", "SP", null, null, "11", null));
+        writer.adicionar(new CepResponse("04842-010", "Rua Nova", "", "Bairro", "São Paulo", "SP", null, null, "11", null));
+        var arquivo = dir.resolve("ceps.idx");
+
+        int registros = writer.escrever(arquivo);
+        var index = CepIndex.abrir(arquivo);
+
+        assertThat(registros).isEqualTo(2);
+        assertThat(index.buscar(4842010).logradouro()).isEqualTo("Rua Nova");
+        assertThat(index.buscar(4842010).localidade()).isSameAs(index.buscar(1310100).localidade());
+    }
+
+    @Test
+    void devePularLinhasComCepInvalidoAoGerarIndice() throws IOException {
+        var base = dir.resolve("ceps.txt");
+        Files.writeString(base, """
+                04842-010;Rua Exemplo;;Bairro;São Paulo;SP
+                123;Rua Sem CEP
+                01310100;Avenida Paulista;;Bela Vista;São Paulo;SP
+                """, StandardCharsets.UTF_8);
+        var arquivo = dir.resolve("ceps.idx");
+
+        assertThat(CepIndexWriter.gerar(base, arquivo)).isEqualTo(2);
+        assertThat(CepIndex.abrir(arquivo).contem(1310100)).isTrue();
+    }
+
+    @Test
+    void deveRejeitarArquivoQueNaoEhIndice() throws IOException {
+        var arquivo = dir.resolve("outro.idx");
+        Files.writeString(arquivo, "isto não é um índice");
+
+        assertThatThrownBy(() -> CepIndex.abrir(arquivo))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void deveRejeitarLinhaComCepInvalido() {
+        assertThatThrownBy(() -> CepCsvParser.parse("123;Rua"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(CepCsvParser.parse("")).isNull();
+    }
+}
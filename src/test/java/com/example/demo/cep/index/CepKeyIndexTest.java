@@ -0,0 +1,71 @@
+package com.example.demo.cep.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CepKeyIndexTest {
+
+    @Test
+    void deveListarFaixaEmOrdemSemRepetidos() {
+        var index = new CepKeyIndex();
+        for (int chave : new int[]{1310200, 1310100, 4842010, 1310100, 1319999, 1320000}) {
+            index.adicionar(chave);
+        }
+
+        var destino = new int[10];
+        int lidos = index.pagina(1310000, 1319999, destino);
+
+        assertThat(Arrays.copyOf(destino, lidos)).containsExactly(1310100, 1310200, 1319999);
+        assertThat(index.tamanho()).isEqualTo(5);
+    }
+
+    @Test
+    void devePaginarPeloTamanhoDoDestino() {
+        var index = new CepKeyIndex();
+        index.adicionarTodas(IntStream.range(0, 10_000).map(i -> 1_000_000 + i * 3).toArray());
+
+        var destino = new int[100];
+        int lidos = index.pagina(1_000_001, 99_999_999, destino);
+
+        assertThat(lidos).isEqualTo(100);
+        assertThat(destino[0]).isEqualTo(1_000_003);
+        assertThat(destino[99]).isEqualTo(1_000_300);
+    }
+
+    @Test
+    void deveEnxergarInclusoesAindaNoBuffer() {
+        var index = new CepKeyIndex();
+        index.adicionarTodas(new int[]{5, 1, 3});
+        index.adicionar(2);
+
+        assertThat(index.contem(2)).isTrue();
+        var destino = new int[8];
+        assertThat(Arrays.copyOf(destino, index.pagina(0, 10, destino))).containsExactly(1, 2, 3, 5);
+    }
+
+    @Test
+    void deveAceitarInclusoesConcorrentes() throws Exception {
+        var index = new CepKeyIndex();
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                int inicio = t;
+                executor.execute(() -> {
+                    for (int i = inicio; i < 50_000; i += 8) {
+                        index.adicionar(i);
+                        index.adicionar(i);
+                    }
+                });
+            }
+        }
+
+        assertThat(index.tamanho()).isEqualTo(50_000);
+        var destino = new int[50_000];
+        assertThat(index.pagina(0, 99_999_999, destino)).isEqualTo(50_000);
+        assertThat(destino).isSorted();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.cep.index;
+
+import com.example.demo.cep.dto.CepResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CepSearchIndexTest {
+
+    @Test
+    void deveEncontrarPorTermosSemAcentoNemCaixa() {
+        var index = new CepSearchIndex();
+        index.adicionar(1310100, resposta("01310-100", "Avenida Paulista", "Bela Vista", "São Paulo", "SP"));
+        index.adicionar(1310200, resposta("01310-200", "Avenida Paulista", "Bela Vista", "São Paulo", "SP"));
+        index.adicionar(20040002, resposta("20040-002", "Avenida Rio Branco", "Centro", "Rio de Janeiro", "RJ"));
+        index.adicionar(1002000, resposta("01002-000", "Rua São Bento", "Centro", "São Paulo", "SP"));
+
+        assertThat(buscar(index, new CepSearchIndex.Consulta("PAULISTA", null, "sao paulo", null)))
+                .containsExactly(1310100, 1310200);
+        assertThat(buscar(index, new CepSearchIndex.Consulta(null, "centro", null, "sp")))
+                .containsExactly(1002000);
+        assertThat(buscar(index, new CepSearchIndex.Consulta("rua são bento", null, null, null)))
+                .containsExactly(1002000);
+        assertThat(buscar(index, new CepSearchIndex.Consulta("paulista", null, "rio", null))).isEmpty();
+        assertThat(buscar(index, new CepSearchIndex.Consulta("augusta", null, null, null))).isEmpty();
+    }
+
+    @Test
+    void deveDescartarPreposicoes() {
+        assertThat(CepTokenizer.tokens("Rua da Consolação, 25 de Março")).containsExactly("rua", "consolacao", "25", "marco");
+    }
+
+    @Test
+    void deveCombinarCargaEmLoteComInclusoesIncrementais() {
+        var index = new CepSearchIndex();
+        var respostas = new HashMap<Integer, CepResponse>();
+        IntStream.range(0, 5_000).forEach(i -> respostas.put(i * 7,
+                resposta(String.valueOf(i), i % 2 == 0 ? "Rua Augusta" : "Rua Oscar Freire", "Jardins", "São Paulo", "SP")));
+        index.adicionarTodas(respostas.keySet().stream().mapToInt(Integer::intValue).toArray(), respostas::get);
+        for (int i = 5_000; i < 6_000; i++) {
+            index.adicionar(i * 7, resposta(String.valueOf(i), "Rua Augusta", "Jardins", "São Paulo", "SP"));
+        }
+
+        var destino = new int[10_000];
+        int encontrados = index.buscar(new CepSearchIndex.Consulta("augusta", "jardins", null, "SP"), destino);
+
+        assertThat(encontrados).isEqualTo(3_500);
+        assertThat(Arrays.copyOf(destino, encontrados)).isSorted().doesNotHaveDuplicates();
+        assertThat(index.buscar(new CepSearchIndex.Consulta("augusta", null, null, null), new int[5])).isEqualTo(5);
+    }
+
+    @Test
+    void deveContinuarBuscaAPartirDoCursor() {
+        var index = new CepSearchIndex();
+        var chaves = IntStream.range(0, 1_000).map(i -> i * 3).toArray();
+        index.adicionarTodas(chaves, chave -> resposta(String.valueOf(chave), "Rua Augusta", "Jardins", "São Paulo", "SP"));
+        index.adicionar(1_501, resposta("1501", "Rua Augusta", "Jardins", "São Paulo", "SP"));
+        var consulta = new CepSearchIndex.Consulta("augusta", null, null, null);
+
+        var destino = new int[3];
+        assertThat(index.buscar(consulta, 1_497, destino)).isEqualTo(3);
+        assertThat(destino).containsExactly(1_500, 1_501, 1_503);
+        assertThat(index.buscar(consulta, 2_994, new int[3])).isEqualTo(1);
+        assertThat(index.buscar(consulta, 2_997, new int[3])).isZero();
+    }
+
+    @Test
+    void deveRejeitarConsultaSemTermos() {
+        assertThatThrownBy(() -> new CepSearchIndex().buscar(new CepSearchIndex.Consulta(" ", null, null, null), new int[1]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static int[] buscar(CepSearchIndex index, CepSearchIndex.Consulta consulta) {
+        var destino = new int[100];
+        return Arrays.copyOf(destino, index.buscar(consulta, destino));
+    }
+
+    private static CepResponse resposta(String cep, String logradouro, String bairro, String cidade, String uf) {
+        return new CepResponse(cep, logradouro, "", bairro, cidade, uf, null, null, null, null);
+    }
+}
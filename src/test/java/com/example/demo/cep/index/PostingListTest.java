@@ -0,0 +1,34 @@
+package com.example.demo.cep.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingListTest {
+
+    @Test
+    void deveComprimirEDescomprimirEmBlocos() {
+        var valores = new Random(42).ints(1_000, 0, 99_999_999).sorted().distinct().toArray();
+
+        var lista = PostingList.de(valores, valores.length);
+
+        assertThat(lista.tamanho()).isEqualTo(valores.length);
+        assertThat(lista.blocos()).isEqualTo((valores.length + PostingList.BLOCO - 1) / PostingList.BLOCO);
+        assertThat(lista.todas()).containsExactly(valores);
+        assertThat(IntStream.of(valores).allMatch(lista::contem)).isTrue();
+        assertThat(lista.contem(valores[0] - 1)).isFalse();
+        assertThat(lista.contem(valores[valores.length - 1] + 1)).isFalse();
+    }
+
+    @Test
+    void deveUsarPoucosBytesParaCepsProximos() {
+        var valores = IntStream.range(0, 10_000).map(i -> 1_310_000 + i * 10).toArray();
+
+        var lista = PostingList.de(valores, valores.length);
+
+        assertThat(lista.bytes()).isLessThan(valores.length * 2L);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.demo.cep.service;
+
+import com.example.demo.cep.dto.CepInfo;
+import com.example.demo.cep.exception.CepNaoEncontradoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CepBatchServiceTest {
+
+    private final CepInfo info = new CepInfo("04842-010", "Rua Exemplo", "", "Bairro", "São Paulo", "SP");
+
+    private CepService cepService;
+    private ExecutorService executor;
+    private CepBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        cepService = mock(CepService.class);
+        when(cepService.obterCepEmCache(anyString())).thenReturn(Optional.empty());
+        executor = Executors.newFixedThreadPool(4);
+        batchService = new CepBatchService(cepService, executor, 10, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void deveConsultarCadaCepDistintoUmaUnicaVez() {
+        when(cepService.obterCep("04842-010")).thenReturn(info);
+
+        var resposta = batchService.buscarEmLote(List.of("04842-010", "04842010", "04842-010"));
+
+        assertThat(resposta.total()).isEqualTo(1);
+        assertThat(resposta.sucessos()).isEqualTo(1);
+        assertThat(resposta.resultados().getFirst().dados()).isEqualTo(info);
+        verify(cepService, times(1)).obterCep("04842-010");
+    }
+
+    @Test
+    void deveResponderAcertosDeCacheSemConsultarApi() {
+        when(cepService.obterCepEmCache("04842-010")).thenReturn(Optional.of(info));
+
+        var resposta = batchService.buscarEmLote(List.of("04842-010"));
+
+        assertThat(resposta.resultados().getFirst().status()).isEqualTo(200);
+        verify(cepService, never()).obterCep("04842-010");
+    }
+
+    @Test
+    void deveRetornarErroIndividualSemFalharOLote() {
+        when(cepService.obterCep("04842-010")).thenReturn(info);
+        when(cepService.obterCep("01310-100")).thenThrow(new ResourceAccessException("timeout"));
+        when(cepService.obterCep("99999-999")).thenThrow(new IllegalStateException("boom"));
+
+        var resposta = batchService.buscarEmLote(List.of("04842-010", "abc", "01310-100", "99999-999"));
+
+        assertThat(resposta.total()).isEqualTo(4);
+        assertThat(resposta.sucessos()).isEqualTo(1);
+        assertThat(resposta.falhas()).isEqualTo(3);
+        assertThat(resposta.resultados())
+                .extracting(item -> item.cep() + ":" + item.status())
+                .containsExactly("04842-010:200", "abc:400", "01310-100:502", "99999-999:500");
+        assertThat(resposta.resultados().get(1).erro()).isEqualTo("CEP deve seguir o padrão 99999-999");
+    }
+
+    @Test
+    void deveRetornarNotFoundParaCepInexistente() {
+        when(cepService.obterCepEmCache("99999-999")).thenThrow(new CepNaoEncontradoException("CEP não encontrado"));
+        when(cepService.obterCep("01310-100")).thenThrow(new CepNaoEncontradoException("CEP não encontrado"));
+
+        var resposta = batchService.buscarEmLote(List.of("99999-999", "01310-100"));
+
+        assertThat(resposta.resultados())
+                .extracting(item -> item.cep() + ":" + item.status())
+                .containsExactly("99999-999:404", "01310-100:404");
+        verify(cepService, never()).obterCep("99999-999");
+    }
+
+    @Test
+    void deveLimitarParalelismoMesmoComVirtualThreads() {
+        var emAndamento = new AtomicInteger();
+        var maximoObservado = new AtomicInteger();
+        when(cepService.obterCep(anyString())).thenAnswer(inv -> {
+            maximoObservado.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            emAndamento.decrementAndGet();
+            return info;
+        });
+
+        try (var virtuais = Executors.newVirtualThreadPerTaskExecutor()) {
+            var service = new CepBatchService(cepService, virtuais, 100, 3);
+            var ceps = IntStream.range(0, 50).mapToObj(i -> String.format("%08d", i)).toList();
+
+            var resposta = service.buscarEmLote(ceps);
+
+            assertThat(resposta.sucessos()).isEqualTo(50);
+        }
+        assertThat(maximoObservado.get()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void deveRejeitarLoteVazioOuMaiorQueOLimite() {
+        assertThatThrownBy(() -> batchService.buscarEmLote(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        var grande = IntStream.range(0, 11).mapToObj(i -> "0000000" + (i % 10)).toList();
+        assertThatThrownBy(() -> batchService.buscarEmLote(grande))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Lote deve ter no máximo 10 CEPs");
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.demo.cep.service;
+
+import com.example.demo.cep.bulk.CepBulkImporter;
+import com.example.demo.cep.bulk.CepImportProgress;
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.cache.NegativeCepCache;
+import com.example.demo.cep.dto.CepImportRequest;
+import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.index.CepKeyIndex;
+import com.example.demo.cep.index.CepSearchIndex;
+import com.example.demo.cep.store.CepLogStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class CepImportServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final CepBulkImporter importer = new CepBulkImporter(JsonMapper.builder().build(), 2, 1024);
+    private final CepCache<CepResponse> cache = new CepCache<>(1_000, Duration.ofHours(1));
+    private final NegativeCepCache naoEncontrados = new NegativeCepCache(Duration.ofHours(1));
+    private final CepKeyIndex chaves = new CepKeyIndex();
+    private final CepSearchIndex busca = new CepSearchIndex();
+    private CepLogStore store;
+    private CepImportService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.createDirectory(dir.resolve("bases"));
+        Files.writeString(dir.resolve("bases/ceps.txt"), """
+                01001000;Praça da Sé;lado ímpar;Sé;São Paulo;SP
+                01310100;Avenida Paulista;;Bela Vista;São Paulo;SP
+                invalido;Rua Sem CEP
+                """);
+        Files.writeString(dir.resolve("fora.txt"), "01001000;Praça da Sé\n");
+        store = CepLogStore.abrir(dir.resolve("ceps.log"), 1024 * 1024, Duration.ofDays(1));
+        service = new CepImportService(importer, dir.resolve("bases"), store, cache, null, naoEncontrados, chaves, busca);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        service.close();
+        importer.close();
+        store.close();
+    }
+
+    @Test
+    void deveImportarNoCacheEAtualizarOsIndices() {
+        naoEncontrados.add(1310100);
+
+        var progresso = concluir(service.importar(new CepImportRequest("ceps.txt", null, "cache")));
+
+        assertThat(progresso.importadas()).isEqualTo(2);
+        assertThat(progresso.rejeitadas()).isEqualTo(1);
+        assertThat(cache.get(1001000).logradouro()).isEqualTo("Praça da Sé");
+        assertThat(store.buscar(1001000)).isNull();
+        assertThat(naoEncontrados.contains(1310100)).isFalse();
+        assertThat(chaves.contem(1310100)).isTrue();
+        assertThat(busca.buscar(new CepSearchIndex.Consulta("paulista", null, "sao paulo", null), new int[10])).isEqualTo(1);
+        assertThat(service.status(progresso.id())).isSameAs(progresso);
+    }
+
+    @Test
+    void deveContarComoDescartadosOsCepsRecusadosPeloCache() {
+        var pequeno = new CepCache<CepResponse>(1, Duration.ofHours(1));
+        try (var service = new CepImportService(importer, dir.resolve("bases"), store, pequeno, null, naoEncontrados, chaves, busca)) {
+            var progresso = concluir(service.importar(new CepImportRequest("ceps.txt", null, "cache")));
+
+            assertThat(progresso.importadas()).isEqualTo(1);
+            assertThat(progresso.descartadas()).isEqualTo(1);
+            assertThat(pequeno.size()).isEqualTo(1);
+            assertThat(chaves.tamanho()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void deveImportarNoCachePersistentePorPadrao() {
+        var progresso = concluir(service.importar(new CepImportRequest("ceps.txt", "csv", null)));
+
+        assertThat(progresso.importadas()).isEqualTo(2);
+        assertThat(store.buscar(1310100).bairro()).isEqualTo("Bela Vista");
+        assertThat(cache.get(1310100)).isNull();
+    }
+
+    @Test
+    void naoDeveIndexarNemInvalidarOQueNaoCabeNoCachePersistente() throws Exception {
+        var emMemoria = new CepResponse("01310-100", "Avenida Paulista", "", "Bela Vista", "São Paulo", "SP", null,
+                null, null, null);
+        cache.put(1310100, emMemoria);
+        naoEncontrados.add(1001000);
+        try (var cheio = CepLogStore.abrir(dir.resolve("cheio.log"), 16, Duration.ofDays(1));
+             var service = new CepImportService(importer, dir.resolve("bases"), cheio, cache, null, naoEncontrados, chaves, busca)) {
+            var progresso = concluir(service.importar(new CepImportRequest("ceps.txt", null, "store")));
+
+            assertThat(progresso.importadas()).isZero();
+            assertThat(progresso.descartadas()).isEqualTo(2);
+            assertThat(cache.get(1310100)).isSameAs(emMemoria);
+            assertThat(naoEncontrados.contains(1001000)).isTrue();
+            assertThat(chaves.tamanho()).isZero();
+            assertThat(busca.termos()).isZero();
+        }
+    }
+
+    @Test
+    void deveRecusarArquivosForaDoDiretorio() {
+        assertThatThrownBy(() -> service.importar(new CepImportRequest("../fora.txt", null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.importar(new CepImportRequest(dir.resolve("fora.txt").toString(), null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.importar(new CepImportRequest("inexistente.txt", null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.importar(new CepImportRequest("ceps.txt", "xml", null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CepImportProgress concluir(CepImportProgress progresso) {
+        await().atMost(Duration.ofSeconds(10)).until(() -> progresso.estado() == CepImportProgress.Estado.CONCLUIDA);
+        return progresso;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.demo.cep.service;
+
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.cache.CepRefreshScheduler;
+import com.example.demo.cep.client.CachingCepClient;
+import com.example.demo.cep.client.CepClientPort;
+import com.example.demo.cep.dto.CepInfo;
+import com.example.demo.cep.dto.CepJson;
+import com.example.demo.cep.dto.CepResponse;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CepJsonServiceTest {
+
+    private final CepCache<CepResponse> respostas = new CepCache<>(100, Duration.ofMinutes(5));
+    private final CepCache<CepJson> json = new CepCache<>(100, Duration.ofMinutes(5));
+
+    @Test
+    void deveDescartarJsonQuandoRespostaGuardadaMuda() {
+        var delegate = mock(CepClientPort.class);
+        when(delegate.buscarCep("04842-010")).thenReturn(resposta("Rua Antiga"), resposta("Rua Nova"));
+        var caching = new CachingCepClient(delegate, respostas, true, null, null, json::invalidate);
+        var service = new CepJsonService(new CepService(caching), json, respostas, null, JsonMapper.builder().build());
+
+        assertThat(corpo(service.obter("04842-010"))).contains("Rua Antiga");
+        assertThat(corpo(service.obter("04842-010"))).contains("Rua Antiga");
+
+        caching.recarregar(4842010);
+
+        assertThat(corpo(service.obter("04842-010"))).contains("Rua Nova");
+        verify(delegate, times(2)).buscarCep("04842-010");
+    }
+
+    @Test
+    void naoDeveGuardarJsonDeRespostaForaDoCache() {
+        var cepService = mock(CepService.class);
+        when(cepService.obterCep("04842-010")).thenReturn(info());
+        var service = new CepJsonService(cepService, json, respostas, null, JsonMapper.builder().build());
+
+        service.obter("04842-010");
+        service.obter("04842-010");
+
+        verify(cepService, times(2)).obterCep("04842-010");
+        assertThat(json.size()).isZero();
+    }
+
+    @Test
+    void naoDeveGuardarJsonPorMaisTempoQueAResposta() {
+        var cepService = mock(CepService.class);
+        when(cepService.obterCep("04842-010")).thenReturn(info());
+        respostas.put(4842010, resposta("Rua Exemplo"), Duration.ofSeconds(10).toNanos());
+        var service = new CepJsonService(cepService, json, respostas, null, JsonMapper.builder().build());
+
+        service.obter("04842-010");
+
+        assertThat(json.remainingTtlNanos(4842010)).isPositive()
+                .isLessThanOrEqualTo(respostas.remainingTtlNanos(4842010));
+    }
+
+    @Test
+    void deveRegistrarAcertosNoJsonParaRenovarCepPopular() {
+        var cepService = mock(CepService.class);
+        when(cepService.obterCep("04842-010")).thenReturn(info());
+        respostas.put(4842010, resposta("Rua Exemplo"), Duration.ofSeconds(10).toNanos());
+        var renovacao = mock(CepRefreshScheduler.class);
+        var service = new CepJsonService(cepService, json, respostas, renovacao, JsonMapper.builder().build());
+
+        service.obter("04842-010");
+        service.obter("04842-010");
+        service.obter("04842-010");
+
+        verify(renovacao, times(2)).recordHit(eq(4842010), longThat(restante -> restante > 0));
+        verify(cepService, times(1)).obterCep("04842-010");
+    }
+
+    private static String corpo(CepJson json) {
+        return new String(json.corpo(), StandardCharsets.UTF_8);
+    }
+
+    private static CepResponse resposta(String logradouro) {
+        return new CepResponse("04842-010", logradouro, "", "Bairro", "São Paulo", "SP", null, null, null, null);
+    }
+
+    private static CepInfo info() {
+        return new CepInfo("04842-010", "Rua Exemplo", "", "Bairro", "São Paulo", "SP");
+    }
+}
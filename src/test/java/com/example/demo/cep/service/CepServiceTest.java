@@ -3,10 +3,12 @@ package com.example.demo.cep.service;
 import com.example.demo.cep.client.CepClientPort;
 import com.example.demo.cep.dto.CepInfo;
 import com.example.demo.cep.dto.CepResponse;
+import com.example.demo.cep.exception.CepNaoEncontradoException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -31,4 +33,13 @@ class CepServiceTest {
         assertThat(info.cep()).isEqualTo("04842-010");
         assertThat(info.cidade()).isEqualTo("São Paulo");
     }
+
+    @Test
+    void deveLancarNaoEncontradoQuandoCepNaoExiste() {
+        when(cepClient.buscarCep("99999-999")).thenReturn(CepResponse.NAO_ENCONTRADO);
+
+        assertThatThrownBy(() -> cepService.obterCep("99999-999"))
+                .isInstanceOf(CepNaoEncontradoException.class)
+                .hasMessage("CEP não encontrado");
+    }
 }
@@ -0,0 +1,122 @@
+package com.example.demo.cep.service;
+
+import com.example.demo.cep.dto.CepInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CepStreamServiceTest {
+
+    private CepService cepService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        cepService = mock(CepService.class);
+        when(cepService.obterCepEmCache(anyString())).thenReturn(Optional.empty());
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void deveEscreverUmaLinhaPorCep() throws Exception {
+        when(cepService.obterCep(anyString())).thenAnswer(inv -> info(inv.getArgument(0)));
+        var streamService = criar(4);
+
+        var entrada = "04842-010\n\"01310100\"\n\nabc\n";
+        var saida = new ByteArrayOutputStream();
+        long processados = streamService.processar(
+                new ByteArrayInputStream(entrada.getBytes(StandardCharsets.UTF_8)), saida);
+
+        var linhas = saida.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(processados).isEqualTo(3);
+        assertThat(linhas).hasSize(3);
+        assertThat(linhas).anySatisfy(l -> assertThat(l).contains("\"cep\":\"04842-010\"", "\"status\":200"));
+        assertThat(linhas).anySatisfy(l -> assertThat(l).contains("\"cep\":\"01310100\"", "\"status\":200"));
+        assertThat(linhas).anySatisfy(l -> assertThat(l).contains("\"cep\":\"abc\"", "\"status\":400"));
+    }
+
+    @Test
+    void naoDeveUltrapassarLimiteDeConsultasEmAndamento() throws Exception {
+        var emAndamento = new AtomicInteger();
+        var maximoObservado = new AtomicInteger();
+        when(cepService.obterCep(anyString())).thenAnswer(inv -> {
+            maximoObservado.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+            Thread.sleep(2);
+            emAndamento.decrementAndGet();
+            return info(inv.getArgument(0));
+        });
+        var streamService = criar(3);
+
+        var entrada = IntStream.range(0, 200)
+                .mapToObj(i -> String.format("%08d", i))
+                .collect(Collectors.joining("\n"));
+        var saida = new ByteArrayOutputStream();
+        streamService.processar(new ByteArrayInputStream(entrada.getBytes(StandardCharsets.UTF_8)), saida);
+
+        assertThat(saida.toString(StandardCharsets.UTF_8).lines()).hasSize(200);
+        assertThat(maximoObservado.get()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void deveRecusarLinhaLongaSemInterromperOFluxo() throws Exception {
+        when(cepService.obterCep(anyString())).thenAnswer(inv -> info(inv.getArgument(0)));
+        var streamService = criar(4);
+
+        var entrada = "9".repeat(1_000_000) + "\n04842-010\n";
+        var saida = new ByteArrayOutputStream();
+        long processados = streamService.processar(
+                new ByteArrayInputStream(entrada.getBytes(StandardCharsets.UTF_8)), saida);
+
+        var linhas = saida.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(processados).isEqualTo(2);
+        assertThat(linhas).hasSize(2);
+        assertThat(linhas.getFirst()).contains("\"status\":400", CepStreamService.MENSAGEM_LINHA_LONGA)
+                .hasSizeLessThan(CepStreamService.TAMANHO_MAXIMO_LINHA + 200);
+        assertThat(linhas.get(1)).contains("\"cep\":\"04842-010\"", "\"status\":200");
+    }
+
+    @Test
+    void deveEscreverErroQuandoConsultaTerminaComError() throws Exception {
+        when(cepService.obterCep(anyString())).thenThrow(new StackOverflowError());
+        var streamService = criar(4);
+
+        var saida = new ByteArrayOutputStream();
+        long processados = streamService.processar(
+                new ByteArrayInputStream("04842-010\n01310-100\n".getBytes(StandardCharsets.UTF_8)), saida);
+
+        assertThat(processados).isEqualTo(2);
+        assertThat(saida.toString(StandardCharsets.UTF_8).lines())
+                .hasSize(2)
+                .allSatisfy(l -> assertThat(l).contains("\"status\":500"));
+    }
+
+    private CepStreamService criar(int maximoEmAndamento) {
+        var batchService = new CepBatchService(cepService, executor, 1000, 8);
+        return new CepStreamService(batchService, executor, JsonMapper.builder().build(), maximoEmAndamento);
+    }
+
+    private static CepInfo info(String cep) {
+        return new CepInfo(cep, "Rua Exemplo", "", "Bairro", "São Paulo", "SP");
+    }
+}
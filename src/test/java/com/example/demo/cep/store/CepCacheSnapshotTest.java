@@ -0,0 +1,103 @@
+package com.example.demo.cep.store;
+
+import com.example.demo.cep.cache.CepCache;
+import com.example.demo.cep.dto.CepResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CepCacheSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private final AtomicLong relogio = new AtomicLong(1_000_000);
+
+    @Test
+    void deveRestaurarEntradasSalvas() throws IOException {
+        var arquivo = dir.resolve("dados/cep-cache.snapshot");
+        var origem = cache();
+        origem.put(4842010, resposta("04842-010", "Rua Exemplo"));
+        origem.put(1310100, resposta("01310-100", "Avenida Paulista"));
+
+        assertThat(new CepCacheSnapshot(arquivo, origem, relogio::get).salvar()).isEqualTo(2);
+
+        var destino = cache();
+        assertThat(new CepCacheSnapshot(arquivo, destino, relogio::get).restaurar()).isEqualTo(2);
+        assertThat(destino.get(4842010)).isEqualTo(resposta("04842-010", "Rua Exemplo"));
+        assertThat(destino.get(1310100).logradouro()).isEqualTo("Avenida Paulista");
+        assertThat(destino.remainingTtlNanos(4842010)).isBetween(Duration.ofHours(23).toNanos(), Duration.ofHours(24).toNanos());
+        assertThat(Files.exists(arquivo.resolveSibling("cep-cache.snapshot.salvando"))).isFalse();
+    }
+
+    @Test
+    void deveDescartarEntradasQueExpiraramComAAplicacaoParada() throws IOException {
+        var arquivo = dir.resolve("cep-cache.snapshot");
+        var origem = cache();
+        origem.put(4842010, resposta("04842-010", "Rua Exemplo"), Duration.ofMinutes(10).toNanos());
+        origem.put(1310100, resposta("01310-100", "Avenida Paulista"));
+        new CepCacheSnapshot(arquivo, origem, relogio::get).salvar();
+
+        relogio.addAndGet(Duration.ofHours(1).toMillis());
+        var destino = cache();
+
+        assertThat(new CepCacheSnapshot(arquivo, destino, relogio::get).restaurar()).isEqualTo(1);
+        assertThat(destino.get(4842010)).isNull();
+        assertThat(destino.remainingTtlNanos(1310100)).isBetween(Duration.ofHours(22).toNanos(), Duration.ofHours(23).toNanos());
+    }
+
+    @Test
+    void naoDeveContarEntradasRecusadasPeloCacheCheio() throws IOException {
+        var arquivo = dir.resolve("cep-cache.snapshot");
+        var origem = cache();
+        origem.put(4842010, resposta("04842-010", "Rua Exemplo"));
+        origem.put(1310100, resposta("01310-100", "Avenida Paulista"));
+        new CepCacheSnapshot(arquivo, origem, relogio::get).salvar();
+
+        var destino = new CepCache<CepResponse>(1, Duration.ofHours(24));
+
+        assertThat(new CepCacheSnapshot(arquivo, destino, relogio::get).restaurar()).isEqualTo(1);
+        assertThat(destino.size()).isEqualTo(1);
+    }
+
+    @Test
+    void deveIgnorarRegistroIncompletoNoFim() throws IOException {
+        var arquivo = dir.resolve("cep-cache.snapshot");
+        var origem = cache();
+        origem.put(4842010, resposta("04842-010", "Rua Exemplo"));
+        origem.put(1310100, resposta("01310-100", "Avenida Paulista"));
+        new CepCacheSnapshot(arquivo, origem, relogio::get).salvar();
+        try (var canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() - 3);
+        }
+
+        var destino = cache();
+
+        assertThat(new CepCacheSnapshot(arquivo, destino, relogio::get).restaurar()).isEqualTo(1);
+    }
+
+    @Test
+    void deveIgnorarSnapshotAusente() throws IOException {
+        var destino = cache();
+
+        assertThat(new CepCacheSnapshot(dir.resolve("nada.snapshot"), destino, relogio::get).restaurar()).isZero();
+        assertThat(destino.size()).isZero();
+    }
+
+    private static CepCache<CepResponse> cache() {
+        return new CepCache<>(100, Duration.ofHours(24));
+    }
+
+    private static CepResponse resposta(String cep, String logradouro) {
+        return new CepResponse(cep, logradouro, "", "Bairro", "São Paulo", "SP", "3550308", null, "11", "7107");
+    }
+}
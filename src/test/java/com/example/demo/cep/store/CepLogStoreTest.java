@@ -0,0 +1,166 @@
+package com.example.demo.cep.store;
+
+import com.example.demo.cep.dto.Cep;
+import com.example.demo.cep.dto.CepResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CepLogStoreTest {
+
+    private static final Duration TTL = Duration.ofDays(30);
+
+    @TempDir
+    Path dir;
+
+    private final AtomicLong relogio = new AtomicLong(1_000_000);
+
+    @Test
+    void deveRecarregarRespostasAoReabrir() throws IOException {
+        var arquivo = dir.resolve("dados/ceps.log");
+        try (var store = abrir(arquivo, 1024 * 1024)) {
+            store.gravar(4842010, resposta("04842-010", "Rua Antiga"));
+            store.gravar(1310100, resposta("01310-100", "Avenida Paulista"));
+            store.gravar(4842010, resposta("04842-010", "Rua Nova"));
+        }
+
+        try (var store = abrir(arquivo, 1024 * 1024)) {
+            assertThat(store.entradas()).isEqualTo(2);
+            assertThat(store.buscar(4842010)).isEqualTo(resposta("04842-010", "Rua Nova"));
+            assertThat(store.buscar(1310100).logradouro()).isEqualTo("Avenida Paulista");
+            assertThat(store.buscar(20040020)).isNull();
+        }
+    }
+
+    @Test
+    void deveGravarLoteComUmaUnicaEscrita() throws IOException {
+        var arquivo = dir.resolve("ceps.log");
+        var chaves = new int[]{4842010, 1310100, 20040020};
+        var respostas = new CepResponse[]{resposta("04842-010", "Rua Exemplo"),
+                resposta("01310-100", "Avenida Paulista"), resposta("20040-020", "Praça Pio X")};
+        try (var store = abrir(arquivo, 1024 * 1024)) {
+            store.gravar(1310100, resposta("01310-100", "Avenida Antiga"));
+
+            assertThat(store.gravarTodas(chaves, respostas, 2)).isEqualTo(2);
+            assertThat(store.buscar(1310100).logradouro()).isEqualTo("Avenida Paulista");
+            assertThat(store.buscar(20040020)).isNull();
+        }
+        try (var store = abrir(arquivo, 1024 * 1024)) {
+            assertThat(store.entradas()).isEqualTo(2);
+            assertThat(store.buscar(4842010).logradouro()).isEqualTo("Rua Exemplo");
+        }
+    }
+
+    @Test
+    void deveDescartarDoLoteOQueNaoCabeNoLimite() throws IOException {
+        var chaves = new int[200];
+        var respostas = new CepResponse[200];
+        for (int i = 0; i < chaves.length; i++) {
+            chaves[i] = 1310000 + i;
+            respostas[i] = resposta(Cep.formatar(chaves[i]), "Avenida Paulista " + i);
+        }
+        try (var store = abrir(dir.resolve("ceps.log"), 4 * 1024)) {
+            int gravadas = store.gravarTodas(chaves, respostas, chaves.length);
+
+            assertThat(gravadas).isBetween(1, chaves.length - 1);
+            assertThat(store.descartadas()).isEqualTo(chaves.length - gravadas);
+            assertThat(store.buscar(chaves[gravadas - 1]).logradouro()).isEqualTo(respostas[gravadas - 1].logradouro());
+            assertThat(store.tamanhoEmDisco()).isLessThanOrEqualTo(4 * 1024);
+        }
+    }
+
+    @Test
+    void deveDescartarRegistroIncompletoNoFimDoArquivo() throws IOException {
+        var arquivo = dir.resolve("ceps.log");
+        try (var store = abrir(arquivo, 1024 * 1024)) {
+            store.gravar(4842010, resposta("04842-010", "Rua Exemplo"));
+            store.gravar(1310100, resposta("01310-100", "Avenida Paulista"));
+        }
+        long tamanho = Files.size(arquivo);
+        try (var canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.truncate(tamanho - 3);
+        }
+
+        try (var store = abrir(arquivo, 1024 * 1024)) {
+            assertThat(store.entradas()).isEqualTo(1);
+            assertThat(store.buscar(4842010).logradouro()).isEqualTo("Rua Exemplo");
+            assertThat(store.buscar(1310100)).isNull();
+
+            store.gravar(1310100, resposta("01310-100", "Avenida Paulista"));
+            assertThat(store.buscar(1310100).logradouro()).isEqualTo("Avenida Paulista");
+        }
+        try (var store = abrir(arquivo, 1024 * 1024)) {
+            assertThat(store.entradas()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void deveCompactarRemovendoRegistrosSobrescritos() throws IOException {
+        var arquivo = dir.resolve("ceps.log");
+        try (var store = abrir(arquivo, 1024 * 1024)) {
+            for (int i = 0; i < 10; i++) {
+                store.gravar(4842010, resposta("04842-010", "Rua " + i));
+            }
+            store.gravar(1310100, resposta("01310-100", "Avenida Paulista"));
+            long antes = store.tamanhoEmDisco();
+
+            store.compactar();
+
+            assertThat(store.tamanhoEmDisco()).isLessThan(antes);
+            assertThat(store.chavesNoArquivo()).containsExactly(4842010, 1310100);
+            assertThat(store.buscar(4842010).logradouro()).isEqualTo("Rua 9");
+            assertThat(Files.size(arquivo)).isEqualTo(store.tamanhoEmDisco());
+        }
+        try (var store = abrir(arquivo, 1024 * 1024)) {
+            assertThat(store.buscar(4842010).logradouro()).isEqualTo("Rua 9");
+            assertThat(store.buscar(1310100).logradouro()).isEqualTo("Avenida Paulista");
+        }
+    }
+
+    @Test
+    void naoDeveUltrapassarTamanhoMaximo() throws IOException {
+        var arquivo = dir.resolve("ceps.log");
+        try (var store = abrir(arquivo, 4 * 1024)) {
+            for (int i = 0; i < 500; i++) {
+                store.gravar(i, resposta(String.format("%08d", i), "Rua " + i));
+                assertThat(Files.size(arquivo)).isLessThanOrEqualTo(4 * 1024);
+            }
+            store.compactar();
+
+            assertThat(store.descartadas()).isPositive();
+            assertThat(store.tamanhoEmDisco()).isLessThanOrEqualTo(2 * 1024);
+            assertThat(store.buscar(0)).isNull();
+        }
+    }
+
+    @Test
+    void deveIgnorarRespostasVencidas() throws IOException {
+        var arquivo = dir.resolve("ceps.log");
+        try (var store = abrir(arquivo, 1024 * 1024)) {
+            store.gravar(4842010, resposta("04842-010", "Rua Exemplo"));
+            relogio.addAndGet(TTL.toMillis() + 1);
+            store.gravar(1310100, resposta("01310-100", "Avenida Paulista"));
+
+            assertThat(store.buscar(4842010)).isNull();
+            store.compactar();
+            assertThat(store.chavesNoArquivo()).containsExactly(1310100);
+        }
+    }
+
+    private CepLogStore abrir(Path arquivo, long tamanhoMaximo) throws IOException {
+        return CepLogStore.abrir(arquivo, tamanhoMaximo, TTL, relogio::get);
+    }
+
+    private static CepResponse resposta(String cep, String logradouro) {
+        return new CepResponse(cep, logradouro, "", "Bairro", "São Paulo", "SP", "3550308", null, "11", "7107");
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.demo.cep.support;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+/**
+ * Dispara uma quantidade fixa de operações com concorrência limitada e mede vazão e latências.
+ * Usado pelos testes de carga ({@code @Tag("benchmark")}).
+ */
+public final class MedidorDeCarga {
+
+    private MedidorDeCarga() {
+    }
+
+    /**
+     * @param executor    executor que fornece as threads chamadoras
+     * @param concorrencia quantidade de chamadores simultâneos
+     * @param operacoes   total de operações
+     * @param operacao    operação a medir; recebe o número sequencial da operação
+     */
+    public static Resultado medir(ExecutorService executor, int concorrencia, int operacoes, IntConsumer operacao)
+            throws Exception {
+        var latencias = new long[operacoes];
+        var proxima = new AtomicInteger();
+        var falhas = new AtomicLong();
+        var chamadores = new Future<?>[concorrencia];
+
+        long inicio = System.nanoTime();
+        for (int c = 0; c < concorrencia; c++) {
+            chamadores[c] = executor.submit(() -> {
+                int i;
+                while ((i = proxima.getAndIncrement()) < operacoes) {
+                    long t0 = System.nanoTime();
+                    try {
+                        operacao.accept(i);
+                    } catch (RuntimeException e) {
+                        falhas.incrementAndGet();
+                    }
+                    latencias[i] = System.nanoTime() - t0;
+                }
+            });
+        }
+        for (var chamador : chamadores) {
+            chamador.get();
+        }
+        long duracao = System.nanoTime() - inicio;
+
+        Arrays.sort(latencias);
+        return new Resultado(operacoes, falhas.get(), duracao,
+                latencias[(int) (operacoes * 0.50)], latencias[Math.min(operacoes - 1, (int) (operacoes * 0.99))]);
+    }
+
+    public record Resultado(int operacoes, long falhas, long duracaoNanos, long p50Nanos, long p99Nanos) {
+
+        public double vazaoPorSegundo() {
+            return operacoes / (duracaoNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d ops em %,d ms | %,.0f ops/s | p50 %.2f ms | p99 %.2f ms | falhas %d",
+                    operacoes, duracaoNanos / 1_000_000, vazaoPorSegundo(), p50Nanos / 1e6, p99Nanos / 1e6, falhas);
+        }
+    }
+}
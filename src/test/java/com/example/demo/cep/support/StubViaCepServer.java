@@ -0,0 +1,118 @@
+package com.example.demo.cep.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servidor HTTP local que imita o ViaCEP ({@code GET /{cep}/json}) para testes de integração e carga.
+ *
+ * <p>Permite injetar latência e uma taxa de erros (status configurável) durante o teste, além de
+ * contar as requisições recebidas e o máximo delas em andamento ao mesmo tempo.</p>
+ */
+public final class StubViaCepServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong requisicoes = new AtomicLong();
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final AtomicInteger maximoEmAndamento = new AtomicInteger();
+    private volatile Duration latencia = Duration.ZERO;
+    private volatile double taxaDeErro;
+    private volatile int statusDeErro = 503;
+
+    private StubViaCepServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Sobe o servidor em uma porta livre de {@code localhost}.
+     */
+    public static StubViaCepServer iniciar() throws IOException {
+        var server = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        var stub = new StubViaCepServer(server, Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", stub::responder);
+        server.setExecutor(stub.executor);
+        server.start();
+        return stub;
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public StubViaCepServer comLatencia(Duration latencia) {
+        this.latencia = latencia;
+        return this;
+    }
+
+    /**
+     * @param taxa   proporção (0 a 1) de requisições que devem falhar
+     * @param status status HTTP retornado nas falhas
+     */
+    public StubViaCepServer comErros(double taxa, int status) {
+        this.taxaDeErro = taxa;
+        this.statusDeErro = status;
+        return this;
+    }
+
+    public long requisicoes() {
+        return requisicoes.get();
+    }
+
+    public int maximoEmAndamento() {
+        return maximoEmAndamento.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void responder(HttpExchange exchange) throws IOException {
+        requisicoes.incrementAndGet();
+        maximoEmAndamento.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+        try (exchange) {
+            dormir(latencia);
+            if (taxaDeErro > 0 && ThreadLocalRandom.current().nextDouble() < taxaDeErro) {
+                exchange.sendResponseHeaders(statusDeErro, -1);
+                return;
+            }
+            var partes = exchange.getRequestURI().getPath().split("/");
+            var cep = partes.length > 1 ? partes[1] : "";
+            var corpo = cep.length() == 8
+                    ? """
+                    {"cep":"%s-%s","logradouro":"Rua %s","complemento":"","bairro":"Bairro","localidade":"São Paulo","uf":"SP","ibge":"3550308","gia":"1004","ddd":"11","siafi":"7107"}"""
+                    .formatted(cep.substring(0, 5), cep.substring(5), cep)
+                    : "{\"erro\": true}";
+            var bytes = corpo.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        } finally {
+            emAndamento.decrementAndGet();
+        }
+    }
+
+    private static void dormir(Duration duracao) {
+        if (duracao.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duracao);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}